@@ -0,0 +1,155 @@
+package info.dong4j.idea.plugin.action.intention;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFileManager;
+
+import info.dong4j.idea.plugin.util.MarkdownUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 图片意图可用性缓存
+ * <p>
+ * {@link IntentionActionBase#isAvailable} 会在光标移动时被频繁调用，而 {@link MarkdownUtils#illegalImageMark} 对本地图片会查询
+ * {@code FilenameIndex}，找不到时还会同步刷新 VFS。这里按（文档、行号、文档修改戳）缓存每一行的判断结果：
+ * <ul>
+ *   <li>语法上不是图片标签，或者是网络图片：直接得出结果，不访问索引和磁盘</li>
+ *   <li>本地图片：命中缓存时直接返回；未命中时在后台线程中检查图片文件，在结果出来之前按语法判断乐观地返回可用</li>
+ * </ul>
+ * 文档修改或 VFS 结构变化（图片文件新建、删除、重命名）后，整份缓存随之失效。真正执行意图时仍然会完整地解析图片，文件不存在时不会执行任何操作。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+final class ImageMarkAvailability {
+    /** 文档上缓存的各行可用性 */
+    private static final Key<LineCache> CACHE_KEY = Key.create("markdown.image.kit.intention.availability");
+
+    /**
+     * 工具类不允许实例化
+     */
+    private ImageMarkAvailability() {
+    }
+
+    /**
+     * 判断光标所在行是否包含可以执行意图操作的图片标签
+     *
+     * @param project  项目
+     * @param document 文档
+     * @param line     光标所在行号
+     * @param lineText 光标所在行的文本
+     * @return 可用时返回 true
+     */
+    static boolean isAvailable(@NotNull Project project, @NotNull Document document, int line, @NotNull String lineText) {
+        LineCache cache = currentCache(document);
+        Boolean cached = cache.lines.get(line);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (MarkdownUtils.illegalImageMarkSyntax(lineText)) {
+            cache.lines.put(line, false);
+            return false;
+        }
+        if (MarkdownUtils.isNetworkImageMark(lineText)) {
+            cache.lines.put(line, true);
+            return true;
+        }
+
+        if (cache.pending.add(line)) {
+            ApplicationManager.getApplication().executeOnPooledThread(() -> checkLocalImage(project, document, cache, line, lineText));
+        }
+        return true;
+    }
+
+    /**
+     * 获取与文档当前修改戳对应的缓存，文档或 VFS 结构变化时创建新的缓存
+     *
+     * @param document 文档
+     * @return 当前的缓存
+     */
+    @NotNull
+    private static LineCache currentCache(@NotNull Document document) {
+        long stamp = document.getModificationStamp();
+        long vfsStamp = VirtualFileManager.getInstance().getStructureModificationCount();
+        LineCache cache = document.getUserData(CACHE_KEY);
+        if (cache == null || cache.stamp != stamp || cache.vfsStamp != vfsStamp) {
+            cache = new LineCache(stamp, vfsStamp);
+            document.putUserData(CACHE_KEY, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * 在后台线程中检查本地图片文件是否存在
+     * <p>
+     * 索引尚未就绪时不记录结果，下一次光标经过时重新检查。
+     *
+     * @param project  项目
+     * @param document 文档
+     * @param cache    发起检查时的缓存
+     * @param line     行号
+     * @param lineText 行文本
+     */
+    private static void checkLocalImage(@NotNull Project project,
+                                        @NotNull Document document,
+                                        @NotNull LineCache cache,
+                                        int line,
+                                        @NotNull String lineText) {
+        try {
+            if (project.isDisposed() || document.getModificationStamp() != cache.stamp) {
+                return;
+            }
+            boolean available = !MarkdownUtils.illegalImageMark(project, lineText);
+            cache.lines.put(line, available);
+            log.debug("第 {} 行图片意图可用性: {}", line, available);
+        } catch (IndexNotReadyException e) {
+            log.debug("索引尚未就绪，稍后重新检查第 {} 行", line);
+        } finally {
+            cache.pending.remove(line);
+        }
+    }
+
+    /**
+     * 单个文档修改戳下各行的可用性
+     *
+     * @author dong4j
+     * @version 1.0.0
+     * @date 2026.10.19
+     * @since 2.3.0
+     */
+    private static final class LineCache {
+        /** 文档修改戳 */
+        private final long stamp;
+        /** VFS 结构修改计数 */
+        private final long vfsStamp;
+        /** 行号到可用性的映射 */
+        private final Map<Integer, Boolean> lines = new ConcurrentHashMap<>();
+        /** 正在后台检查的行号 */
+        private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+
+        /**
+         * 创建指定修改戳的缓存
+         *
+         * @param stamp    文档修改戳
+         * @param vfsStamp VFS 结构修改计数
+         */
+        private LineCache(long stamp, long vfsStamp) {
+            this.stamp = stamp;
+            this.vfsStamp = vfsStamp;
+        }
+    }
+}
@@ -227,7 +227,8 @@ public abstract class IntentionActionBase extends PsiElementBaseIntentionAction
     /**
      * 判断当前光标位置是否位于Markdown文件中
      * <p>
-     * 通过检查光标所在行是否包含非法图片标记，以及文件是否为Markdown文件来判断
+     * 通过检查文件是否为Markdown文件，以及光标所在行是否包含合法的图片标记来判断。
+     * 图片标记的检查结果由 {@link ImageMarkAvailability} 缓存，光标移动时不会查询索引或刷新 VFS。
      *
      * @param project 项目对象
      * @param editor  编辑器对象
@@ -250,16 +251,14 @@ public abstract class IntentionActionBase extends PsiElementBaseIntentionAction
             return false;
         }
 
-        if (MarkdownUtils.illegalImageMark(project, this.getLineText(editor))) {
-            return false;
-        }
-
-        VirtualFile virtualFile = FileDocumentManager.getInstance().getFile(editor.getDocument());
-        if (virtualFile == null) {
+        Document document = editor.getDocument();
+        VirtualFile virtualFile = FileDocumentManager.getInstance().getFile(document);
+        if (virtualFile == null || !MarkdownUtils.isMardownFile(virtualFile)) {
             return false;
         }
 
-        return MarkdownUtils.isMardownFile(virtualFile);
+        int line = document.getLineNumber(editor.getCaretModel().getOffset());
+        return ImageMarkAvailability.isAvailable(project, document, line, this.getLineText(editor));
     }
 
     /**
@@ -0,0 +1,176 @@
+package info.dong4j.idea.plugin.action.menu;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.CommandProcessor;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.command.undo.UndoManager;
+import com.intellij.openapi.editor.Caret;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectLocator;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.Alarm;
+import com.intellij.util.concurrency.AppExecutorUtil;
+
+import info.dong4j.idea.plugin.MikBundle;
+import info.dong4j.idea.plugin.settings.MikPersistenComponent;
+import info.dong4j.idea.plugin.settings.MikState;
+import info.dong4j.idea.plugin.util.HeadingNumbering;
+import info.dong4j.idea.plugin.util.MarkdownUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 标题编号实时维护监听器
+ * <p>
+ * 开启 {@link MikState#isLiveHeadingNumbering()} 后，监听编辑器中 Markdown 文档的修改，记录每个文档发生修改的行号范围，
+ * 停止输入 {@link #DELAY_MILLIS} 毫秒后在后台读操作中通过 PSI 解析标题（与 {@link MarkdownHeadingNumberAction} 相同，代码块中的行不会被当作标题），
+ * 用 {@link HeadingNumbering#computeSubtreeEdits} 只重新计算受影响的标题子树和目录，再在一次写命令中应用替换。
+ * <p>
+ * 光标所在行的修改暂不应用，避免改写正在输入的标题，下次编辑时再更新。
+ * 只维护已经包含目录的文档；撤销、重做以及标题编号自身产生的修改不会触发更新，没有在编辑器中打开的文档也不会处理。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+public final class HeadingNumberingDocumentListener implements DocumentListener {
+    /** 防抖延迟（毫秒） */
+    private static final int DELAY_MILLIS = 800;
+    /** 防抖定时器 */
+    private final Alarm alarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, ApplicationManager.getApplication());
+    /** 等待更新的文档及其发生修改的最小、最大行号，只在 EDT 中访问 */
+    private final Map<Document, int[]> pendingLines = new WeakHashMap<>();
+
+    /**
+     * 记录文档修改并重新开始防抖计时
+     *
+     * @param event 文档修改事件
+     */
+    @Override
+    public void documentChanged(@NotNull DocumentEvent event) {
+        MikState state = MikPersistenComponent.getInstance().getState();
+        if (!state.isEnablePlugin() || !state.isLiveHeadingNumbering()) {
+            return;
+        }
+        Document document = event.getDocument();
+        if (document.isInBulkUpdate() || EditorFactory.getInstance().getEditors(document).length == 0) {
+            return;
+        }
+        String commandName = CommandProcessor.getInstance().getCurrentCommandName();
+        if (MikBundle.message("mik.action.menu.heading.number.title").equals(commandName)) {
+            return;
+        }
+        VirtualFile file = FileDocumentManager.getInstance().getFile(document);
+        if (file == null || !MarkdownUtils.isMardownFile(file)) {
+            return;
+        }
+        Project project = ProjectLocator.getInstance().guessProjectForFile(file);
+        if (project == null || UndoManager.getInstance(project).isUndoOrRedoInProgress()) {
+            return;
+        }
+
+        int firstLine = document.getLineNumber(Math.min(event.getOffset(), document.getTextLength()));
+        int lastLine = document.getLineNumber(Math.min(event.getOffset() + event.getNewLength(), document.getTextLength()));
+        // 之前记录的最大行号在本次修改之后时，随本次修改增减的行数移动
+        int lineDelta = lastLine - firstLine - StringUtil.countNewLines(event.getOldFragment());
+        this.pendingLines.merge(document, new int[] {firstLine, lastLine}, (previous, current) -> new int[] {
+            Math.min(previous[0], current[0]),
+            Math.max(previous[1] >= current[0] ? previous[1] + lineDelta : previous[1], current[1])
+        });
+        this.alarm.cancelAllRequests();
+        this.alarm.addRequest(this::flush, DELAY_MILLIS);
+    }
+
+    /**
+     * 为所有等待更新的文档提交后台计算
+     */
+    private void flush() {
+        List<Map.Entry<Document, int[]>> pending = new ArrayList<>(this.pendingLines.entrySet());
+        this.pendingLines.clear();
+        for (Map.Entry<Document, int[]> entry : pending) {
+            Document document = entry.getKey();
+            int[] changedLines = entry.getValue();
+            VirtualFile file = FileDocumentManager.getInstance().getFile(document);
+            Project project = file == null ? null : ProjectLocator.getInstance().guessProjectForFile(file);
+            if (project == null || project.isDisposed()) {
+                continue;
+            }
+
+            // 计算期间再次修改文档时自动重新计算，同一文档只保留最新的一次计算
+            ReadAction.nonBlocking(() -> {
+                    PsiFile psiFile = PsiDocumentManager.getInstance(project).getPsiFile(document);
+                    CharSequence text = document.getImmutableCharSequence();
+                    List<HeadingNumbering.Heading> headings = psiFile == null
+                                                              ? HeadingNumbering.parseHeadings(text)
+                                                              : MarkdownHeadingNumberAction.parseHeadings(psiFile, document);
+                    return HeadingNumbering.computeSubtreeEdits(text, headings, changedLines[0], changedLines[1]);
+                })
+                .withDocumentsCommitted(project)
+                .coalesceBy(this, document)
+                .expireWith(project)
+                .finishOnUiThread(ModalityState.defaultModalityState(), edits -> this.apply(project, document, edits))
+                .submit(AppExecutorUtil.getAppExecutorService());
+        }
+    }
+
+    /**
+     * 在一次写命令中应用文本替换，不保存文档
+     * <p>
+     * 跳过涉及任一光标所在行的替换。
+     *
+     * @param project  项目
+     * @param document 文档
+     * @param edits    按偏移量升序排列的文本替换
+     */
+    private void apply(@NotNull Project project, @NotNull Document document, @NotNull List<HeadingNumbering.TextEdit> edits) {
+        if (edits.isEmpty() || project.isDisposed() || !document.isWritable()) {
+            return;
+        }
+        Set<Integer> caretLines = new HashSet<>();
+        for (Editor editor : EditorFactory.getInstance().getEditors(document)) {
+            for (Caret caret : editor.getCaretModel().getAllCarets()) {
+                caretLines.add(document.getLineNumber(caret.getOffset()));
+            }
+        }
+        List<HeadingNumbering.TextEdit> applicable = new ArrayList<>(edits.size());
+        for (HeadingNumbering.TextEdit edit : edits) {
+            int startLine = document.getLineNumber(edit.start());
+            int endLine = document.getLineNumber(edit.end());
+            if (caretLines.stream().noneMatch(line -> line >= startLine && line <= endLine)) {
+                applicable.add(edit);
+            }
+        }
+        if (applicable.isEmpty()) {
+            return;
+        }
+        WriteCommandAction.runWriteCommandAction(project, MikBundle.message("mik.action.menu.heading.number.title"), null, () -> {
+            for (int i = applicable.size() - 1; i >= 0; i--) {
+                HeadingNumbering.TextEdit edit = applicable.get(i);
+                document.replaceString(edit.start(), edit.end(), edit.replacement());
+            }
+        });
+        log.debug("实时标题编号完成，共 {} 处修改，跳过光标所在行 {} 处", applicable.size(), edits.size() - applicable.size());
+    }
+}
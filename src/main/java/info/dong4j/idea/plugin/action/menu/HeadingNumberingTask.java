@@ -0,0 +1,207 @@
+package info.dong4j.idea.plugin.action.menu;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+
+import info.dong4j.idea.plugin.MikBundle;
+import info.dong4j.idea.plugin.console.MikConsoleView;
+import info.dong4j.idea.plugin.content.MarkdownContents;
+import info.dong4j.idea.plugin.util.HeadingNumbering;
+import info.dong4j.idea.plugin.util.MarkdownUtils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 批量标题编号任务
+ * <p>
+ * 在项目视图中选中多个文件或目录时，由 {@link MarkdownHeadingNumberAction} 启动，分两个阶段执行：
+ * <ul>
+ *   <li>计算：遍历选中的目录，多个线程并行地在可中断的读操作中解析标题并计算每个文件需要的文本替换，不修改任何文档</li>
+ *   <li>应用：先把会变化的文件及修改数量输出到控制台并弹出确认框（即预演报告），确认后逐个文件在一次写命令中应用替换</li>
+ * </ul>
+ * 两个阶段都会更新进度并响应取消；取消后已经应用的文件保持修改，其余文件不受影响。计算之后被再次修改的文档会被跳过。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+final class HeadingNumberingTask extends Task.Backgroundable {
+    /** 项目视图中选中的文件和目录 */
+    private final VirtualFile[] selectedFiles;
+
+    /**
+     * 构造函数
+     *
+     * @param project       项目对象
+     * @param selectedFiles 项目视图中选中的文件和目录
+     */
+    HeadingNumberingTask(@NotNull Project project, @NotNull VirtualFile[] selectedFiles) {
+        super(project, MikBundle.message("mik.action.menu.heading.number.bulk.progress"), true);
+        this.selectedFiles = selectedFiles;
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(true);
+        Project project = this.getProject();
+
+        List<FileEdits> computed = this.computeAll(project, indicator);
+        if (computed == null) {
+            return;
+        }
+
+        int total = computed.size();
+        List<FileEdits> changed = computed.stream().filter(fileEdits -> !fileEdits.edits().isEmpty()).toList();
+        if (changed.isEmpty()) {
+            ApplicationManager.getApplication().invokeLater(
+                () -> Messages.showInfoMessage(project,
+                                               MikBundle.message("mik.action.menu.heading.number.bulk.unchanged", total),
+                                               MikBundle.message("mik.action.menu.heading.number.title")),
+                ModalityState.defaultModalityState());
+            return;
+        }
+
+        int editCount = report(project, changed);
+        AtomicBoolean confirmed = new AtomicBoolean(false);
+        ApplicationManager.getApplication().invokeAndWait(
+            () -> confirmed.set(Messages.showYesNoDialog(project,
+                                                         MikBundle.message("mik.action.menu.heading.number.bulk.confirm",
+                                                                           changed.size(), total, editCount),
+                                                         MikBundle.message("mik.action.menu.heading.number.title"),
+                                                         Messages.getQuestionIcon()) == Messages.YES),
+            ModalityState.defaultModalityState());
+        if (!confirmed.get()) {
+            log.debug("仅预演，不修改文件");
+            return;
+        }
+
+        indicator.setIndeterminate(false);
+        this.applyAll(project, changed, indicator);
+    }
+
+    /**
+     * 遍历选中的文件和目录，并行计算所有 Markdown 文件的文本替换
+     *
+     * @param project   项目对象
+     * @param indicator 进度指示器
+     * @return 所有 Markdown 文件的文本替换（按路径排序），取消时返回 null
+     */
+    @Nullable
+    private List<FileEdits> computeAll(@NotNull Project project, @NotNull ProgressIndicator indicator) {
+        List<FileEdits> result = MarkdownUtils.readMarkdownFiles(project, this.selectedFiles, indicator, file -> compute(project, file));
+        if (indicator.isCanceled()) {
+            return null;
+        }
+        log.debug("批量标题编号: 共 {} 个 Markdown 文件", result.size());
+        result.sort(Comparator.comparing(fileEdits -> fileEdits.file().getPath()));
+        return result;
+    }
+
+    /**
+     * 计算单个文件的文本替换，需要在读操作中调用，可能被重复执行
+     *
+     * @param project 项目对象
+     * @param file    Markdown 文件
+     * @return 文本替换，文件无效或不是 Markdown 文件时返回 null
+     */
+    @Nullable
+    private static FileEdits compute(@NotNull Project project, @NotNull VirtualFile file) {
+        if (project.isDisposed() || !file.isValid()) {
+            return null;
+        }
+        Document document = FileDocumentManager.getInstance().getDocument(file);
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        if (document == null || psiFile == null
+            || !MarkdownContents.MARKDOWN_TYPE_NAME.equals(psiFile.getFileType().getName())) {
+            return null;
+        }
+        List<HeadingNumbering.TextEdit> edits = HeadingNumbering.computeEdits(document.getImmutableCharSequence(),
+                                                                              MarkdownHeadingNumberAction.parseHeadings(psiFile, document));
+        return new FileEdits(file, document, document.getModificationStamp(), edits);
+    }
+
+    /**
+     * 将会变化的文件输出到控制台
+     *
+     * @param project 项目对象
+     * @param changed 需要修改的文件
+     * @return 文本替换总数
+     */
+    private static int report(@NotNull Project project, @NotNull List<FileEdits> changed) {
+        int editCount = 0;
+        MikConsoleView.printMessage(project, String.format("标题编号预演: %d 个文件需要修改", changed.size()));
+        for (FileEdits fileEdits : changed) {
+            editCount += fileEdits.edits().size();
+            MikConsoleView.printMessage(project, String.format("  %s (%d 处)", fileEdits.file().getPath(), fileEdits.edits().size()));
+        }
+        return editCount;
+    }
+
+    /**
+     * 逐个文件应用文本替换
+     * <p>
+     * 每个文件在 EDT 中执行一次写命令，文件之间让出 EDT，可以随时取消。
+     *
+     * @param project   项目对象
+     * @param changed   需要修改的文件
+     * @param indicator 进度指示器
+     */
+    private void applyAll(@NotNull Project project, @NotNull List<FileEdits> changed, @NotNull ProgressIndicator indicator) {
+        int totalCount = changed.size();
+        AtomicInteger applied = new AtomicInteger(0);
+        for (int i = 0; i < totalCount; i++) {
+            if (indicator.isCanceled()) {
+                break;
+            }
+            FileEdits fileEdits = changed.get(i);
+            indicator.setText2(String.format("修改文件: %s (%d/%d)", fileEdits.file().getName(), i + 1, totalCount));
+            indicator.setFraction((i + 1) * 1.0 / totalCount);
+
+            ApplicationManager.getApplication().invokeAndWait(() -> {
+                if (project.isDisposed()) {
+                    return;
+                }
+                if (fileEdits.document().getModificationStamp() != fileEdits.stamp()) {
+                    MikConsoleView.printWarningMessage(project, "  [!] 文件在预演后被修改，已跳过: " + fileEdits.file().getPath());
+                    return;
+                }
+                MarkdownHeadingNumberAction.applyEdits(project, fileEdits.document(), fileEdits.edits());
+                applied.incrementAndGet();
+            }, ModalityState.defaultModalityState());
+        }
+        MikConsoleView.printSuccessMessage(project, String.format("标题编号完成: 修改了 %d/%d 个文件", applied.get(), totalCount));
+    }
+
+    /**
+     * 单个文件的文本替换
+     *
+     * @param file     Markdown 文件
+     * @param document 文件对应的文档
+     * @param stamp    计算替换时的文档修改戳
+     * @param edits    按偏移量升序排列的文本替换
+     */
+    private record FileEdits(@NotNull VirtualFile file,
+                             @NotNull Document document,
+                             long stamp,
+                             @NotNull List<HeadingNumbering.TextEdit> edits) {
+    }
+}
@@ -157,11 +157,18 @@ public final class ImageMigrationAction extends AnAction {
         // http://www.jetbrains.org/intellij/sdk/docs/basics/persisting_state_of_components.html
         PropertiesComponent propComp = PropertiesComponent.getInstance();
         // 过滤掉配置用户输入后的其他标签
-        propComp.setValue(MarkdownFileFilter.FILTER_KEY, domain.equals(MOVE_ALL) ? "" : domain);
+        String filterString = domain.equals(MOVE_ALL) ? "" : domain;
+        propComp.setValue(MarkdownFileFilter.FILTER_KEY, filterString);
 
-        new ActionTask(project,
-                       MikBundle.message("mik.action.move.process", clientName),
-                       ActionManager.buildImageMigrationChain(data)).queue();
+        if (data.getWaitingProcessMap() != null) {
+            new ActionTask(project,
+                           MikBundle.message("mik.action.move.process", clientName),
+                           ActionManager.buildImageMigrationChain(data)).queue();
+            return;
+        }
+
+        // 处理整个文件或目录时先生成迁移计划，确认后再执行
+        new MigrationPlanTask(project, data, filterString).queue();
     }
 
     /**
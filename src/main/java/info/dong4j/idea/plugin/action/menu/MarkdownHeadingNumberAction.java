@@ -4,33 +4,39 @@ import com.intellij.openapi.actionSystem.ActionUpdateThread;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.PlatformDataKeys;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.util.TextRange;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.util.PsiUtilBase;
+import com.intellij.util.concurrency.AppExecutorUtil;
 
 import info.dong4j.idea.plugin.MikBundle;
 import info.dong4j.idea.plugin.content.MarkdownContents;
 import info.dong4j.idea.plugin.settings.MikPersistenComponent;
 import info.dong4j.idea.plugin.settings.MikState;
 import info.dong4j.idea.plugin.util.ActionUtils;
-import info.dong4j.idea.plugin.util.PsiDocumentUtils;
+import info.dong4j.idea.plugin.util.HeadingNumbering;
 
 import org.intellij.plugins.markdown.lang.psi.impl.MarkdownHeader;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import icons.MikIcons;
 import lombok.extern.slf4j.Slf4j;
@@ -41,6 +47,11 @@ import lombok.extern.slf4j.Slf4j;
  * 用于为 Markdown 文件的标题生成/更新编号，从二级标题（##）开始编号。
  * 同时生成 TOC（目录），使用 markdown 锚点可正确跳转。
  * 每次执行都重新生成，可以覆盖以前的标题序号。
+ * <p>
+ * 解析标题、编号和生成目录在后台读操作中完成（{@link HeadingNumbering}），只把变化的标题行和目录区域在一次写命令中替换，
+ * 不再整体 setText，编辑器中的光标、折叠区域和 RangeMarker 都得以保留。
+ * <p>
+ * 在项目视图中选中目录或多个文件时进入批量模式，由 {@link HeadingNumberingTask} 并行计算、预演并逐个文件应用。
  *
  * @author dong4j
  * @version 1.0.0
@@ -50,74 +61,6 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public final class MarkdownHeadingNumberAction extends AnAction {
 
-    /** 标题匹配正则表达式 */
-    private static final Pattern HEADING_PATTERN = Pattern.compile("^(#{2,6})\\s+(.+)$");
-
-    /**
-     * 标题信息类
-     */
-    private static class HeadingInfo {
-        /** 标题级别（2-6，对应 ## 到 ######） */
-        final int level;
-        /** 原始标题文本（不含 # 和编号） */
-        final String originalText;
-        /** 行号（0-based） */
-        final int lineNumber;
-        /** 行在文档中的起始偏移量 */
-        final int startOffset;
-        /** 行在文档中的结束偏移量 */
-        final int endOffset;
-        /** 编号（如 "1", "2.1", "2.2.1"） */
-        String number;
-
-        HeadingInfo(int level, String originalText, int lineNumber, int startOffset, int endOffset) {
-            this.level = level;
-            this.originalText = originalText;
-            this.lineNumber = lineNumber;
-            this.startOffset = startOffset;
-            this.endOffset = endOffset;
-        }
-
-        /**
-         * 生成锚点 ID
-         * <p>
-         * 将标题文本转换为可用于锚点的 ID，只需要将空格替换为连字符。
-         *
-         * @return 锚点 ID
-         */
-        String generateAnchorId() {
-            // 使用带编号的标题文本（如果编号存在）
-            String text = number != null ? number + " " + originalText : originalText;
-
-            // 只将空格替换为连字符
-            return text.replaceAll("\\s+", "-");
-        }
-
-        /**
-         * 生成带编号的标题行
-         *
-         * @return 带编号的标题行
-         */
-        String generateNumberedHeading() {
-            String hashes = "#".repeat(level);
-            String numberedText = number != null ? number + " " + originalText : originalText;
-            return hashes + " " + numberedText;
-        }
-
-        /**
-         * 生成 TOC 条目
-         *
-         * @param indent 缩进级别
-         * @return TOC 条目
-         */
-        String generateTocEntry(int indent) {
-            String indentStr = "  ".repeat(indent);
-            String anchorId = generateAnchorId();
-            String displayText = number != null ? number + " " + originalText : originalText;
-            return indentStr + "- [" + displayText + "](#" + anchorId + ")";
-        }
-    }
-
     /**
      * 更新操作
      * <p>
@@ -163,6 +106,15 @@ public final class MarkdownHeadingNumberAction extends AnAction {
             document = editor.getDocument();
             psiFile = PsiUtilBase.getPsiFileInEditor(editor, project);
         } else {
+            // 项目视图中选中了目录或多个文件时，批量处理
+            VirtualFile[] files = event.getData(PlatformDataKeys.VIRTUAL_FILE_ARRAY);
+            if (isBulkSelection(files)) {
+                // 批量任务在后台遍历目录并在读操作中解析 PSI，先提交所有文档
+                PsiDocumentManager.getInstance(project).commitAllDocuments();
+                ProgressManager.getInstance().run(new HeadingNumberingTask(project, files));
+                return;
+            }
+
             // 没有编辑器时，从文件树（Project View）获取选中的 Markdown 文件
             VirtualFile virtualFile = event.getData(PlatformDataKeys.VIRTUAL_FILE);
             if (virtualFile == null) {
@@ -182,364 +134,95 @@ public final class MarkdownHeadingNumberAction extends AnAction {
             return;
         }
 
-        try {
-            // 解析所有标题（使用 PSI 树）
-            List<HeadingInfo> headings = parseHeadings(psiFile, document);
-
-            if (headings.isEmpty()) {
-                log.debug("未找到需要编号的标题（从二级标题开始）");
-                return;
-            }
-
-            // 生成编号
-            generateNumbers(headings);
-
-            // 生成新的文档内容
-            String newContent = generateNewContent(document, headings);
-
-            // 写入文档
-            PsiDocumentUtils.commitAndSaveDocument(project, document, newContent);
-
-            log.debug("成功为 {} 个标题生成了编号", headings.size());
-        } catch (Exception e) {
-            log.debug("生成标题编号时发生错误", e);
-        }
+        // 计算期间发生写操作时会自动重新计算，finishOnUiThread 拿到的替换总是与当前文档一致
+        ReadAction.nonBlocking(() -> HeadingNumbering.computeEdits(document.getImmutableCharSequence(), parseHeadings(psiFile, document)))
+            .withDocumentsCommitted(project)
+            .expireWhen(() -> !psiFile.isValid())
+            .expireWith(project)
+            .finishOnUiThread(ModalityState.defaultModalityState(), edits -> applyEdits(project, document, edits))
+            .submit(AppExecutorUtil.getAppExecutorService());
     }
 
     /**
-     * 解析文档中的所有标题（从二级标题开始）
+     * 判断是否进入批量模式
      * <p>
-     * 优先使用 Markdown 插件的 PSI API 解析标题，如果不可用则回退到正则表达式。
-     *
-     * @param psiFile  PSI 文件对象
-     * @param document 文档对象
-     * @return 标题信息列表
-     */
-    private List<HeadingInfo> parseHeadings(@NotNull PsiFile psiFile,
-                                            @NotNull Document document) {
-        // 尝试使用 Markdown 插件的 PSI API
-        try {
-            // 查找 MarkdownHeader 类型的 PSI 元素
-            Collection<MarkdownHeader> headerElements = PsiTreeUtil.findChildrenOfType(psiFile, MarkdownHeader.class);
-
-            if (!headerElements.isEmpty()) {
-                return parseHeadingsFromPsi(headerElements, document);
-            }
-        } catch (Exception e) {
-            log.debug("使用 PSI API 解析标题失败，回退到正则表达式: {}", e.getMessage());
-        }
-
-        // 回退到正则表达式解析
-        return parseHeadingsWithRegex(document);
-    }
-
-    /**
-     * 使用 PSI 元素解析标题
+     * 只有选中了目录或多个文件时才进入批量模式，目录由 {@link HeadingNumberingTask} 在后台递归遍历。
      *
-     * @param headerElements 标题 PSI 元素列表
-     * @param document       文档对象
-     * @return 标题信息列表
+     * @param files 项目视图中选中的文件和目录
+     * @return 需要批量处理时返回 true
      */
-    private List<HeadingInfo> parseHeadingsFromPsi(@NotNull Collection<MarkdownHeader> headerElements,
-                                                   @NotNull Document document) {
-        List<HeadingInfo> headings = new ArrayList<>();
-
-        for (MarkdownHeader markdownHeader : headerElements) {
-            try {
-                final int level = markdownHeader.getLevel();
-
-                // 只处理二级标题及以上（level >= 2）
-                if (level < 2) {
-                    continue;
-                }
-
-                String text = markdownHeader.getText();
-                // 移除 # 符号和前后空格
-                text = text.replaceAll("^#+\\s*", "").trim();
-                if (text.isEmpty()) {
-                    continue;
-                }
-
-                // 排除目录标题
-                String normalizedText = normalizeHeadingText(text);
-                if ("目录".equals(normalizedText)) {
-                    continue;
-                }
-
-                // 标准化标题文本，移除所有可能的序号格式
-                text = normalizedText;
-
-                // 获取行号和偏移量
-                TextRange textRange = markdownHeader.getTextRange();
-                int lineNumber = document.getLineNumber(textRange.getStartOffset());
-                int lineStartOffset = document.getLineStartOffset(lineNumber);
-                int lineEndOffset = document.getLineEndOffset(lineNumber);
-
-                headings.add(new HeadingInfo(level, text, lineNumber, lineStartOffset, lineEndOffset));
-            } catch (Exception e) {
-                log.debug("解析标题 PSI 元素失败: {}", e.getMessage());
-            }
-        }
-
-        // 按行号排序
-        headings.sort(Comparator.comparingInt(a -> a.lineNumber));
-        return headings;
+    @Contract("null -> false")
+    private static boolean isBulkSelection(@Nullable VirtualFile[] files) {
+        return files != null && (files.length > 1 || (files.length == 1 && files[0].isDirectory()));
     }
 
     /**
-     * 使用正则表达式解析标题（回退方案）
-     *
-     * @param document 文档对象
-     * @return 标题信息列表
-     */
-    private List<HeadingInfo> parseHeadingsWithRegex(@NotNull Document document) {
-        List<HeadingInfo> headings = new ArrayList<>();
-        String content = document.getText();
-        String[] lines = content.split("\n");
-
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i];
-            Matcher matcher = HEADING_PATTERN.matcher(line);
-            if (matcher.matches()) {
-                int level = matcher.group(1).length();
-                // 只处理二级标题及以上（level >= 2）
-                if (level >= 2) {
-                    String text = matcher.group(2).trim();
-
-                    // 排除目录标题（可能带编号，如 "## 目录" 或 "## 1 目录"）
-                    String normalizedText = normalizeHeadingText(text);
-                    if ("目录".equals(normalizedText)) {
-                        continue;
-                    }
-
-                    // 标准化标题文本，移除所有可能的序号格式
-                    text = normalizedText;
-
-                    int lineStartOffset = document.getLineStartOffset(i);
-                    int lineEndOffset = document.getLineEndOffset(i);
-
-                    headings.add(new HeadingInfo(level, text, i, lineStartOffset, lineEndOffset));
-                }
-            }
-        }
-
-        return headings;
-    }
-
-    /**
-     * 标准化标题文本，移除所有可能的序号格式
+     * 在一次写命令中应用标题编号的文本替换
      * <p>
-     * 移除的序号格式包括：
-     * - 数字序号：1. , 1.1 , 1.1.1  等
-     * - 中文序号：一、, 二、, 三、, （一）, （二）, （三） 等
-     * - 罗马数字：I. , II. , III.  等
-     * - 字母序号：A. , B. , a. , b.  等
-     * - 其他格式：第1章, 第1节, 第一章, 第一节 等
+     * 从后往前替换，前面的偏移量不受影响。
      *
-     * @param text 原始标题文本
-     * @return 标准化后的标题文本（不含序号）
+     * @param project  项目
+     * @param document 文档
+     * @param edits    按偏移量升序排列的文本替换
      */
-    private String normalizeHeadingText(@NotNull String text) {
-        if (text.isEmpty()) {
-            return text;
+    static void applyEdits(@NotNull Project project,
+                           @NotNull Document document,
+                           @NotNull List<HeadingNumbering.TextEdit> edits) {
+        if (edits.isEmpty()) {
+            log.debug("标题编号和目录已是最新，无需修改");
+            return;
         }
 
-        // 移除"第X章/节"格式：第1章, 第1节, 第一章, 第一节 等（优先处理，避免与其他规则冲突）
-        text = text.replaceAll("^第[\\d一二三四五六七八九十百千万]+[章节]\\s*", "");
-
-        // 移除带括号的中文序号：（一）, （二）, （三） 等
-        text = text.replaceAll("^[（(][一二三四五六七八九十百千万]+[）)]\\s*", "");
-
-        // 移除带括号的数字序号：(1), (2), (3) 等
-        text = text.replaceAll("^[（(]\\d+[）)]\\s*", "");
-
-        // 移除带括号的字母序号：(A), (B), (a), (b) 等
-        text = text.replaceAll("^[（(][A-Za-z][）)]\\s*", "");
-
-        // 移除数字序号：1. , 1.1 , 1.1.1  等
-        text = text.replaceAll("^\\d+(\\.\\d+)*\\s*[.、]?\\s*", "");
-
-        // 移除中文序号：一、, 二、, 三、 等
-        // 匹配以中文数字开头，后跟"、"或"."的格式
-        // 支持：一、二、三...十、十一、十二...九十九、一百等
-        // 使用通用匹配：一个或多个中文数字字符，后跟"、"或"."或空格
-        text = text.replaceAll("^[一二三四五六七八九十百千万]+\\s*[、.]\\s*", "");
-        // 处理没有标点的中文序号（较少见，但也要处理）
-        text = text.replaceAll("^[一二三四五六七八九十百千万]+\\s+", "");
-
-        // 移除罗马数字序号：I. , II. , III. , IV. , V.  等
-        // 注意：必须要求有标点，避免误匹配单词（如 "IDEA"）
-        text = text.replaceAll("^[IVX]+\\s*[.、]\\s*", "");
-
-        // 移除字母序号：A. , B. , a. , b.  等（单个字母，必须后跟标点）
-        // 注意：必须要求有标点，避免误匹配单词（如 "IDEA"）
-        text = text.replaceAll("^[A-Za-z]\\s*[.、]\\s*", "");
-
-        // 移除可能残留的前导空格和标点
-        text = text.replaceAll("^\\s*[.、。，]?\\s*", "");
-
-        return text.trim();
-    }
-
-    /**
-     * 为标题生成编号
-     * <p>
-     * 根据标题层级生成编号，例如：
-     * - ## xxx -> 1
-     * - ## yyy -> 2
-     * - ### zzz -> 2.1
-     *
-     * @param headings 标题信息列表
-     */
-    private void generateNumbers(@NotNull List<HeadingInfo> headings) {
-        int[] counters = new int[7]; // 支持 6 级标题（索引 0 不使用，1-6 对应 # 到 ######）
-
-        for (HeadingInfo heading : headings) {
-            int level = heading.level;
-
-            // 重置比当前级别更深的计数器
-            for (int i = level + 1; i < counters.length; i++) {
-                counters[i] = 0;
-            }
-
-            // 增加当前级别的计数器
-            counters[level]++;
-
-            // 生成编号
-            StringBuilder numberBuilder = new StringBuilder();
-            for (int i = 2; i <= level; i++) {
-                if (i > 2) {
-                    numberBuilder.append(".");
-                }
-                numberBuilder.append(counters[i]);
+        WriteCommandAction.runWriteCommandAction(project, MikBundle.message("mik.action.menu.heading.number.title"), null, () -> {
+            for (int i = edits.size() - 1; i >= 0; i--) {
+                HeadingNumbering.TextEdit edit = edits.get(i);
+                document.replaceString(edit.start(), edit.end(), edit.replacement());
             }
-            heading.number = numberBuilder.toString();
-        }
+            PsiDocumentManager.getInstance(project).commitDocument(document);
+            FileDocumentManager.getInstance().saveDocument(document);
+        });
+        log.debug("标题编号完成，共 {} 处修改", edits.size());
     }
 
     /**
-     * 生成新的文档内容（包含编号和 TOC）
+     * 解析文档中的所有标题（从二级标题开始）
+     * <p>
+     * 优先使用 Markdown 插件的 PSI API 解析标题，如果不可用则回退到正则表达式。需要在读操作中调用，
+     * 读操作被取消时抛出 {@link ProcessCanceledException}。
      *
-     * @param document 原始文档
-     * @param headings 标题信息列表
-     * @return 新的文档内容
+     * @param psiFile  PSI 文件对象
+     * @param document 文档对象
+     * @return 按行号排列的标题信息列表
      */
-    private String generateNewContent(@NotNull Document document, @NotNull List<HeadingInfo> headings) {
-        String originalContent = document.getText();
-        String[] lines = originalContent.split("\n", -1);
-        StringBuilder newContent = new StringBuilder();
-
-        // 创建标题行号到标题信息的映射
-        java.util.Map<Integer, HeadingInfo> headingMap = new java.util.HashMap<>();
-        for (HeadingInfo heading : headings) {
-            headingMap.put(heading.lineNumber, heading);
-        }
-
-        // 查找是否已经存在 "## 目录" 标题
-        int existingTocStartLine = -1;
-        int existingTocEndLine = -1;
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i].trim();
-            // 检查是否是 "## 目录" 标题（可能带编号，如 "## 1 目录"）
-            if (line.matches("^##\\s+(\\d+\\s+)?目录$")) {
-                existingTocStartLine = i;
-                // 查找目录内容的结束位置（下一个标题之前或连续空行）
-                for (int j = i + 1; j < lines.length; j++) {
-                    String nextLine = lines[j].trim();
-                    // 如果遇到下一个二级标题（##），目录结束
-                    if (nextLine.startsWith("##") && !nextLine.matches("^##\\s+(\\d+\\s+)?目录$")) {
-                        existingTocEndLine = j - 1;
-                        break;
-                    }
-                    // 如果遇到连续两个空行，目录可能结束
-                    if (j > i + 1 && nextLine.isEmpty() && lines[j - 1].trim().isEmpty()) {
-                        existingTocEndLine = j - 2;
-                        break;
-                    }
-                }
-                // 如果没找到结束位置，目录到第一个内容标题之前
-                if (existingTocEndLine == -1) {
-                    int firstContentHeadingLine = headings.isEmpty() ? lines.length : headings.get(0).lineNumber;
-                    existingTocEndLine = Math.min(firstContentHeadingLine - 1, lines.length - 1);
-                }
-                break;
-            }
-        }
-
-        // 查找第一个内容标题的行号（排除目录标题）
-        int firstHeadingLine = headings.isEmpty() ? -1 : headings.get(0).lineNumber;
-        boolean tocInserted = false;
-
-        // 按行处理
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i];
-
-            // 如果当前行在已存在的目录范围内，替换或跳过
-            if (existingTocStartLine != -1 && i >= existingTocStartLine && i <= existingTocEndLine) {
-                // 如果是目录标题行，替换为新的目录
-                if (i == existingTocStartLine) {
-                    newContent.append(generateToc(headings));
-                    tocInserted = true;
-                    // 如果不是最后一行，添加换行符
-                    if (i < lines.length - 1) {
-                        newContent.append("\n");
+    @NotNull
+    static List<HeadingNumbering.Heading> parseHeadings(@NotNull PsiFile psiFile, @NotNull Document document) {
+        // 尝试使用 Markdown 插件的 PSI API
+        try {
+            // 查找 MarkdownHeader 类型的 PSI 元素
+            Collection<MarkdownHeader> headerElements = PsiTreeUtil.findChildrenOfType(psiFile, MarkdownHeader.class);
+            if (!headerElements.isEmpty()) {
+                List<HeadingNumbering.Heading> headings = new ArrayList<>();
+                for (MarkdownHeader markdownHeader : headerElements) {
+                    ProgressManager.checkCanceled();
+                    int line = document.getLineNumber(markdownHeader.getTextRange().getStartOffset());
+                    HeadingNumbering.Heading heading = HeadingNumbering.heading(markdownHeader.getLevel(), markdownHeader.getText(), line);
+                    if (heading != null) {
+                        headings.add(heading);
                     }
                 }
-                // 跳过目录内容行（已经在 generateToc 中生成了）
-                continue;
-            }
-
-            // 如果是第一个内容标题所在行，且还没有插入 TOC，先插入 TOC
-            if (i == firstHeadingLine && !tocInserted) {
-                newContent.append(generateToc(headings));
-                newContent.append("\n\n");
-                tocInserted = true;
-            }
-
-            // 检查当前行是否是标题
-            HeadingInfo heading = headingMap.get(i);
-            if (heading != null) {
-                // 替换为带编号的标题
-                newContent.append(heading.generateNumberedHeading());
-            } else {
-                // 保持原样
-                newContent.append(line);
-            }
-
-            // 如果不是最后一行，添加换行符
-            if (i < lines.length - 1) {
-                newContent.append("\n");
-            }
-        }
-
-        return newContent.toString();
-    }
-
-    /**
-     * 生成 TOC（目录）
-     * <p>
-     * 只包含二级标题（##），不包含三级及以上的标题
-     *
-     * @param headings 标题信息列表
-     * @return TOC 内容
-     */
-    private String generateToc(@NotNull List<HeadingInfo> headings) {
-        if (headings.isEmpty()) {
-            return "";
-        }
-
-        StringBuilder toc = new StringBuilder();
-        toc.append("## 目录\n");
-
-        for (HeadingInfo heading : headings) {
-            // 只包含二级标题（level == 2）
-            if (heading.level == 2) {
-                // 二级标题无缩进
-                toc.append(heading.generateTocEntry(0)).append("\n");
+                // 按行号排序
+                headings.sort(Comparator.comparingInt(HeadingNumbering.Heading::line));
+                return headings;
             }
+        } catch (ProcessCanceledException e) {
+            // 读操作被写操作打断时必须抛出，由 nonBlocking 重新执行，不能回退到正则表达式
+            throw e;
+        } catch (Exception e) {
+            log.debug("使用 PSI API 解析标题失败，回退到正则表达式: {}", e.getMessage());
         }
 
-        return toc.toString();
+        // 回退到正则表达式解析
+        return HeadingNumbering.parseHeadings(document.getImmutableCharSequence());
     }
 
     /**
@@ -0,0 +1,95 @@
+package info.dong4j.idea.plugin.action.menu;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+
+import info.dong4j.idea.plugin.MikBundle;
+import info.dong4j.idea.plugin.chain.ActionManager;
+import info.dong4j.idea.plugin.chain.MigrationPlan;
+import info.dong4j.idea.plugin.chain.MigrationPlanner;
+import info.dong4j.idea.plugin.console.MikConsoleView;
+import info.dong4j.idea.plugin.entity.EventData;
+import info.dong4j.idea.plugin.task.ActionTask;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 图床迁移计划任务
+ * <p>
+ * 在后台生成 {@link MigrationPlan} 并输出到控制台，弹出确认框展示引用数、重复数、预计大小和耗时（即预演报告），
+ * 确认后把计划交给图床迁移链执行，迁移链直接使用计划中已经解析并过滤过的图片。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+final class MigrationPlanTask extends Task.Backgroundable {
+    /** 迁移使用的事件数据 */
+    private final EventData data;
+    /** 用户输入的过滤字符串 */
+    private final String filterString;
+
+    /**
+     * 构造函数
+     *
+     * @param project      项目对象
+     * @param data         迁移使用的事件数据
+     * @param filterString 用户输入的过滤字符串
+     */
+    MigrationPlanTask(@NotNull Project project, @NotNull EventData data, @NotNull String filterString) {
+        super(project, MikBundle.message("mik.action.migration.plan.progress"), true);
+        this.data = data;
+        this.filterString = filterString;
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        Project project = this.getProject();
+        MigrationPlan plan = MigrationPlanner.plan(this.data.getActionEvent(), project, this.filterString, this.data.getClient(), indicator);
+        if (plan == null) {
+            return;
+        }
+
+        String title = MikBundle.message("mik.action.move.process", this.data.getClientName());
+        if (plan.getReferenceCount() == 0) {
+            ApplicationManager.getApplication().invokeLater(
+                () -> Messages.showInfoMessage(project, MikBundle.message("mik.action.migration.plan.empty"), title),
+                ModalityState.defaultModalityState());
+            return;
+        }
+
+        plan.format().forEach(line -> MikConsoleView.printMessage(project, line));
+        AtomicBoolean confirmed = new AtomicBoolean(false);
+        ApplicationManager.getApplication().invokeAndWait(
+            () -> confirmed.set(Messages.showYesNoDialog(project,
+                                                         MikBundle.message("mik.action.migration.plan.confirm",
+                                                                           plan.getDocumentCount(),
+                                                                           plan.getReferenceCount(),
+                                                                           plan.getDistinctCount(),
+                                                                           plan.getDuplicateCount(),
+                                                                           MigrationPlan.formatBytes(plan.getKnownBytes()),
+                                                                           MigrationPlan.formatDuration(plan.getEstimatedMillis())),
+                                                         title,
+                                                         Messages.getQuestionIcon()) == Messages.YES),
+            ModalityState.defaultModalityState());
+        if (!confirmed.get()) {
+            log.debug("仅预演，不执行迁移");
+            return;
+        }
+
+        this.data.setWaitingProcessMap(plan.getWaitingProcessMap()).setMigrationPlan(plan);
+        ApplicationManager.getApplication().invokeLater(
+            () -> new ActionTask(project, title, ActionManager.buildImageMigrationChain(this.data)).queue(),
+            ModalityState.defaultModalityState());
+    }
+}
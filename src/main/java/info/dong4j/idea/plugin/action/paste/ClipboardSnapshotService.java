@@ -0,0 +1,210 @@
+package info.dong4j.idea.plugin.action.paste;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.ide.CopyPasteManager;
+
+import info.dong4j.idea.plugin.util.ImageUtils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.Toolkit;
+import java.awt.datatransfer.Clipboard;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.FlavorEvent;
+import java.awt.datatransfer.FlavorListener;
+import java.awt.datatransfer.Transferable;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 剪贴板快照服务
+ * <p>
+ * {@link MikPasteProvider#isPasteEnabled} 会在每次动作更新时被平台反复调用，不能每次都通过 {@code getTransferData} 取出完整的剪贴板图片或文件列表。
+ * 该服务提供两级廉价判断：
+ * <ul>
+ *   <li>{@link #probeFlavor()}：只查询剪贴板中可用的 {@link DataFlavor}，不读取数据</li>
+ *   <li>{@link #snapshot()}：对文件列表和文本，按需读取一次并只保留判断结果（是否全是图片文件、是否是网络图片 URL），
+ *       直到剪贴板变化才重新读取</li>
+ * </ul>
+ * 剪贴板变化通过 IDE 的 {@link CopyPasteManager.ContentChangedListener} 和 AWT 的 {@link FlavorListener} 感知；
+ * 外部程序复制相同类型的数据时两者都可能不通知，因此快照最多复用 {@link #MAX_AGE_MS} 毫秒。
+ * 真正粘贴时的完整数据只在 {@link MikPasteProvider#performPaste} 中读取一次。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+@Service(Service.Level.APP)
+public final class ClipboardSnapshotService implements CopyPasteManager.ContentChangedListener, FlavorListener, Disposable {
+    /** 快照最长复用时间（毫秒），用于兜底外部程序未触发通知的剪贴板变化 */
+    private static final long MAX_AGE_MS = 1000;
+
+    /** 剪贴板版本号，每次收到变化通知时递增 */
+    private final AtomicLong version = new AtomicLong();
+    /** 最近一次读取的快照 */
+    private volatile Snapshot snapshot;
+    /** 已注册 FlavorListener 的系统剪贴板，无图形环境时为 null */
+    private final Clipboard systemClipboard;
+
+    /**
+     * 创建剪贴板快照服务并注册剪贴板变化监听
+     */
+    public ClipboardSnapshotService() {
+        CopyPasteManager.getInstance().addContentChangedListener(this, this);
+        Clipboard clipboard = null;
+        try {
+            clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
+            clipboard.addFlavorListener(this);
+        } catch (Exception e) {
+            log.debug("无法监听系统剪贴板变化", e);
+        }
+        this.systemClipboard = clipboard;
+    }
+
+    /**
+     * 获取剪贴板快照服务实例
+     *
+     * @return 剪贴板快照服务
+     */
+    @NotNull
+    public static ClipboardSnapshotService getInstance() {
+        return ApplicationManager.getApplication().getService(ClipboardSnapshotService.class);
+    }
+
+    /**
+     * 只根据可用的数据类型判断剪贴板内容的类型，不读取数据
+     * <p>
+     * 优先级与 {@link ImageUtils#getDataFromClipboard()} 一致：文件列表、图片、文本。
+     *
+     * @return 剪贴板内容的类型，不支持时返回 null
+     */
+    @Nullable
+    public DataFlavor probeFlavor() {
+        CopyPasteManager manager = CopyPasteManager.getInstance();
+        if (manager.areDataFlavorsAvailable(DataFlavor.javaFileListFlavor)) {
+            return DataFlavor.javaFileListFlavor;
+        }
+        if (manager.areDataFlavorsAvailable(DataFlavor.imageFlavor)) {
+            return DataFlavor.imageFlavor;
+        }
+        if (manager.areDataFlavorsAvailable(DataFlavor.stringFlavor)) {
+            return DataFlavor.stringFlavor;
+        }
+        return null;
+    }
+
+    /**
+     * 获取当前剪贴板的快照
+     * <p>
+     * 剪贴板没有变化且快照未过期时直接复用，否则重新读取。图片类型不读取数据。
+     *
+     * @return 剪贴板快照，剪贴板为空或不支持时返回 null
+     */
+    @Nullable
+    public Snapshot snapshot() {
+        long currentVersion = this.version.get();
+        Snapshot cached = this.snapshot;
+        if (cached != null && cached.version() == currentVersion && System.currentTimeMillis() - cached.createdAt() < MAX_AGE_MS) {
+            return cached;
+        }
+
+        DataFlavor flavor = this.probeFlavor();
+        if (flavor == null) {
+            this.snapshot = null;
+            return null;
+        }
+        boolean allImageFiles = false;
+        boolean imageUrl = false;
+        try {
+            if (DataFlavor.javaFileListFlavor.equals(flavor)) {
+                allImageFiles = isAllImageFiles(CopyPasteManager.getInstance().getContents(DataFlavor.javaFileListFlavor));
+            } else if (DataFlavor.stringFlavor.equals(flavor)) {
+                String text = CopyPasteManager.getInstance().getContents(DataFlavor.stringFlavor);
+                imageUrl = text != null && (text.trim().startsWith("http://") || text.trim().startsWith("https://"));
+            }
+        } catch (Exception e) {
+            log.debug("读取剪贴板失败", e);
+        }
+        Snapshot fresh = new Snapshot(currentVersion, System.currentTimeMillis(), flavor, allImageFiles, imageUrl);
+        this.snapshot = fresh;
+        return fresh;
+    }
+
+    /**
+     * 判断文件列表中的所有文件是否都是图片文件
+     * <p>
+     * 只读取文件头（{@link ImageUtils#hasImageReader(File)}），不解码图片。
+     *
+     * @param fileListValue 文件列表对象（从剪贴板获取）
+     * @return 如果所有文件都是图片文件返回 true，否则返回 false
+     */
+    static boolean isAllImageFiles(Object fileListValue) {
+        // 验证文件列表的基本有效性
+        if (!(fileListValue instanceof List<?> list) || list.isEmpty() || !(list.get(0) instanceof File)) {
+            return false;
+        }
+
+        // 遍历所有文件，检查是否都是图片文件
+        for (Object item : list) {
+            if (!(item instanceof File file)) {
+                return false;
+            }
+            // 目录或非图片文件都不符合条件
+            if (file.isDirectory() || !ImageUtils.hasImageReader(file)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * IDE 内复制内容时使快照失效
+     *
+     * @param oldTransferable 原剪贴板内容
+     * @param newTransferable 新剪贴板内容
+     */
+    @Override
+    public void contentChanged(@Nullable Transferable oldTransferable, Transferable newTransferable) {
+        this.version.incrementAndGet();
+    }
+
+    /**
+     * 系统剪贴板可用数据类型变化时使快照失效
+     *
+     * @param e 数据类型变化事件
+     */
+    @Override
+    public void flavorsChanged(FlavorEvent e) {
+        this.version.incrementAndGet();
+    }
+
+    /**
+     * 移除系统剪贴板监听，IDE 剪贴板监听随服务一起释放
+     */
+    @Override
+    public void dispose() {
+        if (this.systemClipboard != null) {
+            this.systemClipboard.removeFlavorListener(this);
+        }
+    }
+
+    /**
+     * 剪贴板快照
+     *
+     * @param version       读取时的剪贴板版本号
+     * @param createdAt     读取时间
+     * @param flavor        剪贴板内容的类型
+     * @param allImageFiles 文件列表是否全部为图片文件
+     * @param imageUrl      文本是否是 HTTP/HTTPS URL
+     */
+    public record Snapshot(long version, long createdAt, DataFlavor flavor, boolean allImageFiles, boolean imageUrl) {
+    }
+}
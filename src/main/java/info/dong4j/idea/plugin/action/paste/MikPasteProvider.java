@@ -76,9 +76,9 @@ public class MikPasteProvider implements PasteProvider {
      * <b>处理流程：</b>
      * <ol>
      *   <li>从 DataContext 获取 Editor 对象</li>
-     *   <li>从剪贴板获取数据</li>
+     *   <li>从剪贴板获取数据（整个粘贴过程中只读取这一次完整数据）</li>
      *   <li>判断数据类型，如果是文件列表，先尝试处理"粘贴为纯文本"</li>
-     *   <li>调用 {@link PasteImageAction#doExecute} 执行图片处理（压缩、重命名、上传等）</li>
+     *   <li>调用 {@link PasteImageAction#paste} 执行图片处理（压缩、重命名、上传等）</li>
      * </ol>
      *
      * @param dataContext 数据上下文，包含编辑器、文件等上下文信息
@@ -114,11 +114,11 @@ public class MikPasteProvider implements PasteProvider {
             }
         }
 
-        // 走 MIK 图片处理链路
+        // 走 MIK 图片处理链路，复用已读取的剪贴板数据
         // 注意：传入 null 作为 EditorActionHandler，因为此时不需要回退到默认 handler
-        // 如果处理失败，doExecute 内部会处理（通常不会失败，因为已经在 isPasteEnabled 中判断过）
+        // 如果处理失败，paste 内部会处理（通常不会失败，因为已经在 isPasteEnabled 中判断过）
         Caret caret = editor.getCaretModel().getCurrentCaret();
-        new PasteImageAction(null).doExecute(editor, caret, dataContext);
+        new PasteImageAction(null).paste(editor, caret, dataContext, clipboardData);
     }
 
     /**
@@ -147,7 +147,7 @@ public class MikPasteProvider implements PasteProvider {
      * <p>
      * <b>选择 BGT 的原因：</b>
      * <ul>
-     *   <li>{@link #isPasteEnabled(DataContext)} 需要读取剪贴板数据，可能涉及 I/O 操作</li>
+     *   <li>{@link #isPasteEnabled(DataContext)} 需要查询剪贴板，偶尔需要读取文件列表或文本，可能涉及 I/O 操作</li>
      *   <li>需要检查文件类型、验证文件列表等操作，可能比较耗时</li>
      *   <li>这些操作不应该阻塞 UI 线程，影响用户体验</li>
      * </ul>
@@ -176,6 +176,9 @@ public class MikPasteProvider implements PasteProvider {
      *   <li>根据剪贴板数据类型，满足相应的业务条件</li>
      * </ol>
      * <p>
+     * 平台会在每次动作更新时反复调用该方法，因此这里不读取完整的剪贴板数据：图片只检查 {@link DataFlavor} 是否可用，
+     * 文件列表和文本使用 {@link ClipboardSnapshotService} 缓存的判断结果，剪贴板变化后才重新读取。
+     * <p>
      * <b>不同数据类型的处理逻辑：</b>
      * <ul>
      *   <li><b>图片类型（{@link DataFlavor#imageFlavor}）：</b>
@@ -217,14 +220,12 @@ public class MikPasteProvider implements PasteProvider {
             return false;
         }
 
-        // 从剪贴板获取数据
-        Map<DataFlavor, Object> clipboardData = ImageUtils.getDataFromClipboard();
-        if (clipboardData == null || clipboardData.isEmpty()) {
+        // 只查询剪贴板的数据类型，不读取完整数据
+        ClipboardSnapshotService.Snapshot snapshot = ClipboardSnapshotService.getInstance().snapshot();
+        if (snapshot == null) {
             return false;
         }
-
-        // 获取剪贴板数据的类型（通常只有一个类型）
-        DataFlavor flavor = clipboardData.keySet().iterator().next();
+        DataFlavor flavor = snapshot.flavor();
 
         // 处理图片类型（从剪贴板直接粘贴的图片）
         if (DataFlavor.imageFlavor.equals(flavor)) {
@@ -240,31 +241,14 @@ public class MikPasteProvider implements PasteProvider {
                 return true;
             }
 
-            // 如果没有配置插入图片操作，不处理
-            if (state.getInsertImageAction() == InsertImageActionEnum.NONE) {
-                return false;
-            }
-
-            // 只有当所有文件都是图片时，才处理
-            return isAllImageFiles(clipboardData.get(flavor));
+            // 只有配置了插入图片操作且所有文件都是图片时，才处理
+            return state.getInsertImageAction() != InsertImageActionEnum.NONE && snapshot.allImageFiles();
         }
 
         // 处理字符串类型（可能是网络图片 URL）
         if (DataFlavor.stringFlavor.equals(flavor)) {
-            // 需要启用了"应用到网络图片"功能
-            if (!state.isApplyToNetworkImages()) {
-                return false;
-            }
-
-            // 检查是否是字符串类型
-            Object value = clipboardData.get(flavor);
-            if (!(value instanceof String text)) {
-                return false;
-            }
-
-            // 检查是否是 HTTP/HTTPS URL
-            String trimmed = text.trim();
-            if (!trimmed.startsWith("http://") && !trimmed.startsWith("https://")) {
+            // 需要启用了"应用到网络图片"功能，且字符串是 HTTP/HTTPS URL
+            if (!state.isApplyToNetworkImages() || !snapshot.imageUrl()) {
                 return false;
             }
 
@@ -316,7 +300,7 @@ public class MikPasteProvider implements PasteProvider {
 
         // 如果配置了插入图片操作且所有文件都是图片，则不处理
         // 让图片文件走正常的图片处理逻辑（上传、保存等）
-        if (state.getInsertImageAction() != InsertImageActionEnum.NONE && isAllImageFiles(list)) {
+        if (state.getInsertImageAction() != InsertImageActionEnum.NONE && ClipboardSnapshotService.isAllImageFiles(list)) {
             return false;
         }
 
@@ -355,52 +339,6 @@ public class MikPasteProvider implements PasteProvider {
         return true;
     }
 
-    /**
-     * 判断文件列表中的所有文件是否都是图片文件
-     * <p>
-     * 用于验证从剪贴板获取的文件列表是否全部为图片文件。
-     * 只有当所有文件都是图片时，才会走图片处理逻辑；如果包含非图片文件或目录，则不处理。
-     * <p>
-     * <b>判断条件：</b>
-     * <ul>
-     *   <li>文件列表不为空</li>
-     *   <li>所有元素都是 File 对象</li>
-     *   <li>所有文件都不是目录</li>
-     *   <li>所有文件都是图片文件（通过 {@link ImageUtils#isImageFile(File)} 判断）</li>
-     * </ul>
-     * <p>
-     * <b>用途：</b>
-     * <ul>
-     *   <li>在 {@link #isPasteEnabled(DataContext)} 中判断是否应该处理文件列表</li>
-     *   <li>在 {@link #handleFileListPlainText} 中判断是否应该走图片处理逻辑</li>
-     * </ul>
-     *
-     * @param fileListValue 文件列表对象（从剪贴板获取）
-     * @return 如果所有文件都是图片文件返回 true，否则返回 false
-     * @see ImageUtils#isImageFile(File)
-     */
-    private static boolean isAllImageFiles(Object fileListValue) {
-        // 验证文件列表的基本有效性
-        if (!(fileListValue instanceof List<?> list) || list.isEmpty() || !(list.get(0) instanceof File)) {
-            return false;
-        }
-
-        // 遍历所有文件，检查是否都是图片文件
-        for (Object item : list) {
-            if (!(item instanceof File file)) {
-                // 包含非 File 对象，不是有效的文件列表
-                return false;
-            }
-            // 目录或非图片文件都不符合条件
-            if (file.isDirectory() || !ImageUtils.isImageFile(file)) {
-                return false;
-            }
-        }
-
-        // 所有文件都是图片文件
-        return true;
-    }
-
     /**
      * 判断光标是否位于 Markdown 图片标签的路径部分
      * <p>
@@ -1,9 +1,12 @@
 package info.dong4j.idea.plugin.action.paste;
 
 import com.intellij.openapi.actionSystem.DataContext;
+import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Caret;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorModificationUtil;
+import com.intellij.openapi.editor.RangeMarker;
 import com.intellij.openapi.editor.actionSystem.EditorActionHandler;
 import com.intellij.openapi.editor.actionSystem.EditorTextInsertHandler;
 import com.intellij.openapi.fileEditor.FileDocumentManager;
@@ -22,6 +25,7 @@ import info.dong4j.idea.plugin.chain.handler.FinalChainHandler;
 import info.dong4j.idea.plugin.chain.handler.ImageCompressionHandler;
 import info.dong4j.idea.plugin.chain.handler.ImageDownloadHandler;
 import info.dong4j.idea.plugin.chain.handler.ImageLabelChangeHandler;
+import info.dong4j.idea.plugin.chain.handler.ImagePrepareHandler;
 import info.dong4j.idea.plugin.chain.handler.ImageRenameHandler;
 import info.dong4j.idea.plugin.chain.handler.ImageStorageHandler;
 import info.dong4j.idea.plugin.chain.handler.ImageUploadHandler;
@@ -39,7 +43,7 @@ import info.dong4j.idea.plugin.enums.InsertImageActionEnum;
 import info.dong4j.idea.plugin.settings.MikPersistenComponent;
 import info.dong4j.idea.plugin.settings.MikState;
 import info.dong4j.idea.plugin.settings.OssState;
-import info.dong4j.idea.plugin.task.ActionTask;
+import info.dong4j.idea.plugin.task.PasteImageTask;
 import info.dong4j.idea.plugin.util.CharacterUtils;
 import info.dong4j.idea.plugin.util.ClientUtils;
 import info.dong4j.idea.plugin.util.ImageUtils;
@@ -53,14 +57,12 @@ import org.jetbrains.annotations.Nullable;
 import java.awt.Image;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.Transferable;
-import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -69,8 +71,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
-import javax.imageio.ImageIO;
-
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -118,6 +118,22 @@ public class PasteImageAction extends EditorActionHandler implements EditorTextI
     @Override
     protected void doExecute(@NotNull Editor editor, @Nullable Caret caret, DataContext dataContext) {
         log.debug("PasteImageAction.doExecute 被调用 - 开始处理粘贴操作");
+        this.paste(editor, caret, dataContext, null);
+    }
+
+    /**
+     * 使用已读取的剪贴板数据执行 paste 功能
+     * <p>
+     * {@link MikPasteProvider#performPaste} 已经读取过剪贴板时直接传入，避免重复取出完整的图片或文件列表；
+     * 传入 null 时在这里读取一次。
+     *
+     * @param editor        编辑器实例
+     * @param caret         光标实例，可能为 null
+     * @param dataContext   数据上下文
+     * @param clipboardData 已读取的剪贴板数据，为 null 时重新读取
+     * @since 2.3.0
+     */
+    void paste(@NotNull Editor editor, @Nullable Caret caret, DataContext dataContext, @Nullable Map<DataFlavor, Object> clipboardData) {
 
         Document document = editor.getDocument();
         VirtualFile virtualFile = FileDocumentManager.getInstance().getFile(document);
@@ -136,15 +152,17 @@ public class PasteImageAction extends EditorActionHandler implements EditorTextI
             && insertImageAction != null
             && insertImageAction != InsertImageActionEnum.NONE) {
             try {
-                Map<DataFlavor, Object> clipboardData = ImageUtils.getDataFromClipboard();
-                if (clipboardData != null) {
+                if (clipboardData == null) {
+                    clipboardData = ImageUtils.getDataFromClipboard();
+                }
+                if (clipboardData != null && !clipboardData.isEmpty()) {
                     Iterator<Map.Entry<DataFlavor, Object>> iterator = clipboardData.entrySet().iterator();
                     Map.Entry<DataFlavor, Object> entry = iterator.next();
 
                     Map<Document, List<MarkdownImage>> waitingProcessMap = this.buildWaitingProcessMap(entry, editor, virtualFile, state);
 
                     if (waitingProcessMap.isEmpty()) {
-                        this.defaultAction(editor, caret, dataContext);
+                        this.defaultAction(editor, caret, dataContext, clipboardData);
                         return;
                     }
 
@@ -153,9 +171,14 @@ public class PasteImageAction extends EditorActionHandler implements EditorTextI
                     final boolean needStoraged = prepareImageStoragePath(editor, insertImageAction, state, virtualFile);
 
                     final ActionManager manager = createManager(editor, state, waitingProcessMap);
+                    // 先插入占位标签，图片处理完成后由 WriteToEditorHandler 替换，任务结束时清理未被替换的占位标签
+                    List<RangeMarker> placeholders = this.insertPlaceholders(editor, waitingProcessMap);
+                    manager.addCallback(new PlaceholderCleaner(editor.getProject(), editor.getDocument(), placeholders));
 
                     // 如果包含网络图片，先添加下载处理器
                     manager.addHandler(hasNetworkImage, new ImageDownloadHandler())
+                        // 编码剪贴板图片、添加水印
+                        .addHandler(new ImagePrepareHandler())
                         // 图片压缩
                         .addHandler(new ImageCompressionHandler())
                         // 图片重命名
@@ -173,7 +196,7 @@ public class PasteImageAction extends EditorActionHandler implements EditorTextI
                         // 回收资源
                         .addHandler(new FinalChainHandler());
 
-                    new ActionTask(editor.getProject(), MikBundle.message("mik.action.paste.task"), manager).queue();
+                    new PasteImageTask(editor.getProject(), MikBundle.message("mik.action.paste.task"), manager).queue();
                     return;
                 }
             } catch (Exception ignored) {
@@ -183,6 +206,38 @@ public class PasteImageAction extends EditorActionHandler implements EditorTextI
         this.extractedDefaultAction(editor, caret, dataContext);
     }
 
+    /**
+     * 在光标处为每张待处理的图片插入占位标签
+     * <p>
+     * 在 EDT 上只写入一段文本，图片的转换和编码都在后台任务中进行，粘贴后编辑器立即有反馈。
+     * 光标在已有图片路径中时（只替换路径）不插入占位标签。
+     *
+     * @param editor            编辑器实例
+     * @param waitingProcessMap 待处理的图片
+     * @return 插入的占位标签
+     */
+    @NotNull
+    private List<RangeMarker> insertPlaceholders(@NotNull Editor editor, @NotNull Map<Document, List<MarkdownImage>> waitingProcessMap) {
+        List<RangeMarker> placeholders = new ArrayList<>();
+        Document document = editor.getDocument();
+        WriteCommandAction.runWriteCommandAction(editor.getProject(), () -> {
+            for (MarkdownImage markdownImage : waitingProcessMap.getOrDefault(document, Collections.emptyList())) {
+                if (StringUtils.isNotBlank(markdownImage.getOriginalMark())) {
+                    continue;
+                }
+                String name = StringUtils.isNotBlank(markdownImage.getImageName()) ? markdownImage.getImageName() : markdownImage.getPath();
+                String text = ImageContents.IMAGE_MARK_PREFIX + MikBundle.message("mik.action.paste.placeholder", name)
+                              + ImageContents.IMAGE_MARK_MIDDLE + ImageContents.IMAGE_MARK_SUFFIX + ImageContents.LINE_BREAK;
+                int start = editor.getCaretModel().getOffset();
+                EditorModificationUtil.insertStringAtCaret(editor, text);
+                RangeMarker placeholder = document.createRangeMarker(start, start + text.length());
+                markdownImage.setPlaceholder(placeholder);
+                placeholders.add(placeholder);
+            }
+        });
+        return placeholders;
+    }
+
     private static ActionManager createManager(@NotNull Editor editor,
                                                MikState state,
                                                Map<Document, List<MarkdownImage>> waitingProcessMap) {
@@ -275,10 +330,15 @@ public class PasteImageAction extends EditorActionHandler implements EditorTextI
 
         Map<Document, List<MarkdownImage>> waitingProcessMap = new HashMap<>(8);
         List<MarkdownImage> markdownImages = new ArrayList<>(8);
-        for (Map.Entry<String, InputStream> inputStreamMap : this.resolveClipboardData(entry, editor, caret, state).entrySet()) {
-            final MarkdownImage markdownImage = getMarkdownImage(inputStreamMap, filename);
+        if (entry.getValue() instanceof Image image) {
+            // 剪贴板图片只记录引用，转换、水印和编码由 ImagePrepareHandler 在后台完成
+            markdownImages.add(resolveFromImage(image, filename));
+        } else {
+            for (Map.Entry<String, InputStream> inputStreamMap : this.resolveClipboardData(entry, editor, caret, state).entrySet()) {
+                final MarkdownImage markdownImage = getMarkdownImage(inputStreamMap, filename);
 
-            markdownImages.add(markdownImage);
+                markdownImages.add(markdownImage);
+            }
         }
         if (!markdownImages.isEmpty()) {
             waitingProcessMap.put(editor.getDocument(), markdownImages);
@@ -394,9 +454,7 @@ public class PasteImageAction extends EditorActionHandler implements EditorTextI
         }
 
         if (entry.getKey().equals(DataFlavor.javaFileListFlavor)) {
-            this.resolveFromFile(entry, imageMap, state);
-        } else {
-            this.resolveFromImage(entry, imageMap, state);
+            this.resolveFromFile(entry, imageMap);
         }
         return imageMap;
     }
@@ -407,15 +465,17 @@ public class PasteImageAction extends EditorActionHandler implements EditorTextI
      * 该方法用于处理剪贴板中包含的文件列表数据，首先过滤非图片文件，然后将符合条件的图片文件
      * 加载到 imageMap 中，供后续使用。若处理过程中出现异常或不符合条件的文件，将提前终止处理。
      * <p>
+     * 在 EDT 上调用，只读取文件头判断格式（{@link ImageUtils#hasImageReader(File)}），不解码像素，
+     * 解码由后台任务中的处理器完成。
+     * <p>
      * key 格式：file:原始文件绝对路径|文件名
      * 这样可以在后续处理中区分是文件还是图片流，并保留原始文件路径信息
      *
      * @param entry    包含数据类型的条目，用于获取文件列表
      * @param imageMap 用于存储图片文件的映射表，键为文件元数据，值为文件输入流
-     * @param state    状态对象，用于控制是否添加水印等操作
      */
     private void resolveFromFile(@NotNull Map.Entry<DataFlavor, Object> entry,
-                                 Map<String, InputStream> imageMap, MikState state) {
+                                 Map<String, InputStream> imageMap) {
         @SuppressWarnings("unchecked") List<File> fileList = (List<File>) entry.getValue();
         for (File file : fileList) {
             // 第一步先初步排除非图片类型, 避免复制大量文件导致 OOM
@@ -423,16 +483,12 @@ public class PasteImageAction extends EditorActionHandler implements EditorTextI
                 break;
             }
 
-            if (ImageUtils.isImageFile(file)) {
-                File finalFile = file;
-                if (state.isWatermark()) {
-                    finalFile = ImageUtils.watermarkFromText(file, state.getWatermarkText());
-                }
+            if (ImageUtils.hasImageReader(file)) {
                 try {
                     // 构建元数据 key，格式：file:原始文件绝对路径|文件名
                     String metadataKey = String.format("file:%s|%s", file.getAbsolutePath(), file.getName());
-                    imageMap.put(metadataKey, new FileInputStream(finalFile));
-                } catch (FileNotFoundException e) {
+                    imageMap.put(metadataKey, new FileInputStream(file));
+                } catch (IOException e) {
                     break;
                 }
             } else {
@@ -445,42 +501,19 @@ public class PasteImageAction extends EditorActionHandler implements EditorTextI
     /**
      * 处理剪贴板中为图像类型的数据
      * <p>
-     * 该方法用于处理剪贴板中类型为Image的数据，将其转换为InputStream并存入imageMap中。
-     * 若启用了水印功能，则使用文本生成水印图片；否则将图像转换为PNG格式的输入流。
+     * 剪贴板图片没有文件名，统一使用随机文件名和 png 后缀。这里只保存图片引用，
+     * 转换、水印和编码由 {@link ImagePrepareHandler} 在后台线程中完成，避免大图阻塞 EDT。
      *
-     * @param entry    剪贴板条目，包含数据类型和对应的数据对象
-     * @param imageMap 存储图像文件名与输入流的映射表
-     * @param state    状态对象，用于控制是否启用水印功能及水印文本
+     * @param image    剪贴板中的图片
+     * @param filename 当前 markdown 文档的文件名
+     * @return 待处理的图片
      */
-    private void resolveFromImage(@NotNull Map.Entry<DataFlavor, Object> entry,
-                                  Map<String, InputStream> imageMap, MikState state) {
-        // image 类型统一重命名, 后缀为 png, 因为获取不到文件名
-        String filename = CharacterUtils.getRandomString(6) + ImageMediaType.PNG.getExtension();
-        // 如果是 image 类型, 转换成 inputstream
-        Image image = (Image) entry.getValue();
-
-        InputStream is = null;
-
-        if (state.isWatermark()) {
-            File watermarkFile = ImageUtils.watermarkFromText(image, filename, state.getWatermarkText());
-            try {
-                is = new FileInputStream(watermarkFile);
-            } catch (FileNotFoundException ignored) {
-            }
-        } else {
-            BufferedImage bufferedImage = ImageUtils.toBufferedImage(image);
-            ByteArrayOutputStream os = new ByteArrayOutputStream();
-            assert bufferedImage != null;
-            try {
-                ImageIO.write(bufferedImage, ImageMediaType.PNG.getExtensionWithoutDot(), os);
-                is = new ByteArrayInputStream(os.toByteArray());
-            } catch (IOException ignored) {
-            }
-        }
-
-        if (is != null) {
-            imageMap.put(filename, is);
-        }
+    @NotNull
+    private static MarkdownImage resolveFromImage(@NotNull Image image, String filename) {
+        String imageName = CharacterUtils.getRandomString(6) + ImageMediaType.PNG.getExtension();
+        MarkdownImage markdownImage = getMarkdownImage(new AbstractMap.SimpleEntry<>(imageName, null), filename);
+        markdownImage.setClipboardImage(image);
+        return markdownImage;
     }
 
     /**
@@ -565,12 +598,14 @@ public class PasteImageAction extends EditorActionHandler implements EditorTextI
      * 且剪贴板包含文件/目录，则只粘贴纯文本名称，避免被 IDEA 转换成 Markdown 链接格式 [name](path)。
      * 对于其他类型的数据，调用原始的编辑器操作处理器。
      *
-     * @param editor      编辑器实例
-     * @param caret       光标位置信息
-     * @param dataContext 数据上下文，包含操作所需的数据
+     * @param editor        编辑器实例
+     * @param caret         光标位置信息
+     * @param dataContext   数据上下文，包含操作所需的数据
+     * @param clipboardData 已读取的剪贴板数据
      * @since 0.0.1
      */
-    private void defaultAction(@NotNull Editor editor, @Nullable Caret caret, DataContext dataContext) {
+    private void defaultAction(@NotNull Editor editor, @Nullable Caret caret, DataContext dataContext,
+                               @NotNull Map<DataFlavor, Object> clipboardData) {
         // 在 Markdown 文件中，检查剪贴板是否包含文件/目录
         Document document = editor.getDocument();
         VirtualFile virtualFile = FileDocumentManager.getInstance().getFile(document);
@@ -579,8 +614,7 @@ public class PasteImageAction extends EditorActionHandler implements EditorTextI
         // 只有在 Markdown 文件中且设置了粘贴文件为纯文本时才进行拦截
         if (virtualFile != null && MarkdownUtils.isMardownFile(virtualFile) && state.isPasteFileAsPlainText()) {
             try {
-                Map<DataFlavor, Object> clipboardData = ImageUtils.getDataFromClipboard();
-                if (clipboardData != null && clipboardData.containsKey(DataFlavor.javaFileListFlavor)) {
+                if (clipboardData.containsKey(DataFlavor.javaFileListFlavor)) {
                     @SuppressWarnings("unchecked")
                     List<File> fileList = (List<File>) clipboardData.get(DataFlavor.javaFileListFlavor);
                     if (fileList != null && !fileList.isEmpty()) {
@@ -0,0 +1,83 @@
+package info.dong4j.idea.plugin.action.paste;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.RangeMarker;
+import com.intellij.openapi.externalSystem.task.TaskCallback;
+import com.intellij.openapi.project.Project;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 粘贴占位标签清理回调
+ * <p>
+ * 粘贴图片时会先在编辑器中插入占位标签，处理成功的图片由 WriteToEditorHandler 替换为最终标签。
+ * 任务结束（成功、取消或异常）后，仍然有效的占位标签说明对应的图片处理失败或被跳过，在这里统一删除。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+class PlaceholderCleaner implements TaskCallback {
+    /** 项目实例 */
+    private final Project project;
+    /** 插入占位标签的文档 */
+    private final Document document;
+    /** 粘贴时插入的占位标签 */
+    private final List<RangeMarker> placeholders;
+
+    /**
+     * 创建占位标签清理回调
+     *
+     * @param project      项目实例
+     * @param document     插入占位标签的文档
+     * @param placeholders 粘贴时插入的占位标签
+     */
+    PlaceholderCleaner(@Nullable Project project, @NotNull Document document, @NotNull List<RangeMarker> placeholders) {
+        this.project = project;
+        this.document = document;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * 任务成功结束时清理剩余的占位标签
+     */
+    @Override
+    public void onSuccess() {
+        this.cleanup();
+    }
+
+    /**
+     * 任务取消或异常结束时清理剩余的占位标签
+     */
+    @Override
+    public void onFailure() {
+        this.cleanup();
+    }
+
+    /**
+     * 删除仍然有效的占位标签
+     */
+    private void cleanup() {
+        if (this.placeholders.stream().noneMatch(RangeMarker::isValid)) {
+            return;
+        }
+        ApplicationManager.getApplication().invokeLater(() -> WriteCommandAction.runWriteCommandAction(this.project, () -> {
+            for (RangeMarker placeholder : this.placeholders) {
+                if (placeholder.isValid()) {
+                    log.debug("删除未被替换的占位标签: {}", placeholder);
+                    this.document.deleteString(placeholder.getStartOffset(), placeholder.getEndOffset());
+                    placeholder.dispose();
+                }
+            }
+        }));
+    }
+}
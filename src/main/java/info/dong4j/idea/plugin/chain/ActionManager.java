@@ -6,6 +6,10 @@ import com.intellij.openapi.progress.ProgressIndicator;
 
 import info.dong4j.idea.plugin.action.intention.ImageMigrationIntentionAction;
 import info.dong4j.idea.plugin.action.menu.ImageMigrationAction;
+import info.dong4j.idea.plugin.chain.event.ChainEvent;
+import info.dong4j.idea.plugin.chain.event.ChainEventLog;
+import info.dong4j.idea.plugin.chain.event.ChainEventType;
+import info.dong4j.idea.plugin.chain.event.ChainRunReport;
 import info.dong4j.idea.plugin.chain.handler.CheckAvailableClientHandler;
 import info.dong4j.idea.plugin.chain.handler.FinalChainHandler;
 import info.dong4j.idea.plugin.chain.handler.ImageCompressionHandler;
@@ -14,6 +18,7 @@ import info.dong4j.idea.plugin.chain.handler.ImageLabelChangeHandler;
 import info.dong4j.idea.plugin.chain.handler.ImageRenameHandler;
 import info.dong4j.idea.plugin.chain.handler.ImageStorageHandler;
 import info.dong4j.idea.plugin.chain.handler.ImageUploadHandler;
+import info.dong4j.idea.plugin.chain.handler.MigrationJournalHandler;
 import info.dong4j.idea.plugin.chain.handler.ParseMarkdownFileHandler;
 import info.dong4j.idea.plugin.chain.handler.RefreshFileSystemHandler;
 import info.dong4j.idea.plugin.chain.handler.WriteToDocumentHandler;
@@ -22,6 +27,8 @@ import info.dong4j.idea.plugin.console.MikConsoleView;
 import info.dong4j.idea.plugin.entity.EventData;
 import info.dong4j.idea.plugin.entity.MarkdownImage;
 import info.dong4j.idea.plugin.enums.ImageLocationEnum;
+import info.dong4j.idea.plugin.metrics.MikMetrics;
+import info.dong4j.idea.plugin.settings.MikState;
 
 import java.util.ArrayList;
 import java.util.LinkedList;
@@ -165,53 +172,94 @@ public class ActionManager {
         this.data.setProgressTracker(progressTracker);
         this.data.setSize(enabledHandlers.size());
 
-        // 第三步：执行处理器链，使用 ProgressTracker 更新进度
-        int stepIndex = 0;
-        for (IActionHandler handler : this.handlersChain) {
-            if (handler.isEnabled(this.data)) {
-                this.data.setIndex(stepIndex);
-
-                // 开始新步骤（仅在 progressTracker 不为 null 时）
-                if (progressTracker != null) {
-                    progressTracker.startStep(stepIndex);
-                }
-
-                log.debug("invoke {}", handler.getName());
-
-                // 记录处理器开始执行时间
-                long handlerStartTime = System.currentTimeMillis();
-
-                try {
-                    // 执行处理器
-                    boolean success = handler.execute(this.data);
-
-                    // 计算处理器执行耗时
-                    long handlerDuration = System.currentTimeMillis() - handlerStartTime;
+        // 记录本次运行的结构化事件，结束时汇总为运行报告
+        ChainEventLog eventLog = new ChainEventLog(this.data.getProject());
+        this.data.setEventLog(eventLog);
+        eventLog.emit(ChainEvent.builder().type(ChainEventType.RUN_STARTED).message(this.data.getAction()).build());
+
+        // 处理器抛出未捕获的异常时也要停止进度采样任务
+        try {
+            // 第三步：执行处理器链，使用 ProgressTracker 更新进度
+            int stepIndex = 0;
+            for (IActionHandler handler : this.handlersChain) {
+                if (handler.isEnabled(this.data)) {
+                    this.data.setIndex(stepIndex);
+
+                    // 开始新步骤（仅在 progressTracker 不为 null 时）
+                    if (progressTracker != null) {
+                        progressTracker.startStep(stepIndex);
+                    }
 
-                    if (!success) {
-                        log.debug("处理器 {} 执行失败，中断处理链", handler.getName());
+                    log.debug("invoke {}", handler.getName());
+                    eventLog.emit(ChainEvent.builder().type(ChainEventType.STAGE_STARTED).stage(handler.getName()).build());
+
+                    // 记录处理器开始执行时间
+                    long handlerStartTime = System.currentTimeMillis();
+                    MikMetrics.Sample sample = MikMetrics.getInstance().start(MikMetrics.Category.HANDLER, handler.getName());
+
+                    try {
+                        // 执行处理器
+                        boolean success = handler.execute(this.data);
+
+                        // 计算处理器执行耗时
+                        long handlerDuration = System.currentTimeMillis() - handlerStartTime;
+                        sample.stop(success);
+
+                        eventLog.emit(ChainEvent.builder()
+                            .type(success ? ChainEventType.STAGE_FINISHED : ChainEventType.STAGE_FAILED)
+                            .stage(handler.getName())
+                            .durationMs(handlerDuration)
+                            .build());
+
+                        if (!success) {
+                            log.debug("处理器 {} 执行失败，中断处理链", handler.getName());
+                            MikConsoleView.printErrorMessage(this.data.getProject(),
+                                                             "[✗] 处理器执行失败: " + handler.getName() + " (耗时: " + formatDuration(handlerDuration) +
+                                                             ")");
+                            break;
+                        } else {
+                            log.debug("处理器 {} 执行成功，耗时: {}ms", handler.getName(), handlerDuration);
+                        }
+                    } catch (Exception e) {
+                        log.debug("处理器 {} 执行失败", handler.getName(), e);
+                        sample.stop(false);
+                        eventLog.emit(ChainEvent.builder()
+                            .type(ChainEventType.STAGE_FAILED)
+                            .stage(handler.getName())
+                            .durationMs(System.currentTimeMillis() - handlerStartTime)
+                            .message(e.getMessage())
+                            .build());
                         MikConsoleView.printErrorMessage(this.data.getProject(),
-                                                         "[✗] 处理器执行失败: " + handler.getName() + " (耗时: " + formatDuration(handlerDuration) +
-                                                         ")");
+                                                         "[✗] 处理器执行失败: " + handler.getName() + " (" + e.getMessage() + ")");
                         break;
-                    } else {
-                        log.debug("处理器 {} 执行成功，耗时: {}ms", handler.getName(), handlerDuration);
                     }
-                } catch (Exception e) {
-                    log.debug("处理器 {} 执行失败", handler.getName(), e);
-                    MikConsoleView.printErrorMessage(this.data.getProject(),
-                                                     "[✗] 处理器执行失败: " + handler.getName() + " (" + e.getMessage() + ")");
-                    break;
+
+                    // 步骤完成
+                    stepIndex++;
                 }
+            }
 
-                // 步骤完成
-                stepIndex++;
+            // 完成所有步骤（仅在 progressTracker 不为 null 时）
+            if (progressTracker != null) {
+                progressTracker.finish();
             }
+        } finally {
+            if (progressTracker != null) {
+                progressTracker.cancel();
+            }
+        }
+
+        // 迁移全部完成时删除迁移日志，否则保留供下次继续
+        MigrationJournal journal = this.data.getMigrationJournal();
+        if (journal != null && !journal.close()) {
+            MikConsoleView.printMessage(this.data.getProject(), "  迁移尚未全部完成，进度已保存，再次执行迁移时将从中断处继续");
         }
 
-        // 完成所有步骤（仅在 progressTracker 不为 null 时）
-        if (progressTracker != null) {
-            progressTracker.finish();
+        ChainRunReport report = eventLog.finish(MikState.getInstance().isSaveChainEventLog());
+        if (report.getImageCount() > 0 || report.getFailureCount() > 0) {
+            for (String line : report.format()) {
+                MikConsoleView.printMessage(this.data.getProject(), line);
+            }
         }
     }
 
@@ -265,6 +313,61 @@ public class ActionManager {
             .addHandler(new FinalChainHandler());
     }
 
+    /**
+     * 过滤图床迁移要处理的图片
+     * <p>
+     * 排除地址与用户输入不匹配的标签以及已在目标图床的图片，并把剩余图片标记为网络图片或本地图片。
+     * 图床迁移链和迁移计划使用相同的规则。
+     *
+     * @param waitingProcessMap 文档与图片的映射，会被原地修改
+     * @param filterString      用户输入的过滤字符串
+     * @param client            目标图床客户端，迁移到本地存储时为 null
+     * @since 2.3.0
+     */
+    static void filterMigrationImages(Map<Document, List<MarkdownImage>> waitingProcessMap,
+                                      String filterString,
+                                      OssClient client) {
+        if (waitingProcessMap == null || waitingProcessMap.isEmpty()) {
+            return;
+        }
+
+        // 收集需要移除的图片
+        List<MarkdownImage> toRemove = new ArrayList<>();
+
+        for (Map.Entry<Document, List<MarkdownImage>> entry : waitingProcessMap.entrySet()) {
+            log.debug("old waitingProcessMap = {}", waitingProcessMap);
+            List<MarkdownImage> images = entry.getValue();
+
+
+            // 过滤图片：排除与用户输入不匹配的标签，以及已在目标图床的图片
+            for (MarkdownImage markdownImage : images) {
+                // 排除与用户输入不匹配的标签
+                if (!markdownImage.getPath().contains(filterString)
+                    || (client != null && markdownImage.getPath().contains(client.getCloudType().feature))) {
+
+                    log.debug("排除与用户输入不匹配的标签: {}", markdownImage.getPath());
+                    toRemove.add(markdownImage);
+                } else {
+                    final String path = markdownImage.getPath();
+                    if (path != null && (path.trim().startsWith("http://") || path.trim().startsWith("https://"))) {
+                        log.debug("标记为网络图片: {}", path);
+                        markdownImage.setLocation(ImageLocationEnum.NETWORK);
+                    } else {
+                        log.debug("标记为本地图片: {}", path);
+                        markdownImage.setLocation(ImageLocationEnum.LOCAL);
+                    }
+                }
+            }
+        }
+
+        // 移除不需要处理的图片
+        for (Map.Entry<Document, List<MarkdownImage>> entry : waitingProcessMap.entrySet()) {
+            entry.getValue().removeAll(toRemove);
+        }
+
+        log.debug("new waitingProcessMap = {}", waitingProcessMap);
+    }
+
     /**
      * 生成图床迁移任务
      * <p>
@@ -283,46 +386,11 @@ public class ActionManager {
         // 过滤掉 LOCAL 和用户输入不匹配的标签
         ParseMarkdownFileHandler parseMarkdownFileHandler = new ParseMarkdownFileHandler();
         parseMarkdownFileHandler.setFileFilter((waitingProcessMap, filterString) -> {
-            if (waitingProcessMap == null || waitingProcessMap.isEmpty()) {
+            // 已经由迁移计划解析并过滤过，直接使用计划中的数据
+            if (data.getMigrationPlan() != null) {
                 return;
             }
-
-            // 收集需要移除的图片
-            List<MarkdownImage> toRemove = new ArrayList<>();
-            OssClient client = data.getClient();
-
-            for (Map.Entry<Document, List<MarkdownImage>> entry : waitingProcessMap.entrySet()) {
-                log.debug("old waitingProcessMap = {}", waitingProcessMap);
-                List<MarkdownImage> images = entry.getValue();
-
-
-                // 过滤图片：排除与用户输入不匹配的标签，以及已在目标图床的图片
-                for (MarkdownImage markdownImage : images) {
-                    // 排除与用户输入不匹配的标签
-                    if (!markdownImage.getPath().contains(filterString)
-                        || (client != null && markdownImage.getPath().contains(client.getCloudType().feature))) {
-
-                        log.debug("排除与用户输入不匹配的标签: {}", markdownImage.getPath());
-                        toRemove.add(markdownImage);
-                    } else {
-                        final String path = markdownImage.getPath();
-                        if (path != null && (path.trim().startsWith("http://") || path.trim().startsWith("https://"))) {
-                            log.debug("标记为网络图片: {}", path);
-                            markdownImage.setLocation(ImageLocationEnum.NETWORK);
-                        } else {
-                            log.debug("标记为本地图片: {}", path);
-                            markdownImage.setLocation(ImageLocationEnum.LOCAL);
-                        }
-                    }
-                }
-            }
-
-            // 移除不需要处理的图片
-            for (Map.Entry<Document, List<MarkdownImage>> entry : waitingProcessMap.entrySet()) {
-                entry.getValue().removeAll(toRemove);
-            }
-
-            log.debug("new waitingProcessMap = {}", waitingProcessMap);
+            filterMigrationImages(waitingProcessMap, filterString, data.getClient());
         });
 
 
@@ -330,6 +398,8 @@ public class ActionManager {
             .addHandler(parseMarkdownFileHandler)
             // 处理 client
             .addHandler(data.getClient() != null, new CheckAvailableClientHandler())
+            // 打开迁移日志，恢复已上传的图片
+            .addHandler(data.getClient() != null, new MigrationJournalHandler())
             // 下载网络图片
             .addHandler(new ImageDownloadHandler())
             // 图片重命名
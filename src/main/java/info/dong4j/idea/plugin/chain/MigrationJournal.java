@@ -0,0 +1,447 @@
+package info.dong4j.idea.plugin.chain;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.project.Project;
+
+import info.dong4j.idea.plugin.entity.MarkdownImage;
+import info.dong4j.idea.plugin.util.digest.DigestUtils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 图床迁移日志
+ * <p>
+ * 以 JSON Lines 格式持久化记录一次迁移中每张图片的进度，IDE 关闭、网络中断或用户取消后再次迁移时可以从中断的位置继续：
+ * <ul>
+ *   <li>{@link State#DOWNLOADED}：网络图片已下载，内容保存在日志目录中，续传时不再下载</li>
+ *   <li>{@link State#UPLOADED}：图片已上传到目标图床，记录上传后的 URL，续传时不再下载和上传</li>
+ *   <li>{@link State#WRITTEN}：新标签已写回文档</li>
+ * </ul>
+ * 日志按（项目、目标图床）区分，以图片在文档中的原始地址为键，每次记录都立即追加到文件。
+ * 本次运行中跟踪的图片都写回文档后，日志和下载内容一并删除；否则只保留本次扫描到的图片的记录，
+ * 已从文档中删除或不再迁移的图片的记录和下载内容会被清理，不会一直残留。
+ * <p>
+ * 记录方法可以在多个处理线程中并发调用。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+public class MigrationJournal {
+    /** 日志文件后缀 */
+    private static final String JOURNAL_FILE_SUFFIX = ".jsonl";
+    /** 下载内容目录后缀 */
+    private static final String BLOB_DIRECTORY_SUFFIX = "-blobs";
+    /** 序列化记录使用的 Gson */
+    private static final Gson GSON = new Gson();
+
+    /** 日志文件 */
+    private final Path file;
+    /** 下载内容目录 */
+    private final Path blobDirectory;
+    /** 原始地址 -> 最近一次下载记录 */
+    private final Map<String, Entry> downloaded = new HashMap<>();
+    /** 原始地址 -> 上传后的 URL */
+    private final Map<String, String> uploaded = new HashMap<>();
+    /** 已写回文档的原始地址 */
+    private final Set<String> written = new HashSet<>();
+    /** 本次运行中跟踪的图片 -> 原始地址，图片对象的 equals 随字段变化，因此按引用区分 */
+    private final Map<MarkdownImage, String> sources = new IdentityHashMap<>();
+    /** 本次运行中从日志恢复了上传结果的图片 */
+    private final Set<MarkdownImage> resumed = Collections.newSetFromMap(new IdentityHashMap<>());
+    /** 本次运行中已写回文档的图片 */
+    private final Set<MarkdownImage> writtenImages = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * 打开迁移日志，已存在时加载其中的记录
+     *
+     * @param file 日志文件
+     */
+    MigrationJournal(@NotNull Path file) {
+        this.file = file;
+        String fileName = file.getFileName().toString();
+        String baseName = fileName.endsWith(JOURNAL_FILE_SUFFIX)
+                          ? fileName.substring(0, fileName.length() - JOURNAL_FILE_SUFFIX.length())
+                          : fileName;
+        this.blobDirectory = file.resolveSibling(baseName + BLOB_DIRECTORY_SUFFIX);
+        this.load();
+    }
+
+    /**
+     * 打开项目迁移到指定图床的日志
+     * <p>
+     * 日志位于 {@code <IDE system>/markdown-image-kit/migrations/<项目哈希>/<目标>.jsonl}。
+     *
+     * @param project 项目
+     * @param target  目标图床标识
+     * @return 迁移日志
+     */
+    @NotNull
+    public static MigrationJournal open(@NotNull Project project, @NotNull String target) {
+        Path directory = Path.of(PathManager.getSystemPath(), "markdown-image-kit", "migrations", project.getLocationHash());
+        return new MigrationJournal(directory.resolve(target.replaceAll("[^A-Za-z0-9_.-]", "_") + JOURNAL_FILE_SUFFIX));
+    }
+
+    /**
+     * 从日志文件中加载记录
+     * <p>
+     * 写入中断导致的不完整行会被忽略。
+     */
+    private void load() {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(this.file, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            log.debug("读取迁移日志失败: {}", this.file, e);
+            return;
+        }
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                Entry entry = GSON.fromJson(line, Entry.class);
+                if (entry != null && entry.state != null && entry.source != null) {
+                    this.apply(entry);
+                }
+            } catch (JsonParseException e) {
+                log.debug("忽略无法解析的迁移日志记录: {}", line);
+            }
+        }
+        log.debug("加载迁移日志: {}, 已下载 {}, 已上传 {}, 已写回 {}",
+                  this.file, this.downloaded.size(), this.uploaded.size(), this.written.size());
+    }
+
+    /**
+     * 将一条记录应用到内存索引
+     *
+     * @param entry 记录
+     */
+    private void apply(@NotNull Entry entry) {
+        switch (entry.state) {
+            case DOWNLOADED -> this.downloaded.put(entry.source, entry);
+            case UPLOADED -> {
+                this.uploaded.put(entry.source, entry.url);
+                this.downloaded.remove(entry.source);
+            }
+            case WRITTEN -> this.written.add(entry.source);
+        }
+    }
+
+    /**
+     * 开始跟踪一张图片，记录它在文档中的原始地址
+     * <p>
+     * 日志中已有该地址的上传结果时返回上传后的 URL，调用方应直接使用它，不再下载和上传。
+     *
+     * @param markdownImage 图片
+     * @return 已上传的 URL，没有时返回 null
+     */
+    @Nullable
+    public synchronized String track(@NotNull MarkdownImage markdownImage) {
+        String source = markdownImage.getPath();
+        if (source == null) {
+            return null;
+        }
+        this.sources.put(markdownImage, source);
+        String url = this.uploaded.get(source);
+        if (url != null) {
+            this.resumed.add(markdownImage);
+        }
+        return url;
+    }
+
+    /**
+     * 判断图片的上传结果是否从日志中恢复
+     *
+     * @param markdownImage 图片
+     * @return 已恢复时返回 true
+     */
+    public synchronized boolean isResumed(@NotNull MarkdownImage markdownImage) {
+        return this.resumed.contains(markdownImage);
+    }
+
+    /**
+     * 获取之前下载并保存的图片内容
+     *
+     * @param markdownImage 图片
+     * @return 下载记录和内容，没有或内容已丢失时返回 null
+     */
+    @Nullable
+    public Download downloaded(@NotNull MarkdownImage markdownImage) {
+        Entry entry;
+        synchronized (this) {
+            String source = this.sources.get(markdownImage);
+            entry = source == null ? null : this.downloaded.get(source);
+        }
+        if (entry == null || entry.blob == null) {
+            return null;
+        }
+        try {
+            return new Download(entry.name, entry.extension, Files.readAllBytes(this.blobDirectory.resolve(entry.blob)));
+        } catch (IOException e) {
+            log.debug("读取已下载的图片失败: {}", entry.source, e);
+            return null;
+        }
+    }
+
+    /**
+     * 记录图片已下载，并保存图片内容
+     *
+     * @param markdownImage 已设置新文件名和扩展名的图片
+     * @param bytes         图片内容
+     */
+    public void recordDownloaded(@NotNull MarkdownImage markdownImage, @NotNull byte[] bytes) {
+        String source = this.sourceOf(markdownImage);
+        if (source == null) {
+            return;
+        }
+        String blob = DigestUtils.sha256Hex(source.getBytes(StandardCharsets.UTF_8));
+        Path temp = null;
+        try {
+            Files.createDirectories(this.blobDirectory);
+            temp = Files.createTempFile(this.blobDirectory, blob, ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, this.blobDirectory.resolve(blob), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.debug("保存已下载的图片失败: {}", source, e);
+            deleteQuietly(temp);
+            return;
+        }
+        this.append(new Entry(State.DOWNLOADED, source, null, blob, markdownImage.getImageName(), markdownImage.getExtension()));
+    }
+
+    /**
+     * 记录图片已上传，并删除不再需要的下载内容
+     *
+     * @param markdownImage 图片
+     * @param url           上传后的 URL
+     */
+    public void recordUploaded(@NotNull MarkdownImage markdownImage, @NotNull String url) {
+        String source = this.sourceOf(markdownImage);
+        if (source == null) {
+            return;
+        }
+        Entry download;
+        synchronized (this) {
+            download = this.downloaded.get(source);
+        }
+        this.append(new Entry(State.UPLOADED, source, url, null, null, null));
+        if (download != null && download.blob != null) {
+            deleteQuietly(this.blobDirectory.resolve(download.blob));
+        }
+    }
+
+    /**
+     * 记录图片的新标签已写回文档
+     *
+     * @param markdownImage 图片
+     */
+    public void recordWritten(@NotNull MarkdownImage markdownImage) {
+        String source = this.sourceOf(markdownImage);
+        if (source == null) {
+            return;
+        }
+        synchronized (this) {
+            this.writtenImages.add(markdownImage);
+        }
+        this.append(new Entry(State.WRITTEN, source, null, null, null, null));
+    }
+
+    /**
+     * 获取本次运行中从日志恢复的图片数量
+     *
+     * @return 恢复的图片数量
+     */
+    public synchronized int getResumedCount() {
+        return this.resumed.size();
+    }
+
+    /**
+     * 结束本次运行
+     * <p>
+     * 是否完成只取决于本次跟踪的图片：都已写回文档时删除日志和下载内容；
+     * 否则重写日志，只保留本次跟踪的图片的记录，并删除其他图片的下载内容，供下一次迁移继续。
+     *
+     * @return 日志被删除时返回 true
+     */
+    public synchronized boolean close() {
+        if (this.writtenImages.size() != this.sources.size()) {
+            this.compact();
+            log.debug("迁移未完成，保留迁移日志: {}", this.file);
+            return false;
+        }
+        deleteQuietly(this.file);
+        if (Files.isDirectory(this.blobDirectory)) {
+            try (Stream<Path> blobs = Files.list(this.blobDirectory)) {
+                blobs.forEach(MigrationJournal::deleteQuietly);
+            } catch (IOException e) {
+                log.debug("清理迁移下载内容失败: {}", this.blobDirectory, e);
+            }
+            deleteQuietly(this.blobDirectory);
+        }
+        log.debug("迁移已完成，删除迁移日志: {}", this.file);
+        return true;
+    }
+
+    /**
+     * 重写日志，丢弃本次没有跟踪的图片的记录
+     * <p>
+     * 没有被跟踪说明图片已不在本次扫描的文档中，它的下载内容也一并删除。新日志写入临时文件后原子替换。
+     */
+    private void compact() {
+        Set<String> tracked = new HashSet<>(this.sources.values());
+        this.downloaded.entrySet().removeIf(entry -> {
+            if (tracked.contains(entry.getKey())) {
+                return false;
+            }
+            if (entry.getValue().blob != null) {
+                deleteQuietly(this.blobDirectory.resolve(entry.getValue().blob));
+            }
+            return true;
+        });
+        this.uploaded.keySet().retainAll(tracked);
+        this.written.retainAll(tracked);
+
+        StringBuilder content = new StringBuilder();
+        this.downloaded.values().forEach(entry -> content.append(GSON.toJson(entry)).append('\n'));
+        this.uploaded.forEach((source, url) -> content.append(GSON.toJson(new Entry(State.UPLOADED, source, url, null, null, null))).append('\n'));
+        this.written.forEach(source -> content.append(GSON.toJson(new Entry(State.WRITTEN, source, null, null, null, null))).append('\n'));
+        Path temp = null;
+        try {
+            Files.createDirectories(this.file.getParent());
+            temp = Files.createTempFile(this.file.getParent(), this.file.getFileName().toString(), ".tmp");
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.debug("重写迁移日志失败: {}", this.file, e);
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * 获取图片的原始地址
+     *
+     * @param markdownImage 图片
+     * @return 原始地址，未跟踪时返回 null
+     */
+    @Nullable
+    private synchronized String sourceOf(@NotNull MarkdownImage markdownImage) {
+        return this.sources.get(markdownImage);
+    }
+
+    /**
+     * 追加一条记录并立即写入文件
+     *
+     * @param entry 记录
+     */
+    private synchronized void append(@NotNull Entry entry) {
+        this.apply(entry);
+        try {
+            Files.createDirectories(this.file.getParent());
+            Files.writeString(this.file, GSON.toJson(entry) + "\n", StandardCharsets.UTF_8,
+                              StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            log.debug("写入迁移日志失败: {}", this.file, e);
+        }
+    }
+
+    /**
+     * 删除文件，失败时忽略
+     *
+     * @param path 文件
+     */
+    private static void deleteQuietly(@Nullable Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("删除迁移日志文件失败: {}", path, e);
+        }
+    }
+
+    /**
+     * 图片迁移状态
+     */
+    public enum State {
+        /** 已下载 */
+        DOWNLOADED,
+        /** 已上传 */
+        UPLOADED,
+        /** 已写回文档 */
+        WRITTEN
+    }
+
+    /**
+     * 之前下载并保存的图片
+     *
+     * @param name      下载时生成的文件名
+     * @param extension 扩展名
+     * @param bytes     图片内容
+     */
+    public record Download(@Nullable String name, @Nullable String extension, @NotNull byte[] bytes) {
+    }
+
+    /**
+     * 日志中的一条记录
+     */
+    private static final class Entry {
+        /** 状态 */
+        private State state;
+        /** 图片在文档中的原始地址 */
+        private String source;
+        /** 上传后的 URL */
+        private String url;
+        /** 下载内容的文件名 */
+        private String blob;
+        /** 下载时生成的图片文件名 */
+        private String name;
+        /** 扩展名 */
+        private String extension;
+
+        /**
+         * 创建记录
+         *
+         * @param state     状态
+         * @param source    原始地址
+         * @param url       上传后的 URL
+         * @param blob      下载内容的文件名
+         * @param name      图片文件名
+         * @param extension 扩展名
+         */
+        private Entry(State state, String source, String url, String blob, String name, String extension) {
+            this.state = state;
+            this.source = source;
+            this.url = url;
+            this.blob = blob;
+            this.name = name;
+            this.extension = extension;
+        }
+    }
+}
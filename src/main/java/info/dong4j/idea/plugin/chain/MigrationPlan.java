@@ -0,0 +1,265 @@
+package info.dong4j.idea.plugin.chain;
+
+import com.intellij.openapi.editor.Document;
+
+import info.dong4j.idea.plugin.entity.MarkdownImage;
+import info.dong4j.idea.plugin.enums.CloudEnum;
+import info.dong4j.idea.plugin.enums.ImageLocationEnum;
+import info.dong4j.idea.plugin.metrics.MikMetrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+import lombok.Getter;
+
+/**
+ * 图床迁移计划
+ * <p>
+ * 迁移开始前对要处理的图片做一次统计：引用数、不同地址数、重复引用、按主机和图床分组的数量与大小，以及按当前并发数估算的耗时。
+ * 计划同时保存解析并过滤后的文档与图片映射，确认迁移后直接交给处理链使用，不再重新解析和过滤。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Getter
+public class MigrationPlan {
+    /** 本地图片的分组名称 */
+    static final String LOCAL_HOST = "local";
+
+    /** 解析并过滤后的文档与图片映射，交给处理链使用 */
+    private final Map<Document, List<MarkdownImage>> waitingProcessMap;
+    /** 包含图片的文档数 */
+    private final int documentCount;
+    /** 图片引用数 */
+    private final int referenceCount;
+    /** 不同图片地址数 */
+    private final int distinctCount;
+    /** 本地图片引用数 */
+    private final int localCount;
+    /** 已知大小的不同地址的总字节数 */
+    private final long knownBytes;
+    /** 大小未知的不同地址数 */
+    private final int unknownSizeCount;
+    /** 预计耗时（毫秒） */
+    private final long estimatedMillis;
+    /** 按引用数降序排列的主机分组 */
+    private final List<HostGroup> groups;
+
+    /**
+     * 创建迁移计划
+     *
+     * @param waitingProcessMap 文档与图片映射
+     * @param referenceCount    图片引用数
+     * @param distinctCount     不同图片地址数
+     * @param localCount        本地图片引用数
+     * @param knownBytes        已知大小的总字节数
+     * @param unknownSizeCount  大小未知的地址数
+     * @param estimatedMillis   预计耗时（毫秒）
+     * @param groups            主机分组
+     */
+    private MigrationPlan(Map<Document, List<MarkdownImage>> waitingProcessMap,
+                          int referenceCount,
+                          int distinctCount,
+                          int localCount,
+                          long knownBytes,
+                          int unknownSizeCount,
+                          long estimatedMillis,
+                          List<HostGroup> groups) {
+        this.waitingProcessMap = waitingProcessMap;
+        this.documentCount = (int) waitingProcessMap.values().stream().filter(images -> !images.isEmpty()).count();
+        this.referenceCount = referenceCount;
+        this.distinctCount = distinctCount;
+        this.localCount = localCount;
+        this.knownBytes = knownBytes;
+        this.unknownSizeCount = unknownSizeCount;
+        this.estimatedMillis = estimatedMillis;
+        this.groups = groups;
+    }
+
+    /**
+     * 根据过滤后的图片生成迁移计划
+     * <p>
+     * 预计耗时按处理链的执行方式估算：网络图片的每次引用都会下载一次、每张图片都会上传一次，下载和上传分别以 {@code concurrency} 个线程并行，
+     * 单张耗时取各主机（上传取目标图床）最近的延迟中位数。
+     *
+     * @param waitingProcessMap   过滤后的文档与图片映射
+     * @param sizeOf              获取图片字节数，未知时返回负数；同一地址只调用一次
+     * @param hostLatencyMillis   获取从指定主机下载一张图片的耗时（毫秒）
+     * @param uploadLatencyMillis 上传一张图片的耗时（毫秒），迁移到本地存储时为 0
+     * @param concurrency         下载和上传的并发线程数
+     * @return 迁移计划
+     */
+    @NotNull
+    public static MigrationPlan of(@NotNull Map<Document, List<MarkdownImage>> waitingProcessMap,
+                                   @NotNull ToLongFunction<MarkdownImage> sizeOf,
+                                   @NotNull ToLongFunction<String> hostLatencyMillis,
+                                   long uploadLatencyMillis,
+                                   int concurrency) {
+        Map<String, GroupBuilder> builders = new LinkedHashMap<>();
+        Set<String> distinct = new HashSet<>();
+        int references = 0;
+        int local = 0;
+        long knownBytes = 0;
+        int unknown = 0;
+        for (List<MarkdownImage> images : waitingProcessMap.values()) {
+            for (MarkdownImage markdownImage : images) {
+                references++;
+                boolean network = markdownImage.getLocation() == ImageLocationEnum.NETWORK;
+                if (!network) {
+                    local++;
+                }
+                String host = network ? MikMetrics.hostOf(markdownImage.getPath()) : LOCAL_HOST;
+                GroupBuilder group = builders.computeIfAbsent(host, GroupBuilder::new);
+                group.references++;
+
+                String path = String.valueOf(markdownImage.getPath());
+                if (!distinct.add(path)) {
+                    continue;
+                }
+                group.distinct++;
+                long size = sizeOf.applyAsLong(markdownImage);
+                if (size >= 0) {
+                    group.bytes += size;
+                    knownBytes += size;
+                } else {
+                    group.unknown++;
+                    unknown++;
+                }
+            }
+        }
+
+        long workMillis = references * Math.max(0, uploadLatencyMillis);
+        List<HostGroup> groups = new ArrayList<>(builders.size());
+        for (GroupBuilder builder : builders.values()) {
+            if (!LOCAL_HOST.equals(builder.host)) {
+                workMillis += builder.references * Math.max(0, hostLatencyMillis.applyAsLong(builder.host));
+            }
+            groups.add(builder.build());
+        }
+        groups.sort(Comparator.comparingInt(HostGroup::references).reversed().thenComparing(HostGroup::host));
+        long estimated = workMillis / Math.max(1, Math.min(concurrency, Math.max(1, references)));
+
+        return new MigrationPlan(waitingProcessMap, references, distinct.size(), local, knownBytes, unknown, estimated, groups);
+    }
+
+    /**
+     * 获取重复引用数（同一地址在多处被引用）
+     *
+     * @return 重复引用数
+     */
+    public int getDuplicateCount() {
+        return this.referenceCount - this.distinctCount;
+    }
+
+    /**
+     * 将计划格式化为控制台输出的多行文本
+     *
+     * @return 文本行
+     */
+    @NotNull
+    public List<String> format() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("  迁移计划: %d 个文件，%d 处图片引用，%d 个不同地址（重复 %d 处），本地图片 %d 处",
+                                this.documentCount, this.referenceCount, this.distinctCount, this.getDuplicateCount(), this.localCount));
+        lines.add(String.format("    预计大小 %s%s，预计耗时 %s",
+                                formatBytes(this.knownBytes),
+                                this.unknownSizeCount > 0 ? String.format("（%d 个地址大小未知）", this.unknownSizeCount) : "",
+                                formatDuration(this.estimatedMillis)));
+        for (HostGroup group : this.groups) {
+            String cloud = LOCAL_HOST.equals(group.host()) ? "本地" : group.cloud() != null ? group.cloud().name() : "其他";
+            lines.add(String.format("    [%s] %s: %d 处引用，%d 个地址，%s%s",
+                                    cloud, group.host(), group.references(), group.distinct(), formatBytes(group.bytes()),
+                                    group.unknown() > 0 ? String.format("（%d 个未知）", group.unknown()) : ""));
+        }
+        return lines;
+    }
+
+    /**
+     * 格式化时长
+     *
+     * @param millis 毫秒数
+     * @return 格式化后的时长字符串
+     */
+    @NotNull
+    public static String formatDuration(long millis) {
+        if (millis < 1000) {
+            return millis + "ms";
+        } else if (millis < 60_000) {
+            return String.format("%.1fs", millis / 1000.0);
+        }
+        return String.format("%dm%ds", millis / 60_000, millis % 60_000 / 1000);
+    }
+
+    /**
+     * 格式化字节数
+     *
+     * @param bytes 字节数
+     * @return 格式化后的大小字符串
+     */
+    @NotNull
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.2f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    /**
+     * 单个主机的统计
+     *
+     * @param host       主机名，本地图片为 {@value #LOCAL_HOST}
+     * @param cloud      根据主机名识别出的图床，无法识别时为 null
+     * @param references 引用数
+     * @param distinct   不同地址数
+     * @param bytes      已知大小的总字节数
+     * @param unknown    大小未知的地址数
+     */
+    public record HostGroup(@NotNull String host, @Nullable CloudEnum cloud, int references, int distinct, long bytes, int unknown) {
+    }
+
+    /**
+     * 主机分组的累加器
+     */
+    private static final class GroupBuilder {
+        /** 主机名 */
+        private final String host;
+        /** 引用数 */
+        private int references;
+        /** 不同地址数 */
+        private int distinct;
+        /** 已知大小的总字节数 */
+        private long bytes;
+        /** 大小未知的地址数 */
+        private int unknown;
+
+        /**
+         * 创建主机分组累加器
+         *
+         * @param host 主机名
+         */
+        private GroupBuilder(String host) {
+            this.host = host;
+        }
+
+        /**
+         * 生成主机统计
+         *
+         * @return 主机统计
+         */
+        private HostGroup build() {
+            CloudEnum cloud = LOCAL_HOST.equals(this.host) ? null : CloudEnum.ofHost(this.host);
+            return new HostGroup(this.host, cloud, this.references, this.distinct, this.bytes, this.unknown);
+        }
+    }
+}
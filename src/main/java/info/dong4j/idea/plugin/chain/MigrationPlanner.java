@@ -0,0 +1,234 @@
+package info.dong4j.idea.plugin.chain;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+
+import info.dong4j.idea.plugin.client.OssClient;
+import info.dong4j.idea.plugin.entity.MarkdownImage;
+import info.dong4j.idea.plugin.enums.ImageLocationEnum;
+import info.dong4j.idea.plugin.metrics.MikMetrics;
+import info.dong4j.idea.plugin.util.MarkdownUtils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 图床迁移计划生成器
+ * <p>
+ * 按图床迁移链相同的规则解析和过滤图片，再用有限并发的 HEAD 请求获取网络图片的大小，本地图片直接读取文件大小，
+ * 最后结合 {@link MikMetrics} 中记录的各主机和目标图床的延迟中位数生成 {@link MigrationPlan}。
+ * 没有历史数据时下载按 {@value #DEFAULT_DOWNLOAD_MILLIS} 毫秒、上传按 {@value #DEFAULT_UPLOAD_MILLIS} 毫秒估算。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+public final class MigrationPlanner {
+    /** HEAD 请求的最大并发数 */
+    private static final int MAX_PROBE_THREADS = 8;
+    /** 下载和上传处理器的并发线程数 */
+    private static final int TRANSFER_THREADS = 15;
+    /** 没有历史数据时单张图片的下载耗时（毫秒） */
+    private static final long DEFAULT_DOWNLOAD_MILLIS = 1000L;
+    /** 没有历史数据时单张图片的上传耗时（毫秒） */
+    private static final long DEFAULT_UPLOAD_MILLIS = 2000L;
+
+    /**
+     * 工具类不允许实例化
+     */
+    private MigrationPlanner() {
+    }
+
+    /**
+     * 生成迁移计划
+     *
+     * @param event        触发迁移的事件，用于获取当前编辑器或选中的文件
+     * @param project      项目
+     * @param filterString 用户输入的过滤字符串
+     * @param client       目标图床客户端，迁移到本地存储时为 null
+     * @param indicator    进度指示器
+     * @return 迁移计划，取消时返回 null
+     */
+    @Nullable
+    public static MigrationPlan plan(@NotNull AnActionEvent event,
+                                     @NotNull Project project,
+                                     @NotNull String filterString,
+                                     @Nullable OssClient client,
+                                     @NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(true);
+        indicator.setText2("解析 Markdown 文件");
+        Map<Document, List<MarkdownImage>> waitingProcessMap = MarkdownUtils.getProcessMarkdownInfo(event, project, indicator);
+        ActionManager.filterMigrationImages(waitingProcessMap, filterString, client);
+        waitingProcessMap.values().removeIf(List::isEmpty);
+        if (indicator.isCanceled()) {
+            return null;
+        }
+
+        Map<String, Long> sizes = probeSizes(waitingProcessMap, indicator);
+        if (sizes == null) {
+            return null;
+        }
+
+        Map<String, Long> hostLatency = new HashMap<>();
+        long uploadLatency = client == null ? 0L : DEFAULT_UPLOAD_MILLIS;
+        for (MikMetrics.Snapshot snapshot : MikMetrics.getInstance().snapshot()) {
+            if (snapshot.count() == 0) {
+                continue;
+            }
+            long millis = Math.max(1L, snapshot.p50Micros() / 1000L);
+            if (snapshot.category() == MikMetrics.Category.HOST) {
+                hostLatency.put(snapshot.name(), millis);
+            } else if (client != null
+                       && snapshot.category() == MikMetrics.Category.CLOUD
+                       && snapshot.name().equals(client.getCloudType().name())) {
+                uploadLatency = millis;
+            }
+        }
+
+        return MigrationPlan.of(waitingProcessMap,
+                                image -> sizes.getOrDefault(String.valueOf(image.getPath()), -1L),
+                                host -> hostLatency.getOrDefault(host, DEFAULT_DOWNLOAD_MILLIS),
+                                uploadLatency,
+                                TRANSFER_THREADS);
+    }
+
+    /**
+     * 获取所有不同地址的图片大小
+     * <p>
+     * 网络图片并行发送 HEAD 请求，服务器没有返回 Content-Length 或请求失败时记为未知；本地图片读取文件大小。
+     *
+     * @param waitingProcessMap 过滤后的文档与图片映射
+     * @param indicator         进度指示器
+     * @return 地址与字节数的映射，大小未知的地址不包含在内；取消时返回 null
+     */
+    @Nullable
+    private static Map<String, Long> probeSizes(@NotNull Map<Document, List<MarkdownImage>> waitingProcessMap,
+                                                @NotNull ProgressIndicator indicator) {
+        Map<String, Long> sizes = new ConcurrentHashMap<>();
+        Set<String> urls = new LinkedHashSet<>();
+        for (Map.Entry<Document, List<MarkdownImage>> entry : waitingProcessMap.entrySet()) {
+            for (MarkdownImage markdownImage : entry.getValue()) {
+                String path = markdownImage.getPath();
+                if (path == null || sizes.containsKey(path)) {
+                    continue;
+                }
+                if (markdownImage.getLocation() == ImageLocationEnum.NETWORK) {
+                    urls.add(path);
+                } else {
+                    long size = localSize(entry.getKey(), markdownImage);
+                    if (size >= 0) {
+                        sizes.put(path, size);
+                    }
+                }
+            }
+        }
+        if (urls.isEmpty()) {
+            return sizes;
+        }
+
+        int totalCount = urls.size();
+        int threadPoolSize = Math.min(totalCount, MAX_PROBE_THREADS);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadPoolSize);
+        log.debug("开始获取 {} 张网络图片的大小，使用 {} 个线程", totalCount, threadPoolSize);
+        indicator.setIndeterminate(false);
+
+        AtomicInteger processedCount = new AtomicInteger(0);
+        List<CompletableFuture<?>> futures = new ArrayList<>(totalCount);
+        try {
+            for (String url : urls) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    if (indicator.isCanceled()) {
+                        return;
+                    }
+                    long size = headContentLength(url);
+                    if (size >= 0) {
+                        sizes.put(url, size);
+                    }
+                    int currentProcessed = processedCount.incrementAndGet();
+                    indicator.setText2(String.format("获取图片大小 (%d/%d)", currentProcessed, totalCount));
+                    indicator.setFraction(currentProcessed * 1.0 / totalCount);
+                }, executorService));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executorService.shutdownNow();
+        }
+        return indicator.isCanceled() ? null : sizes;
+    }
+
+    /**
+     * 发送 HEAD 请求获取网络图片大小
+     *
+     * @param imageUrl 图片地址
+     * @return 字节数，无法获取时返回 -1
+     */
+    private static long headContentLength(@NotNull String imageUrl) {
+        HttpURLConnection connection = null;
+        try {
+            URLConnection urlConnection = new URI(imageUrl.trim()).toURL().openConnection();
+            if (!(urlConnection instanceof HttpURLConnection)) {
+                return -1L;
+            }
+            connection = (HttpURLConnection) urlConnection;
+            connection.setRequestMethod("HEAD");
+            connection.setConnectTimeout(3000);
+            connection.setReadTimeout(5000);
+            if (connection.getResponseCode() / 100 != 2) {
+                return -1L;
+            }
+            return connection.getContentLengthLong();
+        } catch (Exception e) {
+            log.debug("获取图片大小失败: {}", imageUrl, e);
+            return -1L;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * 获取本地图片大小
+     * <p>
+     * 优先使用解析时关联的文件，否则按相对于 Markdown 文件所在目录的路径查找。
+     *
+     * @param document      图片所在的文档
+     * @param markdownImage 图片
+     * @return 字节数，找不到文件时返回 -1
+     */
+    private static long localSize(@NotNull Document document, @NotNull MarkdownImage markdownImage) {
+        return ReadAction.compute(() -> {
+            VirtualFile imageFile = markdownImage.getVirtualFile();
+            if (imageFile == null) {
+                VirtualFile markdownFile = FileDocumentManager.getInstance().getFile(document);
+                VirtualFile parent = markdownFile == null ? null : markdownFile.getParent();
+                imageFile = parent == null ? null : parent.findFileByRelativePath(markdownImage.getPath().trim());
+            }
+            return imageFile == null || !imageFile.isValid() || imageFile.isDirectory() ? -1L : imageFile.getLength();
+        });
+    }
+}
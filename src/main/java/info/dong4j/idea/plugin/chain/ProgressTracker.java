@@ -2,12 +2,17 @@ package info.dong4j.idea.plugin.chain;
 
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
 
 import info.dong4j.idea.plugin.MikBundle;
 import info.dong4j.idea.plugin.console.MikConsoleView;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -16,6 +21,9 @@ import lombok.extern.slf4j.Slf4j;
  * <p>
  * 统一管理责任链处理的进度展示，提供基于权重的进度计算和分层的进度信息展示。
  * 支持步骤级和项目级的进度跟踪，确保用户能够清晰地看到整体进度和当前处理的详细信息。
+ * <p>
+ * 上传、下载等工作线程只通过原子计数汇报完成情况，不做格式化也不加锁；界面由后台采样任务按固定帧率刷新，
+ * 并显示吞吐量（张/s、MB/s）和预计剩余时间。
  *
  * @author dong4j
  * @version 2.1.0
@@ -24,6 +32,9 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class ProgressTracker {
+    /** 界面刷新间隔（毫秒），约 10 帧/秒 */
+    private static final long FRAME_INTERVAL_MS = 100;
+
     /**
      * 步骤信息
      */
@@ -50,10 +61,26 @@ public class ProgressTracker {
     private final List<StepInfo> steps;
     /** 总权重，用于计算进度 */
     private final int totalWeight;
-    /** 当前步骤索引 */
-    private int currentStepIndex = -1;
+    /** 当前步骤索引，由处理链线程写入，采样任务读取 */
+    private volatile int currentStepIndex = -1;
     /** 已完成步骤的累计权重 */
-    private int completedWeight = 0;
+    private volatile int completedWeight = 0;
+    /** 当前步骤已处理的项目数，由工作线程更新 */
+    private final AtomicInteger itemCurrent = new AtomicInteger();
+    /** 当前步骤的总项目数 */
+    private volatile int itemTotal;
+    /** 最近处理的项目名称 */
+    private volatile String itemName;
+    /** 当前步骤已处理的字节数 */
+    private final AtomicLong stepBytes = new AtomicLong();
+    /** 当前步骤开始时间（纳秒） */
+    private volatile long stepStartNanos = System.nanoTime();
+    /** 最近一次输出到控制台的步骤索引，仅在采样时访问 */
+    private int printedStep = -1;
+    /** 该步骤已输出到控制台的进度（以 10% 为单位），-1 表示尚未输出 */
+    private int printedDecile = -1;
+    /** 按固定帧率刷新界面的采样任务 */
+    private final ScheduledFuture<?> frames;
     /** 是否启用控制台输出 */
     private final boolean enableConsoleOutput;
     /** 任务开始时间 */
@@ -113,6 +140,12 @@ public class ProgressTracker {
         }
         this.totalWeight = total;
 
+        // 工作线程只更新计数，界面由采样任务按固定帧率刷新
+        this.frames = indicator != null || enableConsoleOutput
+                      ? AppExecutorUtil.getAppScheduledExecutorService()
+                          .scheduleWithFixedDelay(this::render, FRAME_INTERVAL_MS, FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS)
+                      : null;
+
         // 输出任务开始信息到控制台
         if (enableConsoleOutput) {
             MikConsoleView.printSmart(project, "========================================");
@@ -152,6 +185,8 @@ public class ProgressTracker {
 
     /**
      * 开始一个新步骤
+     * <p>
+     * 由处理链所在线程调用。切换步骤前先输出上一步骤的最后一帧，再重置步骤内的计数。
      *
      * @param stepIndex 步骤索引
      */
@@ -162,16 +197,24 @@ public class ProgressTracker {
         }
 
         // 如果切换步骤，标记上一个步骤完成
-        if (currentStepIndex >= 0 && currentStepIndex != stepIndex) {
-            completedWeight += steps.get(currentStepIndex).weight;
+        int previousStep = currentStepIndex;
+        if (previousStep >= 0 && previousStep != stepIndex) {
+            render();
+            completedWeight += steps.get(previousStep).weight;
 
             // 输出上一步骤完成信息
             if (enableConsoleOutput) {
-                StepInfo prevStep = steps.get(currentStepIndex);
-                MikConsoleView.printSmart(project, "[✓] 步骤 " + (currentStepIndex + 1) + "/" + steps.size() + " 完成: " + prevStep.name);
+                StepInfo prevStep = steps.get(previousStep);
+                MikConsoleView.printSmart(project, "[✓] 步骤 " + (previousStep + 1) + "/" + steps.size() + " 完成: " + prevStep.name);
             }
         }
 
+        // 重置步骤内的计数，上一步骤的工作线程此时均已结束
+        itemCurrent.set(0);
+        itemTotal = 0;
+        itemName = null;
+        stepBytes.set(0);
+        stepStartNanos = System.nanoTime();
         currentStepIndex = stepIndex;
         StepInfo step = steps.get(stepIndex);
 
@@ -195,7 +238,7 @@ public class ProgressTracker {
             indicator.setText2(subText);
 
             // 更新进度（步骤开始时的进度）
-            updateProgress(0.0);
+            updateProgress((double) completedWeight / totalWeight);
         } catch (Exception e) {
             // 在预览模式下可能会抛出 SideEffectNotAllowedException，忽略这些异常
             log.debug("更新进度时发生异常（可能是预览模式）: {}", e.getMessage());
@@ -204,30 +247,65 @@ public class ProgressTracker {
 
     /**
      * 更新步骤内的项目进度
+     * <p>
+     * 可以在多个工作线程中并发调用。这里只记录最新的计数和项目名称，不格式化字符串也不访问进度指示器，
+     * 界面由采样任务按固定帧率刷新。乱序到达的较小计数会被忽略。
      *
      * @param stepIndex 步骤索引
      * @param itemName  当前处理的项目名称（如图片文件名）
      * @param current   当前已处理的项目数
      * @param total     总项目数
      */
-    @SuppressWarnings("D")
     public void updateItemProgress(int stepIndex, String itemName, int current, int total) {
-        if (stepIndex < 0 || stepIndex >= steps.size()) {
+        if (stepIndex != currentStepIndex) {
             log.debug("无效的步骤索引: {}", stepIndex);
             return;
         }
+        this.itemTotal = total;
+        this.itemName = itemName;
+        this.itemCurrent.accumulateAndGet(current, Math::max);
+    }
+
+    /**
+     * 记录当前步骤已处理的字节数，用于计算 MB/s
+     * <p>
+     * 可以在多个工作线程中并发调用。
+     *
+     * @param bytes 本次处理的字节数
+     */
+    public void recordBytes(long bytes) {
+        if (bytes > 0) {
+            stepBytes.addAndGet(bytes);
+        }
+    }
 
-        // 输出进度到控制台（每 10% 或关键节点输出一次，避免刷屏）
-        if (enableConsoleOutput && total > 0) {
-            int percentage = (current * 100) / total;
-            int prevPercentage = ((current - 1) * 100) / total;
+    /**
+     * 采样当前计数并刷新界面
+     * <p>
+     * 由采样任务按固定帧率调用，步骤切换和完成时也会调用一次以输出最后一帧。
+     * 控制台只在进度跨过每 10% 时输出一行；进度指示器的副文本附带吞吐量（张/s、MB/s）和预计剩余时间。
+     */
+    private synchronized void render() {
+        int stepIndex = currentStepIndex;
+        int total = itemTotal;
+        int current = Math.min(itemCurrent.get(), total);
+        if (stepIndex < 0 || total <= 0 || current <= 0) {
+            return;
+        }
+        StepInfo step = steps.get(stepIndex);
+        String name = itemName;
 
-            // 在每 10% 的进度点输出，或者是第一个和最后一个
-            if (current == 1 || current == total || (percentage / 10 > prevPercentage / 10)) {
-                String progressInfo = String.format("  [%3d%%] 处理: %s (%d/%d)", percentage, itemName != null ? itemName : "项目", current,
-                                                    total);
-                MikConsoleView.printSmart(project, progressInfo);
-            }
+        // 输出进度到控制台（第一个、每 10% 以及最后一个各输出一次，避免刷屏）
+        if (stepIndex != printedStep) {
+            printedStep = stepIndex;
+            printedDecile = -1;
+        }
+        int decile = current * 10 / total;
+        if (enableConsoleOutput && (printedDecile < 0 || decile > printedDecile)) {
+            printedDecile = decile;
+            String progressInfo = String.format("  [%3d%%] 处理: %s (%d/%d)", current * 100 / total, name != null ? name : "项目", current,
+                                                total);
+            MikConsoleView.printSmart(project, progressInfo);
         }
 
         // 检查 indicator 是否可用（预览模式下可能为 null）
@@ -235,37 +313,33 @@ public class ProgressTracker {
             return;
         }
 
-        StepInfo step = steps.get(stepIndex);
-
-        // 计算步骤内的进度比例
-        double stepProgress = total > 0 ? (current * 1.0) / total : 0.0;
-
         try {
             // 更新主文本：保持主任务标题不变
             indicator.setText(mainTaskTitle);
 
-            // 更新副文本：组合显示子流程信息和文件处理进度
+            // 更新副文本：组合显示子流程信息、文件处理进度和吞吐量
             StringBuilder subText = new StringBuilder();
 
             // 子流程信息：步骤名称 (当前步骤/总步骤)
             subText.append(String.format("%s (%d/%d)", step.name, stepIndex + 1, steps.size()));
 
             // 添加详细的文件处理进度
-            if (itemName != null && !itemName.isEmpty()) {
+            if (name != null && !name.isEmpty()) {
                 subText.append(" - ");
-                subText.append(MikBundle.message("mik.action.processing.title", itemName));
+                subText.append(MikBundle.message("mik.action.processing.title", name));
                 if (total > 1) {
                     subText.append(String.format(" (%d/%d)", current, total));
                 }
             } else if (total > 1) {
                 subText.append(String.format(" - (%d/%d)", current, total));
             }
+            appendThroughput(subText, current, total);
 
             indicator.setText2(subText.toString());
 
             // 计算总体进度
             // 已完成步骤的进度 + 当前步骤的进度
-            double overallProgress = (completedWeight + step.weight * stepProgress) / totalWeight;
+            double overallProgress = (completedWeight + step.weight * ((double) current / total)) / totalWeight;
             updateProgress(overallProgress);
         } catch (Exception e) {
             // 在预览模式下可能会抛出 SideEffectNotAllowedException，忽略这些异常
@@ -273,6 +347,31 @@ public class ProgressTracker {
         }
     }
 
+    /**
+     * 追加吞吐量和预计剩余时间
+     * <p>
+     * 步骤开始不足 1 秒时样本太少，不显示。
+     *
+     * @param text    副文本
+     * @param current 当前已处理的项目数
+     * @param total   总项目数
+     */
+    private void appendThroughput(StringBuilder text, int current, int total) {
+        double seconds = (System.nanoTime() - stepStartNanos) / 1_000_000_000.0;
+        if (seconds < 1 || total <= 1) {
+            return;
+        }
+        double itemsPerSecond = current / seconds;
+        text.append(String.format(" · %.1f 张/s", itemsPerSecond));
+        long bytes = stepBytes.get();
+        if (bytes > 0) {
+            text.append(String.format(" · %.2f MB/s", bytes / seconds / (1024.0 * 1024.0)));
+        }
+        if (current < total && itemsPerSecond > 0) {
+            text.append(" · 剩余 ").append(formatDuration((long) ((total - current) / itemsPerSecond * 1000)));
+        }
+    }
+
     /**
      * 更新进度（内部方法）
      *
@@ -296,8 +395,14 @@ public class ProgressTracker {
 
     /**
      * 完成所有步骤
+     * <p>
+     * 停止采样任务并输出最后一帧。
      */
     public void finish() {
+        if (frames != null) {
+            frames.cancel(false);
+        }
+        render();
         currentStepIndex = steps.size() - 1;
         completedWeight = totalWeight;
 
@@ -336,6 +441,17 @@ public class ProgressTracker {
         }
     }
 
+    /**
+     * 停止采样任务
+     * <p>
+     * 不输出完成信息，可以重复调用，也可以在 {@link #finish()} 之后调用。
+     */
+    public void cancel() {
+        if (frames != null) {
+            frames.cancel(false);
+        }
+    }
+
     /**
      * 获取总步骤数
      *
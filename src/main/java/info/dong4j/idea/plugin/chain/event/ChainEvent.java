@@ -0,0 +1,45 @@
+package info.dong4j.idea.plugin.chain.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 处理链结构化事件
+ * <p>
+ * 处理器在关键节点产生的不可变事件记录，替代只能阅读、无法统计的控制台文本。
+ * 除类型、阶段和时间外，其余字段都是可选的：未涉及的字段保持为 null，持久化为 JSON Lines 时不会输出，保持记录紧凑。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Value
+@Builder
+public class ChainEvent {
+    /** 事件发生时间（毫秒时间戳） */
+    @Builder.Default
+    long time = System.currentTimeMillis();
+    /** 事件类型 */
+    ChainEventType type;
+    /** 产生事件的处理器名称 */
+    String stage;
+    /** 图片名称，仅图片级事件有值 */
+    String image;
+    /** 输入字节数 */
+    Long bytesIn;
+    /** 输出字节数 */
+    Long bytesOut;
+    /** 耗时（毫秒） */
+    Long durationMs;
+    /** 图床或编码器名称 */
+    String provider;
+    /** HTTP 状态码 */
+    Integer httpStatus;
+    /** 重试次数 */
+    Integer retries;
+    /** 是否命中缓存 */
+    Boolean cacheHit;
+    /** 附加信息，如失败原因 */
+    String message;
+}
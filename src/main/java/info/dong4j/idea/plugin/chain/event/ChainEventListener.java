@@ -0,0 +1,38 @@
+package info.dong4j.idea.plugin.chain.event;
+
+import com.intellij.util.messages.Topic;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 处理链事件监听器
+ * <p>
+ * 通过项目级消息总线订阅 {@link #TOPIC}，即可在内存中实时接收每次处理链运行产生的结构化事件以及结束时的运行报告。
+ * 事件在处理器所在的后台线程中同步发布，实现方不应执行耗时操作。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public interface ChainEventListener {
+    /** 处理链事件主题 */
+    @Topic.ProjectLevel
+    Topic<ChainEventListener> TOPIC = Topic.create("Markdown Image Kit chain events", ChainEventListener.class);
+
+    /**
+     * 接收单个事件
+     *
+     * @param runId 运行 ID
+     * @param event 事件
+     */
+    void onEvent(@NotNull String runId, @NotNull ChainEvent event);
+
+    /**
+     * 处理链运行结束
+     *
+     * @param report 本次运行的报告
+     */
+    default void onRunFinished(@NotNull ChainRunReport report) {
+    }
+}
@@ -0,0 +1,172 @@
+package info.dong4j.idea.plugin.chain.event;
+
+import com.google.gson.Gson;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.project.Project;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 单次处理链运行的事件日志
+ * <p>
+ * 在内存中按发生顺序收集一次运行的全部 {@link ChainEvent}，并同步发布到项目消息总线的 {@link ChainEventListener#TOPIC}。
+ * 事件可以在多个处理线程中并发写入。运行结束时汇总为 {@link ChainRunReport}，并可选地将事件持久化为 JSON Lines 文件，
+ * 每次运行一个文件，只保留最近 {@link #MAX_RUN_FILES} 次。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+public class ChainEventLog {
+    /** 最多保留的运行日志文件数 */
+    static final int MAX_RUN_FILES = 50;
+    /** 运行日志文件后缀 */
+    private static final String RUN_FILE_SUFFIX = ".jsonl";
+    /** 运行 ID 的时间部分格式 */
+    private static final DateTimeFormatter RUN_ID_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    /** 序列化事件使用的 Gson，忽略 null 字段以保持记录紧凑 */
+    private static final Gson GSON = new Gson();
+
+    /** 运行 ID */
+    @Getter
+    private final String runId;
+    /** 所属项目，为 null 时不发布到消息总线 */
+    private final Project project;
+    /** 运行开始时间（纳秒） */
+    private final long startNanos;
+    /** 已记录的事件 */
+    private final ConcurrentLinkedQueue<ChainEvent> events = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 创建运行事件日志
+     *
+     * @param project 所属项目，为 null 时只在内存中记录
+     */
+    public ChainEventLog(@Nullable Project project) {
+        this.project = project;
+        this.runId = LocalDateTime.now().format(RUN_ID_FORMATTER) + "-" + Integer.toHexString(ThreadLocalRandom.current().nextInt(0x1000, 0x10000));
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * 记录一个事件并发布到消息总线
+     *
+     * @param event 事件
+     */
+    public void emit(@NotNull ChainEvent event) {
+        this.events.add(event);
+        if (this.project != null && !this.project.isDisposed()) {
+            try {
+                this.project.getMessageBus().syncPublisher(ChainEventListener.TOPIC).onEvent(this.runId, event);
+            } catch (Exception e) {
+                log.debug("发布处理链事件失败", e);
+            }
+        }
+    }
+
+    /**
+     * 获取已记录事件的快照
+     *
+     * @return 事件列表，按记录顺序排列
+     */
+    @NotNull
+    public List<ChainEvent> getEvents() {
+        return new ArrayList<>(this.events);
+    }
+
+    /**
+     * 结束本次运行
+     * <p>
+     * 记录运行结束事件，汇总运行报告并发布；{@code persist} 为 true 时将事件写入
+     * {@code <IDE log>/markdown-image-kit/runs/<runId>.jsonl}。
+     *
+     * @param persist 是否持久化事件
+     * @return 运行报告
+     */
+    @NotNull
+    public ChainRunReport finish(boolean persist) {
+        long durationMs = (System.nanoTime() - this.startNanos) / 1_000_000L;
+        this.emit(ChainEvent.builder().type(ChainEventType.RUN_FINISHED).durationMs(durationMs).build());
+
+        List<ChainEvent> snapshot = this.getEvents();
+        ChainRunReport report = ChainRunReport.of(this.runId, durationMs, snapshot);
+        if (this.project != null && !this.project.isDisposed()) {
+            try {
+                this.project.getMessageBus().syncPublisher(ChainEventListener.TOPIC).onRunFinished(report);
+            } catch (Exception e) {
+                log.debug("发布运行报告失败", e);
+            }
+        }
+        if (persist) {
+            try {
+                write(runDirectory(), this.runId, snapshot, MAX_RUN_FILES);
+            } catch (IOException e) {
+                log.debug("保存处理链事件日志失败: {}", this.runId, e);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * 获取运行日志目录
+     *
+     * @return 运行日志目录
+     */
+    @NotNull
+    public static Path runDirectory() {
+        return Path.of(PathManager.getLogPath(), "markdown-image-kit", "runs");
+    }
+
+    /**
+     * 将事件以 JSON Lines 格式写入文件，并按文件名（以时间开头）清理超出保留数量的旧文件
+     *
+     * @param directory 运行日志目录
+     * @param runId     运行 ID，作为文件名
+     * @param events    事件
+     * @param maxFiles  最多保留的文件数
+     * @return 写入的文件
+     * @throws IOException 写入失败时抛出
+     */
+    static Path write(@NotNull Path directory, @NotNull String runId, @NotNull Collection<ChainEvent> events, int maxFiles) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(runId + RUN_FILE_SUFFIX);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (ChainEvent event : events) {
+                writer.write(GSON.toJson(event));
+                writer.newLine();
+            }
+        }
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(RUN_FILE_SUFFIX))
+                .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                .toList();
+        }
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+        return file;
+    }
+}
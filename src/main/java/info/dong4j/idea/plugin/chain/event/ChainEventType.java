@@ -0,0 +1,39 @@
+package info.dong4j.idea.plugin.chain.event;
+
+/**
+ * 处理链事件类型
+ * <p>
+ * 定义处理链运行期间产生的结构化事件种类，分为运行级、阶段级（处理器）和图片级三类。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public enum ChainEventType {
+    /** 处理链开始运行 */
+    RUN_STARTED,
+    /** 处理链运行结束 */
+    RUN_FINISHED,
+    /** 处理器开始执行 */
+    STAGE_STARTED,
+    /** 处理器执行完成 */
+    STAGE_FINISHED,
+    /** 处理器执行失败，处理链被中断 */
+    STAGE_FAILED,
+    /** 单张图片处理完成 */
+    IMAGE_FINISHED,
+    /** 单张图片处理失败 */
+    IMAGE_FAILED,
+    /** 单张图片被跳过 */
+    IMAGE_SKIPPED;
+
+    /**
+     * 判断是否为图片级事件
+     *
+     * @return 图片级事件返回 true
+     */
+    public boolean isImageEvent() {
+        return this == IMAGE_FINISHED || this == IMAGE_FAILED || this == IMAGE_SKIPPED;
+    }
+}
@@ -0,0 +1,224 @@
+package info.dong4j.idea.plugin.chain.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * 处理链运行报告
+ * <p>
+ * 由一次运行的全部 {@link ChainEvent} 汇总得到：处理图片数、吞吐量、失败次数、节省的字节数、缓存命中次数，
+ * 以及每个处理器（阶段）的单图耗时 p50/p95 与阶段总耗时。阶段按首次出现的顺序排列。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Getter
+public class ChainRunReport {
+    /** 运行 ID */
+    private final String runId;
+    /** 运行总耗时（毫秒） */
+    private final long durationMs;
+    /** 处理的图片数，取处理图片最多的阶段的数量（图片在链中可能被重命名，不能按名称去重） */
+    private final int imageCount;
+    /** 失败次数，包括图片失败和处理器失败 */
+    private final int failureCount;
+    /** 输出小于输入时节省的字节数总和 */
+    private final long bytesSaved;
+    /** 缓存命中次数 */
+    private final int cacheHits;
+    /** 各阶段统计 */
+    private final List<StageStats> stages;
+
+    /**
+     * 创建运行报告
+     *
+     * @param runId        运行 ID
+     * @param durationMs   运行总耗时（毫秒）
+     * @param imageCount   处理的图片数
+     * @param failureCount 失败次数
+     * @param bytesSaved   节省的字节数
+     * @param cacheHits    缓存命中次数
+     * @param stages       各阶段统计
+     */
+    private ChainRunReport(String runId, long durationMs, int imageCount, int failureCount, long bytesSaved, int cacheHits,
+                           List<StageStats> stages) {
+        this.runId = runId;
+        this.durationMs = durationMs;
+        this.imageCount = imageCount;
+        this.failureCount = failureCount;
+        this.bytesSaved = bytesSaved;
+        this.cacheHits = cacheHits;
+        this.stages = stages;
+    }
+
+    /**
+     * 汇总一次运行的事件
+     *
+     * @param runId      运行 ID
+     * @param durationMs 运行总耗时（毫秒）
+     * @param events     本次运行的全部事件
+     * @return 运行报告
+     */
+    @NotNull
+    public static ChainRunReport of(@NotNull String runId, long durationMs, @NotNull Collection<ChainEvent> events) {
+        Map<String, StageAccumulator> accumulators = new LinkedHashMap<>();
+        int failureCount = 0;
+        long bytesSaved = 0;
+        int cacheHits = 0;
+
+        for (ChainEvent event : events) {
+            ChainEventType type = event.getType();
+            if (type == ChainEventType.IMAGE_FAILED || type == ChainEventType.STAGE_FAILED) {
+                failureCount++;
+            }
+            if (Boolean.TRUE.equals(event.getCacheHit())) {
+                cacheHits++;
+            }
+            if (type == ChainEventType.IMAGE_FINISHED && event.getBytesIn() != null && event.getBytesOut() != null) {
+                bytesSaved += Math.max(0, event.getBytesIn() - event.getBytesOut());
+            }
+            if (event.getStage() == null || type == ChainEventType.IMAGE_SKIPPED || type == ChainEventType.STAGE_STARTED) {
+                continue;
+            }
+
+            StageAccumulator accumulator = accumulators.computeIfAbsent(event.getStage(), k -> new StageAccumulator());
+            long duration = event.getDurationMs() == null ? 0 : event.getDurationMs();
+            switch (type) {
+                case IMAGE_FINISHED -> accumulator.imageDurations.add(duration);
+                case IMAGE_FAILED -> {
+                    accumulator.imageDurations.add(duration);
+                    accumulator.failures++;
+                }
+                case STAGE_FINISHED -> accumulator.totalMs += duration;
+                case STAGE_FAILED -> {
+                    accumulator.totalMs += duration;
+                    accumulator.failures++;
+                }
+                default -> {
+                }
+            }
+        }
+
+        int imageCount = 0;
+        List<StageStats> stages = new ArrayList<>(accumulators.size());
+        for (Map.Entry<String, StageAccumulator> entry : accumulators.entrySet()) {
+            StageAccumulator accumulator = entry.getValue();
+            long[] sorted = accumulator.imageDurations.stream().mapToLong(Long::longValue).sorted().toArray();
+            imageCount = Math.max(imageCount, sorted.length);
+            stages.add(new StageStats(entry.getKey(),
+                                      sorted.length,
+                                      accumulator.failures,
+                                      percentile(sorted, 50),
+                                      percentile(sorted, 95),
+                                      accumulator.totalMs));
+        }
+        return new ChainRunReport(runId, durationMs, imageCount, failureCount, bytesSaved, cacheHits, stages);
+    }
+
+    /**
+     * 获取吞吐量
+     *
+     * @return 每秒处理的图片数，耗时为 0 时返回 0
+     */
+    public double getThroughput() {
+        return this.durationMs <= 0 ? 0 : this.imageCount * 1000.0 / this.durationMs;
+    }
+
+    /**
+     * 格式化为控制台输出的文本行
+     *
+     * @return 报告文本行
+     */
+    @NotNull
+    public List<String> format() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("  运行报告 [%s]: %d 张图片，耗时 %s，吞吐 %.2f 张/s，失败 %d 次",
+                                this.runId, this.imageCount, formatDuration(this.durationMs), this.getThroughput(), this.failureCount));
+        if (this.bytesSaved > 0 || this.cacheHits > 0) {
+            lines.add(String.format("    节省 %s，缓存命中 %d 次", formatBytes(this.bytesSaved), this.cacheHits));
+        }
+        for (StageStats stage : this.stages) {
+            if (stage.images() == 0) {
+                lines.add(String.format("    %s: 耗时 %s%s", stage.stage(), formatDuration(stage.totalMs()),
+                                        stage.failures() > 0 ? "，失败" : ""));
+            } else {
+                lines.add(String.format("    %s: %d 张，p50 %s，p95 %s，耗时 %s，失败 %d",
+                                        stage.stage(), stage.images(), formatDuration(stage.p50Ms()), formatDuration(stage.p95Ms()),
+                                        formatDuration(stage.totalMs()), stage.failures()));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * 按最近秩法计算百分位数
+     *
+     * @param sorted     升序排列的数据
+     * @param percentile 百分位（0-100）
+     * @return 百分位数，数据为空时返回 0
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+    }
+
+    /**
+     * 格式化时长
+     *
+     * @param millis 毫秒数
+     * @return 格式化后的时长字符串
+     */
+    private static String formatDuration(long millis) {
+        return millis < 1000 ? millis + "ms" : String.format("%.2fs", millis / 1000.0);
+    }
+
+    /**
+     * 格式化字节数
+     *
+     * @param bytes 字节数
+     * @return 格式化后的大小字符串
+     */
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.2f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    /**
+     * 单个阶段的统计
+     *
+     * @param stage    阶段（处理器）名称
+     * @param images   处理的图片数
+     * @param failures 失败次数
+     * @param p50Ms    单图耗时中位数（毫秒）
+     * @param p95Ms    单图耗时 95 分位（毫秒）
+     * @param totalMs  阶段总耗时（毫秒）
+     */
+    public record StageStats(String stage, int images, int failures, long p50Ms, long p95Ms, long totalMs) {
+    }
+
+    /**
+     * 汇总过程中的阶段累加器
+     */
+    private static class StageAccumulator {
+        /** 单图耗时 */
+        private final List<Long> imageDurations = new ArrayList<>();
+        /** 失败次数 */
+        private int failures;
+        /** 阶段总耗时 */
+        private long totalMs;
+    }
+}
@@ -4,6 +4,9 @@ import com.intellij.openapi.editor.Document;
 
 import info.dong4j.idea.plugin.chain.BaseActionHandler;
 import info.dong4j.idea.plugin.chain.ProgressTracker;
+import info.dong4j.idea.plugin.chain.event.ChainEvent;
+import info.dong4j.idea.plugin.chain.event.ChainEventLog;
+import info.dong4j.idea.plugin.chain.event.ChainEventType;
 import info.dong4j.idea.plugin.console.MikConsoleView;
 import info.dong4j.idea.plugin.entity.EventData;
 import info.dong4j.idea.plugin.entity.MarkdownImage;
@@ -103,13 +106,25 @@ public class ActionHandlerAdapter extends BaseActionHandler {
 
                 if (!this.shouldProcess(markdownImage)) {
                     log.debug("[{}:{}] 跳过图片: {}", data.getAction(), getName(), markdownImage.getImageName());
+                    this.emit(data, ChainEvent.builder().type(ChainEventType.IMAGE_SKIPPED).image(markdownImage.getImageName()));
                     continue;
                 }
 
+                String imageName = markdownImage.getImageName();
+                long startTime = System.currentTimeMillis();
                 try {
                     this.invoke(data, imageIterator, markdownImage);
+                    this.emit(data, ChainEvent.builder()
+                        .type(ChainEventType.IMAGE_FINISHED)
+                        .image(imageName)
+                        .durationMs(System.currentTimeMillis() - startTime));
                 } catch (Exception e) {
                     log.debug("处理图片失败: {}", markdownImage.getImageName(), e);
+                    this.emit(data, ChainEvent.builder()
+                        .type(ChainEventType.IMAGE_FAILED)
+                        .image(imageName)
+                        .durationMs(System.currentTimeMillis() - startTime)
+                        .message(e.getMessage()));
                     MikConsoleView.printErrorMessage(data.getProject(),
                                                      "[✗] 处理图片失败: " + markdownImage.getImageName() + " (" + e.getMessage() + ")");
                 }
@@ -119,6 +134,22 @@ public class ActionHandlerAdapter extends BaseActionHandler {
         return true;
     }
 
+    /**
+     * 记录一个结构化事件
+     * <p>
+     * 自动填入当前处理器名称作为阶段；未通过 ActionManager 运行（没有事件日志）时忽略。
+     *
+     * @param data  事件数据
+     * @param event 尚未构建的事件
+     * @since 2.3.0
+     */
+    protected void emit(@NotNull EventData data, @NotNull ChainEvent.ChainEventBuilder event) {
+        ChainEventLog eventLog = data.getEventLog();
+        if (eventLog != null) {
+            eventLog.emit(event.stage(this.getName()).build());
+        }
+    }
+
     /**
      * 执行特定逻辑
      * <p>
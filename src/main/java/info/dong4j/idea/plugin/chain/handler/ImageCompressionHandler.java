@@ -1,23 +1,48 @@
 package info.dong4j.idea.plugin.chain.handler;
 
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.progress.ProgressIndicator;
+
 import info.dong4j.idea.plugin.MikBundle;
 import info.dong4j.idea.plugin.action.intention.IntentionActionBase;
+import info.dong4j.idea.plugin.chain.ProgressTracker;
+import info.dong4j.idea.plugin.chain.event.ChainEvent;
+import info.dong4j.idea.plugin.chain.event.ChainEventType;
 import info.dong4j.idea.plugin.console.MikConsoleView;
+import info.dong4j.idea.plugin.encoder.ImageEncoder;
+import info.dong4j.idea.plugin.encoder.ImageEncoders;
+import info.dong4j.idea.plugin.encoder.ImagePipeline;
 import info.dong4j.idea.plugin.entity.EventData;
 import info.dong4j.idea.plugin.entity.MarkdownImage;
 import info.dong4j.idea.plugin.enums.ImageMediaType;
+import info.dong4j.idea.plugin.metrics.MikMetrics;
 import info.dong4j.idea.plugin.util.ImageUtils;
+import info.dong4j.idea.plugin.util.StringUtils;
 
 import org.jetbrains.annotations.NotNull;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -35,6 +60,9 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class ImageCompressionHandler extends ActionHandlerAdapter {
+    /** 1MB 对应的字节数 */
+    private static final long MEGABYTE = 1024L * 1024L;
+
     /**
      * 获取名称
      * <p>
@@ -62,31 +90,292 @@ public class ImageCompressionHandler extends ActionHandlerAdapter {
         return IntentionActionBase.getState().isCompress() || IntentionActionBase.getState().isConvertToWebp();
     }
 
+    /**
+     * 并行执行图片压缩
+     * <p>
+     * 压缩与 WebP 转换都是纯 CPU 密集型操作，逐张处理时只能利用单核。这里将所有待处理图片提交到按 CPU 核数创建的
+     * {@link ForkJoinPool} 中，由工作窃取机制在各线程之间均衡负载；同时通过 {@link Semaphore} 按照估算的解码内存占用申请许可，
+     * 限制同一时刻存活的解码位图总量，避免大量大图同时解码导致 OOM；等待许可时通过 {@link ForkJoinPool.ManagedBlocker}
+     * 让线程池补充工作线程。每张图片处理完成后立即更新进度。
+     * <p>
+     * 每个任务开始前检查是否已取消，取消后尚未开始的图片直接跳过，等待内存预算的任务也会退出。
+     *
+     * @param data 事件数据对象
+     * @return 处理完成返回 true，用户取消时返回 false 中断处理链
+     * @since 2.3.0
+     */
+    @Override
+    public boolean execute(EventData data) {
+        // 收集所有需要压缩的图片
+        List<ImageCompressTask> compressTasks = new ArrayList<>();
+        for (Map.Entry<Document, List<MarkdownImage>> entry : data.getWaitingProcessMap().entrySet()) {
+            for (MarkdownImage markdownImage : entry.getValue()) {
+                compressTasks.add(new ImageCompressTask(markdownImage, entry.getKey()));
+            }
+        }
+
+        if (compressTasks.isEmpty()) {
+            log.debug("没有待压缩的图片");
+            return true;
+        }
+
+        int totalCount = compressTasks.size();
+        int parallelism = Math.max(1, Math.min(totalCount, Runtime.getRuntime().availableProcessors()));
+        int budgetPermits = memoryBudgetPermits();
+        Semaphore memoryBudget = new Semaphore(budgetPermits);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        log.debug("开始压缩 {} 张图片，使用 {} 个线程，内存预算 {}MB", totalCount, parallelism, budgetPermits);
+        MikConsoleView.printMessage(data.getProject(), String.format("  开始压缩 %d 张图片，使用 %d 个线程", totalCount, parallelism));
+
+        ProgressTracker progressTracker = data.getProgressTracker();
+        int stepIndex = data.getIndex();
+        AtomicInteger completedCount = new AtomicInteger(0);
+        List<ImageCompressTask> toRemove = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        ProgressIndicator indicator = data.getIndicator();
+        for (ImageCompressTask task : compressTasks) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                if (isCanceled(indicator)) {
+                    return;
+                }
+                MarkdownImage markdownImage = task.markdownImage();
+                try {
+                    if (!this.shouldProcess(markdownImage)) {
+                        log.debug("[{}:{}] 跳过图片: {}", data.getAction(), getName(), markdownImage.getImageName());
+                        this.emit(data, ChainEvent.builder().type(ChainEventType.IMAGE_SKIPPED).image(markdownImage.getImageName()));
+                        return;
+                    }
+                    if (!compressWithinBudget(data, markdownImage, indicator, memoryBudget, budgetPermits)) {
+                        toRemove.add(task);
+                    }
+                } catch (Exception e) {
+                    log.debug("处理图片失败: {}", markdownImage.getImageName(), e);
+                    this.emit(data, ChainEvent.builder().type(ChainEventType.IMAGE_FAILED).image(markdownImage.getImageName()).message(e.getMessage()));
+                    MikConsoleView.printErrorMessage(data.getProject(),
+                                                     "[✗] 处理图片失败: " + markdownImage.getImageName() + " (" + e.getMessage() + ")");
+                } finally {
+                    // 按完成顺序上报进度
+                    int completed = completedCount.incrementAndGet();
+                    if (progressTracker != null) {
+                        progressTracker.updateItemProgress(stepIndex, markdownImage.getImageName(), completed, totalCount);
+                    }
+                }
+            }, pool));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } finally {
+            pool.shutdown();
+        }
+        if (isCanceled(indicator)) {
+            MikConsoleView.printWarningMessage(data.getProject(), "  压缩已取消");
+            return false;
+        }
+
+        // 在主线程中统一移除无效图片，避免并发修改列表
+        for (ImageCompressTask task : toRemove) {
+            List<MarkdownImage> images = data.getWaitingProcessMap().get(task.document());
+            if (images != null) {
+                images.remove(task.markdownImage());
+            }
+        }
+
+        log.debug("图片压缩完成，共处理 {} 张图片", totalCount);
+        return true;
+    }
+
+    /**
+     * 在内存预算内压缩单张图片
+     * <p>
+     * 先读取图片头信息估算解码后的位图大小，按 MB 申请对应数量的许可，处理完成后归还。
+     * 单张图片的申请量不会超过预算总量，保证超大图片也能独占预算后顺利执行。等待期间用户取消时不再处理该图片。
+     *
+     * @param data          事件数据对象
+     * @param markdownImage Markdown 图片对象
+     * @param indicator     进度指示器，可以为 null
+     * @param memoryBudget  内存预算信号量
+     * @param budgetPermits 内存预算总许可数（MB）
+     * @return 图片是否需要保留，false 表示应从待处理列表中移除
+     * @throws InterruptedException 等待内存预算时线程被中断
+     */
+    private boolean compressWithinBudget(EventData data,
+                                         MarkdownImage markdownImage,
+                                         ProgressIndicator indicator,
+                                         Semaphore memoryBudget,
+                                         int budgetPermits) throws InterruptedException {
+        if (markdownImage.getInputStream() == null) {
+            log.debug("inputstream 为 null, remove markdownImage = {}", markdownImage);
+            return false;
+        }
+
+        byte[] originalBytes;
+        try (InputStream inputStream = markdownImage.getInputStream()) {
+            originalBytes = inputStream.readAllBytes();
+        } catch (Exception e) {
+            log.debug("读取图片失败: {}", markdownImage.getImageName(), e);
+            return false;
+        }
+        markdownImage.setInputStream(new ByteArrayInputStream(originalBytes));
+
+        int permits = Math.max(1, (int) Math.min(budgetPermits, estimateDecodedMegabytes(originalBytes)));
+        MemoryBudgetBlocker blocker = new MemoryBudgetBlocker(memoryBudget, permits, indicator);
+        ForkJoinPool.managedBlock(blocker);
+        if (!blocker.acquired) {
+            return true;
+        }
+        String imageName = markdownImage.getImageName();
+        long startTime = System.currentTimeMillis();
+        ImageEncoders.consumeCacheHit();
+        ImageEncoders.consumeUsedEncoder();
+        MikMetrics.Sample sample = MikMetrics.getInstance().start(MikMetrics.Category.ENCODER);
+        try {
+            boolean keep = compressSingleImage(data, markdownImage);
+            Long bytesOut = availableBytes(markdownImage);
+            String encoderName = usedEncoderName();
+            sample.stop(encoderName, keep, originalBytes.length, bytesOut != null ? bytesOut : 0);
+            if (data.getProgressTracker() != null) {
+                data.getProgressTracker().recordBytes(originalBytes.length);
+            }
+            this.emit(data, ChainEvent.builder()
+                .type(ChainEventType.IMAGE_FINISHED)
+                .image(imageName)
+                .bytesIn((long) originalBytes.length)
+                .bytesOut(bytesOut)
+                .durationMs(System.currentTimeMillis() - startTime)
+                .provider(encoderName)
+                .cacheHit(ImageEncoders.consumeCacheHit()));
+            return keep;
+        } finally {
+            sample.stop(usedEncoderName(), false, 0, 0);
+            memoryBudget.release(permits);
+        }
+    }
+
+    /**
+     * 获取当前线程实际使用的编码器名称
+     * <p>
+     * 没有调用编码器时（如保留原图）使用配置的编码器名称。
+     *
+     * @return 编码器名称
+     */
+    private static String usedEncoderName() {
+        String name = ImageEncoders.consumeUsedEncoder();
+        return name != null ? name : IntentionActionBase.getState().getImageEncoder().getName();
+    }
+
+    /**
+     * 判断用户是否已取消
+     *
+     * @param indicator 进度指示器，可以为 null
+     * @return 已取消返回 true
+     */
+    private static boolean isCanceled(ProgressIndicator indicator) {
+        return indicator != null && indicator.isCanceled();
+    }
+
+    /**
+     * 获取图片当前输入流中的字节数
+     *
+     * @param markdownImage Markdown 图片对象
+     * @return 字节数，输入流为空或无法读取时返回 null
+     */
+    private static Long availableBytes(MarkdownImage markdownImage) {
+        InputStream inputStream = markdownImage.getInputStream();
+        if (inputStream == null) {
+            return null;
+        }
+        try {
+            return (long) inputStream.available();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 计算压缩阶段可用的内存预算
+     * <p>
+     * 取 JVM 最大堆的四分之一作为同时存活的解码位图上限，单位为 MB，至少为 64MB。
+     *
+     * @return 内存预算（MB）
+     */
+    private static int memoryBudgetPermits() {
+        long maxMemoryMb = Runtime.getRuntime().maxMemory() / MEGABYTE;
+        return (int) Math.max(64, Math.min(Integer.MAX_VALUE, maxMemoryMb / 4));
+    }
+
+    /**
+     * 估算图片解码后占用的内存大小
+     * <p>
+     * 只读取图片头部获取宽高，不解码像素数据。按每像素 4 字节计算，并乘以 2 以覆盖源位图和输出位图同时存在的情况。
+     * 无法识别图片头时，按原始字节数的 10 倍粗略估算。
+     *
+     * @param bytes 原始图片字节数组
+     * @return 估算的内存占用（MB，向上取整）
+     */
+    private static long estimateDecodedMegabytes(byte[] bytes) {
+        long estimateBytes = bytes.length * 10L;
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+            if (readers.hasNext()) {
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(imageInputStream, true, true);
+                    estimateBytes = (long) reader.getWidth(0) * reader.getHeight(0) * 4L * 2L;
+                } finally {
+                    reader.dispose();
+                }
+            }
+        } catch (Exception e) {
+            log.debug("读取图片尺寸失败，使用粗略估算", e);
+        }
+        return (estimateBytes + MEGABYTE - 1) / MEGABYTE;
+    }
+
+    /**
+     * 串行处理单张图片
+     * <p>
+     * 供基类的串行遍历使用，保留原有的处理逻辑入口，当图片无效时通过迭代器移除。
+     *
+     * @param data          事件数据对象
+     * @param imageIterator 图片迭代器，用于遍历和移除图片
+     * @param markdownImage Markdown图片对象，包含图片名称和输入流
+     */
+    @Override
+    public void invoke(EventData data, Iterator<MarkdownImage> imageIterator, MarkdownImage markdownImage) {
+        if (!compressSingleImage(data, markdownImage)) {
+            imageIterator.remove();
+        }
+    }
+
     /**
      * 处理Markdown图片数据，压缩图片流并更新图片对象
      * <p>
-     * 该方法用于处理Markdown图片数据，首先检查图片流是否为空，若为空则从迭代器中移除该图片。
+     * 该方法用于处理Markdown图片数据，首先检查图片流是否为空，若为空则返回 false 由调用方移除该图片。
      * 若图片名称以"gif"结尾，则直接返回。否则，根据配置进行压缩或转换为webp处理：
      * 1. 如果都开启了：先尝试转为webp，失败就回退到普通压缩
      * 2. 如果只开启了图片压缩：直接压缩
      * 3. 如果只开启了转换成webp：尝试转为webp，失败就不压缩
+     * <p>
+     * 设置了最大边长时，编码前先在流水线中等比缩小超出范围的图片。
+     * <p>
+     * 该方法只修改传入的图片对象，可以在多个线程中并发调用。
      *
      * @param data          事件数据对象
-     * @param imageIterator 图片迭代器，用于遍历和移除图片
      * @param markdownImage Markdown图片对象，包含图片名称和输入流
+     * @return 图片是否需要保留，false 表示应从待处理列表中移除
      */
     @SuppressWarnings("D")
-    @Override
-    public void invoke(EventData data, Iterator<MarkdownImage> imageIterator, MarkdownImage markdownImage) {
+    private boolean compressSingleImage(EventData data, MarkdownImage markdownImage) {
         String imageName = markdownImage.getImageName();
         if (markdownImage.getInputStream() == null) {
             log.debug("inputstream 为 null, remove markdownImage = {}", markdownImage);
-            imageIterator.remove();
-            return;
+            return false;
         }
 
         if (imageName.endsWith(ImageMediaType.GIF.getExtensionWithoutDot()) || imageName.endsWith(ImageMediaType.SVG_XML.getExtensionWithoutDot())) {
-            return;
+            return true;
         }
 
         InputStream inputStream = markdownImage.getInputStream();
@@ -94,6 +383,12 @@ public class ImageCompressionHandler extends ActionHandlerAdapter {
         boolean isWebpEnabled = IntentionActionBase.getState().isConvertToWebp();
         int compressPercent = IntentionActionBase.getState().getCompressBeforeUploadOfPercent();
         int webpQuality = IntentionActionBase.getState().getWebpQuality();
+        // 单张图片的目标大小，0 表示不限制
+        long targetMaxBytes = IntentionActionBase.getState().getCompressTargetMaxSize() * 1024L;
+        boolean allowScale = IntentionActionBase.getState().isCompressTargetAllowScale();
+        SizeBudget budget = new SizeBudget(targetMaxBytes, allowScale);
+        // 最大边长，0 表示不限制
+        int maxDimension = IntentionActionBase.getState().getCompressMaxDimension();
 
         try {
             // 先将输入流读取到字节数组，确保可以重新读取
@@ -103,44 +398,45 @@ public class ImageCompressionHandler extends ActionHandlerAdapter {
             tempOut.close(); // 关闭临时输出流
 
             // 判断是否已经是webp格式
-            String ext = markdownImage.getExtension();
+            String ext = sourceExtension(markdownImage);
             boolean alreadyWebp = ImageMediaType.WEBP.getExtensionWithoutDot().equalsIgnoreCase(ext);
 
             long originalSize = originalBytes.length;
-            
+            // 同一张图片的 WebP 转换与回退压缩共用一条流水线，最多解码一次
+            ImagePipeline pipeline = ImagePipeline.of(originalBytes);
+            if (maxDimension > 0) {
+                pipeline.fitWithin(maxDimension, maxDimension);
+            }
+
             // 情况1：如果都开启了，先尝试转webp，失败就回退到普通压缩
             if (isCompressEnabled && isWebpEnabled) {
                 if (!alreadyWebp) {
                     // 尝试转换为webp
-                    boolean webpSuccess = tryConvertToWebp(markdownImage, originalBytes, webpQuality, imageName);
+                    boolean webpSuccess = tryConvertToWebp(markdownImage, pipeline, originalBytes, webpQuality, budget, imageName);
                     if (!webpSuccess) {
                         // webp转换失败，回退到普通压缩
                         log.debug("webp转换失败，回退到普通压缩: {}", imageName);
-                        compressImage(markdownImage, originalBytes, compressPercent);
+                        printCompressionResult(markdownImage, pipeline, originalBytes, compressPercent, budget, "压缩", data);
                     } else {
                         long newSize = markdownImage.getInputStream().available();
                         printCompressionInfo(imageName, "转换为WebP", originalSize, newSize, data);
                     }
                 } else {
                     // 已经是webp，直接压缩
-                    compressImage(markdownImage, originalBytes, compressPercent);
-                    long newSize = markdownImage.getInputStream().available();
-                    printCompressionInfo(imageName, "压缩WebP", originalSize, newSize, data);
+                    printCompressionResult(markdownImage, pipeline, originalBytes, compressPercent, budget, "压缩WebP", data);
                 }
             }
             // 情况2：如果只开启了图片压缩，直接压缩
             else if (isCompressEnabled) {
-                compressImage(markdownImage, originalBytes, compressPercent);
-                long newSize = markdownImage.getInputStream().available();
-                printCompressionInfo(imageName, "压缩", originalSize, newSize, data);
+                printCompressionResult(markdownImage, pipeline, originalBytes, compressPercent, budget, "压缩", data);
             }
             // 情况3：如果只开启了转换成webp，尝试转webp，失败就不压缩
             else if (isWebpEnabled) {
                 if (!alreadyWebp) {
-                    boolean webpSuccess = tryConvertToWebp(markdownImage, originalBytes, webpQuality, imageName);
+                    boolean webpSuccess = tryConvertToWebp(markdownImage, pipeline, originalBytes, webpQuality, budget, imageName);
                     if (!webpSuccess) {
-                        // webp转换失败，不压缩，保持原样
-                        log.debug("WebP 转换失败，保持原样: {}", imageName);
+                        // webp转换失败或没有变小，不压缩，保持原样
+                        log.debug("WebP 转换失败或未变小，保持原样: {}", imageName);
                         markdownImage.setInputStream(new ByteArrayInputStream(originalBytes));
                     } else {
                         long newSize = markdownImage.getInputStream().available();
@@ -166,23 +462,34 @@ public class ImageCompressionHandler extends ActionHandlerAdapter {
             } catch (Exception ignored) {
             }
         }
+        return true;
     }
 
     /**
      * 尝试将图片转换为webp格式
      *
+     * 转换结果不小于原图时视为失败，保留原图。
+     *
      * @param markdownImage Markdown图片对象
+     * @param pipeline      图片处理流水线
      * @param originalBytes 原始图片字节数组
      * @param webpQuality   webp质量（0-100）
+     * @param budget        单张图片的目标大小
      * @param imageName     图片名称
      * @return 是否转换成功
      */
-    private boolean tryConvertToWebp(MarkdownImage markdownImage, byte[] originalBytes, int webpQuality, String imageName) {
-        try (ByteArrayOutputStream webpOut = new ByteArrayOutputStream()) {
-            try (ByteArrayInputStream originalIn = new ByteArrayInputStream(originalBytes)) {
-                ImageUtils.toWebp(originalIn, webpOut, webpQuality);
+    private boolean tryConvertToWebp(MarkdownImage markdownImage,
+                                     ImagePipeline pipeline,
+                                     byte[] originalBytes,
+                                     int webpQuality,
+                                     SizeBudget budget,
+                                     String imageName) {
+        try {
+            byte[] webpBytes = this.encode(pipeline, ImageEncoder.Operation.WEBP, sourceExtension(markdownImage), webpQuality, budget);
+            if (webpBytes.length >= originalBytes.length) {
+                log.debug("WebP 结果 {} 字节不小于原图 {} 字节: {}", webpBytes.length, originalBytes.length, imageName);
+                return false;
             }
-            byte[] webpBytes = webpOut.toByteArray();
             if (webpBytes.length > 0) {
                 // 转换成功，替换流为webp数据
                 markdownImage.setInputStream(new ByteArrayInputStream(webpBytes));
@@ -217,25 +524,109 @@ public class ImageCompressionHandler extends ActionHandlerAdapter {
         return false;
     }
 
+    /**
+     * 压缩图片并输出压缩结果
+     *
+     * @param markdownImage   Markdown图片对象
+     * @param pipeline        图片处理流水线
+     * @param originalBytes   原始图片字节数组
+     * @param compressPercent 压缩比例（0-100）
+     * @param budget          单张图片的目标大小
+     * @param operation       操作类型，用于输出
+     * @param data            事件数据
+     * @throws IOException 读取压缩后大小失败时抛出
+     */
+    private void printCompressionResult(MarkdownImage markdownImage,
+                                        ImagePipeline pipeline,
+                                        byte[] originalBytes,
+                                        int compressPercent,
+                                        SizeBudget budget,
+                                        String operation,
+                                        EventData data) throws IOException {
+        if (compressImage(markdownImage, pipeline, originalBytes, compressPercent, budget)) {
+            printCompressionInfo(markdownImage.getImageName(), operation, originalBytes.length, markdownImage.getInputStream().available(), data);
+        } else {
+            printSkippedInfo(markdownImage.getImageName(), originalBytes.length, data);
+        }
+    }
+
     /**
      * 压缩图片
+     * <p>
+     * 压缩结果不小于原图（常见于已经优化过的 PNG）或压缩失败时保留原图。
      *
      * @param markdownImage   Markdown图片对象
+     * @param pipeline        图片处理流水线
      * @param originalBytes   原始图片字节数组
      * @param compressPercent 压缩比例（0-100）
+     * @param budget          单张图片的目标大小
+     * @return 是否使用了压缩结果
      */
-    private void compressImage(MarkdownImage markdownImage, byte[] originalBytes, int compressPercent) {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            try (ByteArrayInputStream originalIn = new ByteArrayInputStream(originalBytes)) {
-                ImageUtils.compress(originalIn, outputStream, compressPercent);
+    private boolean compressImage(MarkdownImage markdownImage,
+                                  ImagePipeline pipeline,
+                                  byte[] originalBytes,
+                                  int compressPercent,
+                                  SizeBudget budget) {
+        try {
+            byte[] compressed = this.encode(pipeline, ImageEncoder.Operation.COMPRESS, sourceExtension(markdownImage), compressPercent, budget);
+            if (compressed.length > 0 && compressed.length < originalBytes.length) {
+                markdownImage.setInputStream(new ByteArrayInputStream(compressed));
+                return true;
             }
-            markdownImage.setInputStream(new ByteArrayInputStream(outputStream.toByteArray()));
+            log.debug("压缩结果 {} 字节不小于原图 {} 字节，保留原图", compressed.length, originalBytes.length);
         } catch (Exception e) {
             log.debug("压缩图片时发生异常", e);
         }
+        markdownImage.setInputStream(new ByteArrayInputStream(originalBytes));
+        return false;
+    }
+
+    /**
+     * 编码图片，设置了目标大小时按目标大小搜索质量
+     *
+     * @param pipeline  图片处理流水线
+     * @param operation 编码操作
+     * @param extension 源图片扩展名
+     * @param quality   质量（0-100），按目标大小搜索时作为最高质量
+     * @param budget    单张图片的目标大小
+     * @return 编码结果
+     * @throws IOException 编码失败时抛出
+     */
+    private byte[] encode(ImagePipeline pipeline,
+                          ImageEncoder.Operation operation,
+                          String extension,
+                          int quality,
+                          SizeBudget budget) throws IOException {
+        if (budget.maxBytes() > 0) {
+            return ImageEncoders.encodeWithinBudget(pipeline, operation, extension, quality, budget.maxBytes(), budget.allowScale());
+        }
+        return operation == ImageEncoder.Operation.WEBP
+               ? ImageEncoders.toWebp(pipeline, extension, quality)
+               : ImageEncoders.compress(pipeline, extension, quality);
     }
 
 
+    /**
+     * 获取源图片扩展名
+     * <p>
+     * 优先使用图片对象上记录的扩展名，为空时从图片名称中提取，统一返回不含点号的小写形式，用于选择编码器。
+     *
+     * @param markdownImage Markdown图片对象
+     * @return 扩展名（小写，不含点号），无法识别时返回空字符串
+     */
+    @NotNull
+    private static String sourceExtension(@NotNull MarkdownImage markdownImage) {
+        String ext = markdownImage.getExtension();
+        if (StringUtils.isBlank(ext) && markdownImage.getImageName() != null) {
+            ext = ImageUtils.getFileExtension(markdownImage.getImageName());
+        }
+        if (StringUtils.isBlank(ext)) {
+            return "";
+        }
+        ext = ext.trim().toLowerCase(Locale.ROOT);
+        return ext.startsWith(".") ? ext.substring(1) : ext;
+    }
+
     /**
      * 构建压缩信息，计算并存储压缩前后的大小及压缩率
      * <p>
@@ -306,4 +697,93 @@ public class ImageCompressionHandler extends ActionHandlerAdapter {
         }
     }
 
+    /**
+     * 输出压缩后未变小、保留原图的信息到控制台
+     *
+     * @param imageName    图片名称
+     * @param originalSize 原始大小
+     * @param data         事件数据
+     */
+    private void printSkippedInfo(String imageName, long originalSize, EventData data) {
+        try {
+            String message = String.format("  [压缩] %s: %s 压缩后未变小，保留原图", imageName, bytesToKb(originalSize));
+            MikConsoleView.printMessage(data.getProject(), message);
+        } catch (Exception e) {
+            log.debug("输出压缩信息失败", e);
+        }
+    }
+
+    /**
+     * 单张图片的目标大小
+     *
+     * @param maxBytes   目标大小（字节），0 表示不限制
+     * @param allowScale 最低质量仍超出目标时是否允许缩小图片
+     */
+    private record SizeBudget(long maxBytes, boolean allowScale) {
+    }
+
+    /**
+     * 图片压缩任务，记录图片及其所属文档，便于压缩失败后从待处理列表中移除
+     *
+     * @param markdownImage Markdown 图片对象
+     * @param document      图片所属文档
+     */
+    private record ImageCompressTask(MarkdownImage markdownImage, Document document) {
+    }
+
+    /**
+     * 在 {@link ForkJoinPool} 中等待内存预算
+     * <p>
+     * 阻塞期间线程池可以补充工作线程，其他已获得许可的任务不受影响；每 100 毫秒检查一次是否已取消。
+     */
+    private static final class MemoryBudgetBlocker implements ForkJoinPool.ManagedBlocker {
+        /** 内存预算信号量 */
+        private final Semaphore memoryBudget;
+        /** 需要申请的许可数 */
+        private final int permits;
+        /** 进度指示器，可以为 null */
+        private final ProgressIndicator indicator;
+        /** 是否已获得许可 */
+        private boolean acquired;
+
+        /**
+         * 构造函数
+         *
+         * @param memoryBudget 内存预算信号量
+         * @param permits      需要申请的许可数
+         * @param indicator    进度指示器，可以为 null
+         */
+        MemoryBudgetBlocker(Semaphore memoryBudget, int permits, ProgressIndicator indicator) {
+            this.memoryBudget = memoryBudget;
+            this.permits = permits;
+            this.indicator = indicator;
+        }
+
+        /**
+         * 等待直到获得许可或用户取消
+         *
+         * @return 始终返回 true，表示无需继续阻塞
+         * @throws InterruptedException 等待时线程被中断
+         */
+        @Override
+        public boolean block() throws InterruptedException {
+            while (!this.acquired && !isCanceled(this.indicator)) {
+                this.acquired = this.memoryBudget.tryAcquire(this.permits, 100, TimeUnit.MILLISECONDS);
+            }
+            return true;
+        }
+
+        /**
+         * 尝试不阻塞地获得许可
+         *
+         * @return 已获得许可或用户已取消时返回 true
+         */
+        @Override
+        public boolean isReleasable() {
+            if (!this.acquired) {
+                this.acquired = this.memoryBudget.tryAcquire(this.permits);
+            }
+            return this.acquired || isCanceled(this.indicator);
+        }
+    }
 }
@@ -5,13 +5,17 @@ import com.intellij.openapi.util.io.FileUtil;
 
 import info.dong4j.idea.plugin.MikBundle;
 import info.dong4j.idea.plugin.action.intention.IntentionActionBase;
+import info.dong4j.idea.plugin.chain.MigrationJournal;
 import info.dong4j.idea.plugin.chain.ProgressTracker;
+import info.dong4j.idea.plugin.chain.event.ChainEvent;
+import info.dong4j.idea.plugin.chain.event.ChainEventType;
 import info.dong4j.idea.plugin.console.MikConsoleView;
 import info.dong4j.idea.plugin.entity.EventData;
 import info.dong4j.idea.plugin.entity.MarkdownImage;
 import info.dong4j.idea.plugin.enums.FileType;
 import info.dong4j.idea.plugin.enums.ImageLocationEnum;
 import info.dong4j.idea.plugin.enums.ImageMediaType;
+import info.dong4j.idea.plugin.metrics.MikMetrics;
 import info.dong4j.idea.plugin.util.ImageUtils;
 
 import org.jetbrains.annotations.NotNull;
@@ -20,6 +24,7 @@ import org.jetbrains.annotations.Nullable;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -114,11 +119,13 @@ public class ImageDownloadHandler extends ActionHandlerAdapter {
     public boolean execute(EventData data) {
         // 收集所有需要下载的网络图片
         List<ImageDownloadTask> downloadTasks = new ArrayList<>();
+        MigrationJournal journal = data.getMigrationJournal();
 
         for (Map.Entry<Document, List<MarkdownImage>> entry : data.getWaitingProcessMap().entrySet()) {
             List<MarkdownImage> images = entry.getValue();
             for (MarkdownImage markdownImage : images) {
-                if (shouldProcess(markdownImage)) {
+                // 从迁移日志恢复了上传结果的图片不需要下载
+                if (shouldProcess(markdownImage) && (journal == null || !journal.isResumed(markdownImage))) {
                     downloadTasks.add(new ImageDownloadTask(markdownImage, entry.getKey(), data));
                 }
             }
@@ -151,6 +158,8 @@ public class ImageDownloadHandler extends ActionHandlerAdapter {
         // 为每个图片创建异步下载任务
         for (ImageDownloadTask task : downloadTasks) {
             CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+                ChainEvent.ChainEventBuilder event = ChainEvent.builder().image(task.markdownImage.getPath());
+                long startTime = System.currentTimeMillis();
                 try {
                     int currentProcessed = processedCount.incrementAndGet();
                     MarkdownImage markdownImage = task.markdownImage;
@@ -169,11 +178,18 @@ public class ImageDownloadHandler extends ActionHandlerAdapter {
                     if (imageUrl == null || imageUrl.trim().isEmpty() || !imageUrl.trim().startsWith("http://") && !imageUrl.trim().startsWith("https://")) {
                         log.debug("无效的网络图片URL: {}", imageUrl);
                         MikConsoleView.printSmart(task.eventData.getProject(), String.format("  [✗] 无效的网络图片URL: %s", imageUrl));
+                        this.emit(data, event.type(ChainEventType.IMAGE_SKIPPED).message("无效的网络图片URL"));
                         return;
                     }
                     MikConsoleView.printMessage(task.eventData.getProject(), String.format("  [下载] 网络图片URL: %s", imageUrl));
                     // 下载图片（调用单个图片的下载逻辑）
-                    downloadSingleImage(markdownImage);
+                    long downloaded = downloadSingleImage(markdownImage, event, journal);
+                    if (progressTracker != null) {
+                        progressTracker.recordBytes(downloaded);
+                    }
+                    this.emit(data, event.type(ChainEventType.IMAGE_FINISHED)
+                        .image(markdownImage.getImageName())
+                        .durationMs(System.currentTimeMillis() - startTime));
 
                     successCount.incrementAndGet();
                     String newImageName = markdownImage.getImageName();
@@ -185,6 +201,9 @@ public class ImageDownloadHandler extends ActionHandlerAdapter {
                 } catch (Exception e) {
                     failCount.incrementAndGet();
                     log.debug("下载图片失败: {}: {}", task.markdownImage.getPath(), e.getMessage());
+                    this.emit(data, event.type(ChainEventType.IMAGE_FAILED)
+                        .durationMs(System.currentTimeMillis() - startTime)
+                        .message(e.getMessage()));
                     MikConsoleView.printSmart(task.eventData.getProject(), String.format("  [✗] 下载失败: %s - %s",
                                                                                          task.markdownImage.getPath(), e.getMessage()));
                     // 下载失败的图片需要移除
@@ -241,24 +260,50 @@ public class ImageDownloadHandler extends ActionHandlerAdapter {
      * 成功下载后将图片数据设置到 MarkdownImage 对象中，并将 location 标记为 LOCAL。
      *
      * @param markdownImage Markdown图片对象，包含图片路径和输入流
+     * @param event         下载事件，记录 HTTP 状态码和下载的字节数
+     * @param journal       迁移日志，已下载过时直接使用保存的内容，下载成功后记录；不是迁移时为 null
+     * @return 下载的字节数
      * @throws IOException 当下载失败或处理失败时抛出
      * @since 2.0.0
      */
-    private void downloadSingleImage(MarkdownImage markdownImage) throws IOException {
+    private long downloadSingleImage(MarkdownImage markdownImage,
+                                     ChainEvent.ChainEventBuilder event,
+                                     @Nullable MigrationJournal journal) throws IOException {
         String imageUrl = markdownImage.getPath();
 
-        // 下载图片
-        URLConnection connection = getUrlConnection(imageUrl);
+        MigrationJournal.Download saved = journal != null ? journal.downloaded(markdownImage) : null;
+        if (saved != null && saved.name() != null && saved.extension() != null) {
+            markdownImage.setImageName(saved.name());
+            markdownImage.setExtension(saved.extension());
+            markdownImage.setInputStream(new ByteArrayInputStream(saved.bytes()));
+            markdownImage.setLocation(ImageLocationEnum.LOCAL);
+            event.message("迁移日志");
+            log.debug("使用迁移日志中已下载的图片: {} -> {}", imageUrl, saved.name());
+            return 0;
+        }
 
-        // 从 HTTP 响应头获取 Content-Type
-        String contentType = connection.getContentType();
-        String extension = getExtensionFromContentType(contentType);
+        // 下载图片，按主机统计耗时与下载字节数
+        byte[] imageBytes = null;
+        String contentType;
+        MikMetrics.Sample sample = MikMetrics.getInstance().start(MikMetrics.Category.HOST, MikMetrics.hostOf(imageUrl));
+        try {
+            URLConnection connection = getUrlConnection(imageUrl);
+            if (connection instanceof HttpURLConnection httpConnection) {
+                event.httpStatus(httpConnection.getResponseCode());
+            }
 
-        byte[] imageBytes;
-        try (InputStream in = connection.getInputStream()) {
-            imageBytes = FileUtil.loadBytes(in);
+            // 从 HTTP 响应头获取 Content-Type
+            contentType = connection.getContentType();
+            try (InputStream in = connection.getInputStream()) {
+                imageBytes = FileUtil.loadBytes(in);
+            }
+        } finally {
+            long downloaded = imageBytes != null ? imageBytes.length : 0;
+            sample.stop(downloaded > 0, downloaded, 0);
         }
+        String extension = getExtensionFromContentType(contentType);
 
+        event.bytesIn((long) imageBytes.length);
         if (imageBytes.length == 0) {
             throw new IOException("下载图片为空");
         }
@@ -286,11 +331,15 @@ public class ImageDownloadHandler extends ActionHandlerAdapter {
         markdownImage.setInputStream(new ByteArrayInputStream(imageBytes));
         // 将 location 设置为 LOCAL，以便后续流程可以继续处理
         markdownImage.setLocation(ImageLocationEnum.LOCAL);
+        if (journal != null) {
+            journal.recordDownloaded(markdownImage, imageBytes);
+        }
 
         log.debug("下载图片成功: {} -> {} bytes, extension: {}", imageUrl, imageBytes.length, extension);
 
         // 输出详细日志到控制台（注意：这里没有 Project 对象，需要从调用处传入）
         // 详细日志在调用处输出
+        return imageBytes.length;
     }
 
     /**
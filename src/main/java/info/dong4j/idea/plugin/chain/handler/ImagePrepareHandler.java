@@ -0,0 +1,131 @@
+package info.dong4j.idea.plugin.chain.handler;
+
+import info.dong4j.idea.plugin.MikBundle;
+import info.dong4j.idea.plugin.action.intention.IntentionActionBase;
+import info.dong4j.idea.plugin.console.MikConsoleView;
+import info.dong4j.idea.plugin.encoder.ImagePipeline;
+import info.dong4j.idea.plugin.entity.EventData;
+import info.dong4j.idea.plugin.entity.MarkdownImage;
+import info.dong4j.idea.plugin.enums.ImageMediaType;
+import info.dong4j.idea.plugin.settings.MikState;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 图片准备处理器
+ * <p>
+ * 粘贴时 EDT 上只记录剪贴板中的 {@link java.awt.Image} 引用或文件输入流，转换、添加水印和编码都推迟到这里，
+ * 在后台线程中完成：
+ * <ul>
+ *   <li>剪贴板图片：绘制水印（如果启用）后编码为 PNG 输入流</li>
+ *   <li>粘贴的文件：启用水印时在内存中解码、绘制水印并按原格式编码，失败时保留原文件内容</li>
+ * </ul>
+ * 编码或读取失败的图片从待处理列表中移除，编辑器中的占位标签由粘贴操作在任务结束后清理。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+public class ImagePrepareHandler extends ActionHandlerAdapter {
+    /**
+     * 获取名称
+     * <p>
+     * 返回与 "mik.action.prepare.title" 关键字关联的名称信息
+     *
+     * @return 名称字符串
+     */
+    @Override
+    public String getName() {
+        return MikBundle.message("mik.action.prepare.title");
+    }
+
+    /**
+     * 判断是否有需要准备的图片
+     * <p>
+     * 存在尚未编码的剪贴板图片，或启用了水印且存在粘贴的文件时启用。
+     *
+     * @param data 事件数据
+     * @return 有需要准备的图片时返回 true
+     */
+    @Override
+    public boolean isEnabled(EventData data) {
+        boolean watermark = IntentionActionBase.getState().isWatermark();
+        for (List<MarkdownImage> markdownImages : data.getWaitingProcessMap().values()) {
+            for (MarkdownImage markdownImage : markdownImages) {
+                if (markdownImage.getClipboardImage() != null || watermark && !markdownImage.isImageStream()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 编码剪贴板图片或为粘贴的文件添加水印
+     *
+     * @param data          事件数据
+     * @param imageIterator 图片迭代器，编码失败时用于移除图片
+     * @param markdownImage 待处理的图片
+     */
+    @Override
+    public void invoke(EventData data, Iterator<MarkdownImage> imageIterator, MarkdownImage markdownImage) {
+        MikState state = IntentionActionBase.getState();
+        if (markdownImage.getClipboardImage() != null) {
+            ImagePipeline pipeline = ImagePipeline.of(markdownImage.getClipboardImage());
+            markdownImage.setClipboardImage(null);
+            if (state.isWatermark()) {
+                pipeline.watermark(state.getWatermarkText());
+            }
+            try {
+                byte[] bytes = pipeline.encode(ImageMediaType.PNG.getExtensionWithoutDot(), -1);
+                markdownImage.setInputStream(new ByteArrayInputStream(bytes));
+            } catch (IOException e) {
+                log.debug("剪贴板图片编码失败: {}", markdownImage.getImageName(), e);
+                MikConsoleView.printErrorMessage(data.getProject(), "[✗] 剪贴板图片编码失败: " + markdownImage.getImageName());
+                imageIterator.remove();
+            }
+        } else if (state.isWatermark() && !markdownImage.isImageStream() && markdownImage.getInputStream() != null) {
+            try {
+                markdownImage.setInputStream(watermark(markdownImage.getInputStream(), state.getWatermarkText()));
+            } catch (IOException e) {
+                log.debug("读取图片文件失败: {}", markdownImage.getSourceFilePath(), e);
+                MikConsoleView.printErrorMessage(data.getProject(), "[✗] 读取图片文件失败: " + markdownImage.getImageName());
+                imageIterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 为图片文件添加水印
+     * <p>
+     * 在内存中解码、绘制水印并按原格式编码一次；水印处理失败时返回原始内容。
+     *
+     * @param inputStream 图片文件输入流，读取后关闭
+     * @param text        水印文本
+     * @return 添加水印后的输入流
+     * @throws IOException 图片文件无法读取时抛出
+     */
+    @NotNull
+    private static InputStream watermark(@NotNull InputStream inputStream, String text) throws IOException {
+        byte[] source;
+        try (inputStream) {
+            source = inputStream.readAllBytes();
+        }
+        try {
+            return new ByteArrayInputStream(ImagePipeline.of(source).watermark(text).encodeAsSource(-1));
+        } catch (IOException e) {
+            log.debug("添加水印失败，使用原图", e);
+            return new ByteArrayInputStream(source);
+        }
+    }
+}
@@ -4,29 +4,35 @@ import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 
 import info.dong4j.idea.plugin.MikBundle;
 import info.dong4j.idea.plugin.action.intention.IntentionActionBase;
+import info.dong4j.idea.plugin.chain.event.ChainEvent;
+import info.dong4j.idea.plugin.chain.event.ChainEventType;
 import info.dong4j.idea.plugin.console.MikConsoleView;
 import info.dong4j.idea.plugin.entity.EventData;
 import info.dong4j.idea.plugin.entity.MarkdownImage;
 import info.dong4j.idea.plugin.enums.ImageLocationEnum;
 import info.dong4j.idea.plugin.enums.ImageMarkEnum;
+import info.dong4j.idea.plugin.enums.LocalImageCopyModeEnum;
 import info.dong4j.idea.plugin.settings.MikPersistenComponent;
 import info.dong4j.idea.plugin.settings.MikState;
+import info.dong4j.idea.plugin.util.ImageFileStore;
 import info.dong4j.idea.plugin.util.PathUtils;
 import info.dong4j.idea.plugin.util.StringUtils;
+import info.dong4j.idea.plugin.util.digest.DigestUtils;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -133,6 +139,7 @@ public class ImageStorageHandler extends ActionHandlerAdapter {
                 indicator.setFraction(((++totalProcessed * 1.0) + data.getIndex() * size) / totalCount * size);
 
                 // 根据不同情况处理图片
+                long startTime = System.currentTimeMillis();
                 String storageType;
                 if (markdownImage.getLocation() == ImageLocationEnum.NETWORK) {
                     // todo-dong4j : (2025.12.15 01:53) [这个逻辑可能走不到 需要排查一下]
@@ -150,9 +157,15 @@ public class ImageStorageHandler extends ActionHandlerAdapter {
                     processImageFile(markdownImage, currentFile, savepath, state);
                 }
 
+                this.emit(data, ChainEvent.builder()
+                    .type(ChainEventType.IMAGE_FINISHED)
+                    .image(imageName)
+                    .durationMs(System.currentTimeMillis() - startTime)
+                    .message(storageType));
+
                 // 输出存储日志
                 MikConsoleView.printMessage(data.getProject(),
-                                            String.format("  [存储] 类型: %s | 图片: %s", storageType, imageName));
+                                            String.format("  [存储] 类型: %s | 图片: %s", storageType, markdownImage.getImageName()));
 
                 // 输出最终的Markdown路径
                 String finalPath = markdownImage.getPath();
@@ -222,7 +235,7 @@ public class ImageStorageHandler extends ActionHandlerAdapter {
                                     String savepath,
                                     MikState state) {
         // 图片流始终需要保存到文件
-        File saveFile = saveImageToFile(markdownImage, currentFile, savepath);
+        File saveFile = saveImageToFile(markdownImage, currentFile, savepath, state);
         if (saveFile == null) {
             markdownImage.setFinalMark("copy error");
             markdownImage.setImageMarkType(ImageMarkEnum.ORIGINAL);
@@ -244,13 +257,6 @@ public class ImageStorageHandler extends ActionHandlerAdapter {
         }
 
         updateMarkdownImage(markdownImage, imagePath, state);
-
-        // 更新输入流
-        try {
-            markdownImage.setInputStream(new FileInputStream(saveFile));
-        } catch (FileNotFoundException e) {
-            log.debug("", e);
-        }
     }
 
     /**
@@ -275,7 +281,7 @@ public class ImageStorageHandler extends ActionHandlerAdapter {
 
         if (state.isApplyToLocalImages()) {
             // 拷贝文件到 currentInsertPath
-            File saveFile = saveImageToFile(markdownImage, currentFile, savepath);
+            File saveFile = saveImageToFile(markdownImage, currentFile, savepath, state);
             if (saveFile == null) {
                 markdownImage.setFinalMark("copy error");
                 markdownImage.setImageMarkType(ImageMarkEnum.ORIGINAL);
@@ -292,13 +298,6 @@ public class ImageStorageHandler extends ActionHandlerAdapter {
             } else {
                 imagePath = PathUtils.getAbsolutePath(currentFile, savepath, markdownImage.getImageName());
             }
-
-            // 更新输入流
-            try {
-                markdownImage.setInputStream(new FileInputStream(saveFile));
-            } catch (FileNotFoundException e) {
-                log.debug("", e);
-            }
         } else {
             // 不拷贝，使用原文件路径
             String sourceFilePath = markdownImage.getSourceFilePath();
@@ -330,13 +329,20 @@ public class ImageStorageHandler extends ActionHandlerAdapter {
      * 将图片的输入流写入到指定目录下的文件中。
      * 目录路径会被规范化，去除冗余的 "./" 等路径部分。
      * 如果 savepath 已经是绝对路径，则直接使用，不与父目录拼接。
+     * <p>
+     * 写入由 {@link ImageFileStore} 完成：经临时文件原子替换，已存在内容相同的文件时不再写入，同名但内容不同时不覆盖而是改名；
+     * 启用内容寻址命名时文件名为图片内容的 SHA-256。最终的文件名会回写到 imageName。
+     * 本地图片的内容未被压缩、水印等处理修改时，按配置的复制方式创建硬链接或克隆，不再写入一份新的数据：
+     * 输入流仍是源文件时不读入内存，只流式计算一次摘要，输入流替换为保存后的文件；
+     * 其他情况下图片内容已在内存中，只计算一次摘要，同时用于和源文件比较以及去重，输入流替换为内存中的图片内容。
      *
      * @param markdownImage Markdown 图片对象
      * @param currentFile   当前 Markdown 文件
      * @param savepath      保存路径（可能是相对路径或绝对路径）
+     * @param state         配置状态
      * @return 保存的文件对象，如果失败返回 null
      */
-    private File saveImageToFile(MarkdownImage markdownImage, VirtualFile currentFile, String savepath) {
+    private File saveImageToFile(MarkdownImage markdownImage, VirtualFile currentFile, String savepath, MikState state) {
         File imageDir;
 
         // 检查 savepath 是否已经是绝对路径
@@ -364,17 +370,61 @@ public class ImageStorageHandler extends ActionHandlerAdapter {
             return null;
         }
 
-        File saveFile = new File(imageDir, markdownImage.getImageName());
+        if (markdownImage.getInputStream() == null) {
+            log.debug("图片 {} 的输入流为空，无法保存", markdownImage.getImageName());
+            return null;
+        }
+        Path source = linkSource(markdownImage, state);
         try {
-            FileUtil.copy(markdownImage.getInputStream(), new FileOutputStream(saveFile));
-            log.debug("图片已保存到: {}", saveFile.getAbsolutePath());
-            return saveFile;
+            ImageFileStore.Result result;
+            if (source != null && markdownImage.getInputStream() instanceof FileInputStream) {
+                // 输入流仍是粘贴时打开的源文件，内容未被处理，直接链接而不读入内存
+                markdownImage.getInputStream().close();
+                result = ImageFileStore.link(source, imageDir.toPath(), markdownImage.getImageName(),
+                                             state.isContentAddressedImageName(), state.getLocalImageCopyMode());
+                markdownImage.setInputStream(Files.newInputStream(result.path()));
+            } else {
+                byte[] bytes;
+                try (InputStream inputStream = markdownImage.getInputStream()) {
+                    bytes = inputStream.readAllBytes();
+                }
+                String sha256 = DigestUtils.sha256Hex(bytes);
+                result = source != null && ImageFileStore.sameContent(source, bytes.length, sha256)
+                         ? ImageFileStore.link(source, sha256, imageDir.toPath(), markdownImage.getImageName(),
+                                               state.isContentAddressedImageName(), state.getLocalImageCopyMode())
+                         : ImageFileStore.store(bytes, sha256, imageDir.toPath(), markdownImage.getImageName(),
+                                                state.isContentAddressedImageName());
+                markdownImage.setInputStream(new ByteArrayInputStream(bytes));
+            }
+            if (result.deduplicated()) {
+                log.debug("已存在内容相同的图片，复用: {}", result.path());
+            }
+            markdownImage.setImageName(result.path().getFileName().toString());
+            return result.path().toFile();
         } catch (IOException e) {
             log.debug("Failed to save image file", e);
             return null;
         }
     }
 
+    /**
+     * 获取可以链接到目标目录的源文件
+     *
+     * @param markdownImage Markdown 图片对象
+     * @param state         配置状态
+     * @return 源文件路径，复制方式为普通复制或没有本地源文件时返回 null
+     */
+    @Nullable
+    private static Path linkSource(MarkdownImage markdownImage, MikState state) {
+        LocalImageCopyModeEnum mode = state.getLocalImageCopyMode();
+        String sourceFilePath = markdownImage.getSourceFilePath();
+        if (mode == null || mode == LocalImageCopyModeEnum.COPY || StringUtils.isBlank(sourceFilePath)) {
+            return null;
+        }
+        Path source = Path.of(sourceFilePath);
+        return Files.isRegularFile(source) ? source : null;
+    }
+
     /**
      * 生成图片路径
      * <p>
@@ -4,12 +4,15 @@ import com.intellij.openapi.editor.Document;
 
 import info.dong4j.idea.plugin.MikBundle;
 import info.dong4j.idea.plugin.chain.ProgressTracker;
+import info.dong4j.idea.plugin.chain.event.ChainEvent;
+import info.dong4j.idea.plugin.chain.event.ChainEventType;
 import info.dong4j.idea.plugin.client.OssClient;
 import info.dong4j.idea.plugin.console.MikConsoleView;
 import info.dong4j.idea.plugin.entity.EventData;
 import info.dong4j.idea.plugin.entity.MarkdownImage;
 import info.dong4j.idea.plugin.enums.ImageLocationEnum;
 import info.dong4j.idea.plugin.enums.ImageMarkEnum;
+import info.dong4j.idea.plugin.metrics.MikMetrics;
 import info.dong4j.idea.plugin.util.StringUtils;
 
 import java.util.ArrayList;
@@ -20,6 +23,8 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,6 +41,9 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class ImageUploadHandler extends ActionHandlerAdapter {
+    /** 异常信息中的 HTTP 状态码 */
+    private static final Pattern HTTP_STATUS_PATTERN = Pattern.compile("(?:^|ResponseCode: )([1-5]\\d{2})\\b");
+
     /**
      * 获取名称
      * <p>
@@ -193,14 +201,14 @@ public class ImageUploadHandler extends ActionHandlerAdapter {
         }
 
         // 检查文件大小
+        Long fileSize = null;
         try {
-            long fileSize;
             // 优先从 VirtualFile 获取文件大小（更准确）
             if (markdownImage.getVirtualFile() != null) {
                 fileSize = markdownImage.getVirtualFile().getLength();
             } else {
                 // 否则使用 available() 方法估算（可能不准确）
-                fileSize = markdownImage.getInputStream().available();
+                fileSize = (long) markdownImage.getInputStream().available();
             }
 
             log.debug("图片 {} 文件大小: {} 字节", imageName, fileSize);
@@ -218,6 +226,8 @@ public class ImageUploadHandler extends ActionHandlerAdapter {
             originalPath = markdownImage.getPath();
         }
 
+        ChainEvent.ChainEventBuilder event = ChainEvent.builder().image(imageName).bytesIn(fileSize).provider(clientName);
+        long startTime = System.currentTimeMillis();
         try {
             log.debug("开始上传图片: {} 到 {}", imageName, clientName);
             // 输出详细日志到控制台
@@ -226,8 +236,17 @@ public class ImageUploadHandler extends ActionHandlerAdapter {
                 MikConsoleView.printMessage(data.getProject(), String.format("         原始路径: %s", originalPath));
             }
             
-            imageUrl = client.upload(markdownImage.getInputStream(), markdownImage.getImageName());
+            MikMetrics.Sample sample = MikMetrics.getInstance().start(MikMetrics.Category.CLOUD, client.getCloudType().name());
+            try {
+                imageUrl = client.upload(markdownImage.getInputStream(), markdownImage.getImageName());
+            } finally {
+                sample.stop(StringUtils.isNotBlank(imageUrl), fileSize != null ? fileSize : 0, 0);
+            }
+            if (data.getProgressTracker() != null && fileSize != null) {
+                data.getProgressTracker().recordBytes(fileSize);
+            }
             log.debug("图片上传成功: {} {} -> {}", clientName, imageName, imageUrl);
+            event.type(StringUtils.isBlank(imageUrl) ? ChainEventType.IMAGE_FAILED : ChainEventType.IMAGE_FINISHED);
 
             // 输出成功日志到控制台
             MikConsoleView.printSuccessMessage(data.getProject(), String.format("  [✓] 上传成功: %s", imageName));
@@ -235,7 +254,9 @@ public class ImageUploadHandler extends ActionHandlerAdapter {
         } catch (Exception e) {
             log.debug("上传图片失败: {}, 错误信息: {}", imageName, e.getMessage(), e);
             MikConsoleView.printSmart(data.getProject(), String.format("  [✗] 上传失败: %s - %s", imageName, e.getMessage()));
+            event.type(ChainEventType.IMAGE_FAILED).httpStatus(httpStatusOf(e)).message(e.getMessage());
         }
+        this.emit(data, event.durationMs(System.currentTimeMillis() - startTime));
 
         // 更新图片信息
         String mark;
@@ -245,6 +266,9 @@ public class ImageUploadHandler extends ActionHandlerAdapter {
             log.debug("图片 {} 上传失败，保留为本地路径", imageName);
         } else {
             mark = "![](" + imageUrl + ")";
+            if (data.getMigrationJournal() != null) {
+                data.getMigrationJournal().recordUploaded(markdownImage, imageUrl);
+            }
             markdownImage.setPath(imageUrl);
             markdownImage.setLocation(ImageLocationEnum.NETWORK);
         }
@@ -255,6 +279,23 @@ public class ImageUploadHandler extends ActionHandlerAdapter {
         markdownImage.setFinalMark(mark);
     }
 
+    /**
+     * 从上传异常信息中提取 HTTP 状态码
+     * <p>
+     * 各图床客户端以 {@code "403 Forbidden"} 或 {@code "ResponseCode: 403"} 的形式把状态码写入异常信息。
+     *
+     * @param e 上传异常
+     * @return HTTP 状态码，无法识别时返回 null
+     */
+    private static Integer httpStatusOf(Exception e) {
+        String message = e.getMessage();
+        if (message == null) {
+            return null;
+        }
+        Matcher matcher = HTTP_STATUS_PATTERN.matcher(message);
+        return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+    }
+
     /**
      * 将传入的字符串与图片路径拼接，并设置到Markdown图片对象中
      * <p>
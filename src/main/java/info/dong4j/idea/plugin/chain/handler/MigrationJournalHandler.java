@@ -0,0 +1,90 @@
+package info.dong4j.idea.plugin.chain.handler;
+
+import com.intellij.openapi.editor.Document;
+
+import info.dong4j.idea.plugin.MikBundle;
+import info.dong4j.idea.plugin.chain.MigrationJournal;
+import info.dong4j.idea.plugin.console.MikConsoleView;
+import info.dong4j.idea.plugin.entity.EventData;
+import info.dong4j.idea.plugin.entity.MarkdownImage;
+import info.dong4j.idea.plugin.enums.ImageLocationEnum;
+import info.dong4j.idea.plugin.enums.ImageMarkEnum;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 迁移日志处理类
+ * <p>
+ * 在图床迁移链中位于解析之后、下载之前：打开项目迁移到目标图床的 {@link MigrationJournal}，跟踪本次要迁移的每张图片，
+ * 并把日志中已经上传过的图片直接恢复为上传后的状态。恢复的图片不会再被下载和上传，只需要转换标签并写回文档。
+ * <p>
+ * 后续的下载、上传和写入处理器通过 {@link EventData#getMigrationJournal()} 记录每张图片的进度，
+ * {@link info.dong4j.idea.plugin.chain.ActionManager} 在处理链结束时关闭日志。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+public class MigrationJournalHandler extends ActionHandlerAdapter {
+    /**
+     * 获取名称
+     *
+     * @return 名称字符串
+     */
+    @Override
+    public String getName() {
+        return MikBundle.message("mik.action.migration.journal.title");
+    }
+
+    /**
+     * 打开迁移日志并恢复已上传的图片
+     *
+     * @param data 事件数据
+     * @return 始终返回 true
+     */
+    @Override
+    public boolean execute(EventData data) {
+        if (data.getClient() == null || data.getWaitingProcessMap() == null) {
+            return true;
+        }
+        MigrationJournal journal = MigrationJournal.open(data.getProject(), data.getClient().getCloudType().name());
+        data.setMigrationJournal(journal);
+
+        for (Map.Entry<Document, List<MarkdownImage>> entry : data.getWaitingProcessMap().entrySet()) {
+            for (MarkdownImage markdownImage : entry.getValue()) {
+                String url = journal.track(markdownImage);
+                if (url != null) {
+                    restore(markdownImage, url);
+                }
+            }
+        }
+
+        int resumed = journal.getResumedCount();
+        if (resumed > 0) {
+            log.debug("从迁移日志恢复 {} 张图片", resumed);
+            MikConsoleView.printMessage(data.getProject(), String.format("  [续传] 从迁移日志恢复 %d 张已上传的图片，跳过下载和上传", resumed));
+        }
+        return true;
+    }
+
+    /**
+     * 将图片恢复为上传成功后的状态
+     * <p>
+     * 只更新地址、位置和最终标签，解析时得到的原始标签和偏移量保持不变，写回文档时才能找到原标签并替换，
+     * 迁移日志也才能在所有图片写回后被删除。
+     *
+     * @param markdownImage 图片
+     * @param url           上传后的 URL
+     */
+    static void restore(MarkdownImage markdownImage, String url) {
+        markdownImage.setPath(url);
+        markdownImage.setLocation(ImageLocationEnum.NETWORK);
+        markdownImage.setImageMarkType(ImageMarkEnum.ORIGINAL);
+        markdownImage.setFinalMark("![](" + url + ")");
+    }
+}
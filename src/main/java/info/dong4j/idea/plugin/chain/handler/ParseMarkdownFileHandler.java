@@ -60,8 +60,12 @@ public class ParseMarkdownFileHandler extends ActionHandlerAdapter {
         Map<Document, List<MarkdownImage>> waitingProcessMap = data.getWaitingProcessMap();
         if (waitingProcessMap == null || waitingProcessMap.isEmpty()) {
             // 解析当前文档或者选择的文件树中的所有 markdown 文件.
-            waitingProcessMap = MarkdownUtils.getProcessMarkdownInfo(data.getActionEvent(), data.getProject());
+            waitingProcessMap = MarkdownUtils.getProcessMarkdownInfo(data.getActionEvent(), data.getProject(), data.getIndicator());
             data.setWaitingProcessMap(waitingProcessMap);
+            if (data.getIndicator() != null && data.getIndicator().isCanceled()) {
+                MikConsoleView.printWarningMessage(data.getProject(), "  解析已取消");
+                return false;
+            }
         }
 
         if (this.fileFilter != null) {
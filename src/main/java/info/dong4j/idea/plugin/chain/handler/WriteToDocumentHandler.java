@@ -4,6 +4,7 @@ import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.util.Computable;
 
 import info.dong4j.idea.plugin.MikBundle;
 import info.dong4j.idea.plugin.console.MikConsoleView;
@@ -11,6 +12,8 @@ import info.dong4j.idea.plugin.entity.EventData;
 import info.dong4j.idea.plugin.entity.MarkdownImage;
 import info.dong4j.idea.plugin.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -62,8 +65,11 @@ public class WriteToDocumentHandler extends ActionHandlerAdapter {
             Document document = imageEntry.getKey();
             int totalCount = imageEntry.getValue().size();
             int currentFileProcessed = 0;
-            
-            for (MarkdownImage markdownImage : imageEntry.getValue()) {
+
+            // 从文档末尾向前替换，前面图片的偏移量不受后面替换的影响
+            List<MarkdownImage> images = new ArrayList<>(imageEntry.getValue());
+            images.sort(Comparator.comparingInt(MarkdownImage::getMarkStartOffset).reversed());
+            for (MarkdownImage markdownImage : images) {
                 String imageName = markdownImage.getImageName();
                 indicator.setFraction(((++totalProcessed * 1.0) + data.getIndex() * size) / totalCount * size);
                 indicator.setText2("Processing " + imageName);
@@ -72,12 +78,20 @@ public class WriteToDocumentHandler extends ActionHandlerAdapter {
                 if(StringUtils.isBlank(finalMark)){
                     continue;
                 }
-                String newLineText = markdownImage.getOriginalLineText().replace(markdownImage.getOriginalMark(), finalMark);
 
-                WriteCommandAction.runWriteCommandAction(data.getProject(), () -> document
-                    .replaceString(document.getLineStartOffset(markdownImage.getLineNumber()),
-                                   document.getLineEndOffset(markdownImage.getLineNumber()),
-                                   newLineText));
+                boolean replaced = WriteCommandAction.runWriteCommandAction(data.getProject(),
+                                                                            (Computable<Boolean>) () -> replaceMark(document,
+                                                                                                                   markdownImage,
+                                                                                                                   finalMark));
+                if (!replaced) {
+                    MikConsoleView.printWarningMessage(data.getProject(),
+                                                       String.format("         [!] 图片标签已变化，已跳过: %s | 行号: %d",
+                                                                     imageName, markdownImage.getLineNumber() + 1));
+                    continue;
+                }
+                if (data.getMigrationJournal() != null) {
+                    data.getMigrationJournal().recordWritten(markdownImage);
+                }
 
                 currentFileProcessed++;
                 // 输出每张图片的写入日志
@@ -92,4 +106,42 @@ public class WriteToDocumentHandler extends ActionHandlerAdapter {
         DaemonCodeAnalyzer.getInstance(data.getProject()).restart();
         return true;
     }
+
+    /**
+     * 替换单个图片标签
+     * <p>
+     * 优先按解析时记录的文档偏移量精确替换，只修改图片标签本身；偏移量未知（例如由意图动作只解析了当前行）或该位置的文本已经变化时，
+     * 在图片所在行中查找原始标签并替换。原始标签使用解析时记录的 {@link MarkdownImage#getDocumentMark()}，
+     * 上传、保存等处理器改写 originalMark 不影响定位。
+     *
+     * @param document      文档
+     * @param markdownImage 图片
+     * @param finalMark     新的图片标签
+     * @return 替换成功返回 true，找不到原始标签时返回 false
+     */
+    private static boolean replaceMark(Document document, MarkdownImage markdownImage, String finalMark) {
+        String originalMark = markdownImage.getDocumentMark();
+        if (StringUtils.isBlank(originalMark)) {
+            return false;
+        }
+        CharSequence text = document.getImmutableCharSequence();
+        int start = markdownImage.getMarkStartOffset();
+        int end = markdownImage.getMarkEndOffset();
+        if (start >= 0 && start <= end && end <= text.length() && originalMark.contentEquals(text.subSequence(start, end))) {
+            document.replaceString(start, end, finalMark);
+            return true;
+        }
+
+        int line = markdownImage.getLineNumber();
+        if (line < 0 || line >= document.getLineCount()) {
+            return false;
+        }
+        int lineStart = document.getLineStartOffset(line);
+        int index = text.subSequence(lineStart, document.getLineEndOffset(line)).toString().indexOf(originalMark);
+        if (index < 0) {
+            return false;
+        }
+        document.replaceString(lineStart + index, lineStart + index + originalMark.length(), finalMark);
+        return true;
+    }
 }
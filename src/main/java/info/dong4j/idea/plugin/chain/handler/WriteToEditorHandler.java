@@ -3,6 +3,7 @@ package info.dong4j.idea.plugin.chain.handler;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.EditorModificationUtil;
+import com.intellij.openapi.editor.RangeMarker;
 
 import info.dong4j.idea.plugin.MikBundle;
 import info.dong4j.idea.plugin.content.ImageContents;
@@ -18,7 +19,7 @@ import java.util.Iterator;
  * 用于在文档中插入新的文本行，主要处理与文本插入相关的操作，如获取操作名称、执行插入逻辑等。
  * 该处理器基于 WriteCommandAction 实现，确保在安全的写入上下文中执行插入操作。
  * <p>
- * 当光标在图片路径中时，会只替换路径部分，而不是插入完整的图片标签。
+ * 当光标在图片路径中时，会只替换路径部分，而不是插入完整的图片标签；粘贴时已插入占位标签的图片直接替换占位标签。
  * </p>
  *
  * @author dong4j
@@ -44,7 +45,8 @@ public class WriteToEditorHandler extends ActionHandlerAdapter {
      * 执行插入Markdown图片的操作
      * <p>
      * 该方法用于在指定编辑器中插入Markdown图片内容，通过WriteCommandAction确保操作在写入线程中执行。
-     * 如果光标在图片路径中（originalMark 不为空），则只替换路径部分；否则插入完整的图片标签。
+     * 如果粘贴时插入了占位标签，则将其替换为最终标签；如果光标在图片路径中（originalMark 不为空），则只替换路径部分；
+     * 否则插入完整的图片标签。
      *
      * @param data          事件数据，包含项目和编辑器信息
      * @param imageIterator 图片迭代器，用于遍历图片数据
@@ -53,6 +55,7 @@ public class WriteToEditorHandler extends ActionHandlerAdapter {
     @Override
     public void invoke(EventData data, Iterator<MarkdownImage> imageIterator, MarkdownImage markdownImage) {
         String finalMark = markdownImage.getFinalMark();
+        RangeMarker placeholder = markdownImage.getPlaceholder();
         if (StringUtils.isBlank(finalMark)) {
             return;
         }
@@ -60,6 +63,14 @@ public class WriteToEditorHandler extends ActionHandlerAdapter {
         WriteCommandAction.runWriteCommandAction(data.getProject(), () -> {
             Document document = data.getEditor().getDocument();
 
+            // 粘贴时插入了占位标签，直接替换为最终标签
+            if (placeholder != null && placeholder.isValid()) {
+                document.replaceString(placeholder.getStartOffset(), placeholder.getEndOffset(), finalMark + ImageContents.LINE_BREAK);
+                placeholder.dispose();
+                markdownImage.setPlaceholder(null);
+                return;
+            }
+
             // 如果 originalMark 不为空且路径偏移量有效，说明需要替换路径部分
             if (StringUtils.isNotBlank(markdownImage.getOriginalMark())
                 && markdownImage.getLineStartOffset() > 0
@@ -14,13 +14,11 @@ import com.intellij.openapi.util.TextRange;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.util.PsiTreeUtil;
 
 import info.dong4j.idea.plugin.settings.MikPersistenComponent;
 import info.dong4j.idea.plugin.settings.MikState;
 import info.dong4j.idea.plugin.util.MarkdownUtils;
 
-import org.intellij.plugins.markdown.lang.psi.impl.MarkdownImage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -159,6 +157,7 @@ public abstract class AbstractMarkdownImageCodeVisionProvider implements CodeVis
     /**
      * 计算编辑器中的代码视图状态
      * <p> 根据给定的编辑器和上下文信息, 分析 Markdown 图像标记并生成对应的代码视图条目.
+     * 图片标记的分析结果来自 {@link MarkdownImageAnalysis} 的共享快照, 所有提供者在同一个文档版本上只分析一次.
      * 如果上下文不可用或未找到有效图像标记, 则返回空的视图状态.
      *
      * @param editor  当前编辑器实例
@@ -179,27 +178,13 @@ public abstract class AbstractMarkdownImageCodeVisionProvider implements CodeVis
             }
 
             List<Pair<TextRange, CodeVisionEntry>> entries = new ArrayList<>();
-            for (MarkdownImage imageElement : PsiTreeUtil.findChildrenOfType(psiFile, MarkdownImage.class)) {
-                TextRange imageRange = imageElement.getTextRange();
-                int line = document.getLineNumber(imageRange.getStartOffset());
-                TextRange lineRange = TextRange.create(document.getLineStartOffset(line), document.getLineEndOffset(line));
-                String lineText = document.getText(lineRange);
-
-                if (MarkdownUtils.illegalImageMark(context.project, lineText)) {
+            MarkdownImageAnalysis.Snapshot snapshot = MarkdownImageAnalysis.of(context.project, context.virtualFile, document, psiFile);
+            for (MarkdownImageAnalysis.Entry analysis : snapshot.entries()) {
+                if (analysis.markdownImage() == null) {
                     continue;
                 }
-
-                info.dong4j.idea.plugin.entity.MarkdownImage markdownImage =
-                    MarkdownUtils.analysisImageMark(context.virtualFile, lineText, line);
-                if (markdownImage == null || markdownImage.getLocation() == null) {
-                    continue;
-                }
-
-                List<CodeVisionEntry> imageEntries = createEntriesForImage(context, markdownImage);
-                if (!imageEntries.isEmpty()) {
-                    for (CodeVisionEntry entry : imageEntries) {
-                        entries.add(new Pair<>(lineRange, entry));
-                    }
+                for (CodeVisionEntry entry : createEntriesForImage(context, analysis.markdownImage())) {
+                    entries.add(new Pair<>(analysis.lineRange(), entry));
                 }
             }
 
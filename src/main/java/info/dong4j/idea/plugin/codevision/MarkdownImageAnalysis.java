@@ -0,0 +1,268 @@
+package info.dong4j.idea.plugin.codevision;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+
+import info.dong4j.idea.plugin.util.MarkdownUtils;
+
+import org.intellij.plugins.markdown.lang.psi.impl.MarkdownImage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Markdown 图片分析快照
+ * <p> 三个代码视觉提供者和图片大小内联提示都需要遍历文档中的图片元素, 并对每个元素调用 {@link MarkdownUtils#analysisImageElement}.
+ * 该类把分析结果按文档缓存为一个快照, 同一个文档修改戳内所有提供者共用, 只分析一次. 同一行有多个图片时每个元素各有一个分析结果.
+ * <p> 文档修改后重新计算时, 所在行文本和行内位置都没有变化的图片直接复用上一个快照中的分析结果 (位置变化时得到一份更新了行号和偏移量的副本),
+ * 只有与编辑范围相交的行才会重新分析. 分析结果还依赖图片文件是否存在,
+ * 因此 VFS 结构发生变化 (文件新建, 删除, 重命名) 时不复用任何结果.
+ * <p> 调用方需要持有读锁.
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @email "mailto:dong4j@gmail.com"
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+final class MarkdownImageAnalysis {
+    /** 文档上缓存的分析快照 */
+    private static final Key<Snapshot> SNAPSHOT_KEY = Key.create("markdown.image.kit.image.analysis");
+
+    /**
+     * 工具类不允许实例化
+     */
+    private MarkdownImageAnalysis() {
+    }
+
+    /**
+     * 获取文档当前的图片分析快照
+     * <p> 快照的文档修改戳和 VFS 结构修改计数都没有变化时直接返回, 否则增量地重新计算.
+     *
+     * @param project     项目
+     * @param virtualFile Markdown 文件
+     * @param document    Markdown 文件对应的文档
+     * @param psiFile     Markdown 文件对应的 PSI 文件
+     * @return 图片分析快照
+     */
+    @NotNull
+    static Snapshot of(@NotNull Project project,
+                       @NotNull VirtualFile virtualFile,
+                       @NotNull Document document,
+                       @NotNull PsiFile psiFile) {
+        long documentStamp = document.getModificationStamp();
+        long vfsStamp = VirtualFileManager.getInstance().getStructureModificationCount();
+        Snapshot previous = document.getUserData(SNAPSHOT_KEY);
+        if (previous != null && previous.documentStamp == documentStamp && previous.vfsStamp == vfsStamp) {
+            return previous;
+        }
+
+        Map<ReuseKey, Entry> reusable = previous != null && previous.vfsStamp == vfsStamp
+                                        ? previous.reuseIndex()
+                                        : Collections.emptyMap();
+        List<Entry> entries = new ArrayList<>();
+        int reused = 0;
+        for (MarkdownImage imageElement : PsiTreeUtil.findChildrenOfType(psiFile, MarkdownImage.class)) {
+            TextRange range = imageElement.getTextRange();
+            int line = document.getLineNumber(range.getStartOffset());
+            TextRange lineRange = TextRange.create(document.getLineStartOffset(line), document.getLineEndOffset(line));
+            String lineText = document.getText(lineRange);
+
+            Entry cached = reusable.get(new ReuseKey(lineText, range.getStartOffset() - lineRange.getStartOffset()));
+            if (cached != null) {
+                entries.add(cached.relocate(line, lineRange));
+                reused++;
+                continue;
+            }
+
+            info.dong4j.idea.plugin.entity.MarkdownImage markdownImage =
+                MarkdownUtils.analysisImageElement(project, virtualFile, document, imageElement);
+            if (markdownImage != null) {
+                // 快照只需要解析结果, 不持有图片文件的输入流
+                closeInputStream(markdownImage);
+                if (markdownImage.getLocation() == null) {
+                    markdownImage = null;
+                }
+            }
+            entries.add(new Entry(line, lineRange, range, lineText, markdownImage));
+        }
+
+        Snapshot snapshot = new Snapshot(documentStamp, vfsStamp, Collections.unmodifiableList(entries));
+        document.putUserData(SNAPSHOT_KEY, snapshot);
+        log.debug("图片分析快照已更新: {}, 共 {} 个图片, 复用 {} 个", virtualFile.getName(), entries.size(), reused);
+        return snapshot;
+    }
+
+    /**
+     * 关闭分析时打开的图片文件输入流
+     *
+     * @param markdownImage 图片信息
+     */
+    private static void closeInputStream(@NotNull info.dong4j.idea.plugin.entity.MarkdownImage markdownImage) {
+        InputStream inputStream = markdownImage.getInputStream();
+        if (inputStream == null) {
+            return;
+        }
+        markdownImage.setInputStream(null);
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            log.debug("关闭图片输入流失败: {}", markdownImage.getImageName(), e);
+        }
+    }
+
+    /**
+     * 图片分析快照
+     * <p> 按图片元素在文档中的顺序保存每个图片元素的分析结果.
+     *
+     * @author dong4j
+     * @version 1.0.0
+     * @email "mailto:dong4j@gmail.com"
+     * @date 2026.10.19
+     * @since 2.3.0
+     */
+    static final class Snapshot {
+        /** 计算快照时的文档修改戳 */
+        private final long documentStamp;
+        /** 计算快照时的 VFS 结构修改计数 */
+        private final long vfsStamp;
+        /** 按文档顺序排列的分析结果 */
+        private final List<Entry> entries;
+        /** 按图片元素起始偏移量索引的分析结果, 首次使用时创建 */
+        private volatile Map<Integer, Entry> byOffset;
+
+        /**
+         * 创建图片分析快照
+         *
+         * @param documentStamp 文档修改戳
+         * @param vfsStamp      VFS 结构修改计数
+         * @param entries       按文档顺序排列的分析结果
+         */
+        private Snapshot(long documentStamp, long vfsStamp, @NotNull List<Entry> entries) {
+            this.documentStamp = documentStamp;
+            this.vfsStamp = vfsStamp;
+            this.entries = entries;
+        }
+
+        /**
+         * 获取按文档顺序排列的分析结果
+         *
+         * @return 分析结果列表, 每个图片元素一项
+         */
+        @NotNull
+        List<Entry> entries() {
+            return this.entries;
+        }
+
+        /**
+         * 获取指定图片元素的分析结果
+         *
+         * @param startOffset 图片元素在文档中的起始偏移量
+         * @return 分析结果, 该位置没有图片元素时返回 null
+         */
+        @Nullable
+        Entry findByOffset(int startOffset) {
+            Map<Integer, Entry> index = this.byOffset;
+            if (index == null) {
+                index = new HashMap<>();
+                for (Entry entry : this.entries) {
+                    index.put(entry.range().getStartOffset(), entry);
+                }
+                this.byOffset = index;
+            }
+            return index.get(startOffset);
+        }
+
+        /**
+         * 按行文本和行内位置索引分析结果, 用于下一次增量计算
+         *
+         * @return 复用键到分析结果的映射
+         */
+        @NotNull
+        private Map<ReuseKey, Entry> reuseIndex() {
+            Map<ReuseKey, Entry> index = new HashMap<>();
+            for (Entry entry : this.entries) {
+                index.put(new ReuseKey(entry.lineText(), entry.range().getStartOffset() - entry.lineRange().getStartOffset()), entry);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * 单个图片元素的分析结果
+     *
+     * @param line          行号 (从 0 开始)
+     * @param lineRange     行在文档中的范围
+     * @param range         图片元素在文档中的范围
+     * @param lineText      行文本
+     * @param markdownImage 分析得到的图片信息, 标记不合法或无法解析时为 null
+     */
+    record Entry(int line,
+                 @NotNull TextRange lineRange,
+                 @NotNull TextRange range,
+                 @NotNull String lineText,
+                 @Nullable info.dong4j.idea.plugin.entity.MarkdownImage markdownImage) {
+
+        /**
+         * 将分析结果移动到新的位置
+         * <p> 位置不变时直接复用, 否则通过 {@link info.dong4j.idea.plugin.entity.MarkdownImage} 的 with 方法得到位于新位置的副本,
+         * 不修改上一个快照中的对象, 也不会遗漏图片信息的其他字段.
+         *
+         * @param newLine      新的行号
+         * @param newLineRange 新的行范围
+         * @return 位于新位置的分析结果
+         */
+        @NotNull
+        Entry relocate(int newLine, @NotNull TextRange newLineRange) {
+            if (newLine == this.line && newLineRange.equals(this.lineRange)) {
+                return this;
+            }
+            int delta = newLineRange.getStartOffset() - this.lineRange.getStartOffset();
+            return new Entry(newLine, newLineRange, this.range.shiftRight(delta), this.lineText,
+                             this.markdownImage == null ? null : positioned(this.markdownImage, newLine, newLineRange));
+        }
+
+        /**
+         * 按所在行更新图片的行号和图片标签在文档中的偏移量
+         * <p> 行文本相同时图片标签在行中的偏移量不变, 只需要按行的起始偏移量重新计算文档偏移量.
+         *
+         * @param markdownImage 图片信息
+         * @param line          行号
+         * @param lineRange     行在文档中的范围
+         * @return 位于该行的图片信息
+         */
+        @NotNull
+        private static info.dong4j.idea.plugin.entity.MarkdownImage positioned(@NotNull info.dong4j.idea.plugin.entity.MarkdownImage markdownImage,
+                                                                              int line,
+                                                                              @NotNull TextRange lineRange) {
+            return markdownImage.withLineNumber(line)
+                .withMarkStartOffset(lineRange.getStartOffset() + markdownImage.getLineStartOffset())
+                .withMarkEndOffset(lineRange.getStartOffset() + markdownImage.getLineEndOffset());
+        }
+    }
+
+    /**
+     * 增量计算时复用分析结果的键
+     *
+     * @param lineText     行文本
+     * @param offsetInLine 图片元素在行中的起始偏移量
+     */
+    private record ReuseKey(@NotNull String lineText, int offsetInLine) {
+    }
+}
@@ -11,7 +11,6 @@ import com.intellij.codeInsight.hints.declarative.SharedBypassCollector;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.util.TextRange;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiElement;
@@ -113,18 +112,14 @@ public class MarkdownImageSizeInlayProvider implements InlayHintsProvider {
             return;
         }
 
-        // 按行解析 Markdown 图片，复用 MarkdownUtils 逻辑
-        int lineNumber = document.getLineNumber(element.getTextRange().getStartOffset());
-        int lineStart = document.getLineStartOffset(lineNumber);
-        int lineEnd = document.getLineEndOffset(lineNumber);
-        String lineText = document.getText(TextRange.create(lineStart, lineEnd));
-
-        if (MarkdownUtils.illegalImageMark(project, lineText)) {
+        // 按元素位置取得 Markdown 图片的分析结果，与代码视觉提供者共用同一个快照
+        MarkdownImageAnalysis.Entry analysis = MarkdownImageAnalysis.of(project, virtualFile, document, file)
+            .findByOffset(element.getTextRange().getStartOffset());
+        if (analysis == null) {
             return;
         }
 
-        info.dong4j.idea.plugin.entity.MarkdownImage markdownImage =
-            MarkdownUtils.analysisImageMark(virtualFile, lineText, lineNumber);
+        info.dong4j.idea.plugin.entity.MarkdownImage markdownImage = analysis.markdownImage();
         if (markdownImage == null || markdownImage.getLocation() != ImageLocationEnum.LOCAL) {
             return;
         }
@@ -9,6 +9,9 @@ import com.intellij.ui.content.Content;
 import com.intellij.ui.content.ContentFactory;
 import com.intellij.util.IconUtil;
 
+import info.dong4j.idea.plugin.MikBundle;
+import info.dong4j.idea.plugin.metrics.MikMetricsPanel;
+
 import org.jetbrains.annotations.NotNull;
 
 import icons.MikIcons;
@@ -41,9 +44,15 @@ public class MikConsoleToolWindowFactory implements ToolWindowFactory, DumbAware
 
         // 创建内容
         ContentFactory contentFactory = ContentFactory.getInstance();
-        Content content = contentFactory.createContent(consoleView.getComponent(), "", false);
+        Content content = contentFactory.createContent(consoleView.getComponent(), MikBundle.message("mik.console.tab.console"), false);
         toolWindow.getContentManager().addContent(content);
 
+        // 运行指标页签
+        MikMetricsPanel metricsPanel = new MikMetricsPanel();
+        Content metricsContent = contentFactory.createContent(metricsPanel, MikBundle.message("mik.console.tab.metrics"), false);
+        metricsContent.setDisposer(metricsPanel);
+        toolWindow.getContentManager().addContent(metricsContent);
+
         // 输出欢迎信息
         mikConsoleView.print("======================================================");
         mikConsoleView.print("欢迎使用 Markdown Image Kit");
@@ -9,13 +9,19 @@ import com.intellij.openapi.components.Service;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.wm.ToolWindow;
 import com.intellij.openapi.wm.ToolWindowManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
 
 import info.dong4j.idea.plugin.settings.MikPersistenComponent;
+import info.dong4j.idea.plugin.util.date.CachedDatePrinter;
+import info.dong4j.idea.plugin.util.date.FastDateFormat;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -23,6 +29,10 @@ import lombok.extern.slf4j.Slf4j;
  * MIK Console View
  * <p>
  * 管理插件的控制台视图，用于显示任务处理的详细日志信息
+ * <p>
+ * 工作线程输出的消息先进入无锁队列，每 {@value #FLUSH_INTERVAL_MS} 毫秒在 EDT 上合并成一次批量输出，
+ * 避免大量图片处理时每行消息都向 EDT 提交一次任务。队列最多保留 {@value #MAX_PENDING_LINES} 行，
+ * 超出时丢弃最旧的消息，并在下次输出时提示被省略的行数。
  *
  * @author dong4j
  * @version 2.1.0
@@ -35,7 +45,21 @@ public final class MikConsoleView implements Disposable {
     /** 工具窗口 ID */
     public static final String TOOL_WINDOW_ID = "MIK Console";
     /** 日期时间格式化 */
-    private static final SimpleDateFormat TIME_FORMAT = new SimpleDateFormat("yyyy.MM.dd HH:mm:ss");
+    private static final CachedDatePrinter TIME_FORMAT =
+        new CachedDatePrinter(FastDateFormat.getInstance("yyyy.MM.dd HH:mm:ss", null, null));
+    /** 批量输出的间隔（毫秒） */
+    private static final long FLUSH_INTERVAL_MS = 50;
+    /** 等待输出的最大行数，超出时丢弃最旧的行 */
+    private static final int MAX_PENDING_LINES = 2000;
+
+    /** 等待输出的消息队列，支持多个工作线程并发写入 */
+    private final Queue<ConsoleLine> pendingLines = new ConcurrentLinkedQueue<>();
+    /** 等待输出的消息数量 */
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    /** 因超出上限被丢弃的消息数量 */
+    private final AtomicInteger droppedCount = new AtomicInteger();
+    /** 是否已安排了一次批量输出 */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
 
     /** 控制台视图 */
     private ConsoleView consoleView;
@@ -115,42 +139,94 @@ public final class MikConsoleView implements Disposable {
 
     /**
      * 打印消息到控制台
+     * <p>
+     * 消息在调用线程上打上时间戳后进入队列，由 {@link #flush()} 批量输出。
      *
      * @param message     消息内容
      * @param contentType 内容类型
      */
     private void print(String message, ConsoleViewContentType contentType) {
-        ApplicationManager.getApplication().invokeLater(() -> {
-            try {
-                ConsoleView console = getConsoleView();
-                if (console != null) {
-                    String timestamp = TIME_FORMAT.format(new Date());
-                    console.print("[" + timestamp + "] " + message + "\n", contentType);
+        this.pendingLines.offer(new ConsoleLine("[" + timestamp() + "] " + message + "\n", contentType));
+        if (this.pendingCount.incrementAndGet() > MAX_PENDING_LINES && this.pendingLines.poll() != null) {
+            this.pendingCount.decrementAndGet();
+            this.droppedCount.incrementAndGet();
+        }
+        if (this.flushScheduled.compareAndSet(false, true)) {
+            AppExecutorUtil.getAppScheduledExecutorService().schedule(
+                () -> ApplicationManager.getApplication().invokeLater(this::flush, this.project.getDisposed()),
+                FLUSH_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+        }
+    }
 
-                    // 自动显示工具窗口
-                    showToolWindow();
+    /**
+     * 在 EDT 上批量输出队列中的消息
+     * <p>
+     * 相邻且类型相同的消息合并为一次 {@link ConsoleView#print} 调用，整批输出后只显示一次工具窗口。
+     */
+    private void flush() {
+        // 先清除标记再取数据，保证取数据期间新入队的消息会安排下一次输出
+        this.flushScheduled.set(false);
+        try {
+            ConsoleView console = getConsoleView();
+            if (console == null) {
+                return;
+            }
+
+            int dropped = this.droppedCount.getAndSet(0);
+            if (dropped > 0) {
+                console.print("... 已省略 " + dropped + " 行较早的输出\n", ConsoleViewContentType.LOG_WARNING_OUTPUT);
+            }
+
+            StringBuilder batch = new StringBuilder();
+            ConsoleViewContentType batchType = null;
+            ConsoleLine line;
+            while ((line = this.pendingLines.poll()) != null) {
+                this.pendingCount.decrementAndGet();
+                if (batchType != null && batchType != line.contentType()) {
+                    console.print(batch.toString(), batchType);
+                    batch.setLength(0);
                 }
-            } catch (Exception e) {
-                log.debug("输出到控制台失败", e);
+                batchType = line.contentType();
+                batch.append(line.text());
+            }
+            if (batchType != null) {
+                console.print(batch.toString(), batchType);
             }
-        });
+
+            if (batchType != null || dropped > 0) {
+                // 自动显示工具窗口
+                showToolWindow();
+            }
+        } catch (Exception e) {
+            log.debug("输出到控制台失败", e);
+        }
     }
 
     /**
      * 显示工具窗口
+     * <p>
+     * 只在 {@link #flush()} 中调用，已经位于 EDT 上。
      */
     private void showToolWindow() {
-        ApplicationManager.getApplication().invokeLater(() -> {
-            try {
-                ToolWindowManager toolWindowManager = ToolWindowManager.getInstance(project);
-                ToolWindow toolWindow = toolWindowManager.getToolWindow(TOOL_WINDOW_ID);
-                if (toolWindow != null && !toolWindow.isVisible()) {
-                    toolWindow.show(null);
-                }
-            } catch (Exception e) {
-                log.debug("显示工具窗口失败", e);
+        try {
+            ToolWindowManager toolWindowManager = ToolWindowManager.getInstance(project);
+            ToolWindow toolWindow = toolWindowManager.getToolWindow(TOOL_WINDOW_ID);
+            if (toolWindow != null && !toolWindow.isVisible()) {
+                toolWindow.show(null);
             }
-        });
+        } catch (Exception e) {
+            log.debug("显示工具窗口失败", e);
+        }
+    }
+
+    /**
+     * 获取当前时间戳字符串
+     *
+     * @return 格式化后的时间戳
+     */
+    static String timestamp() {
+        return TIME_FORMAT.now();
     }
 
     /**
@@ -163,6 +239,8 @@ public final class MikConsoleView implements Disposable {
      */
     @Override
     public void dispose() {
+        pendingLines.clear();
+        pendingCount.set(0);
         if (consoleView != null) {
             consoleView.dispose();
             consoleView = null;
@@ -289,5 +367,13 @@ public final class MikConsoleView implements Disposable {
             log.debug("输出到控制台失败", e);
         }
     }
-}
 
+    /**
+     * 等待输出的一行消息
+     *
+     * @param text        带时间戳和换行符的消息文本
+     * @param contentType 内容类型
+     */
+    private record ConsoleLine(String text, ConsoleViewContentType contentType) {
+    }
+}
@@ -0,0 +1,227 @@
+package info.dong4j.idea.plugin.encoder;
+
+import info.dong4j.idea.plugin.enums.ImageEncoderEnum;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 命令行编码器抽象类
+ * <p>
+ * 通过调用本机安装的命令行工具完成编码。源数据写入临时文件后启动外部进程，进程结束后读取输出文件。
+ * 所有命令行编码器共享一个按 CPU 核数限制的进程池，避免并行压缩时同时启动过多外部进程。
+ * <p>
+ * 可执行文件会在 PATH 以及常见安装目录（如 Homebrew）中查找，查找结果只在首次访问时计算一次。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+public abstract class AbstractProcessImageEncoder implements ImageEncoder {
+    /** 单次编码的超时时间（秒） */
+    private static final long PROCESS_TIMEOUT_SECONDS = 60;
+    /** 外部进程池，限制同时运行的编码进程数量 */
+    private static final Semaphore PROCESS_SLOTS = new Semaphore(Math.max(1, Runtime.getRuntime().availableProcessors()));
+    /** 常见的额外安装目录，IDE 从桌面启动时 PATH 中可能不包含这些目录 */
+    private static final String[] EXTRA_SEARCH_DIRS = {
+        "/opt/homebrew/bin",
+        "/usr/local/bin",
+        "/usr/bin",
+    };
+
+    /** 可执行文件检测是否已完成 */
+    private volatile boolean detected = false;
+    /** 检测到的可执行文件，未找到时为 null */
+    private volatile File executableFile;
+
+    /**
+     * 判断编码器是否可用
+     * <p>
+     * 首次调用时查找可执行文件并缓存结果。
+     *
+     * @return 找到可执行文件返回 true
+     */
+    @Override
+    public boolean isAvailable() {
+        return this.getExecutableFile() != null;
+    }
+
+    /**
+     * 获取可执行文件
+     *
+     * @return 可执行文件，未找到时返回 null
+     */
+    @Nullable
+    public File getExecutableFile() {
+        if (!this.detected) {
+            synchronized (this) {
+                if (!this.detected) {
+                    this.executableFile = findExecutable(this.getType(), this.extraSearchDirs());
+                    this.detected = true;
+                    log.debug("检测编码器 {}: {}", this.getName(), this.executableFile);
+                }
+            }
+        }
+        return this.executableFile;
+    }
+
+    /**
+     * 返回优先于 PATH 查找的额外目录
+     * <p>
+     * 例如 mozjpeg 在 Homebrew 中以 keg-only 方式安装，不会链接到 PATH。
+     *
+     * @return 额外目录列表
+     */
+    protected List<String> extraSearchDirs() {
+        return List.of();
+    }
+
+    /**
+     * 构建编码命令
+     *
+     * @param executable 可执行文件路径
+     * @param operation  编码操作
+     * @param input      输入临时文件
+     * @param output     输出临时文件
+     * @param quality    编码质量，取值范围为 0-100
+     * @return 命令及参数列表
+     */
+    protected abstract List<String> buildCommand(@NotNull String executable,
+                                                 @NotNull Operation operation,
+                                                 @NotNull File input,
+                                                 @NotNull File output,
+                                                 int quality);
+
+    /**
+     * 保持原格式压缩图片
+     *
+     * @param source    原始图片字节
+     * @param extension 源图片扩展名
+     * @param quality   压缩质量，取值范围为 0-100
+     * @return 压缩后的图片字节
+     * @throws IOException 编码失败时抛出
+     */
+    @Override
+    public byte[] compress(byte[] source, @NotNull String extension, int quality) throws IOException {
+        return this.run(Operation.COMPRESS, source, extension, extension, quality);
+    }
+
+    /**
+     * 将图片转换为 WebP
+     *
+     * @param source    原始图片字节
+     * @param extension 源图片扩展名
+     * @param quality   WebP 质量，取值范围为 0-100
+     * @return WebP 图片字节
+     * @throws IOException 编码失败时抛出
+     */
+    @Override
+    public byte[] toWebp(byte[] source, @NotNull String extension, int quality) throws IOException {
+        return this.run(Operation.WEBP, source, extension, "webp", quality);
+    }
+
+    /**
+     * 在进程池中执行一次编码
+     *
+     * @param operation       编码操作
+     * @param source          原始图片字节
+     * @param inputExtension  输入文件扩展名
+     * @param outputExtension 输出文件扩展名
+     * @param quality         编码质量
+     * @return 输出文件内容
+     * @throws IOException 可执行文件不存在、进程超时、退出码非 0 或输出为空时抛出
+     */
+    private byte[] run(Operation operation, byte[] source, String inputExtension, String outputExtension, int quality) throws IOException {
+        File executable = this.getExecutableFile();
+        if (executable == null) {
+            throw new IOException("未找到可执行文件: " + this.getType().getExecutable());
+        }
+
+        Path input = Files.createTempFile("mik-encode-", "." + inputExtension);
+        Path output = Files.createTempFile("mik-encode-", "." + outputExtension);
+        try {
+            Files.write(input, source);
+            List<String> command = this.buildCommand(executable.getAbsolutePath(), operation, input.toFile(), output.toFile(), quality);
+
+            PROCESS_SLOTS.acquire();
+            try {
+                Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+                if (!process.waitFor(PROCESS_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                    throw new IOException(this.getName() + " 执行超时");
+                }
+                if (process.exitValue() != 0) {
+                    throw new IOException(this.getName() + " 执行失败，退出码: " + process.exitValue());
+                }
+            } finally {
+                PROCESS_SLOTS.release();
+            }
+
+            byte[] result = Files.readAllBytes(output);
+            if (result.length == 0) {
+                throw new IOException(this.getName() + " 没有输出任何数据");
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(this.getName() + " 执行被中断", e);
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+
+    /**
+     * 查找可执行文件
+     * <p>
+     * 依次在额外目录、PATH 和常见安装目录中查找，Windows 下自动追加 .exe 后缀。
+     *
+     * @param type      编码器类型
+     * @param extraDirs 优先查找的额外目录
+     * @return 可执行文件，未找到时返回 null
+     */
+    @Nullable
+    static File findExecutable(@NotNull ImageEncoderEnum type, @NotNull List<String> extraDirs) {
+        String name = type.getExecutable();
+        if (name == null) {
+            return null;
+        }
+        if (System.getProperty("os.name", "").toLowerCase().startsWith("windows")) {
+            name = name + ".exe";
+        }
+
+        List<String> dirs = new ArrayList<>(extraDirs);
+        String path = System.getenv("PATH");
+        if (path != null) {
+            dirs.addAll(List.of(path.split(File.pathSeparator)));
+        }
+        dirs.addAll(List.of(EXTRA_SEARCH_DIRS));
+
+        for (String dir : dirs) {
+            if (dir == null || dir.isBlank()) {
+                continue;
+            }
+            File candidate = new File(dir, name);
+            if (candidate.isFile() && candidate.canExecute()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
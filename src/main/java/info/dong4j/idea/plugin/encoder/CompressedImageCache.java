@@ -0,0 +1,309 @@
+package info.dong4j.idea.plugin.encoder;
+
+import com.intellij.openapi.application.PathManager;
+
+import info.dong4j.idea.plugin.enums.ImageEncoderEnum;
+import info.dong4j.idea.plugin.settings.MikState;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 压缩结果磁盘缓存
+ * <p>
+ * 以（源图片 SHA-256、编码操作、编码参数、实际产生结果的编码器）为键缓存压缩或 WebP 转换的最终输出，重复处理同一张图片时直接返回上次的结果。
+ * 缓存目录位于 IDE 系统目录下，所有项目共享；总大小超过上限时按最近最少使用（LRU）顺序淘汰。
+ * <p>
+ * 访问顺序保存在内存索引中，并同步到文件的修改时间，IDE 重启后按修改时间恢复 LRU 顺序。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+public class CompressedImageCache {
+    /** 1MB 对应的字节数 */
+    private static final long MEGABYTE = 1024L * 1024L;
+    /** 缓存文件后缀 */
+    private static final String CACHE_FILE_SUFFIX = ".bin";
+    /** 写入中的临时文件后缀 */
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    /** 缓存目录 */
+    private final Path directory;
+    /** 缓存容量上限（字节），小于等于 0 表示禁用缓存 */
+    private final LongSupplier maxBytes;
+    /** LRU 索引：缓存文件名 -> 文件大小，按访问顺序排列 */
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+    /** 当前缓存总大小 */
+    private long totalBytes;
+    /** 索引是否已从磁盘加载 */
+    private boolean loaded;
+
+    /**
+     * 创建压缩结果缓存
+     *
+     * @param directory 缓存目录
+     * @param maxBytes  缓存容量上限（字节），每次写入时读取，小于等于 0 表示禁用缓存
+     */
+    public CompressedImageCache(@NotNull Path directory, @NotNull LongSupplier maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 获取 IDE 级别共享的缓存实例
+     * <p>
+     * 缓存目录为 {@code <IDE system>/markdown-image-kit/compress-cache}，容量上限取自 {@link MikState#getCompressCacheMaxSize()}。
+     *
+     * @return 缓存实例
+     */
+    @NotNull
+    public static CompressedImageCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * 构建缓存键
+     *
+     * @param sourceKey 源图片的键，见 {@link ImagePipeline#cacheKey()}
+     * @param operation 编码操作
+     * @param params    编码参数，只能包含可用于文件名的字符，如 {@code q80} 或 {@code q80-b102400}
+     * @param encoder   实际产生结果的编码器类型
+     * @return 缓存键，可直接作为文件名使用
+     */
+    @NotNull
+    public static String key(@NotNull String sourceKey,
+                             @NotNull ImageEncoder.Operation operation,
+                             @NotNull String params,
+                             @NotNull ImageEncoderEnum encoder) {
+        return sourceKey
+               + "-" + operation.name().toLowerCase(Locale.ROOT)
+               + "-" + params
+               + "-" + encoder.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 读取缓存
+     * <p>
+     * 命中时刷新该条目的访问顺序。
+     *
+     * @param key 缓存键
+     * @return 缓存的字节，未命中或缓存已禁用时返回 null
+     */
+    @Nullable
+    public byte[] get(@NotNull String key) {
+        if (this.maxBytes.getAsLong() <= 0) {
+            return null;
+        }
+        String fileName = key + CACHE_FILE_SUFFIX;
+        synchronized (this) {
+            this.ensureLoaded();
+            if (this.index.get(fileName) == null) {
+                return null;
+            }
+        }
+
+        Path file = this.directory.resolve(fileName);
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return bytes;
+        } catch (NoSuchFileException e) {
+            // 被其他 IDE 进程或手动清理删除
+            this.forget(fileName);
+            return null;
+        } catch (IOException e) {
+            log.debug("读取压缩缓存失败: {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * 写入缓存
+     * <p>
+     * 先写临时文件再原子替换，避免并发读取到不完整的数据；写入后按 LRU 顺序淘汰超出容量的条目。
+     * 单个结果超过容量上限时不缓存。
+     *
+     * @param key   缓存键
+     * @param bytes 要缓存的字节
+     */
+    public void put(@NotNull String key, byte[] bytes) {
+        long limit = this.maxBytes.getAsLong();
+        if (limit <= 0 || bytes == null || bytes.length == 0 || bytes.length > limit) {
+            return;
+        }
+        String fileName = key + CACHE_FILE_SUFFIX;
+        Path file = this.directory.resolve(fileName);
+        Path temp = null;
+        try {
+            Files.createDirectories(this.directory);
+            temp = Files.createTempFile(this.directory, key, TEMP_FILE_SUFFIX);
+            Files.write(temp, bytes);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.debug("写入压缩缓存失败: {}", file, e);
+            deleteQuietly(temp);
+            return;
+        }
+
+        List<String> evicted;
+        synchronized (this) {
+            this.ensureLoaded();
+            Long previous = this.index.put(fileName, (long) bytes.length);
+            this.totalBytes += bytes.length - (previous == null ? 0 : previous);
+            evicted = this.evict(limit);
+        }
+        for (String name : evicted) {
+            deleteQuietly(this.directory.resolve(name));
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        List<String> names;
+        synchronized (this) {
+            this.ensureLoaded();
+            names = new ArrayList<>(this.index.keySet());
+            this.index.clear();
+            this.totalBytes = 0;
+        }
+        for (String name : names) {
+            deleteQuietly(this.directory.resolve(name));
+        }
+    }
+
+    /**
+     * 获取当前缓存总大小
+     *
+     * @return 缓存总字节数
+     */
+    public synchronized long size() {
+        this.ensureLoaded();
+        return this.totalBytes;
+    }
+
+    /**
+     * 从索引中移除已不存在的条目
+     *
+     * @param fileName 缓存文件名
+     */
+    private synchronized void forget(String fileName) {
+        Long size = this.index.remove(fileName);
+        if (size != null) {
+            this.totalBytes -= size;
+        }
+    }
+
+    /**
+     * 按 LRU 顺序淘汰条目，直到总大小不超过上限
+     *
+     * @param limit 容量上限（字节）
+     * @return 被淘汰的文件名，由调用方在锁外删除
+     */
+    private List<String> evict(long limit) {
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> iterator = this.index.entrySet().iterator();
+        while (this.totalBytes > limit && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            this.totalBytes -= eldest.getValue();
+            evicted.add(eldest.getKey());
+        }
+        if (!evicted.isEmpty()) {
+            log.debug("压缩缓存超过上限 {}MB，淘汰 {} 个条目", limit / MEGABYTE, evicted.size());
+        }
+        return evicted;
+    }
+
+    /**
+     * 首次访问时扫描缓存目录，按修改时间从旧到新重建 LRU 索引，并清理残留的临时文件
+     */
+    private void ensureLoaded() {
+        if (this.loaded) {
+            return;
+        }
+        this.loaded = true;
+        if (!Files.isDirectory(this.directory)) {
+            return;
+        }
+
+        record Entry(String name, long size, long lastModified) {
+        }
+        List<Entry> entries = new ArrayList<>();
+        try (Stream<Path> files = Files.list(this.directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_FILE_SUFFIX)) {
+                    deleteQuietly(file);
+                    return;
+                }
+                if (!name.endsWith(CACHE_FILE_SUFFIX)) {
+                    return;
+                }
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    entries.add(new Entry(name, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                } catch (IOException ignored) {
+                    // 文件在扫描期间被删除
+                }
+            });
+        } catch (IOException e) {
+            log.debug("扫描压缩缓存目录失败: {}", this.directory, e);
+        }
+
+        entries.sort(Comparator.comparingLong(Entry::lastModified));
+        for (Entry entry : entries) {
+            this.index.put(entry.name(), entry.size());
+            this.totalBytes += entry.size();
+        }
+    }
+
+    /**
+     * 静默删除文件
+     *
+     * @param file 文件路径，为 null 时忽略
+     */
+    private static void deleteQuietly(@Nullable Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("删除压缩缓存文件失败: {}", file, e);
+        }
+    }
+
+    /**
+     * 延迟初始化的共享实例持有类
+     */
+    private static class Holder {
+        /** IDE 级别共享的缓存实例 */
+        private static final CompressedImageCache INSTANCE = new CompressedImageCache(
+            Path.of(PathManager.getSystemPath(), "markdown-image-kit", "compress-cache"),
+            () -> MikState.getInstance().getCompressCacheMaxSize() * MEGABYTE);
+    }
+}
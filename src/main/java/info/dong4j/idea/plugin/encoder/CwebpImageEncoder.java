@@ -0,0 +1,66 @@
+package info.dong4j.idea.plugin.encoder;
+
+import info.dong4j.idea.plugin.enums.ImageEncoderEnum;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * 基于 cwebp 的 WebP 编码器
+ * <p>
+ * 调用 libwebp 提供的 cwebp 命令，支持将 PNG、JPEG、TIFF 转换为 WebP，也可对已有的 WebP 重新按质量编码。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class CwebpImageEncoder extends AbstractProcessImageEncoder {
+
+    /**
+     * 获取编码器类型
+     *
+     * @return {@link ImageEncoderEnum#CWEBP}
+     */
+    @Override
+    public @NotNull ImageEncoderEnum getType() {
+        return ImageEncoderEnum.CWEBP;
+    }
+
+    /**
+     * 判断是否支持指定操作
+     *
+     * @param operation 编码操作
+     * @param extension 源图片扩展名
+     * @return 支持返回 true
+     */
+    @Override
+    public boolean supports(@NotNull Operation operation, @NotNull String extension) {
+        return switch (extension) {
+            case "png", "jpg", "jpeg", "tif", "tiff" -> operation == Operation.WEBP;
+            case "webp" -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * 构建编码命令
+     *
+     * @param executable 可执行文件路径
+     * @param operation  编码操作
+     * @param input      输入临时文件
+     * @param output     输出临时文件
+     * @param quality    编码质量，取值范围为 0-100
+     * @return 命令及参数列表
+     */
+    @Override
+    protected List<String> buildCommand(@NotNull String executable,
+                                        @NotNull Operation operation,
+                                        @NotNull File input,
+                                        @NotNull File output,
+                                        int quality) {
+        return List.of(executable, "-quiet", "-mt", "-q", String.valueOf(quality), input.getAbsolutePath(), "-o", output.getAbsolutePath());
+    }
+}
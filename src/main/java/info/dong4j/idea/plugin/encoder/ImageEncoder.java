@@ -0,0 +1,118 @@
+package info.dong4j.idea.plugin.encoder;
+
+import info.dong4j.idea.plugin.enums.ImageEncoderEnum;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * 图片编码器接口
+ * <p>
+ * 定义图片压缩和 WebP 转换的统一入口，不同实现对应不同的编码后端（内置 Thumbnailator 或本机命令行工具）。
+ * 实现类需要是无状态且线程安全的，压缩阶段会在多个线程中并发调用。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public interface ImageEncoder {
+
+    /**
+     * 编码操作类型
+     */
+    enum Operation {
+        /** 保持原格式压缩 */
+        COMPRESS,
+        /** 转换为 WebP */
+        WEBP
+    }
+
+    /**
+     * 获取编码器类型
+     *
+     * @return 编码器类型
+     */
+    @NotNull
+    ImageEncoderEnum getType();
+
+    /**
+     * 获取名称
+     *
+     * @return 编码器名称
+     */
+    default String getName() {
+        return this.getType().getName();
+    }
+
+    /**
+     * 判断编码器在当前环境中是否可用
+     * <p>
+     * 命令行后端需要检测到对应的可执行文件，检测结果应被缓存，避免重复访问文件系统。
+     *
+     * @return 可用返回 true
+     */
+    boolean isAvailable();
+
+    /**
+     * 判断编码器是否支持指定的操作与源图片格式
+     *
+     * @param operation 编码操作
+     * @param extension 源图片扩展名（小写，不含点号）
+     * @return 支持返回 true
+     */
+    boolean supports(@NotNull Operation operation, @NotNull String extension);
+
+    /**
+     * 保持原格式压缩图片
+     *
+     * @param source    原始图片字节
+     * @param extension 源图片扩展名（小写，不含点号）
+     * @param quality   压缩质量，取值范围为 0-100
+     * @return 压缩后的图片字节
+     * @throws IOException 编码失败时抛出
+     */
+    byte[] compress(byte[] source, @NotNull String extension, int quality) throws IOException;
+
+    /**
+     * 将图片转换为 WebP
+     *
+     * @param source    原始图片字节
+     * @param extension 源图片扩展名（小写，不含点号）
+     * @param quality   WebP 质量，取值范围为 0-100
+     * @return WebP 图片字节
+     * @throws IOException 编码失败时抛出
+     */
+    byte[] toWebp(byte[] source, @NotNull String extension, int quality) throws IOException;
+
+    /**
+     * 保持原格式压缩流水线中的图片
+     * <p>
+     * 默认取流水线结果的字节后调用 {@link #compress(byte[], String, int)}；能直接编码内存图片的实现应覆盖此方法，以复用已解码的图片。
+     *
+     * @param pipeline  图片处理流水线
+     * @param extension 源图片扩展名（小写，不含点号）
+     * @param quality   压缩质量，取值范围为 0-100
+     * @return 压缩后的图片字节
+     * @throws IOException 编码失败时抛出
+     */
+    default byte[] compress(@NotNull ImagePipeline pipeline, @NotNull String extension, int quality) throws IOException {
+        return this.compress(pipeline.toBytes(), extension, quality);
+    }
+
+    /**
+     * 将流水线中的图片转换为 WebP
+     * <p>
+     * 默认取流水线结果的字节后调用 {@link #toWebp(byte[], String, int)}；能直接编码内存图片的实现应覆盖此方法，以复用已解码的图片。
+     *
+     * @param pipeline  图片处理流水线
+     * @param extension 源图片扩展名（小写，不含点号）
+     * @param quality   WebP 质量，取值范围为 0-100
+     * @return WebP 图片字节
+     * @throws IOException 编码失败时抛出
+     */
+    default byte[] toWebp(@NotNull ImagePipeline pipeline, @NotNull String extension, int quality) throws IOException {
+        return this.toWebp(pipeline.toBytes(), extension, quality);
+    }
+}
@@ -0,0 +1,32 @@
+package info.dong4j.idea.plugin.encoder;
+
+import com.intellij.ide.AppLifecycleListener;
+import com.intellij.openapi.application.ApplicationManager;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * 编码器启动检测监听器
+ * <p>
+ * IDE 主窗口创建后，在后台线程中检测本机安装的编码器命令行工具并执行基准测试，
+ * 使 {@link info.dong4j.idea.plugin.enums.ImageEncoderEnum#AUTO} 模式在第一次压缩前就能选择最快的后端。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class ImageEncoderDetector implements AppLifecycleListener {
+
+    /**
+     * IDE 主窗口创建完成时触发检测
+     *
+     * @param commandLineArgs 命令行参数
+     */
+    @Override
+    public void appFrameCreated(@NotNull List<String> commandLineArgs) {
+        ApplicationManager.getApplication().executeOnPooledThread(ImageEncoders::detectAndBenchmark);
+    }
+}
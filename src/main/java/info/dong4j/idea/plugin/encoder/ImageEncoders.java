@@ -0,0 +1,635 @@
+package info.dong4j.idea.plugin.encoder;
+
+import info.dong4j.idea.plugin.enums.ImageEncoderEnum;
+import info.dong4j.idea.plugin.settings.MikState;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.ImageIO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 图片编码器注册表
+ * <p>
+ * 管理所有内置的 {@link ImageEncoder} 实现，负责检测本机可用的编码后端、执行基准测试，并根据用户配置选择编码器。
+ * 当选中的后端不可用、不支持当前格式或编码失败时，统一回退到 Thumbnailator，保证压缩流程不会因为外部工具缺失而中断。
+ * <p>
+ * 检测与基准测试在 IDE 启动后于后台线程执行，也会在首次选择编码器时按需触发检测。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+public final class ImageEncoders {
+    /** 默认编码器 */
+    private static final ImageEncoder DEFAULT_ENCODER = new ThumbnailatorImageEncoder();
+    /** 所有已注册的编码器，按类型索引 */
+    private static final Map<ImageEncoderEnum, ImageEncoder> ENCODERS = new EnumMap<>(ImageEncoderEnum.class);
+    /** 基准测试结果，键为 编码器类型 + 操作 + 扩展名，值为单次编码的平均耗时（纳秒） */
+    private static final Map<String, Long> BENCHMARKS = new ConcurrentHashMap<>();
+    /** 基准测试使用的图片边长 */
+    private static final int BENCHMARK_IMAGE_SIZE = 512;
+    /** 基准测试的重复次数 */
+    private static final int BENCHMARK_ROUNDS = 2;
+    /** 按目标大小搜索时允许的最低质量 */
+    private static final int MIN_BUDGET_QUALITY = 10;
+    /** 按目标大小搜索时最多缩小的次数 */
+    private static final int MAX_BUDGET_SCALE_STEPS = 4;
+    /** 当前线程自上次 {@link #consumeCacheHit()} 以来是否命中过压缩缓存，供处理链事件记录 */
+    private static final ThreadLocal<Boolean> CACHE_HIT = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    /** 当前线程自上次 {@link #consumeUsedEncoder()} 以来最后一次产生结果的编码器，供指标和处理链事件记录 */
+    private static final ThreadLocal<ImageEncoder> USED_ENCODER = new ThreadLocal<>();
+
+    static {
+        ENCODERS.put(ImageEncoderEnum.THUMBNAILATOR, DEFAULT_ENCODER);
+        ENCODERS.put(ImageEncoderEnum.CWEBP, new CwebpImageEncoder());
+        ENCODERS.put(ImageEncoderEnum.PNGQUANT, new PngquantImageEncoder());
+        ENCODERS.put(ImageEncoderEnum.OXIPNG, new OxipngImageEncoder());
+        ENCODERS.put(ImageEncoderEnum.MOZJPEG, new MozjpegImageEncoder());
+    }
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private ImageEncoders() {
+    }
+
+    /**
+     * 获取指定类型的编码器
+     *
+     * @param type 编码器类型
+     * @return 编码器，{@link ImageEncoderEnum#AUTO} 或未注册时返回 null
+     */
+    @Nullable
+    public static ImageEncoder get(@Nullable ImageEncoderEnum type) {
+        return type == null ? null : ENCODERS.get(type);
+    }
+
+    /**
+     * 获取所有已注册的编码器
+     *
+     * @return 只读的编码器映射
+     */
+    @NotNull
+    public static Map<ImageEncoderEnum, ImageEncoder> all() {
+        return Collections.unmodifiableMap(ENCODERS);
+    }
+
+    /**
+     * 检测所有编码器并执行基准测试
+     * <p>
+     * 耗时操作，需要在后台线程调用。结果缓存在内存中，供 {@link ImageEncoderEnum#AUTO} 模式选择最快的编码器。
+     */
+    public static void detectAndBenchmark() {
+        byte[] png;
+        byte[] jpg;
+        try {
+            BufferedImage sample = createBenchmarkImage();
+            png = encode(sample, "png");
+            jpg = encode(sample, "jpg");
+        } catch (IOException e) {
+            log.debug("生成基准测试图片失败", e);
+            return;
+        }
+
+        for (ImageEncoder encoder : ENCODERS.values()) {
+            if (!encoder.isAvailable()) {
+                log.debug("编码器不可用: {}", encoder.getName());
+                continue;
+            }
+            benchmark(encoder, ImageEncoder.Operation.COMPRESS, "png", png);
+            benchmark(encoder, ImageEncoder.Operation.COMPRESS, "jpg", jpg);
+            benchmark(encoder, ImageEncoder.Operation.WEBP, "png", png);
+            benchmark(encoder, ImageEncoder.Operation.WEBP, "jpg", jpg);
+        }
+    }
+
+    /**
+     * 获取基准测试结果
+     *
+     * @param type      编码器类型
+     * @param operation 编码操作
+     * @param extension 源图片扩展名
+     * @return 平均耗时（纳秒），未测试时返回 null
+     */
+    @Nullable
+    public static Long getBenchmark(@NotNull ImageEncoderEnum type, @NotNull ImageEncoder.Operation operation, @NotNull String extension) {
+        return BENCHMARKS.get(benchmarkKey(type, operation, normalizeExtension(extension)));
+    }
+
+    /**
+     * 根据用户配置选择编码器
+     *
+     * @param operation 编码操作
+     * @param extension 源图片扩展名
+     * @return 可用且支持该操作的编码器，找不到时返回 null
+     */
+    @Nullable
+    public static ImageEncoder select(@NotNull ImageEncoder.Operation operation, @Nullable String extension) {
+        return select(MikState.getInstance().getImageEncoder(), operation, extension);
+    }
+
+    /**
+     * 选择编码器
+     * <p>
+     * 1. 指定了具体后端且该后端可用并支持当前格式时，直接使用；
+     * 2. {@link ImageEncoderEnum#AUTO} 模式下，在可用且支持当前格式的后端中选择基准测试最快的一个；
+     * 3. 其他情况回退到 Thumbnailator。
+     *
+     * @param preferred 用户选择的编码器类型
+     * @param operation 编码操作
+     * @param extension 源图片扩展名
+     * @return 可用且支持该操作的编码器，找不到时返回 null
+     */
+    @Nullable
+    public static ImageEncoder select(@Nullable ImageEncoderEnum preferred,
+                                      @NotNull ImageEncoder.Operation operation,
+                                      @Nullable String extension) {
+        String ext = normalizeExtension(extension);
+        ImageEncoder encoder = get(preferred);
+        if (encoder != null && encoder.isAvailable() && encoder.supports(operation, ext)) {
+            return encoder;
+        }
+
+        if (preferred == ImageEncoderEnum.AUTO) {
+            ImageEncoder fastest = null;
+            long fastestNanos = Long.MAX_VALUE;
+            for (ImageEncoder candidate : ENCODERS.values()) {
+                if (!candidate.isAvailable() || !candidate.supports(operation, ext)) {
+                    continue;
+                }
+                Long nanos = BENCHMARKS.get(benchmarkKey(candidate.getType(), operation, ext));
+                // 没有基准数据时排在有数据的编码器之后
+                long cost = nanos != null ? nanos : Long.MAX_VALUE - 1;
+                if (fastest == null || cost < fastestNanos) {
+                    fastest = candidate;
+                    fastestNanos = cost;
+                }
+            }
+            if (fastest != null) {
+                return fastest;
+            }
+        }
+
+        return DEFAULT_ENCODER.supports(operation, ext) ? DEFAULT_ENCODER : null;
+    }
+
+    /**
+     * 使用选定的编码器压缩图片，失败时回退到 Thumbnailator
+     *
+     * @param source    原始图片字节
+     * @param extension 源图片扩展名
+     * @param quality   压缩质量，取值范围为 0-100
+     * @return 压缩后的图片字节
+     * @throws IOException 所有编码器均失败时抛出
+     */
+    public static byte[] compress(byte[] source, @Nullable String extension, int quality) throws IOException {
+        return compress(ImagePipeline.of(source), extension, quality);
+    }
+
+    /**
+     * 使用选定的编码器压缩流水线中的图片，失败时回退到 Thumbnailator
+     * <p>
+     * 结果按 {@link #encodeCached} 的规则缓存，回退时复用流水线中已解码的图片。
+     *
+     * @param pipeline  图片处理流水线
+     * @param extension 源图片扩展名
+     * @param quality   压缩质量，取值范围为 0-100
+     * @return 压缩后的图片字节
+     * @throws IOException 所有编码器均失败时抛出
+     */
+    public static byte[] compress(@NotNull ImagePipeline pipeline, @Nullable String extension, int quality) throws IOException {
+        String ext = normalizeExtension(extension);
+        return encodeCached(pipeline, ImageEncoder.Operation.COMPRESS, ext, "q" + quality,
+                            encoder -> encoder.compress(pipeline, ext, quality));
+    }
+
+    /**
+     * 读取并重置当前线程的缓存命中标记
+     * <p>
+     * 同一张图片的压缩在同一个线程中完成，处理前后各调用一次即可得知该图片是否命中了缓存。
+     *
+     * @return 自上次调用以来当前线程是否命中过缓存
+     */
+    public static boolean consumeCacheHit() {
+        boolean hit = CACHE_HIT.get();
+        CACHE_HIT.set(Boolean.FALSE);
+        return hit;
+    }
+
+    /**
+     * 读取并重置当前线程最后一次产生结果的编码器名称
+     * <p>
+     * 与 {@link #consumeCacheHit()} 一样按线程记录：自动选择或失败回退到 Thumbnailator 时返回实际使用的编码器，
+     * 命中缓存时返回产生该缓存结果的编码器。
+     *
+     * @return 编码器名称，自上次调用以来没有编码时返回 null
+     */
+    @Nullable
+    public static String consumeUsedEncoder() {
+        ImageEncoder encoder = USED_ENCODER.get();
+        USED_ENCODER.remove();
+        return encoder != null ? encoder.getName() : null;
+    }
+
+    /**
+     * 使用选定的编码器转换为 WebP，失败时回退到 Thumbnailator
+     *
+     * @param source    原始图片字节
+     * @param extension 源图片扩展名
+     * @param quality   WebP 质量，取值范围为 0-100
+     * @return WebP 图片字节
+     * @throws IOException 没有可用的 WebP 编码器或所有编码器均失败时抛出
+     */
+    public static byte[] toWebp(byte[] source, @Nullable String extension, int quality) throws IOException {
+        return toWebp(ImagePipeline.of(source), extension, quality);
+    }
+
+    /**
+     * 使用选定的编码器将流水线中的图片转换为 WebP，失败时回退到 Thumbnailator
+     * <p>
+     * 结果按 {@link #encodeCached} 的规则缓存，回退时复用流水线中已解码的图片。
+     *
+     * @param pipeline  图片处理流水线
+     * @param extension 源图片扩展名
+     * @param quality   WebP 质量，取值范围为 0-100
+     * @return WebP 图片字节
+     * @throws IOException 没有可用的 WebP 编码器或所有编码器均失败时抛出
+     */
+    public static byte[] toWebp(@NotNull ImagePipeline pipeline, @Nullable String extension, int quality) throws IOException {
+        String ext = normalizeExtension(extension);
+        return encodeCached(pipeline, ImageEncoder.Operation.WEBP, ext, "q" + quality,
+                            encoder -> encoder.toWebp(pipeline, ext, quality));
+    }
+
+    /**
+     * 在目标大小内编码图片
+     * <p>
+     * 先以最高质量编码，超出目标大小时在 [{@value #MIN_BUDGET_QUALITY}, maxQuality] 区间内二分查找能满足目标的最高质量。
+     * 最低质量仍然超出目标时（例如无损 PNG 的质量参数不影响大小），若允许缩放，则按大小比例估算缩放系数，
+     * 缩小图片后重新查找，最多缩小 {@value #MAX_BUDGET_SCALE_STEPS} 次。
+     * <p>
+     * 整个搜索使用同一个编码器，任何一步失败时改用 Thumbnailator 重新搜索；中间结果不缓存，
+     * 只有最终结果按 {@link #encodeCached} 的规则缓存。
+     *
+     * @param pipeline   图片处理流水线
+     * @param operation  编码操作
+     * @param extension  源图片扩展名
+     * @param maxQuality 允许的最高质量，取值范围为 0-100
+     * @param maxBytes   目标大小（字节）
+     * @param allowScale 最低质量仍超出目标时是否允许缩小图片
+     * @return 满足目标的最高质量结果；无法满足时返回尝试过的最小结果
+     * @throws IOException 编码失败时抛出
+     */
+    public static byte[] encodeWithinBudget(@NotNull ImagePipeline pipeline,
+                                            @NotNull ImageEncoder.Operation operation,
+                                            @Nullable String extension,
+                                            int maxQuality,
+                                            long maxBytes,
+                                            boolean allowScale) throws IOException {
+        String ext = normalizeExtension(extension);
+        String params = "q" + maxQuality + "-b" + maxBytes + (allowScale ? "-scale" : "");
+        return encodeCached(pipeline, operation, ext, params,
+                            encoder -> encodeWithinBudget(encoder, pipeline, operation, ext, maxQuality, maxBytes, allowScale));
+    }
+
+    /**
+     * 使用指定的编码器在目标大小内编码图片
+     *
+     * @param encoder    编码器
+     * @param pipeline   图片处理流水线
+     * @param operation  编码操作
+     * @param ext        规范化后的扩展名
+     * @param maxQuality 允许的最高质量
+     * @param maxBytes   目标大小（字节）
+     * @param allowScale 最低质量仍超出目标时是否允许缩小图片
+     * @return 满足目标的最高质量结果；无法满足时返回尝试过的最小结果
+     * @throws IOException 编码失败时抛出
+     */
+    private static byte[] encodeWithinBudget(ImageEncoder encoder,
+                                             ImagePipeline pipeline,
+                                             ImageEncoder.Operation operation,
+                                             String ext,
+                                             int maxQuality,
+                                             long maxBytes,
+                                             boolean allowScale) throws IOException {
+        byte[] smallest = searchQuality(encoder, pipeline, operation, ext, maxQuality, maxBytes);
+        if (smallest.length <= maxBytes || !allowScale) {
+            return smallest;
+        }
+
+        ImagePipeline scaled = pipeline;
+        for (int step = 0; step < MAX_BUDGET_SCALE_STEPS && smallest.length > maxBytes; step++) {
+            // 编码大小大致与像素数成正比，边长按面积比例的平方根缩小，并多留一些余量
+            double factor = Math.min(0.9, Math.sqrt((double) maxBytes / smallest.length) * 0.95);
+            scaled = scaled.scaledCopy(factor);
+            byte[] result = searchQuality(encoder, scaled, operation, ext, maxQuality, maxBytes);
+            if (result.length < smallest.length) {
+                smallest = result;
+            }
+            log.debug("按目标大小缩放: 第 {} 次, 系数 {}, 结果 {} 字节", step + 1, factor, result.length);
+        }
+        return smallest;
+    }
+
+    /**
+     * 在不缩放的前提下二分查找满足目标大小的最高质量
+     *
+     * @param encoder    编码器
+     * @param pipeline   图片处理流水线
+     * @param operation  编码操作
+     * @param ext        规范化后的扩展名
+     * @param maxQuality 允许的最高质量
+     * @param maxBytes   目标大小（字节）
+     * @return 满足目标的最高质量结果；无法满足时返回最低质量的结果
+     * @throws IOException 编码失败时抛出
+     */
+    private static byte[] searchQuality(ImageEncoder encoder,
+                                        ImagePipeline pipeline,
+                                        ImageEncoder.Operation operation,
+                                        String ext,
+                                        int maxQuality,
+                                        long maxBytes) throws IOException {
+        byte[] best = encode(encoder, pipeline, operation, ext, maxQuality);
+        if (best.length <= maxBytes || maxQuality <= MIN_BUDGET_QUALITY) {
+            return best;
+        }
+        byte[] lowest = encode(encoder, pipeline, operation, ext, MIN_BUDGET_QUALITY);
+        if (lowest.length > maxBytes) {
+            return lowest.length < best.length ? lowest : best;
+        }
+
+        best = lowest;
+        int low = MIN_BUDGET_QUALITY + 1;
+        int high = maxQuality - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            byte[] result = encode(encoder, pipeline, operation, ext, mid);
+            if (result.length <= maxBytes) {
+                best = result;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 使用指定的编码器按操作类型编码一次
+     *
+     * @param encoder   编码器
+     * @param pipeline  图片处理流水线
+     * @param operation 编码操作
+     * @param ext       规范化后的扩展名
+     * @param quality   质量
+     * @return 编码结果
+     * @throws IOException 编码失败时抛出
+     */
+    private static byte[] encode(ImageEncoder encoder,
+                                 ImagePipeline pipeline,
+                                 ImageEncoder.Operation operation,
+                                 String ext,
+                                 int quality) throws IOException {
+        return operation == ImageEncoder.Operation.WEBP
+               ? encoder.toWebp(pipeline, ext, quality)
+               : encoder.compress(pipeline, ext, quality);
+    }
+
+    /**
+     * 使用选定的编码器编码，失败时回退到 Thumbnailator，并缓存最终结果
+     * <p>
+     * 缓存键由 {@link ImagePipeline#cacheKey()}、编码操作、编码参数和实际产生结果的编码器构成：
+     * 先按选定的编码器查找，未命中时编码；选定的编码器失败后，再按 Thumbnailator 查找或编码，结果记在 Thumbnailator 名下。
+     * 命中时不会解码图片；流水线不可缓存时直接编码。
+     *
+     * @param pipeline  图片处理流水线
+     * @param operation 编码操作
+     * @param ext       规范化后的扩展名
+     * @param params    编码参数，参与缓存键
+     * @param encoding  使用给定编码器产生最终结果的编码过程
+     * @return 编码结果
+     * @throws IOException 没有可用的 WebP 编码器或所有编码器均失败时抛出
+     */
+    private static byte[] encodeCached(ImagePipeline pipeline,
+                                       ImageEncoder.Operation operation,
+                                       String ext,
+                                       String params,
+                                       Encoding encoding) throws IOException {
+        ImageEncoder encoder = select(operation, ext);
+        if (encoder == null) {
+            if (operation == ImageEncoder.Operation.WEBP) {
+                throw new IOException("没有可用的 WebP 编码器，请安装 cwebp 或 WebP ImageIO 插件");
+            }
+            encoder = DEFAULT_ENCODER;
+        }
+        String sourceKey = pipeline.cacheKey();
+
+        if (encoder != DEFAULT_ENCODER) {
+            byte[] cached = readCache(sourceKey, operation, params, encoder);
+            if (cached != null) {
+                return cached;
+            }
+            try {
+                return writeCache(sourceKey, operation, params, encoder, encoding.encode(encoder));
+            } catch (IOException e) {
+                log.debug("编码器 {} 执行 {} 失败，回退到 Thumbnailator", encoder.getName(), operation, e);
+            }
+        }
+
+        byte[] cached = readCache(sourceKey, operation, params, DEFAULT_ENCODER);
+        if (cached != null) {
+            return cached;
+        }
+        return writeCache(sourceKey, operation, params, DEFAULT_ENCODER, encoding.encode(DEFAULT_ENCODER));
+    }
+
+    /**
+     * 读取缓存，命中时设置当前线程的缓存命中标记和实际使用的编码器
+     *
+     * @param sourceKey 流水线的缓存键，为 null 时不读取
+     * @param operation 编码操作
+     * @param params    编码参数
+     * @param encoder   编码器
+     * @return 缓存的结果，未命中时返回 null
+     */
+    @Nullable
+    private static byte[] readCache(@Nullable String sourceKey, ImageEncoder.Operation operation, String params, ImageEncoder encoder) {
+        if (sourceKey == null) {
+            return null;
+        }
+        String cacheKey = CompressedImageCache.key(sourceKey, operation, params, encoder.getType());
+        byte[] cached = CompressedImageCache.getInstance().get(cacheKey);
+        if (cached != null) {
+            log.debug("命中压缩缓存: {}", cacheKey);
+            CACHE_HIT.set(Boolean.TRUE);
+            USED_ENCODER.set(encoder);
+        }
+        return cached;
+    }
+
+    /**
+     * 写入缓存，并记录当前线程实际使用的编码器
+     *
+     * @param sourceKey 流水线的缓存键，为 null 时不写入
+     * @param operation 编码操作
+     * @param params    编码参数
+     * @param encoder   实际产生结果的编码器
+     * @param result    编码结果
+     * @return 编码结果
+     */
+    private static byte[] writeCache(@Nullable String sourceKey,
+                                     ImageEncoder.Operation operation,
+                                     String params,
+                                     ImageEncoder encoder,
+                                     byte[] result) {
+        USED_ENCODER.set(encoder);
+        if (sourceKey != null) {
+            CompressedImageCache.getInstance().put(CompressedImageCache.key(sourceKey, operation, params, encoder.getType()), result);
+        }
+        return result;
+    }
+
+    /**
+     * 规范化扩展名：去掉前导点号并转为小写
+     *
+     * @param extension 扩展名
+     * @return 规范化后的扩展名，null 返回空字符串
+     */
+    @NotNull
+    static String normalizeExtension(@Nullable String extension) {
+        if (extension == null) {
+            return "";
+        }
+        String ext = extension.trim().toLowerCase(Locale.ROOT);
+        return ext.startsWith(".") ? ext.substring(1) : ext;
+    }
+
+    /**
+     * 对单个编码器的单个操作执行基准测试
+     *
+     * @param encoder   编码器
+     * @param operation 编码操作
+     * @param extension 源图片扩展名
+     * @param source    基准测试图片字节
+     */
+    private static void benchmark(ImageEncoder encoder, ImageEncoder.Operation operation, String extension, byte[] source) {
+        if (!encoder.supports(operation, extension)) {
+            return;
+        }
+        try {
+            // 预热一次，排除首次加载类和启动进程的开销
+            run(encoder, operation, extension, source);
+            long start = System.nanoTime();
+            for (int i = 0; i < BENCHMARK_ROUNDS; i++) {
+                run(encoder, operation, extension, source);
+            }
+            long average = (System.nanoTime() - start) / BENCHMARK_ROUNDS;
+            BENCHMARKS.put(benchmarkKey(encoder.getType(), operation, extension), average);
+            log.debug("编码器基准测试: {} {} {} -> {}ms", encoder.getName(), operation, extension, average / 1_000_000);
+        } catch (IOException e) {
+            log.debug("编码器基准测试失败: {} {} {}", encoder.getName(), operation, extension, e);
+        }
+    }
+
+    /**
+     * 执行一次编码
+     *
+     * @param encoder   编码器
+     * @param operation 编码操作
+     * @param extension 源图片扩展名
+     * @param source    原始图片字节
+     * @throws IOException 编码失败时抛出
+     */
+    private static void run(ImageEncoder encoder, ImageEncoder.Operation operation, String extension, byte[] source) throws IOException {
+        if (operation == ImageEncoder.Operation.WEBP) {
+            encoder.toWebp(source, extension, 75);
+        } else {
+            encoder.compress(source, extension, 75);
+        }
+    }
+
+    /**
+     * 生成基准测试用的图片
+     * <p>
+     * 渐变背景叠加随机噪点，兼顾平滑区域和细节区域，接近真实截图的压缩特征。
+     *
+     * @return 基准测试图片
+     */
+    private static BufferedImage createBenchmarkImage() {
+        BufferedImage image = new BufferedImage(BENCHMARK_IMAGE_SIZE, BENCHMARK_IMAGE_SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            for (int y = 0; y < BENCHMARK_IMAGE_SIZE; y++) {
+                g.setColor(new Color(y % 256, (y * 2) % 256, 255 - y % 256));
+                g.drawLine(0, y, BENCHMARK_IMAGE_SIZE, y);
+            }
+        } finally {
+            g.dispose();
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < BENCHMARK_IMAGE_SIZE * 8; i++) {
+            image.setRGB(random.nextInt(BENCHMARK_IMAGE_SIZE), random.nextInt(BENCHMARK_IMAGE_SIZE), random.nextInt(0xFFFFFF));
+        }
+        return image;
+    }
+
+    /**
+     * 使用 ImageIO 编码图片
+     *
+     * @param image  图片
+     * @param format 格式名称
+     * @return 编码后的字节
+     * @throws IOException 编码失败时抛出
+     */
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, format, out)) {
+            throw new IOException("ImageIO 不支持格式: " + format);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 构建基准测试结果的键
+     *
+     * @param type      编码器类型
+     * @param operation 编码操作
+     * @param extension 扩展名
+     * @return 键
+     */
+    private static String benchmarkKey(ImageEncoderEnum type, ImageEncoder.Operation operation, String extension) {
+        return type.name() + ":" + operation.name() + ":" + extension;
+    }
+
+    /**
+     * 使用给定编码器产生最终结果的编码过程
+     */
+    @FunctionalInterface
+    private interface Encoding {
+        /**
+         * 编码
+         *
+         * @param encoder 编码器
+         * @return 编码结果
+         * @throws IOException 编码失败时抛出
+         */
+        byte[] encode(ImageEncoder encoder) throws IOException;
+    }
+}
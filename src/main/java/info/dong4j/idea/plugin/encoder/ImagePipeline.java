@@ -0,0 +1,318 @@
+package info.dong4j.idea.plugin.encoder;
+
+import info.dong4j.idea.plugin.util.ImageUtils;
+import info.dong4j.idea.plugin.util.digest.DigestUtils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.UnaryOperator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import lombok.extern.slf4j.Slf4j;
+import net.coobird.thumbnailator.Thumbnails;
+
+/**
+ * 图片处理流水线
+ * <p>
+ * 将水印、缩放等操作串成一条流水线：源图片最多解码一次，所有操作在内存中的 {@link BufferedImage} 上依次执行，
+ * 最终只编码一次，编码为不支持透明通道的格式时自动去除透明通道。同一条流水线可以多次编码（例如 WebP 转换失败后回退到原格式压缩），解码与操作结果都会复用。
+ * <p>
+ * 解码是延迟的：只读取原始字节的调用方（如命令行编码器或缓存命中）不会触发解码。
+ * <p>
+ * 该类不是线程安全的，每张图片使用独立的实例。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+public final class ImagePipeline {
+    /** 无损中间格式，用于向只接受字节的编码器传递处理后的图片 */
+    private static final String INTERMEDIATE_FORMAT = "png";
+
+    /** 原始图片字节，由内存图片创建时为 null */
+    private byte[] sourceBytes;
+    /** 原始图片格式名称，解码时从 ImageReader 获取 */
+    private String sourceFormat;
+    /** 解码后的原始图片 */
+    private BufferedImage decoded;
+    /** 待执行的图片操作 */
+    private final List<UnaryOperator<BufferedImage>> operations = new ArrayList<>();
+    /** 操作及其参数的描述，参与缓存键 */
+    private final StringBuilder operationKey = new StringBuilder();
+    /** 缓存键，首次调用 {@link #cacheKey()} 时计算 */
+    private String cacheKey;
+    /** 执行完所有操作后的图片 */
+    private BufferedImage rendered;
+    /** 执行完所有操作后的无损编码结果，供只接受字节的编码器复用 */
+    private byte[] renderedBytes;
+
+    /**
+     * 私有构造函数，使用静态工厂方法创建实例
+     */
+    private ImagePipeline() {
+    }
+
+    /**
+     * 从已编码的图片字节创建流水线
+     *
+     * @param bytes 图片字节
+     * @return 流水线
+     */
+    @NotNull
+    public static ImagePipeline of(@NotNull byte[] bytes) {
+        ImagePipeline pipeline = new ImagePipeline();
+        pipeline.sourceBytes = bytes;
+        return pipeline;
+    }
+
+    /**
+     * 从内存中的图片创建流水线（如剪贴板中的图片），无需解码
+     *
+     * @param image 图片
+     * @return 流水线
+     */
+    @NotNull
+    public static ImagePipeline of(@NotNull Image image) {
+        ImagePipeline pipeline = new ImagePipeline();
+        pipeline.decoded = ImageUtils.toBufferedImage(image);
+        return pipeline;
+    }
+
+    /**
+     * 添加文字水印
+     *
+     * @param text 水印文本，为空时忽略
+     * @return 当前流水线
+     */
+    @NotNull
+    public ImagePipeline watermark(@Nullable String text) {
+        if (text != null && !text.isEmpty()) {
+            this.add(image -> ImageUtils.drawWatermark(image, text), "watermark:" + text);
+        }
+        return this;
+    }
+
+    /**
+     * 等比缩放到指定范围内，图片本身不超过该范围时不做处理
+     *
+     * @param maxWidth  最大宽度
+     * @param maxHeight 最大高度
+     * @return 当前流水线
+     */
+    @NotNull
+    public ImagePipeline fitWithin(int maxWidth, int maxHeight) {
+        return this.add(image -> {
+            double ratio = Math.min((double) maxWidth / image.getWidth(), (double) maxHeight / image.getHeight());
+            if (ratio >= 1) {
+                return image;
+            }
+            int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+            int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+            return ImageUtils.scaleImage(image, width, height);
+        }, "fit:" + maxWidth + "x" + maxHeight);
+    }
+
+    /**
+     * 追加一个操作并记录其描述
+     *
+     * @param operation   图片操作
+     * @param description 操作及其参数的描述
+     * @return 当前流水线
+     */
+    @NotNull
+    private ImagePipeline add(@NotNull UnaryOperator<BufferedImage> operation, @NotNull String description) {
+        this.operations.add(operation);
+        this.operationKey.append(description).append('\n');
+        this.rendered = null;
+        this.renderedBytes = null;
+        this.cacheKey = null;
+        return this;
+    }
+
+    /**
+     * 获取标识流水线输入的缓存键
+     * <p>
+     * 由原始图片字节的 SHA-256 与操作的描述构成，同一条流水线只计算一次，不会解码或重新编码图片。
+     * 由内存图片创建时无法判断结果是否相同，返回 null。
+     *
+     * @return 缓存键（十六进制字符串），不可缓存时返回 null
+     */
+    @Nullable
+    public String cacheKey() {
+        if (this.sourceBytes == null) {
+            return null;
+        }
+        if (this.cacheKey == null) {
+            String sourceKey = DigestUtils.sha256Hex(this.sourceBytes);
+            this.cacheKey = this.operationKey.isEmpty() ? sourceKey : DigestUtils.sha256Hex(sourceKey + "\n" + this.operationKey);
+        }
+        return this.cacheKey;
+    }
+
+    /**
+     * 获取源图片格式名称
+     *
+     * @return 格式名称（小写），无法识别时返回 null
+     * @throws IOException 解码失败时抛出
+     */
+    @Nullable
+    public String getSourceFormat() throws IOException {
+        this.decode();
+        return this.sourceFormat;
+    }
+
+    /**
+     * 获取执行完所有操作后的图片
+     * <p>
+     * 首次调用时解码并执行操作，后续调用直接返回缓存结果。
+     *
+     * @return 处理后的图片
+     * @throws IOException 解码失败时抛出
+     */
+    @NotNull
+    public BufferedImage render() throws IOException {
+        if (this.rendered == null) {
+            BufferedImage image = this.decode();
+            for (UnaryOperator<BufferedImage> operation : this.operations) {
+                image = operation.apply(image);
+            }
+            this.rendered = image;
+        }
+        return this.rendered;
+    }
+
+    /**
+     * 获取流水线结果的字节，供只接受字节输入的编码器使用
+     * <p>
+     * 没有任何操作且由字节创建时直接返回原始字节，不会解码；所有操作都没有改变图片（如图片本身不超过 {@link #fitWithin} 的范围）时
+     * 同样返回原始字节；否则以无损 PNG 编码处理后的图片，编码结果会被复用。
+     *
+     * @return 图片字节
+     * @throws IOException 解码或编码失败时抛出
+     */
+    public byte[] toBytes() throws IOException {
+        if (this.sourceBytes != null && (this.operations.isEmpty() || this.render() == this.decoded)) {
+            return this.sourceBytes;
+        }
+        if (this.renderedBytes == null) {
+            this.renderedBytes = this.encode(INTERMEDIATE_FORMAT, -1);
+        }
+        return this.renderedBytes;
+    }
+
+    /**
+     * 基于当前结果创建一条按比例缩小的新流水线
+     * <p>
+     * 新流水线直接持有缩放后的图片并沿用源图片格式，不会重新解码；当前流水线不受影响。
+     *
+     * @param factor 缩放比例，取值范围为 (0, 1]
+     * @return 新流水线
+     * @throws IOException 解码失败时抛出
+     */
+    @NotNull
+    public ImagePipeline scaledCopy(double factor) throws IOException {
+        BufferedImage image = this.render();
+        int width = Math.max(1, (int) Math.round(image.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * factor));
+
+        ImagePipeline copy = new ImagePipeline();
+        copy.sourceFormat = this.getSourceFormat();
+        copy.decoded = factor >= 1 ? image : ImageUtils.scaleImage(image, width, height);
+        return copy;
+    }
+
+    /**
+     * 将流水线结果编码为指定格式
+     * <p>
+     * JPEG、BMP 等不支持透明通道的格式会自动去除透明通道。
+     *
+     * @param format  输出格式名称，如 png、jpg、webp
+     * @param quality 输出质量，取值范围为 0-100，小于 0 时使用编码器默认质量
+     * @return 编码后的字节
+     * @throws IOException 解码或编码失败时抛出
+     */
+    public byte[] encode(@NotNull String format, int quality) throws IOException {
+        String outputFormat = format.toLowerCase(Locale.ROOT);
+        BufferedImage image = this.render();
+        if (!supportsAlpha(outputFormat) && image.getColorModel().hasAlpha()) {
+            image = ImageUtils.removeAlpha(image);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Thumbnails.Builder<BufferedImage> builder = Thumbnails.of(image)
+            .scale(1f)
+            .outputFormat(outputFormat);
+        if (quality >= 0) {
+            builder.outputQuality(quality * 1.0 / 100);
+        }
+        builder.toOutputStream(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 将流水线结果按源图片格式编码
+     * <p>
+     * 源格式未知（如由内存图片创建）时使用 PNG。
+     *
+     * @param quality 输出质量，取值范围为 0-100，小于 0 时使用编码器默认质量
+     * @return 编码后的字节
+     * @throws IOException 解码或编码失败时抛出
+     */
+    public byte[] encodeAsSource(int quality) throws IOException {
+        String format = this.getSourceFormat();
+        return this.encode(format != null ? format : INTERMEDIATE_FORMAT, quality);
+    }
+
+    /**
+     * 解码原始图片字节，并记录图片格式
+     * <p>
+     * 格式名称只读取文件头获得；解码交给 Thumbnailator，与直接压缩输入流时一样会按 EXIF 方向信息旋转图片。
+     *
+     * @return 解码后的图片
+     * @throws IOException 无法识别格式或解码失败时抛出
+     */
+    @NotNull
+    private BufferedImage decode() throws IOException {
+        if (this.decoded != null) {
+            return this.decoded;
+        }
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(this.sourceBytes))) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("无法识别的图片格式");
+            }
+            this.sourceFormat = readers.next().getFormatName().toLowerCase(Locale.ROOT);
+        }
+        this.decoded = Thumbnails.of(new ByteArrayInputStream(this.sourceBytes)).scale(1f).asBufferedImage();
+        log.debug("解码图片: {} {}x{}", this.sourceFormat, this.decoded.getWidth(), this.decoded.getHeight());
+        return this.decoded;
+    }
+
+    /**
+     * 判断输出格式是否支持透明通道
+     *
+     * @param format 格式名称（小写）
+     * @return 支持返回 true
+     */
+    private static boolean supportsAlpha(String format) {
+        return switch (format) {
+            case "jpg", "jpeg", "bmp", "wbmp" -> false;
+            default -> true;
+        };
+    }
+}
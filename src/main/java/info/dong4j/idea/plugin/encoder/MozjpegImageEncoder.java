@@ -0,0 +1,74 @@
+package info.dong4j.idea.plugin.encoder;
+
+import info.dong4j.idea.plugin.enums.ImageEncoderEnum;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * 基于 mozjpeg 的 JPEG 压缩编码器
+ * <p>
+ * 调用 mozjpeg 提供的 cjpeg 命令重新编码 JPEG。Homebrew 以 keg-only 方式安装 mozjpeg，
+ * 因此会优先在 mozjpeg 的安装目录中查找，避免误用系统自带的 libjpeg cjpeg（后者不支持 JPEG 输入）。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class MozjpegImageEncoder extends AbstractProcessImageEncoder {
+
+    /**
+     * 获取编码器类型
+     *
+     * @return {@link ImageEncoderEnum#MOZJPEG}
+     */
+    @Override
+    public @NotNull ImageEncoderEnum getType() {
+        return ImageEncoderEnum.MOZJPEG;
+    }
+
+    /**
+     * mozjpeg 的常见安装目录
+     *
+     * @return 额外目录列表
+     */
+    @Override
+    protected List<String> extraSearchDirs() {
+        return List.of("/opt/homebrew/opt/mozjpeg/bin", "/usr/local/opt/mozjpeg/bin", "/opt/mozjpeg/bin");
+    }
+
+    /**
+     * 判断是否支持指定操作
+     *
+     * @param operation 编码操作
+     * @param extension 源图片扩展名
+     * @return 支持返回 true
+     */
+    @Override
+    public boolean supports(@NotNull Operation operation, @NotNull String extension) {
+        return operation == Operation.COMPRESS && ("jpg".equals(extension) || "jpeg".equals(extension));
+    }
+
+    /**
+     * 构建编码命令
+     *
+     * @param executable 可执行文件路径
+     * @param operation  编码操作
+     * @param input      输入临时文件
+     * @param output     输出临时文件
+     * @param quality    编码质量，取值范围为 0-100
+     * @return 命令及参数列表
+     */
+    @Override
+    protected List<String> buildCommand(@NotNull String executable,
+                                        @NotNull Operation operation,
+                                        @NotNull File input,
+                                        @NotNull File output,
+                                        int quality) {
+        return List.of(executable, "-quality", String.valueOf(quality), "-optimize", "-progressive", "-outfile", output.getAbsolutePath(),
+                       input.getAbsolutePath());
+    }
+}
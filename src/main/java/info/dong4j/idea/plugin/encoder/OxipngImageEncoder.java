@@ -0,0 +1,62 @@
+package info.dong4j.idea.plugin.encoder;
+
+import info.dong4j.idea.plugin.enums.ImageEncoderEnum;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * 基于 oxipng 的 PNG 无损优化编码器
+ * <p>
+ * oxipng 多线程地尝试不同的压缩参数，在不损失画质的前提下减小 PNG 体积，因此会忽略质量参数。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class OxipngImageEncoder extends AbstractProcessImageEncoder {
+
+    /**
+     * 获取编码器类型
+     *
+     * @return {@link ImageEncoderEnum#OXIPNG}
+     */
+    @Override
+    public @NotNull ImageEncoderEnum getType() {
+        return ImageEncoderEnum.OXIPNG;
+    }
+
+    /**
+     * 判断是否支持指定操作
+     *
+     * @param operation 编码操作
+     * @param extension 源图片扩展名
+     * @return 支持返回 true
+     */
+    @Override
+    public boolean supports(@NotNull Operation operation, @NotNull String extension) {
+        return operation == Operation.COMPRESS && "png".equals(extension);
+    }
+
+    /**
+     * 构建编码命令
+     *
+     * @param executable 可执行文件路径
+     * @param operation  编码操作
+     * @param input      输入临时文件
+     * @param output     输出临时文件
+     * @param quality    编码质量，取值范围为 0-100
+     * @return 命令及参数列表
+     */
+    @Override
+    protected List<String> buildCommand(@NotNull String executable,
+                                        @NotNull Operation operation,
+                                        @NotNull File input,
+                                        @NotNull File output,
+                                        int quality) {
+        return List.of(executable, "-o", "2", "--strip", "safe", "--out", output.getAbsolutePath(), input.getAbsolutePath());
+    }
+}
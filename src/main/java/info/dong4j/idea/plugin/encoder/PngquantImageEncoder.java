@@ -0,0 +1,63 @@
+package info.dong4j.idea.plugin.encoder;
+
+import info.dong4j.idea.plugin.enums.ImageEncoderEnum;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * 基于 pngquant 的 PNG 有损压缩编码器
+ * <p>
+ * pngquant 将 PNG 量化为调色板图片，体积通常可以减少 60% 以上。质量参数作为 pngquant 的质量上限使用。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class PngquantImageEncoder extends AbstractProcessImageEncoder {
+
+    /**
+     * 获取编码器类型
+     *
+     * @return {@link ImageEncoderEnum#PNGQUANT}
+     */
+    @Override
+    public @NotNull ImageEncoderEnum getType() {
+        return ImageEncoderEnum.PNGQUANT;
+    }
+
+    /**
+     * 判断是否支持指定操作
+     *
+     * @param operation 编码操作
+     * @param extension 源图片扩展名
+     * @return 支持返回 true
+     */
+    @Override
+    public boolean supports(@NotNull Operation operation, @NotNull String extension) {
+        return operation == Operation.COMPRESS && "png".equals(extension);
+    }
+
+    /**
+     * 构建编码命令
+     *
+     * @param executable 可执行文件路径
+     * @param operation  编码操作
+     * @param input      输入临时文件
+     * @param output     输出临时文件
+     * @param quality    编码质量，取值范围为 0-100
+     * @return 命令及参数列表
+     */
+    @Override
+    protected List<String> buildCommand(@NotNull String executable,
+                                        @NotNull Operation operation,
+                                        @NotNull File input,
+                                        @NotNull File output,
+                                        int quality) {
+        return List.of(executable, "--force", "--strip", "--quality", "0-" + quality, "--output", output.getAbsolutePath(), "--",
+                       input.getAbsolutePath());
+    }
+}
@@ -0,0 +1,115 @@
+package info.dong4j.idea.plugin.encoder;
+
+import info.dong4j.idea.plugin.enums.ImageEncoderEnum;
+import info.dong4j.idea.plugin.util.ImageUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * 基于 Thumbnailator 的默认编码器
+ * <p>
+ * 使用 Thumbnailator 与 ImageIO 自带的纯 Java 编码器，任何环境下都可用于普通压缩。
+ * WebP 转换依赖 ImageIO 中注册的 WebP 插件，未安装插件时 {@link #supports} 返回 false，而不是静默输出空结果。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class ThumbnailatorImageEncoder implements ImageEncoder {
+
+    /**
+     * 获取编码器类型
+     *
+     * @return {@link ImageEncoderEnum#THUMBNAILATOR}
+     */
+    @Override
+    public @NotNull ImageEncoderEnum getType() {
+        return ImageEncoderEnum.THUMBNAILATOR;
+    }
+
+    /**
+     * 内置编码器始终可用
+     *
+     * @return 始终返回 true
+     */
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * 判断是否支持指定操作
+     * <p>
+     * 普通压缩始终支持；WebP 转换仅在 ImageIO 注册了 WebP 写入器时支持。
+     *
+     * @param operation 编码操作
+     * @param extension 源图片扩展名
+     * @return 支持返回 true
+     */
+    @Override
+    public boolean supports(@NotNull Operation operation, @NotNull String extension) {
+        return operation == Operation.COMPRESS || ImageUtils.isWebpWritable();
+    }
+
+    /**
+     * 使用 Thumbnailator 保持原尺寸按质量压缩
+     *
+     * @param source    原始图片字节
+     * @param extension 源图片扩展名
+     * @param quality   压缩质量，取值范围为 0-100
+     * @return 压缩后的图片字节
+     * @throws IOException 编码失败时抛出
+     */
+    @Override
+    public byte[] compress(byte[] source, @NotNull String extension, int quality) throws IOException {
+        return this.compress(ImagePipeline.of(source), extension, quality);
+    }
+
+    /**
+     * 使用 ImageIO WebP 插件转换为 WebP
+     *
+     * @param source    原始图片字节
+     * @param extension 源图片扩展名
+     * @param quality   WebP 质量，取值范围为 0-100
+     * @return WebP 图片字节
+     * @throws IOException 没有可用的 WebP 插件或编码失败时抛出
+     */
+    @Override
+    public byte[] toWebp(byte[] source, @NotNull String extension, int quality) throws IOException {
+        return this.toWebp(ImagePipeline.of(source), extension, quality);
+    }
+
+    /**
+     * 直接编码流水线中已解码的图片，按源格式压缩
+     *
+     * @param pipeline  图片处理流水线
+     * @param extension 源图片扩展名
+     * @param quality   压缩质量，取值范围为 0-100
+     * @return 压缩后的图片字节
+     * @throws IOException 解码或编码失败时抛出
+     */
+    @Override
+    public byte[] compress(@NotNull ImagePipeline pipeline, @NotNull String extension, int quality) throws IOException {
+        return pipeline.encodeAsSource(quality);
+    }
+
+    /**
+     * 直接将流水线中已解码的图片编码为 WebP
+     *
+     * @param pipeline  图片处理流水线
+     * @param extension 源图片扩展名
+     * @param quality   WebP 质量，取值范围为 0-100
+     * @return WebP 图片字节
+     * @throws IOException 没有可用的 WebP 插件、解码或编码失败时抛出
+     */
+    @Override
+    public byte[] toWebp(@NotNull ImagePipeline pipeline, @NotNull String extension, int quality) throws IOException {
+        if (!ImageUtils.isWebpWritable()) {
+            throw new IOException("当前环境没有可用的 WebP ImageIO 插件");
+        }
+        return pipeline.encode("webp", quality);
+    }
+}
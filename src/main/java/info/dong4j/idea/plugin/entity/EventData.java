@@ -6,7 +6,10 @@ import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.project.Project;
 
+import info.dong4j.idea.plugin.chain.MigrationJournal;
+import info.dong4j.idea.plugin.chain.MigrationPlan;
 import info.dong4j.idea.plugin.chain.ProgressTracker;
+import info.dong4j.idea.plugin.chain.event.ChainEventLog;
 import info.dong4j.idea.plugin.client.OssClient;
 
 import java.util.List;
@@ -52,6 +55,12 @@ public class EventData {
     private int index;
     /** 进度跟踪器，用于统一管理进度展示 */
     private ProgressTracker progressTracker;
+    /** 本次运行的结构化事件日志，由 ActionManager 在运行开始时创建，单独执行处理器时为 null */
+    private ChainEventLog eventLog;
+    /** 图床迁移日志，由 MigrationJournalHandler 在迁移到图床时打开，其他情况下为 null */
+    private MigrationJournal migrationJournal;
+    /** 图床迁移计划，由 ImageMigrationAction 在确认迁移前生成，其中的图片已经解析并过滤过，其他情况下为 null */
+    private MigrationPlan migrationPlan;
 
     /**
      * 临时存储路径
@@ -1,21 +1,29 @@
 package info.dong4j.idea.plugin.entity;
 
+import com.intellij.openapi.editor.RangeMarker;
 import com.intellij.openapi.vfs.VirtualFile;
 
 import info.dong4j.idea.plugin.enums.ImageLocationEnum;
 import info.dong4j.idea.plugin.enums.ImageMarkEnum;
 
+import java.awt.Image;
 import java.io.InputStream;
 import java.io.Serial;
 import java.io.Serializable;
 
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
 
 /**
  * Markdown 图片信息实体类
  * <p>
  * 用于存储和表示 Markdown 文档中图片的相关信息，包括文件名、图片名、类型、原始行文本、行号、偏移量、图片标题、图片地址、图片位置等属性。
  * 该类支持序列化，适用于在不同系统间传输 Markdown 图片数据。
+ * <p>
+ * 位置相关的字段提供 {@code withXxx} 方法，返回复制了其他所有字段的新对象，用于在不修改共享对象的情况下移动图片的位置。
  *
  * @author dong4j
  * @version 1.0.0
@@ -23,6 +31,8 @@ import lombok.Data;
  * @since 1.0.0
  */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class MarkdownImage implements Serializable {
     /** 序列化版本号，用于确保类的兼容性 */
     @Serial
@@ -38,11 +48,20 @@ public class MarkdownImage implements Serializable {
     /** 原始的 markdown 图片标记 */
     private String originalMark;
     /** 行数 */
+    @With
     private int lineNumber;
     /** 行第一个字符的偏移量 */
     private int lineStartOffset;
     /** 行最后一个字符的偏移量 */
     private int lineEndOffset;
+    /** 图片标签（包括外层的 {@code <a>} 标签）在文档中的起始偏移量，不是从文档解析得到时为 -1 */
+    @With
+    private int markStartOffset = -1;
+    /** 图片标签（包括外层的 {@code <a>} 标签）在文档中的结束偏移量，不是从文档解析得到时为 -1 */
+    @With
+    private int markEndOffset = -1;
+    /** 从文档中解析出的图片标签（包括外层的 {@code <a>} 标签），只在解析时设置，写回文档时用于定位原标签，处理器不应修改 */
+    private String documentMark;
     /** 图片标题 */
     private String title;
     /** 图片地址，支持本地全路径或网络地址（http/https） */
@@ -61,4 +80,8 @@ public class MarkdownImage implements Serializable {
     private String sourceFilePath;
     /** 标记图片是否为图片流（true）还是文件（false） */
     private boolean isImageStream = true;
+    /** 剪贴板中尚未编码的图片，由 ImagePrepareHandler 在后台编码后清空 */
+    private transient Image clipboardImage;
+    /** 粘贴时插入到编辑器中的占位标签，写入最终标签时被替换 */
+    private transient RangeMarker placeholder;
 }
@@ -4,7 +4,9 @@ import info.dong4j.idea.plugin.MikBundle;
 import info.dong4j.idea.plugin.util.EnumsUtils;
 
 import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -142,4 +144,37 @@ public enum CloudEnum {
         Optional<CloudEnum> cloudType = EnumsUtils.getEnumObject(CloudEnum.class, e -> e.getIndex() == cloudIndex);
         return cloudType.orElse(null);
     }
+
+    /**
+     * 根据图片地址的主机名推断所在的图床
+     * <p>
+     * 按各图床默认域名的后缀匹配；使用自定义域名、自定义图床或 PicList 上传的图片无法识别。
+     *
+     * @param host 主机名
+     * @return 对应的图床，无法识别时返回 null
+     * @since 2.3.0
+     */
+    @Nullable
+    public static CloudEnum ofHost(@Nullable String host) {
+        if (host == null) {
+            return null;
+        }
+        String lowerHost = host.toLowerCase(Locale.ROOT);
+        if (lowerHost.equals("sm.ms") || lowerHost.endsWith(".sm.ms") || lowerHost.endsWith("loli.net")) {
+            return SM_MS_CLOUD;
+        } else if (lowerHost.endsWith(".aliyuncs.com")) {
+            return ALIYUN_CLOUD;
+        } else if (lowerHost.endsWith(".clouddn.com") || lowerHost.endsWith(".qiniucdn.com") || lowerHost.endsWith(".qnssl.com")) {
+            return QINIU_CLOUD;
+        } else if (lowerHost.endsWith(".myqcloud.com")) {
+            return TENCENT_CLOUD;
+        } else if (lowerHost.endsWith(".bcebos.com")) {
+            return BAIDU_CLOUD;
+        } else if (lowerHost.endsWith("githubusercontent.com") || lowerHost.equals("github.com")) {
+            return GITHUB;
+        } else if (lowerHost.equals("gitee.com")) {
+            return GITEE;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,117 @@
+package info.dong4j.idea.plugin.enums;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 图片编码器枚举
+ * <p>
+ * 定义了压缩和 WebP 转换时可选的编码器后端。除内置的 Thumbnailator 外，其余后端依赖本机安装的命令行工具，
+ * 启动时会检测是否可用并进行基准测试。{@link #AUTO} 表示自动选择基准测试中最快的可用后端。
+ * 每个枚举值包含索引（value）、名称（name）和对应的可执行文件名（executable）三个属性。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public enum ImageEncoderEnum {
+    /** 自动选择最快的可用编码器 */
+    AUTO(0, "Auto", null),
+    /** 内置的 Thumbnailator + ImageIO 编码器 */
+    THUMBNAILATOR(1, "Thumbnailator", null),
+    /** Google cwebp，用于 WebP 编码 */
+    CWEBP(2, "cwebp", "cwebp"),
+    /** pngquant，有损 PNG 压缩 */
+    PNGQUANT(3, "pngquant", "pngquant"),
+    /** oxipng，无损 PNG 优化 */
+    OXIPNG(4, "oxipng", "oxipng"),
+    /** mozjpeg 的 cjpeg，JPEG 压缩 */
+    MOZJPEG(5, "mozjpeg", "cjpeg");
+
+    /** 索引值 */
+    public final int value;
+    /** 编码器名称 */
+    public final String name;
+    /** 可执行文件名，内置编码器为 null */
+    public final String executable;
+
+    /**
+     * 构造函数
+     *
+     * @param value      索引值
+     * @param name       编码器名称
+     * @param executable 可执行文件名
+     */
+    @Contract(pure = true)
+    ImageEncoderEnum(int value, @NotNull String name, @Nullable String executable) {
+        this.value = value;
+        this.name = name;
+        this.executable = executable;
+    }
+
+    /**
+     * 获取索引值
+     *
+     * @return 索引值
+     */
+    @Contract(pure = true)
+    public int getValue() {
+        return this.value;
+    }
+
+    /**
+     * 获取编码器名称
+     *
+     * @return 编码器名称
+     */
+    @Contract(pure = true)
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * 获取可执行文件名
+     *
+     * @return 可执行文件名，内置编码器返回 null
+     */
+    @Contract(pure = true)
+    public String getExecutable() {
+        return this.executable;
+    }
+
+    /**
+     * 根据索引值获取对应的枚举
+     *
+     * @param value 索引值
+     * @return 对应的枚举值，如果未找到则返回 null
+     */
+    @Nullable
+    public static ImageEncoderEnum of(int value) {
+        Optional<ImageEncoderEnum> enumValue = Arrays.stream(ImageEncoderEnum.values())
+            .filter(e -> e.getValue() == value)
+            .findFirst();
+        return enumValue.orElse(null);
+    }
+
+    /**
+     * 获取所有名称数组
+     * <p>
+     * 按照枚举值的索引顺序返回名称数组，用于填充下拉框
+     *
+     * @return 名称数组
+     */
+    @NotNull
+    public static String[] getNames() {
+        ImageEncoderEnum[] values = ImageEncoderEnum.values();
+        String[] names = new String[values.length];
+        for (ImageEncoderEnum encoderEnum : values) {
+            names[encoderEnum.getValue()] = encoderEnum.getName();
+        }
+        return names;
+    }
+}
@@ -0,0 +1,92 @@
+package info.dong4j.idea.plugin.enums;
+
+import info.dong4j.idea.plugin.MikBundle;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * 本地图片复制方式枚举
+ * <p>
+ * 开启「对本地位置的图片应用上述规则」后，本地图片被复制到 ./imgs、./${filename}.assets 等目录的方式。
+ * 硬链接和写时复制克隆都不占用额外的磁盘空间，不支持时（如跨设备、文件系统不支持）自动退回普通复制。
+ * 每个枚举值包含索引（value）和资源包 key（titleKey）两个属性。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public enum LocalImageCopyModeEnum {
+    /** 普通复制 */
+    COPY(0, "local.image.copy.mode.copy"),
+    /** 硬链接，与原文件共享同一份数据，修改任意一方都会影响另一方 */
+    HARD_LINK(1, "local.image.copy.mode.hard.link"),
+    /** 写时复制克隆（APFS、Btrfs、XFS 等），修改副本不影响原文件 */
+    CLONE(2, "local.image.copy.mode.clone");
+
+    /** 索引值 */
+    public final int value;
+    /** 资源包 key */
+    public final String titleKey;
+
+    /**
+     * 构造函数
+     *
+     * @param value      索引值
+     * @param titleKey 资源包 key
+     */
+    @Contract(pure = true)
+    LocalImageCopyModeEnum(int value, @NotNull String titleKey) {
+        this.value = value;
+        this.titleKey = titleKey;
+    }
+
+    /**
+     * 获取索引值
+     *
+     * @return 索引值
+     */
+    @Contract(pure = true)
+    public int getValue() {
+        return this.value;
+    }
+
+    /**
+     * 获取本地化名称
+     *
+     * @return 本地化名称
+     */
+    @NotNull
+    public String getTitle() {
+        return MikBundle.message(this.titleKey);
+    }
+
+    /**
+     * 根据索引值获取对应的枚举
+     *
+     * @param value 索引值
+     * @return 对应的枚举值，未找到时返回 {@link #COPY}
+     */
+    @NotNull
+    public static LocalImageCopyModeEnum of(int value) {
+        return Arrays.stream(LocalImageCopyModeEnum.values())
+            .filter(e -> e.getValue() == value)
+            .findFirst()
+            .orElse(COPY);
+    }
+
+    /**
+     * 获取所有本地化名称数组
+     * <p>
+     * 按照枚举值的索引顺序返回名称数组，用于填充下拉框
+     *
+     * @return 名称数组
+     */
+    @NotNull
+    public static String[] getTitles() {
+        return Arrays.stream(LocalImageCopyModeEnum.values()).map(LocalImageCopyModeEnum::getTitle).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,156 @@
+package info.dong4j.idea.plugin.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁延迟直方图
+ * <p>
+ * 采用与 HdrHistogram 相同的对数-线性分桶：每个 2 的幂区间再等分为 {@link #SUB_BUCKETS} 个子桶，
+ * 相对误差不超过 1/{@value #SUB_BUCKETS}，总共只占用几 KB 的固定内存。数值单位为微秒，超过 {@link #MAX_VALUE} 的记录按上限计入。
+ * <p>
+ * 记录只做一次原子自增，可以在任意线程中并发调用；读取百分位时遍历桶计数，得到的是近似的快照。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public final class LatencyHistogram {
+    /** 每个 2 的幂区间的子桶数量的位数 */
+    private static final int SUB_BUCKET_BITS = 4;
+    /** 每个 2 的幂区间的子桶数量 */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** 可记录的最大值（微秒），约 12.7 天 */
+    static final long MAX_VALUE = (1L << 40) - 1;
+    /** 桶数量 */
+    private static final int BUCKET_COUNT = indexOf(MAX_VALUE) + 1;
+
+    /** 各桶的计数 */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    /** 总记录数 */
+    private final AtomicLong count = new AtomicLong();
+    /** 记录值总和 */
+    private final LongAdder sum = new LongAdder();
+    /** 记录的最大值 */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 记录一个值
+     *
+     * @param micros 耗时（微秒），负数按 0 记录
+     */
+    public void record(long micros) {
+        long value = Math.min(MAX_VALUE, Math.max(0, micros));
+        this.buckets.incrementAndGet(indexOf(value));
+        this.sum.add(value);
+        this.max.accumulate(value);
+        this.count.incrementAndGet();
+    }
+
+    /**
+     * 获取总记录数
+     *
+     * @return 记录数
+     */
+    public long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     * 获取记录的最大值
+     *
+     * @return 最大值（微秒）
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * 获取平均值
+     *
+     * @return 平均值（微秒），没有记录时返回 0
+     */
+    public double getMean() {
+        long total = this.count.get();
+        return total == 0 ? 0 : this.sum.sum() * 1.0 / total;
+    }
+
+    /**
+     * 获取百分位数
+     * <p>
+     * 返回目标排名所在桶的中点值，不超过记录的最大值。
+     *
+     * @param percentile 百分位（0-100）
+     * @return 百分位数（微秒），没有记录时返回 0
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = this.buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long lower = lowerBoundOf(i);
+                long width = lowerBoundOf(i + 1) - lower;
+                return Math.min(this.getMax(), lower + (width - 1) / 2);
+            }
+        }
+        return this.getMax();
+    }
+
+    /**
+     * 清空所有记录
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.buckets.set(i, 0);
+        }
+        this.sum.reset();
+        this.max.reset();
+        this.count.set(0);
+    }
+
+    /**
+     * 计算值所在的桶索引
+     * <p>
+     * 小于 {@link #SUB_BUCKETS} 的值各占一个桶；更大的值按最高位确定区间，再取紧随其后的 {@link #SUB_BUCKET_BITS} 位作为子桶。
+     *
+     * @param value 非负值
+     * @return 桶索引
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    /**
+     * 计算桶的下界
+     *
+     * @param index 桶索引
+     * @return 桶中最小的值
+     */
+    static long lowerBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long mantissa = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + mantissa) << (exponent - SUB_BUCKET_BITS);
+    }
+}
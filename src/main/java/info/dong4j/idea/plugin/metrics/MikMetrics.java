@@ -0,0 +1,401 @@
+package info.dong4j.idea.plugin.metrics;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.FlightRecorder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 插件运行指标服务
+ * <p>
+ * 应用级服务，跨多次运行累计每个处理器、每个图床（{@code CloudEnum}）、每个下载主机以及每个编码器的调用次数、失败次数、
+ * 进行中的请求数、输入输出字节数（用于计算压缩率）和延迟直方图。所有计数都是无锁的，可以在处理线程中直接记录。
+ * <p>
+ * 指标可以在 MIK Console 工具窗口的「指标」页签中查看；同时以 JFR 自定义事件的形式输出：每次操作一个
+ * {@link MikOperationEvent}，录制期间每分钟为每个指标提交一个 {@link MikMetricsSummaryEvent}。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+@Service(Service.Level.APP)
+public final class MikMetrics implements Disposable {
+    /** 所有指标，按类别和名称索引 */
+    private final Map<Key, Metric> metrics = new ConcurrentHashMap<>();
+    /** 周期性提交汇总事件的钩子 */
+    private final Runnable summaryHook = this::emitSummaryEvents;
+
+    /**
+     * 创建指标服务，并注册周期性的 JFR 汇总事件
+     */
+    public MikMetrics() {
+        try {
+            FlightRecorder.addPeriodicEvent(MikMetricsSummaryEvent.class, this.summaryHook);
+        } catch (Exception e) {
+            log.debug("注册 JFR 周期事件失败", e);
+        }
+    }
+
+    /**
+     * 获取指标服务实例
+     *
+     * @return 指标服务
+     */
+    @NotNull
+    public static MikMetrics getInstance() {
+        return ApplicationManager.getApplication().getService(MikMetrics.class);
+    }
+
+    /**
+     * 开始计时一次操作
+     * <p>
+     * 进行中的请求数加一，直到调用 {@link Sample#stop} 为止。
+     *
+     * @param category 指标类别
+     * @param name     指标名称，如处理器名称、图床类型或主机名
+     * @return 计时样本
+     */
+    @NotNull
+    public Sample start(@NotNull Category category, @NotNull String name) {
+        Metric metric = this.metrics.computeIfAbsent(new Key(category, name), k -> new Metric());
+        metric.inFlight.incrementAndGet();
+
+        MikOperationEvent event = new MikOperationEvent();
+        if (event.isEnabled()) {
+            event.category = category.name();
+            event.name = name;
+            event.begin();
+        } else {
+            event = null;
+        }
+        return new Sample(this, category, metric, event, System.nanoTime());
+    }
+
+    /**
+     * 开始计时一次名称在结束时才能确定的操作
+     * <p>
+     * 用于编码器这类执行前无法确定实际名称的操作（如自动选择或失败回退），需通过
+     * {@link Sample#stop(String, boolean, long, long)} 结束；由于开始时没有所属指标，不计入进行中的请求数。
+     *
+     * @param category 指标类别
+     * @return 计时样本
+     */
+    @NotNull
+    public Sample start(@NotNull Category category) {
+        MikOperationEvent event = new MikOperationEvent();
+        if (event.isEnabled()) {
+            event.category = category.name();
+            event.begin();
+        } else {
+            event = null;
+        }
+        return new Sample(this, category, null, event, System.nanoTime());
+    }
+
+    /**
+     * 获取所有指标的快照，按类别和名称排序
+     *
+     * @return 指标快照
+     */
+    @NotNull
+    public List<Snapshot> snapshot() {
+        List<Snapshot> snapshots = new ArrayList<>(this.metrics.size());
+        for (Map.Entry<Key, Metric> entry : this.metrics.entrySet()) {
+            snapshots.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        snapshots.sort(Comparator.comparing(Snapshot::category).thenComparing(Snapshot::name));
+        return snapshots;
+    }
+
+    /**
+     * 清空所有已结束操作的统计
+     * <p>
+     * 进行中的请求数保持不变，以免正在执行的操作结束时出现负数。
+     */
+    public void reset() {
+        for (Metric metric : this.metrics.values()) {
+            metric.reset();
+        }
+    }
+
+    /**
+     * 从 URL 中提取主机名，作为 {@link Category#HOST} 指标的名称
+     *
+     * @param url URL
+     * @return 主机名，无法解析时返回 "unknown"
+     */
+    @NotNull
+    public static String hostOf(@Nullable String url) {
+        if (url == null) {
+            return "unknown";
+        }
+        try {
+            String host = URI.create(url.trim()).getHost();
+            return host != null ? host : "unknown";
+        } catch (IllegalArgumentException e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * 为每个指标提交一个 JFR 汇总事件
+     */
+    private void emitSummaryEvents() {
+        for (Snapshot snapshot : this.snapshot()) {
+            MikMetricsSummaryEvent event = new MikMetricsSummaryEvent();
+            event.category = snapshot.category().name();
+            event.name = snapshot.name();
+            event.count = snapshot.count();
+            event.failures = snapshot.failures();
+            event.inFlight = snapshot.inFlight();
+            event.bytesIn = snapshot.bytesIn();
+            event.bytesOut = snapshot.bytesOut();
+            event.p50 = snapshot.p50Micros();
+            event.p95 = snapshot.p95Micros();
+            event.p99 = snapshot.p99Micros();
+            event.max = snapshot.maxMicros();
+            event.commit();
+        }
+    }
+
+    /**
+     * 释放资源，移除 JFR 周期事件钩子
+     */
+    @Override
+    public void dispose() {
+        FlightRecorder.removePeriodicEvent(this.summaryHook);
+    }
+
+    /**
+     * 指标类别
+     */
+    public enum Category {
+        /** 处理链中的处理器 */
+        HANDLER,
+        /** 图床上传，名称为 CloudEnum */
+        CLOUD,
+        /** 网络图片下载，名称为主机名 */
+        HOST,
+        /** 图片编码器，记录压缩前后的字节数 */
+        ENCODER
+    }
+
+    /**
+     * 一次操作的计时样本
+     * <p>
+     * 由 {@link MikMetrics#start} 创建，只能结束一次。
+     */
+    public static final class Sample {
+        /** 所属指标服务 */
+        private final MikMetrics owner;
+        /** 指标类别 */
+        private final Category category;
+        /** 所属指标，名称在结束时才确定时为 null */
+        private final Metric metric;
+        /** JFR 事件，未启用时为 null */
+        private final MikOperationEvent event;
+        /** 开始时间（纳秒） */
+        private final long startNanos;
+        /** 是否已结束 */
+        private boolean stopped;
+
+        /**
+         * 创建计时样本
+         *
+         * @param owner      所属指标服务
+         * @param category   指标类别
+         * @param metric     所属指标，名称未定时为 null
+         * @param event      JFR 事件
+         * @param startNanos 开始时间（纳秒）
+         */
+        private Sample(MikMetrics owner, Category category, Metric metric, MikOperationEvent event, long startNanos) {
+            this.owner = owner;
+            this.category = category;
+            this.metric = metric;
+            this.event = event;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 结束计时，不记录字节数
+         *
+         * @param success 操作是否成功
+         */
+        public void stop(boolean success) {
+            this.stop(success, 0, 0);
+        }
+
+        /**
+         * 结束计时并记录结果
+         * <p>
+         * 对 {@link MikMetrics#start(Category)} 创建的样本无效，此类样本需通过 {@link #stop(String, boolean, long, long)} 结束。
+         *
+         * @param success  操作是否成功
+         * @param bytesIn  输入字节数，未知时传 0
+         * @param bytesOut 输出字节数，未知时传 0
+         */
+        public void stop(boolean success, long bytesIn, long bytesOut) {
+            if (this.stopped || this.metric == null) {
+                return;
+            }
+            this.stopped = true;
+            this.metric.record((System.nanoTime() - this.startNanos) / 1000L, success, bytesIn, bytesOut);
+            this.metric.inFlight.decrementAndGet();
+            this.commitEvent(success, bytesIn, bytesOut);
+        }
+
+        /**
+         * 结束计时并记录到给定名称的指标下
+         * <p>
+         * 用于 {@link MikMetrics#start(Category)} 创建的样本；已有所属指标时忽略名称，等同于 {@link #stop(boolean, long, long)}。
+         *
+         * @param name     指标名称
+         * @param success  操作是否成功
+         * @param bytesIn  输入字节数，未知时传 0
+         * @param bytesOut 输出字节数，未知时传 0
+         */
+        public void stop(@NotNull String name, boolean success, long bytesIn, long bytesOut) {
+            if (this.metric != null) {
+                this.stop(success, bytesIn, bytesOut);
+                return;
+            }
+            if (this.stopped) {
+                return;
+            }
+            this.stopped = true;
+            this.owner.metrics.computeIfAbsent(new Key(this.category, name), k -> new Metric())
+                .record((System.nanoTime() - this.startNanos) / 1000L, success, bytesIn, bytesOut);
+            if (this.event != null) {
+                this.event.name = name;
+            }
+            this.commitEvent(success, bytesIn, bytesOut);
+        }
+
+        /**
+         * 结束并提交 JFR 事件
+         *
+         * @param success  操作是否成功
+         * @param bytesIn  输入字节数
+         * @param bytesOut 输出字节数
+         */
+        private void commitEvent(boolean success, long bytesIn, long bytesOut) {
+            if (this.event != null) {
+                this.event.end();
+                if (this.event.shouldCommit()) {
+                    this.event.success = success;
+                    this.event.bytesIn = bytesIn;
+                    this.event.bytesOut = bytesOut;
+                    this.event.commit();
+                }
+            }
+        }
+    }
+
+    /**
+     * 指标快照
+     *
+     * @param category   指标类别
+     * @param name       指标名称
+     * @param count      累计次数
+     * @param failures   累计失败次数
+     * @param inFlight   进行中的操作数
+     * @param bytesIn    累计输入字节数
+     * @param bytesOut   累计输出字节数
+     * @param p50Micros  延迟中位数（微秒）
+     * @param p95Micros  延迟 95 分位（微秒）
+     * @param p99Micros  延迟 99 分位（微秒）
+     * @param maxMicros  最大延迟（微秒）
+     */
+    public record Snapshot(Category category, String name, long count, long failures, int inFlight, long bytesIn, long bytesOut,
+                           long p50Micros, long p95Micros, long p99Micros, long maxMicros) {
+        /**
+         * 获取压缩率（输出字节数 / 输入字节数）
+         *
+         * @return 压缩率，没有同时记录输入和输出字节数时返回 -1
+         */
+        public double compressionRatio() {
+            return this.bytesIn > 0 && this.bytesOut > 0 ? this.bytesOut * 1.0 / this.bytesIn : -1;
+        }
+    }
+
+    /**
+     * 指标键
+     *
+     * @param category 指标类别
+     * @param name     指标名称
+     */
+    private record Key(Category category, String name) {
+    }
+
+    /**
+     * 单个指标的累计数据
+     */
+    private static final class Metric {
+        /** 失败次数 */
+        private final LongAdder failures = new LongAdder();
+        /** 输入字节数 */
+        private final LongAdder bytesIn = new LongAdder();
+        /** 输出字节数 */
+        private final LongAdder bytesOut = new LongAdder();
+        /** 进行中的操作数 */
+        private final AtomicInteger inFlight = new AtomicInteger();
+        /** 延迟直方图，同时提供累计次数 */
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        /**
+         * 记录一次已结束的操作
+         *
+         * @param micros   耗时（微秒）
+         * @param success  是否成功
+         * @param bytesIn  输入字节数
+         * @param bytesOut 输出字节数
+         */
+        private void record(long micros, boolean success, long bytesIn, long bytesOut) {
+            this.latency.record(micros);
+            if (!success) {
+                this.failures.increment();
+            }
+            this.bytesIn.add(bytesIn);
+            this.bytesOut.add(bytesOut);
+        }
+
+        /**
+         * 清空已结束操作的统计
+         */
+        private void reset() {
+            this.latency.reset();
+            this.failures.reset();
+            this.bytesIn.reset();
+            this.bytesOut.reset();
+        }
+
+        /**
+         * 生成快照
+         *
+         * @param key 指标键
+         * @return 快照
+         */
+        private Snapshot snapshot(Key key) {
+            return new Snapshot(key.category(), key.name(), this.latency.getCount(), this.failures.sum(), this.inFlight.get(),
+                                this.bytesIn.sum(), this.bytesOut.sum(),
+                                this.latency.getPercentile(50), this.latency.getPercentile(95), this.latency.getPercentile(99),
+                                this.latency.getMax());
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package info.dong4j.idea.plugin.metrics;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.JBUI;
+
+import info.dong4j.idea.plugin.MikBundle;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JButton;
+import javax.swing.JPanel;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * 运行指标面板
+ * <p>
+ * 显示在 MIK Console 工具窗口的「指标」页签中，以表格列出 {@link MikMetrics} 中每个指标的累计次数、失败数、进行中的请求数、
+ * 延迟分位数、传输字节数与压缩率。面板可见时每秒刷新一次。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class MikMetricsPanel extends JPanel implements Disposable {
+    /** 刷新间隔（毫秒） */
+    private static final int REFRESH_INTERVAL_MS = 1000;
+
+    /** 表格模型 */
+    private final MetricsTableModel model = new MetricsTableModel();
+    /** 刷新定时器 */
+    private final Timer timer;
+
+    /**
+     * 创建运行指标面板
+     */
+    public MikMetricsPanel() {
+        super(new BorderLayout());
+
+        JButton refreshButton = new JButton(MikBundle.message("mik.metrics.refresh"));
+        refreshButton.addActionListener(e -> this.refresh());
+        JButton resetButton = new JButton(MikBundle.message("mik.metrics.reset"));
+        resetButton.addActionListener(e -> {
+            MikMetrics.getInstance().reset();
+            this.refresh();
+        });
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, JBUI.scale(4), 0));
+        toolbar.add(refreshButton);
+        toolbar.add(resetButton);
+
+        JBTable table = new JBTable(this.model);
+        table.setAutoCreateRowSorter(true);
+        this.add(toolbar, BorderLayout.NORTH);
+        this.add(new JBScrollPane(table), BorderLayout.CENTER);
+
+        this.timer = new Timer(REFRESH_INTERVAL_MS, e -> {
+            if (this.isShowing()) {
+                this.refresh();
+            }
+        });
+        this.timer.start();
+        this.refresh();
+    }
+
+    /**
+     * 重新读取指标快照
+     */
+    public void refresh() {
+        this.model.setRows(MikMetrics.getInstance().snapshot());
+    }
+
+    /**
+     * 停止刷新定时器
+     */
+    @Override
+    public void dispose() {
+        this.timer.stop();
+    }
+
+    /**
+     * 格式化微秒数
+     *
+     * @param micros 微秒数
+     * @return 格式化后的时长
+     */
+    private static String formatMicros(long micros) {
+        if (micros < 1000) {
+            return micros + "µs";
+        }
+        if (micros < 1_000_000) {
+            return String.format("%.1fms", micros / 1000.0);
+        }
+        return String.format("%.2fs", micros / 1_000_000.0);
+    }
+
+    /**
+     * 格式化字节数
+     *
+     * @param bytes 字节数
+     * @return 格式化后的大小
+     */
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.2f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    /**
+     * 指标表格模型
+     */
+    private static class MetricsTableModel extends AbstractTableModel {
+        /** 列标题的资源键 */
+        private static final String[] COLUMN_KEYS = {
+            "mik.metrics.column.category", "mik.metrics.column.name", "mik.metrics.column.count", "mik.metrics.column.failures",
+            "mik.metrics.column.inflight", "mik.metrics.column.p50", "mik.metrics.column.p95", "mik.metrics.column.p99",
+            "mik.metrics.column.max", "mik.metrics.column.bytes", "mik.metrics.column.ratio"
+        };
+
+        /** 当前显示的快照 */
+        private List<MikMetrics.Snapshot> rows = new ArrayList<>();
+
+        /**
+         * 替换表格数据
+         *
+         * @param rows 指标快照
+         */
+        private void setRows(@NotNull List<MikMetrics.Snapshot> rows) {
+            this.rows = rows;
+            this.fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return this.rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMN_KEYS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return MikBundle.message(COLUMN_KEYS[column]);
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column >= 2 && column <= 4 ? Long.class : String.class;
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            MikMetrics.Snapshot row = this.rows.get(rowIndex);
+            return switch (columnIndex) {
+                case 0 -> row.category().name();
+                case 1 -> row.name();
+                case 2 -> row.count();
+                case 3 -> row.failures();
+                case 4 -> (long) row.inFlight();
+                case 5 -> formatMicros(row.p50Micros());
+                case 6 -> formatMicros(row.p95Micros());
+                case 7 -> formatMicros(row.p99Micros());
+                case 8 -> formatMicros(row.maxMicros());
+                case 9 -> formatBytes(row.bytesIn());
+                case 10 -> row.compressionRatio() < 0 ? "-" : String.format("%.1f%%", row.compressionRatio() * 100);
+                default -> "";
+            };
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package info.dong4j.idea.plugin.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 指标汇总的周期性 JFR 事件
+ * <p>
+ * JFR 录制期间每分钟为每个指标提交一个事件，记录累计次数、失败数、字节数以及延迟分位数，便于在 JDK Mission Control
+ * 中观察长时间运行中各阶段的变化趋势。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Name("info.dong4j.mik.MetricsSummary")
+@Label("MIK Metrics Summary")
+@Category("Markdown Image Kit")
+@Description("Cumulative counters and latency percentiles per metric")
+@Period("60 s")
+@StackTrace(false)
+class MikMetricsSummaryEvent extends Event {
+    /** 指标类别 */
+    @Label("Category")
+    String category;
+    /** 指标名称 */
+    @Label("Name")
+    String name;
+    /** 累计次数 */
+    @Label("Count")
+    long count;
+    /** 累计失败次数 */
+    @Label("Failures")
+    long failures;
+    /** 进行中的操作数 */
+    @Label("In Flight")
+    int inFlight;
+    /** 累计输入字节数 */
+    @Label("Bytes In")
+    @DataAmount
+    long bytesIn;
+    /** 累计输出字节数 */
+    @Label("Bytes Out")
+    @DataAmount
+    long bytesOut;
+    /** 延迟中位数 */
+    @Label("p50")
+    @Timespan(Timespan.MICROSECONDS)
+    long p50;
+    /** 延迟 95 分位 */
+    @Label("p95")
+    @Timespan(Timespan.MICROSECONDS)
+    long p95;
+    /** 延迟 99 分位 */
+    @Label("p99")
+    @Timespan(Timespan.MICROSECONDS)
+    long p99;
+    /** 最大延迟 */
+    @Label("Max")
+    @Timespan(Timespan.MICROSECONDS)
+    long max;
+}
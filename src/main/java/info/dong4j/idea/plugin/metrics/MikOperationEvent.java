@@ -0,0 +1,45 @@
+package info.dong4j.idea.plugin.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 单次操作的 JFR 事件
+ * <p>
+ * 每次经 {@link MikMetrics#start} 计时的操作（处理器、图床上传、网络下载、编码器）在结束时提交一个事件，
+ * 事件自身的开始和结束时间即为操作耗时。只有 JFR 录制开启且启用了该事件时才会产生开销。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Name("info.dong4j.mik.Operation")
+@Label("MIK Operation")
+@Category("Markdown Image Kit")
+@Description("A timed chain stage, upload, download or encoder call")
+@StackTrace(false)
+class MikOperationEvent extends Event {
+    /** 指标类别 */
+    @Label("Category")
+    String category;
+    /** 指标名称 */
+    @Label("Name")
+    String name;
+    /** 是否成功 */
+    @Label("Success")
+    boolean success;
+    /** 输入字节数 */
+    @Label("Bytes In")
+    @DataAmount
+    long bytesIn;
+    /** 输出字节数 */
+    @Label("Bytes Out")
+    @DataAmount
+    long bytesOut;
+}
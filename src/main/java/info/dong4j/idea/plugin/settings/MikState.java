@@ -2,8 +2,10 @@ package info.dong4j.idea.plugin.settings;
 
 import info.dong4j.idea.plugin.enums.CloudEnum;
 import info.dong4j.idea.plugin.enums.ImageEditorEnum;
+import info.dong4j.idea.plugin.enums.ImageEncoderEnum;
 import info.dong4j.idea.plugin.enums.ImageMarkEnum;
 import info.dong4j.idea.plugin.enums.InsertImageActionEnum;
+import info.dong4j.idea.plugin.enums.LocalImageCopyModeEnum;
 import info.dong4j.idea.plugin.settings.oss.AliyunOssState;
 import info.dong4j.idea.plugin.settings.oss.BaiduBosState;
 import info.dong4j.idea.plugin.settings.oss.CustomOssState;
@@ -48,8 +50,12 @@ public class MikState {
     private String imageSavePath = "./imgs";
     /** 是否应用到本地图片 */
     private boolean applyToLocalImages = false;
+    /** 应用到本地图片时的复制方式，默认为普通复制 */
+    private LocalImageCopyModeEnum localImageCopyMode = LocalImageCopyModeEnum.COPY;
     /** 是否应用到网络图片 */
     private boolean applyToNetworkImages = false;
+    /** 保存图片时使用内容寻址的文件名（图片内容的 SHA-256），相同的图片只保存一份 */
+    private boolean contentAddressedImageName = false;
     /** 是否优先使用相对路径: 关闭后会使用绝对路径 */
     private boolean preferRelativePath = false;
     /** 添加斜杠标志，用于控制是否在路径末尾添加斜杠 */
@@ -58,6 +64,8 @@ public class MikState {
     private boolean autoEscapeImageUrl = false;
     /** 粘贴文件/目录时使用纯文本格式（默认 true，避免 IDEA 自动转换成 Markdown 链接格式） */
     private boolean pasteFileAsPlainText = true;
+    /** 编辑 Markdown 文档时自动维护已有的标题编号和目录 */
+    private boolean liveHeadingNumbering = false;
     /** 启用图片编辑器功能 */
     private boolean enableImageEditor = false;
     /** 图片编辑器类型，默认为 CleanShot X */
@@ -67,6 +75,8 @@ public class MikState {
     //region 控制台设置
     /** 是否启用控制台日志输出 */
     private boolean enableConsoleLog = true;
+    /** 是否将每次处理链运行的结构化事件保存为 JSON Lines 文件 */
+    private boolean saveChainEventLog = false;
     //endregion
 
     //region 图片处理
@@ -91,12 +101,23 @@ public class MikState {
     private boolean compress = false;
     /** 压缩上传前的百分比，表示图片压缩到原始大小的百分比 */
     private int compressBeforeUploadOfPercent = 60;
+    /** 单张图片压缩后的目标大小（KB），超出时自动降低质量，0 表示不限制 */
+    private int compressTargetMaxSize = 0;
+    /** 最低质量仍超出目标大小时是否允许缩小图片尺寸 */
+    private boolean compressTargetAllowScale = false;
+    /** 压缩或转换 WebP 前限制图片的最大边长（像素），超出时等比缩小，0 表示不限制 */
+    private int compressMaxDimension = 0;
 
     /** 是否将图片转换为 webp 格式 */
     private boolean convertToWebp = false;
     /** WebP 图片压缩质量, 数值范围 0-100 */
     private int webpQuality = 60;
 
+    /** 压缩与 WebP 转换使用的编码器后端，默认使用内置的 Thumbnailator */
+    private ImageEncoderEnum imageEncoder = ImageEncoderEnum.THUMBNAILATOR;
+    /** 压缩结果磁盘缓存的容量上限（MB），IDE 内所有项目共享，0 表示禁用缓存 */
+    private int compressCacheMaxSize = 256;
+
     /** 水印开关，用于控制是否显示水印 */
     private boolean watermark = false;
     /** 水印文本，用于在界面中显示的标识信息 */
@@ -5,7 +5,11 @@ import com.intellij.ui.components.JBLabel;
 import com.intellij.util.ui.JBUI;
 
 import info.dong4j.idea.plugin.MikBundle;
+import info.dong4j.idea.plugin.encoder.CompressedImageCache;
+import info.dong4j.idea.plugin.encoder.ImageEncoder;
+import info.dong4j.idea.plugin.encoder.ImageEncoders;
 import info.dong4j.idea.plugin.enums.ImageEditorEnum;
+import info.dong4j.idea.plugin.enums.ImageEncoderEnum;
 import info.dong4j.idea.plugin.enums.ImageMarkEnum;
 import info.dong4j.idea.plugin.settings.MikState;
 import info.dong4j.idea.plugin.util.SwingUtils;
@@ -19,6 +23,7 @@ import java.util.Objects;
 
 import javax.swing.DefaultListCellRenderer;
 import javax.swing.Icon;
+import javax.swing.JButton;
 import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
@@ -95,6 +100,18 @@ public class ImageEnhancementPanel {
     private JCheckBox deleteImageCheckBox;
     /** 删除时是否二次确认复选框 */
     private JCheckBox deleteImageWithConfirmCheckBox;
+    /** 编码器下拉列表，用于选择压缩与 WebP 转换使用的编码后端 */
+    private JComboBox<String> imageEncoderComboBox;
+    /** 压缩缓存容量微调器（MB），0 表示禁用缓存 */
+    private JSpinner compressCacheSizeSpinner;
+    /** 清空压缩缓存按钮 */
+    private JButton clearCompressCacheButton;
+    /** 单张图片目标大小微调器（KB），0 表示不限制 */
+    private JSpinner compressTargetSizeSpinner;
+    /** 目标大小模式下是否允许缩小图片尺寸的复选框 */
+    private JCheckBox compressTargetAllowScaleCheckBox;
+    /** 最大边长微调器（像素），0 表示不限制 */
+    private JSpinner compressMaxDimensionSpinner;
     /** 当前状态对象的引用，用于在 ActionListener 中访问保存的自定义标签代码 */
     private MikState currentState;
 
@@ -368,6 +385,114 @@ public class ImageEnhancementPanel {
         // 恢复默认的 insets 设置
         gbc.insets = JBUI.insets(5, 10);
 
+        // 编码器后端
+        gbc.gridx = 0;
+        gbc.gridy = 11;
+        gbc.gridwidth = 1;
+        gbc.weightx = 0;
+        JLabel imageEncoderLabel = new JBLabel(MikBundle.message("panel.image.enhancement.encoder"));
+        imageEncoderLabel.setToolTipText(MikBundle.message("panel.image.enhancement.encoder.tooltip"));
+        content.add(imageEncoderLabel, gbc);
+
+        gbc.gridx = 1;
+        gbc.gridwidth = 2;
+        gbc.weightx = 1.0;
+        imageEncoderComboBox = new ComboBox<>(ImageEncoderEnum.getNames());
+        imageEncoderComboBox.setToolTipText(MikBundle.message("panel.image.enhancement.encoder.tooltip"));
+        // 未检测到的后端追加提示，已完成基准测试的后端显示耗时
+        imageEncoderComboBox.setRenderer(new DefaultListCellRenderer() {
+            /**
+             * 重写列表单元格渲染器方法, 根据编码器的检测结果显示可用状态和基准测试耗时
+             *
+             * @param list         当前列表组件
+             * @param value        当前单元格的值
+             * @param index        当前单元格的索引
+             * @param isSelected   当前单元格是否被选中
+             * @param cellHasFocus 当前单元格是否获得焦点
+             * @return 渲染后的单元格组件
+             */
+            @Override
+            public java.awt.Component getListCellRendererComponent(
+                JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                JLabel label = (JLabel) super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                ImageEncoderEnum encoderEnum = ImageEncoderEnum.of(index < 0 ? imageEncoderComboBox.getSelectedIndex() : index);
+                if (encoderEnum != null) {
+                    label.setText(getImageEncoderDisplayName(encoderEnum));
+                }
+                return label;
+            }
+        });
+        content.add(imageEncoderComboBox, gbc);
+
+        // 压缩缓存
+        gbc.gridx = 0;
+        gbc.gridy = 12;
+        gbc.gridwidth = 1;
+        gbc.weightx = 0;
+        JLabel compressCacheLabel = new JBLabel(MikBundle.message("panel.image.enhancement.cache"));
+        compressCacheLabel.setToolTipText(MikBundle.message("panel.image.enhancement.cache.tooltip"));
+        content.add(compressCacheLabel, gbc);
+
+        gbc.gridx = 1;
+        gbc.fill = GridBagConstraints.NONE;
+        compressCacheSizeSpinner = new JSpinner(new SpinnerNumberModel(256, 0, 4096, 64));
+        compressCacheSizeSpinner.setToolTipText(MikBundle.message("panel.image.enhancement.cache.tooltip"));
+        ((JSpinner.DefaultEditor) compressCacheSizeSpinner.getEditor()).getTextField().setColumns(5);
+        compressCacheSizeSpinner.setPreferredSize(new Dimension(100, compressCacheSizeSpinner.getPreferredSize().height));
+        content.add(compressCacheSizeSpinner, gbc);
+
+        gbc.gridx = 2;
+        clearCompressCacheButton = new JButton(MikBundle.message("panel.image.enhancement.cache.clear", 0));
+        clearCompressCacheButton.addActionListener(e -> {
+            CompressedImageCache.getInstance().clear();
+            updateClearCompressCacheButton();
+        });
+        content.add(clearCompressCacheButton, gbc);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        // 目标大小
+        gbc.gridx = 0;
+        gbc.gridy = 13;
+        gbc.gridwidth = 1;
+        gbc.weightx = 0;
+        JLabel compressTargetLabel = new JBLabel(MikBundle.message("panel.image.enhancement.target.size"));
+        compressTargetLabel.setToolTipText(MikBundle.message("panel.image.enhancement.target.size.tooltip"));
+        content.add(compressTargetLabel, gbc);
+
+        gbc.gridx = 1;
+        gbc.fill = GridBagConstraints.NONE;
+        compressTargetSizeSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 102400, 50));
+        compressTargetSizeSpinner.setToolTipText(MikBundle.message("panel.image.enhancement.target.size.tooltip"));
+        ((JSpinner.DefaultEditor) compressTargetSizeSpinner.getEditor()).getTextField().setColumns(5);
+        compressTargetSizeSpinner.setPreferredSize(new Dimension(100, compressTargetSizeSpinner.getPreferredSize().height));
+        content.add(compressTargetSizeSpinner, gbc);
+
+        gbc.gridx = 2;
+        compressTargetAllowScaleCheckBox = new JCheckBox(MikBundle.message("panel.image.enhancement.target.size.scale"));
+        content.add(compressTargetAllowScaleCheckBox, gbc);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        compressTargetSizeSpinner.addChangeListener(
+            e -> compressTargetAllowScaleCheckBox.setEnabled(compressTargetSizeSpinner.isEnabled()
+                                                             && ((Number) compressTargetSizeSpinner.getValue()).intValue() > 0));
+
+        // 最大边长
+        gbc.gridx = 0;
+        gbc.gridy = 14;
+        gbc.gridwidth = 1;
+        gbc.weightx = 0;
+        JLabel compressMaxDimensionLabel = new JBLabel(MikBundle.message("panel.image.enhancement.max.dimension"));
+        compressMaxDimensionLabel.setToolTipText(MikBundle.message("panel.image.enhancement.max.dimension.tooltip"));
+        content.add(compressMaxDimensionLabel, gbc);
+
+        gbc.gridx = 1;
+        gbc.fill = GridBagConstraints.NONE;
+        compressMaxDimensionSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 20000, 100));
+        compressMaxDimensionSpinner.setToolTipText(MikBundle.message("panel.image.enhancement.max.dimension.tooltip"));
+        ((JSpinner.DefaultEditor) compressMaxDimensionSpinner.getEditor()).getTextField().setColumns(5);
+        compressMaxDimensionSpinner.setPreferredSize(new Dimension(100, compressMaxDimensionSpinner.getPreferredSize().height));
+        content.add(compressMaxDimensionSpinner, gbc);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
     }
 
     /**
@@ -457,6 +582,30 @@ public class ImageEnhancementPanel {
         this.deleteImageCheckBox.setSelected(state.isDeleteImage());
         this.deleteImageWithConfirmCheckBox.setSelected(state.isDeleteImageWithConfirm());
         this.deleteImageWithConfirmCheckBox.setEnabled(state.isDeleteImage());
+
+        // 编码器
+        ImageEncoderEnum encoder = state.getImageEncoder() != null ? state.getImageEncoder() : ImageEncoderEnum.THUMBNAILATOR;
+        this.imageEncoderComboBox.setSelectedIndex(encoder.getValue());
+
+        // 压缩缓存
+        this.compressCacheSizeSpinner.setValue(state.getCompressCacheMaxSize());
+        updateClearCompressCacheButton();
+
+        // 目标大小
+        this.compressTargetSizeSpinner.setValue(state.getCompressTargetMaxSize());
+        this.compressTargetAllowScaleCheckBox.setSelected(state.isCompressTargetAllowScale());
+        this.compressTargetAllowScaleCheckBox.setEnabled(state.getCompressTargetMaxSize() > 0);
+
+        // 最大边长
+        this.compressMaxDimensionSpinner.setValue(state.getCompressMaxDimension());
+    }
+
+    /**
+     * 刷新清空缓存按钮上显示的当前缓存大小
+     */
+    private void updateClearCompressCacheButton() {
+        long megabytes = CompressedImageCache.getInstance().size() / (1024 * 1024);
+        this.clearCompressCacheButton.setText(MikBundle.message("panel.image.enhancement.cache.clear", megabytes));
     }
 
     /**
@@ -498,6 +647,12 @@ public class ImageEnhancementPanel {
         boolean deleteImage = this.deleteImageCheckBox.isSelected();
         boolean deleteImageWithConfirm = this.deleteImageWithConfirmCheckBox.isSelected();
 
+        ImageEncoderEnum imageEncoder = ImageEncoderEnum.of(this.imageEncoderComboBox.getSelectedIndex());
+        int compressCacheMaxSize = ((Number) this.compressCacheSizeSpinner.getValue()).intValue();
+        int compressTargetMaxSize = ((Number) this.compressTargetSizeSpinner.getValue()).intValue();
+        boolean compressTargetAllowScale = this.compressTargetAllowScaleCheckBox.isSelected();
+        int compressMaxDimension = ((Number) this.compressMaxDimensionSpinner.getValue()).intValue();
+
         // 比较枚举值和自定义代码
         boolean tagEnumEquals = (selectedTagEnum == state.getImageMarkEnum());
         boolean customCodeEquals = true;
@@ -532,7 +687,12 @@ public class ImageEnhancementPanel {
                  && enableImageEditor == state.isEnableImageEditor()
                  && editorEquals
                  && deleteImage == state.isDeleteImage()
-                 && deleteImageWithConfirm == state.isDeleteImageWithConfirm());
+                 && deleteImageWithConfirm == state.isDeleteImageWithConfirm()
+                 && imageEncoder == state.getImageEncoder()
+                 && compressCacheMaxSize == state.getCompressCacheMaxSize()
+                 && compressTargetMaxSize == state.getCompressTargetMaxSize()
+                 && compressTargetAllowScale == state.isCompressTargetAllowScale()
+                 && compressMaxDimension == state.getCompressMaxDimension());
     }
 
     /**
@@ -583,6 +743,20 @@ public class ImageEnhancementPanel {
         // 删除图片
         state.setDeleteImage(this.deleteImageCheckBox.isSelected());
         state.setDeleteImageWithConfirm(this.deleteImageWithConfirmCheckBox.isSelected());
+
+        // 编码器
+        ImageEncoderEnum imageEncoder = ImageEncoderEnum.of(this.imageEncoderComboBox.getSelectedIndex());
+        state.setImageEncoder(imageEncoder != null ? imageEncoder : ImageEncoderEnum.THUMBNAILATOR);
+
+        // 压缩缓存
+        state.setCompressCacheMaxSize(((Number) this.compressCacheSizeSpinner.getValue()).intValue());
+
+        // 目标大小
+        state.setCompressTargetMaxSize(((Number) this.compressTargetSizeSpinner.getValue()).intValue());
+        state.setCompressTargetAllowScale(this.compressTargetAllowScaleCheckBox.isSelected());
+
+        // 最大边长
+        state.setCompressMaxDimension(((Number) this.compressMaxDimensionSpinner.getValue()).intValue());
     }
 
     /**
@@ -616,6 +790,44 @@ public class ImageEnhancementPanel {
 
         deleteImageCheckBox.setEnabled(enabled);
         deleteImageWithConfirmCheckBox.setEnabled(enabled && deleteImageCheckBox.isSelected());
+
+        imageEncoderComboBox.setEnabled(enabled);
+        compressCacheSizeSpinner.setEnabled(enabled);
+        clearCompressCacheButton.setEnabled(enabled);
+        compressTargetSizeSpinner.setEnabled(enabled);
+        compressTargetAllowScaleCheckBox.setEnabled(enabled && ((Number) compressTargetSizeSpinner.getValue()).intValue() > 0);
+        compressMaxDimensionSpinner.setEnabled(enabled);
+    }
+
+    /**
+     * 获取编码器在下拉框中的显示名称
+     * <p>
+     * 命令行后端未检测到时追加提示；已完成基准测试时追加最快一次操作的耗时。
+     *
+     * @param encoderEnum 编码器类型
+     * @return 显示名称
+     */
+    private static String getImageEncoderDisplayName(@NotNull ImageEncoderEnum encoderEnum) {
+        ImageEncoder encoder = ImageEncoders.get(encoderEnum);
+        if (encoder == null) {
+            return encoderEnum.getName();
+        }
+        if (!encoder.isAvailable()) {
+            return MikBundle.message("panel.image.enhancement.encoder.unavailable", encoderEnum.getName());
+        }
+        Long fastest = null;
+        for (ImageEncoder.Operation operation : ImageEncoder.Operation.values()) {
+            for (String extension : new String[] {"png", "jpg"}) {
+                Long nanos = ImageEncoders.getBenchmark(encoderEnum, operation, extension);
+                if (nanos != null && (fastest == null || nanos < fastest)) {
+                    fastest = nanos;
+                }
+            }
+        }
+        if (fastest == null) {
+            return encoderEnum.getName();
+        }
+        return MikBundle.message("panel.image.enhancement.encoder.benchmark", encoderEnum.getName(), fastest / 1_000_000);
     }
 
     private static String[] getImageEditorOptionNames() {
@@ -5,6 +5,7 @@ import com.intellij.util.ui.JBUI;
 
 import info.dong4j.idea.plugin.MikBundle;
 import info.dong4j.idea.plugin.enums.InsertImageActionEnum;
+import info.dong4j.idea.plugin.enums.LocalImageCopyModeEnum;
 import info.dong4j.idea.plugin.settings.MikState;
 import info.dong4j.idea.plugin.util.SwingUtils;
 
@@ -47,6 +48,10 @@ public class ImageProcessingPanel {
     private JCheckBox applyToLocalImagesCheckBox;
     /** 对网络位置的图片应用上述规则的复选框 */
     private JCheckBox applyToNetworkImagesCheckBox;
+    /** 按内容哈希命名保存的图片的复选框 */
+    private JCheckBox contentAddressedImageNameCheckBox;
+    /** 本地图片复制方式下拉框 */
+    private JComboBox<String> localImageCopyModeComboBox;
     /** 优先使用相对路径复选框 */
     private JCheckBox preferRelativePathCheckBox;
     /** 为相对路径添加 ./ 复选框 */
@@ -57,6 +62,10 @@ public class ImageProcessingPanel {
     private JCheckBox enableConsoleLogCheckBox;
     /** 粘贴文件/目录时使用纯文本格式的复选框 */
     private JCheckBox pasteFileAsPlainTextCheckBox;
+    /** 保存处理链事件日志的复选框 */
+    private JCheckBox saveChainEventLogCheckBox;
+    /** 编辑时自动维护标题编号和目录的复选框 */
+    private JCheckBox liveHeadingNumberingCheckBox;
     /** 当前状态对象的引用，用于在 ActionListener 中访问保存的自定义路径值 */
     private MikState currentState;
 
@@ -198,6 +207,39 @@ public class ImageProcessingPanel {
         pasteFileAsPlainTextCheckBox = new JCheckBox(MikBundle.message("panel.image.processing.paste.file.as.plain.text"));
         pasteFileAsPlainTextCheckBox.setToolTipText(MikBundle.message("panel.image.processing.paste.file.as.plain.text.tooltip"));
         content.add(pasteFileAsPlainTextCheckBox, gbc);
+
+        gbc.gridy = 12;
+        saveChainEventLogCheckBox = new JCheckBox(MikBundle.message("panel.image.processing.save.event.log"));
+        saveChainEventLogCheckBox.setToolTipText(MikBundle.message("panel.image.processing.save.event.log.tooltip"));
+        content.add(saveChainEventLogCheckBox, gbc);
+
+        gbc.gridy = 13;
+        contentAddressedImageNameCheckBox = new JCheckBox(MikBundle.message("panel.image.processing.content.addressed"));
+        contentAddressedImageNameCheckBox.setToolTipText(MikBundle.message("panel.image.processing.content.addressed.tooltip"));
+        content.add(contentAddressedImageNameCheckBox, gbc);
+
+        // 下拉框：本地图片复制方式
+        gbc.gridy = 14;
+        gbc.gridwidth = 1;
+        JBLabel localImageCopyModeLabel = new JBLabel(MikBundle.message("panel.image.processing.local.copy.mode"));
+        localImageCopyModeLabel.setToolTipText(MikBundle.message("panel.image.processing.local.copy.mode.tooltip"));
+        content.add(localImageCopyModeLabel, gbc);
+
+        gbc.gridx = 1;
+        gbc.gridwidth = 2;
+        gbc.weightx = 1.0;
+        localImageCopyModeComboBox = new com.intellij.openapi.ui.ComboBox<>(LocalImageCopyModeEnum.getTitles());
+        localImageCopyModeComboBox.setToolTipText(MikBundle.message("panel.image.processing.local.copy.mode.tooltip"));
+        content.add(localImageCopyModeComboBox, gbc);
+
+        // 复选框：编辑时自动维护标题编号和目录
+        gbc.gridx = 0;
+        gbc.gridy = 15;
+        gbc.gridwidth = 3;
+        gbc.weightx = 0;
+        liveHeadingNumberingCheckBox = new JCheckBox(MikBundle.message("panel.image.processing.live.heading.number"));
+        liveHeadingNumberingCheckBox.setToolTipText(MikBundle.message("panel.image.processing.live.heading.number.tooltip"));
+        content.add(liveHeadingNumberingCheckBox, gbc);
     }
 
     /**
@@ -254,7 +296,19 @@ public class ImageProcessingPanel {
         if (enableConsoleLogCheckBox.isSelected() != state.isEnableConsoleLog()) {
             return true;
         }
-        return pasteFileAsPlainTextCheckBox.isSelected() != state.isPasteFileAsPlainText();
+        if (pasteFileAsPlainTextCheckBox.isSelected() != state.isPasteFileAsPlainText()) {
+            return true;
+        }
+        if (saveChainEventLogCheckBox.isSelected() != state.isSaveChainEventLog()) {
+            return true;
+        }
+        if (contentAddressedImageNameCheckBox.isSelected() != state.isContentAddressedImageName()) {
+            return true;
+        }
+        if (liveHeadingNumberingCheckBox.isSelected() != state.isLiveHeadingNumbering()) {
+            return true;
+        }
+        return LocalImageCopyModeEnum.of(localImageCopyModeComboBox.getSelectedIndex()) != state.getLocalImageCopyMode();
     }
 
     /**
@@ -290,6 +344,10 @@ public class ImageProcessingPanel {
         state.setAutoEscapeImageUrl(autoEscapeImageUrlCheckBox.isSelected());
         state.setEnableConsoleLog(enableConsoleLogCheckBox.isSelected());
         state.setPasteFileAsPlainText(pasteFileAsPlainTextCheckBox.isSelected());
+        state.setSaveChainEventLog(saveChainEventLogCheckBox.isSelected());
+        state.setContentAddressedImageName(contentAddressedImageNameCheckBox.isSelected());
+        state.setLocalImageCopyMode(LocalImageCopyModeEnum.of(localImageCopyModeComboBox.getSelectedIndex()));
+        state.setLiveHeadingNumbering(liveHeadingNumberingCheckBox.isSelected());
     }
 
     /**
@@ -356,6 +414,11 @@ public class ImageProcessingPanel {
         autoEscapeImageUrlCheckBox.setSelected(state.isAutoEscapeImageUrl());
         enableConsoleLogCheckBox.setSelected(state.isEnableConsoleLog());
         pasteFileAsPlainTextCheckBox.setSelected(state.isPasteFileAsPlainText());
+        saveChainEventLogCheckBox.setSelected(state.isSaveChainEventLog());
+        contentAddressedImageNameCheckBox.setSelected(state.isContentAddressedImageName());
+        LocalImageCopyModeEnum copyMode = state.getLocalImageCopyMode() != null ? state.getLocalImageCopyMode() : LocalImageCopyModeEnum.COPY;
+        localImageCopyModeComboBox.setSelectedIndex(copyMode.getValue());
+        liveHeadingNumberingCheckBox.setSelected(state.isLiveHeadingNumbering());
     }
 
     /**
@@ -376,6 +439,10 @@ public class ImageProcessingPanel {
         autoEscapeImageUrlCheckBox.setEnabled(enabled);
         enableConsoleLogCheckBox.setEnabled(enabled);
         pasteFileAsPlainTextCheckBox.setEnabled(enabled);
+        saveChainEventLogCheckBox.setEnabled(enabled);
+        contentAddressedImageNameCheckBox.setEnabled(enabled);
+        localImageCopyModeComboBox.setEnabled(enabled);
+        liveHeadingNumberingCheckBox.setEnabled(enabled);
     }
 
 }
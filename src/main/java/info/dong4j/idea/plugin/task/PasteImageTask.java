@@ -0,0 +1,72 @@
+package info.dong4j.idea.plugin.task;
+
+import com.intellij.openapi.externalSystem.task.TaskCallback;
+import com.intellij.openapi.project.Project;
+
+import info.dong4j.idea.plugin.chain.ActionManager;
+
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 粘贴图片的任务类
+ * <p>
+ * 粘贴时会先在编辑器中插入占位标签，任务无论以何种方式结束都需要清理未被替换的占位标签。
+ * 因此除了成功回调之外，取消和异常时也会以 {@link TaskCallback#onFailure()} 通知所有注册的回调处理器。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+public class PasteImageTask extends MikTaskBase {
+    /** 任务操作管理器，用于获取注册的回调处理器 */
+    private final ActionManager manager;
+
+    /**
+     * 初始化一个 PasteImageTask 实例
+     *
+     * @param project 项目对象，可为空
+     * @param title   标题，非空且首字母大写
+     * @param manager 管理器对象，用于管理操作
+     */
+    public PasteImageTask(@Nullable Project project,
+                          @Nls(capitalization = Nls.Capitalization.Title) @NotNull String title,
+                          ActionManager manager) {
+        super(project, title, manager);
+        this.manager = manager;
+    }
+
+    /**
+     * 取消时通知所有注册的回调处理器任务失败
+     */
+    @Override
+    public void onCancel() {
+        super.onCancel();
+        this.notifyFailure();
+    }
+
+    /**
+     * 发生异常时通知所有注册的回调处理器任务失败
+     *
+     * @param throwable 抛出的异常对象
+     */
+    @Override
+    public void onThrowable(@NotNull Throwable throwable) {
+        super.onThrowable(throwable);
+        this.notifyFailure();
+    }
+
+    /**
+     * 通知所有注册的回调处理器任务失败
+     */
+    private void notifyFailure() {
+        for (TaskCallback callback : this.manager.getCallbacks()) {
+            callback.onFailure();
+        }
+    }
+}
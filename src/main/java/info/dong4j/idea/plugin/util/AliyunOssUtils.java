@@ -1,5 +1,9 @@
 package info.dong4j.idea.plugin.util;
 
+import info.dong4j.idea.plugin.util.date.DateFormatUtils;
+import info.dong4j.idea.plugin.util.digest.HmacAlgorithms;
+import info.dong4j.idea.plugin.util.digest.SignUtils;
+
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
@@ -7,16 +11,8 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
-import java.text.SimpleDateFormat;
-import java.util.Base64;
-import java.util.Calendar;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
-import java.util.TimeZone;
-
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 
 /**
  * 阿里云OSS工具类
@@ -32,9 +28,6 @@ import javax.crypto.spec.SecretKeySpec;
  * @since 1.0.0
  */
 public class AliyunOssUtils {
-    /** 加密算法类型，使用 HmacSHA1 算法进行消息认证 */
-    private final static String ALGORITHM = "HmacSHA1";
-
     /**
      * 根据指定参数获取OSS对象内容
      * <p>
@@ -154,19 +147,9 @@ public class AliyunOssUtils {
      * @param data 需要加密的数据字符串
      * @param key  加密所使用的密钥字符串
      * @return Base64 编码后的 HMAC-SHA1 认证码字符串
-     * @throws RuntimeException 如果加密过程中发生异常
      */
     public static String hmacSha1(String data, String key) {
-        try {
-            Mac mac = Mac.getInstance("HmacSHA1");
-            SecretKeySpec keySpec = new SecretKeySpec(key.getBytes(), ALGORITHM);
-            mac.init(keySpec);
-            byte[] rawHmac;
-            rawHmac = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            return new String(Base64.getEncoder().encode(rawHmac));
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return SignUtils.hmacBase64(HmacAlgorithms.HMAC_SHA_1, key, data);
     }
 
     /**
@@ -210,9 +193,6 @@ public class AliyunOssUtils {
      * @since 0.0.1
      */
     public static String getGMTDate() {
-        Calendar cd = Calendar.getInstance();
-        SimpleDateFormat sdf = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
-        sdf.setTimeZone(TimeZone.getTimeZone("GMT"));
-        return sdf.format(cd.getTime());
+        return DateFormatUtils.httpDate();
     }
 }
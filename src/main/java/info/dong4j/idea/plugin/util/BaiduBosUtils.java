@@ -1,6 +1,7 @@
 package info.dong4j.idea.plugin.util;
 
 import info.dong4j.idea.plugin.enums.ImageMediaType;
+import info.dong4j.idea.plugin.util.date.DateFormatUtils;
 import info.dong4j.idea.plugin.util.digest.HmacUtils;
 
 import java.io.BufferedReader;
@@ -12,11 +13,6 @@ import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -33,6 +29,11 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class BaiduBosUtils {
+    /** 签名有效期（秒） */
+    private static final long EXPIRATION_PERIOD_SECONDS = 1800L;
+    /** auth-string 前缀及对应签名密钥的缓存，同一组密钥在有效期内复用 */
+    private static final SigningKeyCache<AuthPrefix> AUTH_PREFIX_CACHE = new SigningKeyCache<>();
+
     /**
      * 向百度BOS上传对象并返回上传结果
      * <p>
@@ -58,14 +59,10 @@ public class BaiduBosUtils {
                                    String secretAccessKey,
                                    boolean isCustomEndpoint,
                                    String customEndpoint) throws Exception {
-        // 1. UTC 时间
-        String date = getUTCDate();
-
-        // 2. 前缀字符串: bce-auth-v1/{accessKeyId}/{timestamp}/{expirationPeriodInSeconds}
-        String expirationPeriodInSeconds = "1800";
-        String authStringPrefix = "bce-auth-v1/" + accessKeyId + "/" + date + "/" + expirationPeriodInSeconds;
-        // 3. 计算 signingKey
-        String signingKey = HmacUtils.hmacSha256Hex(secretAccessKey, authStringPrefix);
+        // 1-3. 前缀字符串 bce-auth-v1/{accessKeyId}/{timestamp}/{expirationPeriodInSeconds} 及 signingKey，有效期内复用
+        AuthPrefix authPrefix = authPrefix(accessKeyId, secretAccessKey);
+        String authStringPrefix = authPrefix.authStringPrefix();
+        String signingKey = authPrefix.signingKey();
         // 4. 生成 CanonicalRequest
         // HTTP Method + "\n" + CanonicalURI + "\n" + CanonicalQueryString + "\n" + CanonicalHeaders
         String canonicalURI = normalizeURI(key);
@@ -138,8 +135,7 @@ public class BaiduBosUtils {
      * @since 1.1.0
      */
     public static String getUTCDate() {
-        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
-        return now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'"));
+        return DateFormatUtils.iso8601Utc();
     }
 
     /**
@@ -151,8 +147,7 @@ public class BaiduBosUtils {
      * @since 0.0.1
      */
     private static String getHttpDate() {
-        return DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.ENGLISH)
-            .format(Instant.now().atZone(ZoneOffset.UTC));
+        return DateFormatUtils.httpDate();
     }
 
     /**
@@ -221,4 +216,30 @@ public class BaiduBosUtils {
 
         return result.toString();
     }
+
+    /**
+     * 获取缓存的 auth-string 前缀及签名密钥
+     * <p>
+     * 前缀中的时间戳为签名生效时间，在 {@value #EXPIRATION_PERIOD_SECONDS} 秒内有效，期间所有对象共用同一个签名密钥，过期前自动重新生成。
+     *
+     * @param accessKeyId     访问密钥ID
+     * @param secretAccessKey 访问密钥
+     * @return auth-string 前缀及签名密钥
+     */
+    private static AuthPrefix authPrefix(String accessKeyId, String secretAccessKey) {
+        return AUTH_PREFIX_CACHE.get(accessKeyId + "\n" + secretAccessKey, now -> {
+            String authStringPrefix = "bce-auth-v1/" + accessKeyId + "/" + getUTCDate() + "/" + EXPIRATION_PERIOD_SECONDS;
+            String signingKey = HmacUtils.hmacSha256Hex(secretAccessKey, authStringPrefix);
+            return new SigningKeyCache.Entry<>(new AuthPrefix(authStringPrefix, signingKey), now + EXPIRATION_PERIOD_SECONDS * 1000);
+        });
+    }
+
+    /**
+     * auth-string 前缀及对应的签名密钥
+     *
+     * @param authStringPrefix 前缀字符串
+     * @param signingKey       签名密钥
+     */
+    private record AuthPrefix(String authStringPrefix, String signingKey) {
+    }
 }
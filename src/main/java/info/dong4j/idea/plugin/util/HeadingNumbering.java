@@ -0,0 +1,497 @@
+package info.dong4j.idea.plugin.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Markdown 标题编号工具类
+ * <p>
+ * 从二级标题（##）开始为标题生成编号，并生成只包含二级标题的 TOC（目录）。计算结果是一组互不重叠的文本替换
+ * （{@link TextEdit}），只涉及需要修改的标题行和目录区域，调用方在一次写命令中应用即可，不需要替换整个文档：
+ * 其余内容上的 RangeMarker、折叠区域和光标都不受影响。
+ * <p>
+ * 该类只处理文本，不依赖 PSI 和 Document，可以在后台线程中调用。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public final class HeadingNumbering {
+    /** 标题匹配正则表达式 */
+    private static final Pattern HEADING_PATTERN = Pattern.compile("^(#{2,6})\\s+(.+)$");
+    /** 目录标题匹配正则表达式（可能带编号，如 "## 1 目录"） */
+    private static final Pattern TOC_HEADING_PATTERN = Pattern.compile("^##\\s+(\\d+\\s+)?目录$");
+    /** 围栏代码块起止行匹配正则表达式（最多缩进 3 个空格的 ``` 或 ~~~） */
+    private static final Pattern FENCE_PATTERN = Pattern.compile("^ {0,3}(`{3,}|~{3,})(.*)$");
+    /** 目录标题文本 */
+    public static final String TOC_TITLE = "目录";
+
+    /**
+     * 工具类不允许实例化
+     */
+    private HeadingNumbering() {
+    }
+
+    /**
+     * 标题信息
+     *
+     * @param level 标题级别（2-6，对应 ## 到 ######）
+     * @param text  标准化后的标题文本（不含 # 和编号）
+     * @param line  行号（0-based）
+     */
+    public record Heading(int level, @NotNull String text, int line) {
+    }
+
+    /**
+     * 文本替换
+     *
+     * @param start       替换范围的起始偏移量
+     * @param end         替换范围的结束偏移量（不含）
+     * @param replacement 替换后的文本
+     */
+    public record TextEdit(int start, int end, @NotNull String replacement) {
+    }
+
+    /**
+     * 创建标题信息
+     * <p>
+     * 去掉标题前的 # 并标准化文本；一级标题、空标题和目录标题不参与编号，返回 null。
+     *
+     * @param level   标题级别
+     * @param rawText 标题原始文本（可以包含 # 和已有的编号）
+     * @param line    行号（0-based）
+     * @return 标题信息，不参与编号时返回 null
+     */
+    @Nullable
+    public static Heading heading(int level, @NotNull String rawText, int line) {
+        if (level < 2) {
+            return null;
+        }
+        String text = rawText.replaceAll("^#+\\s*", "").trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        String normalizedText = normalizeHeadingText(text);
+        if (TOC_TITLE.equals(normalizedText)) {
+            return null;
+        }
+        return new Heading(level, normalizedText, line);
+    }
+
+    /**
+     * 使用正则表达式解析标题
+     * <p>
+     * 没有 PSI 时的回退方案，跳过围栏代码块中的行，结果按行号排列。
+     *
+     * @param text 文档内容
+     * @return 标题信息列表
+     */
+    @NotNull
+    public static List<Heading> parseHeadings(@NotNull CharSequence text) {
+        List<Heading> headings = new ArrayList<>();
+        String[] lines = text.toString().split("\n", -1);
+        // 当前所在围栏代码块的起始标记，不在代码块中时为 null
+        String fence = null;
+        for (int i = 0; i < lines.length; i++) {
+            Matcher fenceMatcher = FENCE_PATTERN.matcher(lines[i]);
+            if (fenceMatcher.matches()) {
+                String marker = fenceMatcher.group(1);
+                if (fence == null) {
+                    fence = marker;
+                } else if (marker.charAt(0) == fence.charAt(0) && marker.length() >= fence.length()
+                           && fenceMatcher.group(2).isBlank()) {
+                    fence = null;
+                }
+                continue;
+            }
+            if (fence != null) {
+                continue;
+            }
+            Matcher matcher = HEADING_PATTERN.matcher(lines[i]);
+            if (matcher.matches()) {
+                Heading heading = heading(matcher.group(1).length(), matcher.group(2), i);
+                if (heading != null) {
+                    headings.add(heading);
+                }
+            }
+        }
+        return headings;
+    }
+
+    /**
+     * 标准化标题文本，移除所有可能的序号格式
+     * <p>
+     * 移除的序号格式包括：
+     * - 数字序号：1. , 1.1 , 1.1.1  等
+     * - 中文序号：一、, 二、, 三、, （一）, （二）, （三） 等
+     * - 罗马数字：I. , II. , III.  等
+     * - 字母序号：A. , B. , a. , b.  等
+     * - 其他格式：第1章, 第1节, 第一章, 第一节 等
+     *
+     * @param text 原始标题文本
+     * @return 标准化后的标题文本（不含序号）
+     */
+    @NotNull
+    public static String normalizeHeadingText(@NotNull String text) {
+        if (text.isEmpty()) {
+            return text;
+        }
+
+        // 移除"第X章/节"格式：第1章, 第1节, 第一章, 第一节 等（优先处理，避免与其他规则冲突）
+        text = text.replaceAll("^第[\\d一二三四五六七八九十百千万]+[章节]\\s*", "");
+
+        // 移除带括号的中文序号：（一）, （二）, （三） 等
+        text = text.replaceAll("^[（(][一二三四五六七八九十百千万]+[）)]\\s*", "");
+
+        // 移除带括号的数字序号：(1), (2), (3) 等
+        text = text.replaceAll("^[（(]\\d+[）)]\\s*", "");
+
+        // 移除带括号的字母序号：(A), (B), (a), (b) 等
+        text = text.replaceAll("^[（(][A-Za-z][）)]\\s*", "");
+
+        // 移除数字序号：1. , 1.1 , 1.1.1  等
+        text = text.replaceAll("^\\d+(\\.\\d+)*\\s*[.、]?\\s*", "");
+
+        // 移除中文序号：一、, 二、, 三、 等
+        // 匹配以中文数字开头，后跟"、"或"."的格式
+        // 支持：一、二、三...十、十一、十二...九十九、一百等
+        // 使用通用匹配：一个或多个中文数字字符，后跟"、"或"."或空格
+        text = text.replaceAll("^[一二三四五六七八九十百千万]+\\s*[、.]\\s*", "");
+        // 处理没有标点的中文序号（较少见，但也要处理）
+        text = text.replaceAll("^[一二三四五六七八九十百千万]+\\s+", "");
+
+        // 移除罗马数字序号：I. , II. , III. , IV. , V.  等
+        // 注意：必须要求有标点，避免误匹配单词（如 "IDEA"）
+        text = text.replaceAll("^[IVX]+\\s*[.、]\\s*", "");
+
+        // 移除字母序号：A. , B. , a. , b.  等（单个字母，必须后跟标点）
+        // 注意：必须要求有标点，避免误匹配单词（如 "IDEA"）
+        text = text.replaceAll("^[A-Za-z]\\s*[.、]\\s*", "");
+
+        // 移除可能残留的前导空格和标点
+        text = text.replaceAll("^\\s*[.、。，]?\\s*", "");
+
+        return text.trim();
+    }
+
+    /**
+     * 为标题生成编号
+     * <p>
+     * 根据标题层级生成编号，例如：
+     * - ## xxx -> 1
+     * - ## yyy -> 2
+     * - ### zzz -> 2.1
+     *
+     * @param headings 按行号排列的标题信息列表
+     * @return 与标题一一对应的编号
+     */
+    @NotNull
+    public static List<String> generateNumbers(@NotNull List<Heading> headings) {
+        // 支持 6 级标题（索引 0 不使用，1-6 对应 # 到 ######）
+        int[] counters = new int[7];
+        List<String> numbers = new ArrayList<>(headings.size());
+        for (Heading heading : headings) {
+            int level = heading.level();
+
+            // 重置比当前级别更深的计数器
+            for (int i = level + 1; i < counters.length; i++) {
+                counters[i] = 0;
+            }
+
+            // 增加当前级别的计数器
+            counters[level]++;
+
+            // 生成编号
+            StringBuilder numberBuilder = new StringBuilder();
+            for (int i = 2; i <= level; i++) {
+                if (i > 2) {
+                    numberBuilder.append(".");
+                }
+                numberBuilder.append(counters[i]);
+            }
+            numbers.add(numberBuilder.toString());
+        }
+        return numbers;
+    }
+
+    /**
+     * 生成带编号的标题行
+     *
+     * @param heading 标题信息
+     * @param number  编号
+     * @return 带编号的标题行
+     */
+    @NotNull
+    public static String numberedHeading(@NotNull Heading heading, @NotNull String number) {
+        return "#".repeat(heading.level()) + " " + number + " " + heading.text();
+    }
+
+    /**
+     * 生成锚点 ID
+     * <p>
+     * 将带编号的标题文本转换为可用于锚点的 ID，只需要将空格替换为连字符。
+     *
+     * @param heading 标题信息
+     * @param number  编号
+     * @return 锚点 ID
+     */
+    @NotNull
+    public static String anchorId(@NotNull Heading heading, @NotNull String number) {
+        return (number + " " + heading.text()).replaceAll("\\s+", "-");
+    }
+
+    /**
+     * 生成 TOC（目录）
+     * <p>
+     * 只包含二级标题（##），不包含三级及以上的标题，以换行符结尾
+     *
+     * @param headings 标题信息列表
+     * @param numbers  与标题一一对应的编号
+     * @return TOC 内容，没有标题时返回空字符串
+     */
+    @NotNull
+    public static String generateToc(@NotNull List<Heading> headings, @NotNull List<String> numbers) {
+        if (headings.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder toc = new StringBuilder();
+        toc.append("## ").append(TOC_TITLE).append("\n");
+        for (int i = 0; i < headings.size(); i++) {
+            Heading heading = headings.get(i);
+            // 只包含二级标题（level == 2），二级标题无缩进
+            if (heading.level() == 2) {
+                String number = numbers.get(i);
+                toc.append("- [").append(number).append(" ").append(heading.text())
+                    .append("](#").append(anchorId(heading, number)).append(")\n");
+            }
+        }
+        return toc.toString();
+    }
+
+    /**
+     * 计算为标题编号并更新 TOC 所需的文本替换
+     * <p>
+     * 已存在 "## 目录" 时替换目录区域（到下一个二级标题或连续两个空行为止），否则在第一个标题前插入目录；
+     * 标题行只在内容变化时才生成替换。返回的替换按偏移量升序排列且互不重叠。
+     *
+     * @param text     文档内容
+     * @param headings 按行号排列的标题信息列表
+     * @return 文本替换列表，无需修改时为空
+     */
+    @NotNull
+    public static List<TextEdit> computeEdits(@NotNull CharSequence text, @NotNull List<Heading> headings) {
+        return computeEdits(text, headings, 0, Integer.MAX_VALUE, true);
+    }
+
+    /**
+     * 计算编辑某一行之后需要的文本替换（增量）
+     * <p>
+     * 标题编号只取决于它之前的标题，编辑位置所在的二级标题之前的标题编号不会变化，因此只比较从该二级标题开始的标题行；
+     * 编辑位置之后遇到第一个编号已经正确的二级标题时停止，之后的标题编号同样不受影响。
+     * 目录只在内容变化时替换。文档中还没有目录时不做任何修改，只维护已经编号过的文档。
+     *
+     * @param text        文档内容
+     * @param headings    按行号排列的标题信息列表
+     * @param changedLine 发生编辑的行号
+     * @return 文本替换列表，无需修改时为空
+     */
+    @NotNull
+    public static List<TextEdit> computeSubtreeEdits(@NotNull CharSequence text, @NotNull List<Heading> headings, int changedLine) {
+        return computeSubtreeEdits(text, headings, changedLine, changedLine);
+    }
+
+    /**
+     * 计算编辑若干行之后需要的文本替换（增量）
+     * <p>
+     * 与 {@link #computeSubtreeEdits(CharSequence, List, int)} 相同，编辑分布在多行时从最小行号所在的子树开始比较，
+     * 到最大行号之后第一个编号已经正确的二级标题为止。
+     *
+     * @param text      文档内容
+     * @param headings  按行号排列的标题信息列表
+     * @param firstLine 发生编辑的最小行号
+     * @param lastLine  发生编辑的最大行号
+     * @return 文本替换列表，无需修改时为空
+     */
+    @NotNull
+    public static List<TextEdit> computeSubtreeEdits(@NotNull CharSequence text,
+                                                     @NotNull List<Heading> headings,
+                                                     int firstLine,
+                                                     int lastLine) {
+        int fromLine = 0;
+        for (Heading heading : headings) {
+            if (heading.line() > firstLine) {
+                break;
+            }
+            if (heading.level() == 2) {
+                fromLine = heading.line();
+            }
+        }
+        return computeEdits(text, headings, fromLine, lastLine, false);
+    }
+
+    /**
+     * 计算文本替换
+     *
+     * @param text      文档内容
+     * @param headings  标题信息列表
+     * @param fromLine  只比较该行及之后的标题行
+     * @param stopAfter 该行之后遇到编号已经正确的二级标题时停止比较
+     * @param insertToc 没有目录时是否插入目录，为 false 时没有目录则不做任何修改
+     * @return 文本替换列表，按偏移量升序排列
+     */
+    @NotNull
+    private static List<TextEdit> computeEdits(@NotNull CharSequence text,
+                                               @NotNull List<Heading> headings,
+                                               int fromLine,
+                                               int stopAfter,
+                                               boolean insertToc) {
+        if (headings.isEmpty()) {
+            return List.of();
+        }
+        List<Heading> sorted = new ArrayList<>(headings);
+        sorted.sort(Comparator.comparingInt(Heading::line));
+        List<String> numbers = generateNumbers(sorted);
+
+        String[] lines = text.toString().split("\n", -1);
+        int[] lineStarts = new int[lines.length + 1];
+        for (int i = 0; i < lines.length; i++) {
+            lineStarts[i + 1] = lineStarts[i] + lines[i].length() + 1;
+        }
+
+        int firstHeadingLine = sorted.get(0).line();
+        int[] tocRange = findTocRange(lines, firstHeadingLine);
+        if (tocRange == null && !insertToc) {
+            return List.of();
+        }
+        String toc = generateToc(sorted, numbers);
+
+        List<TextEdit> edits = new ArrayList<>();
+        boolean tocEmitted = false;
+        if (tocRange == null) {
+            int offset = lineStarts[firstHeadingLine];
+            edits.add(new TextEdit(offset, offset, toc + "\n"));
+            tocEmitted = true;
+        }
+
+        Set<Integer> seenLines = new HashSet<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            Heading heading = sorted.get(i);
+            int line = heading.line();
+            if (line < 0 || line >= lines.length || !seenLines.add(line)) {
+                continue;
+            }
+            if (line < fromLine) {
+                continue;
+            }
+            if (!tocEmitted && line > tocRange[1]) {
+                addTocEdit(edits, text, lines, lineStarts, tocRange, toc);
+                tocEmitted = true;
+            }
+            // 目录区域内的行整体被新的目录替换
+            if (tocRange != null && line >= tocRange[0] && line <= tocRange[1]) {
+                continue;
+            }
+            String numbered = numberedHeading(heading, numbers.get(i));
+            if (!numbered.equals(lines[line])) {
+                edits.add(new TextEdit(lineStarts[line], lineStarts[line] + lines[line].length(), numbered));
+            } else if (line > stopAfter && heading.level() == 2) {
+                break;
+            }
+        }
+        if (!tocEmitted) {
+            addTocEdit(edits, text, lines, lineStarts, tocRange, toc);
+        }
+        return edits;
+    }
+
+    /**
+     * 依次应用文本替换
+     *
+     * @param text  原始文本
+     * @param edits 按偏移量升序排列且互不重叠的文本替换
+     * @return 替换后的文本
+     */
+    @NotNull
+    public static String apply(@NotNull CharSequence text, @NotNull List<TextEdit> edits) {
+        StringBuilder result = new StringBuilder(text.length() + 256);
+        int position = 0;
+        for (TextEdit edit : edits) {
+            result.append(text, position, edit.start()).append(edit.replacement());
+            position = edit.end();
+        }
+        return result.append(text, position, text.length()).toString();
+    }
+
+    /**
+     * 添加替换已有目录区域的文本替换，新目录与原内容相同时不替换
+     * <p>
+     * 替换范围不含目录最后一行的换行符，而新目录以换行符结尾，因此目录之后总是保留一个空行。
+     *
+     * @param edits      文本替换列表
+     * @param text       文档内容
+     * @param lines      文档各行
+     * @param lineStarts 各行的起始偏移量
+     * @param tocRange   目录区域的起止行号（含）
+     * @param toc        新的目录内容
+     */
+    private static void addTocEdit(@NotNull List<TextEdit> edits,
+                                   @NotNull CharSequence text,
+                                   @NotNull String[] lines,
+                                   int[] lineStarts,
+                                   int[] tocRange,
+                                   @NotNull String toc) {
+        int start = lineStarts[tocRange[0]];
+        int end = lineStarts[tocRange[1]] + lines[tocRange[1]].length();
+        if (!toc.contentEquals(text.subSequence(start, end))) {
+            edits.add(new TextEdit(start, end, toc));
+        }
+    }
+
+    /**
+     * 查找已存在的目录区域
+     * <p>
+     * 目录从 "## 目录" 标题开始，到下一个二级标题之前或连续两个空行之前结束；都没有时到第一个内容标题之前结束。
+     *
+     * @param lines            文档各行
+     * @param firstHeadingLine 第一个内容标题的行号
+     * @return 目录区域的起止行号（含），不存在时返回 null
+     */
+    @Nullable
+    static int[] findTocRange(@NotNull String[] lines, int firstHeadingLine) {
+        for (int i = 0; i < lines.length; i++) {
+            if (!TOC_HEADING_PATTERN.matcher(lines[i].trim()).matches()) {
+                continue;
+            }
+            int end = -1;
+            for (int j = i + 1; j < lines.length; j++) {
+                String nextLine = lines[j].trim();
+                // 如果遇到下一个二级标题（##），目录结束
+                if (nextLine.startsWith("##") && !TOC_HEADING_PATTERN.matcher(nextLine).matches()) {
+                    end = j - 1;
+                    break;
+                }
+                // 如果遇到连续两个空行，目录可能结束
+                if (j > i + 1 && nextLine.isEmpty() && lines[j - 1].trim().isEmpty()) {
+                    end = j - 2;
+                    break;
+                }
+            }
+            // 如果没找到结束位置，目录到第一个内容标题之前
+            if (end == -1) {
+                end = Math.min(firstHeadingLine - 1, lines.length - 1);
+            }
+            return end >= i ? new int[] {i, end} : null;
+        }
+        return null;
+    }
+}
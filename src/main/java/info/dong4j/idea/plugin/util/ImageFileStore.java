@@ -0,0 +1,374 @@
+package info.dong4j.idea.plugin.util;
+
+import info.dong4j.idea.plugin.enums.LocalImageCopyModeEnum;
+import info.dong4j.idea.plugin.util.digest.DigestUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 图片文件存储工具类
+ * <p>
+ * 将图片内容原子地写入目标目录：先通过 {@link FileChannel} 写入同目录下的临时文件并强制落盘，再原子地移动到目标文件名，
+ * 写入中途失败或 IDE 退出都不会留下半个文件。写入前按 SHA-256 比较内容：
+ * <ul>
+ *   <li>目标文件已存在且内容相同：不写入，直接复用</li>
+ *   <li>目标文件已存在但内容不同：不覆盖，改用 {@code name-1.png}、{@code name-2.png} 等第一个可用的名称</li>
+ *   <li>内容寻址模式：文件名为 {@code <sha256>.<扩展名>}，重复粘贴同一张截图不会占用额外的磁盘空间</li>
+ * </ul>
+ * 本地图片还可以通过 {@link #link} 以硬链接或写时复制克隆的方式放入目标目录，不支持时退回流式复制。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+@Slf4j
+public final class ImageFileStore {
+    /** 同名文件内容不同时最多尝试的后缀数 */
+    private static final int MAX_SUFFIX = 1000;
+    /** 克隆命令的超时时间（秒） */
+    private static final long CLONE_TIMEOUT_SECONDS = 10;
+
+    /**
+     * 工具类不允许实例化
+     */
+    private ImageFileStore() {
+    }
+
+    /**
+     * 将图片内容保存到目录中
+     *
+     * @param bytes            图片内容
+     * @param directory        目标目录，不存在时自动创建
+     * @param fileName         期望的文件名，内容寻址模式下只使用其扩展名
+     * @param contentAddressed 是否使用内容寻址的文件名
+     * @return 保存结果
+     * @throws IOException 写入失败时抛出
+     */
+    @NotNull
+    public static Result store(@NotNull byte[] bytes,
+                               @NotNull Path directory,
+                               @NotNull String fileName,
+                               boolean contentAddressed) throws IOException {
+        return store(bytes, DigestUtils.sha256Hex(bytes), directory, fileName, contentAddressed);
+    }
+
+    /**
+     * 将已计算过摘要的图片内容保存到目录中
+     *
+     * @param bytes            图片内容
+     * @param sha256           图片内容的 SHA-256
+     * @param directory        目标目录，不存在时自动创建
+     * @param fileName         期望的文件名，内容寻址模式下只使用其扩展名
+     * @param contentAddressed 是否使用内容寻址的文件名
+     * @return 保存结果
+     * @throws IOException 写入失败时抛出
+     */
+    @NotNull
+    public static Result store(@NotNull byte[] bytes,
+                               @NotNull String sha256,
+                               @NotNull Path directory,
+                               @NotNull String fileName,
+                               boolean contentAddressed) throws IOException {
+        Files.createDirectories(directory);
+        Result located = locate(directory, fileName, contentAddressed, bytes.length, sha256);
+        if (!located.deduplicated()) {
+            write(bytes, directory, located.path());
+        }
+        return located;
+    }
+
+    /**
+     * 将本地图片文件放入目录中
+     * <p>
+     * 流式计算源文件的 SHA-256 后调用 {@link #link(Path, String, Path, String, boolean, LocalImageCopyModeEnum)}。
+     *
+     * @param source           源图片文件
+     * @param directory        目标目录，不存在时自动创建
+     * @param fileName         期望的文件名，内容寻址模式下只使用其扩展名
+     * @param contentAddressed 是否使用内容寻址的文件名
+     * @param mode             复制方式
+     * @return 保存结果
+     * @throws IOException 读取源文件或复制失败时抛出
+     */
+    @NotNull
+    public static Result link(@NotNull Path source,
+                              @NotNull Path directory,
+                              @NotNull String fileName,
+                              boolean contentAddressed,
+                              @NotNull LocalImageCopyModeEnum mode) throws IOException {
+        return link(source, sha256(source), directory, fileName, contentAddressed, mode);
+    }
+
+    /**
+     * 将已计算过摘要的本地图片文件放入目录中
+     * <p>
+     * 去重和同名冲突的处理与 {@link #store} 相同，只是不经过内存：
+     * <ul>
+     *   <li>{@link LocalImageCopyModeEnum#HARD_LINK}：{@link Files#createLink} 创建硬链接</li>
+     *   <li>{@link LocalImageCopyModeEnum#CLONE}：JDK 没有写时复制的 API，macOS 调用 {@code cp -c}（clonefile），
+     *       Linux 调用 {@code cp --reflink=always}，克隆到临时文件后原子移动</li>
+     * </ul>
+     * 跨设备、文件系统不支持或命令执行失败时退回流式复制。
+     *
+     * @param source           源图片文件
+     * @param sha256           源图片文件的 SHA-256
+     * @param directory        目标目录，不存在时自动创建
+     * @param fileName         期望的文件名，内容寻址模式下只使用其扩展名
+     * @param contentAddressed 是否使用内容寻址的文件名
+     * @param mode             复制方式
+     * @return 保存结果
+     * @throws IOException 读取源文件或复制失败时抛出
+     */
+    @NotNull
+    public static Result link(@NotNull Path source,
+                              @NotNull String sha256,
+                              @NotNull Path directory,
+                              @NotNull String fileName,
+                              boolean contentAddressed,
+                              @NotNull LocalImageCopyModeEnum mode) throws IOException {
+        Files.createDirectories(directory);
+        Result located = locate(directory, fileName, contentAddressed, Files.size(source), sha256);
+        if (located.deduplicated()) {
+            return located;
+        }
+
+        Path target = located.path();
+        if (mode == LocalImageCopyModeEnum.HARD_LINK) {
+            try {
+                Files.createLink(target, source);
+                log.debug("已创建硬链接: {} -> {}", target, source);
+                return located;
+            } catch (IOException | UnsupportedOperationException e) {
+                log.debug("无法创建硬链接，改为复制: {}", e.toString());
+            }
+        } else if (mode == LocalImageCopyModeEnum.CLONE && clone(source, directory, target)) {
+            return located;
+        }
+        copy(source, directory, target);
+        return located;
+    }
+
+    /**
+     * 流式计算文件的 SHA-256
+     *
+     * @param file 文件
+     * @return 文件内容的 SHA-256
+     * @throws IOException 读取文件失败时抛出
+     */
+    @NotNull
+    public static String sha256(@NotNull Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return DigestUtils.sha256Hex(in);
+        }
+    }
+
+    /**
+     * 确定内容在目录中的文件名
+     * <p>
+     * 从期望的文件名开始，已存在内容相同的文件时直接复用，内容不同时依次尝试带数字后缀的名称。
+     *
+     * @param directory        目标目录
+     * @param fileName         期望的文件名
+     * @param contentAddressed 是否使用内容寻址的文件名
+     * @param length           内容长度
+     * @param sha256           内容的 SHA-256
+     * @return 可用的文件路径，或已存在的相同文件（deduplicated 为 true）
+     * @throws IOException 同名文件过多或读取已有文件失败时抛出
+     */
+    @NotNull
+    private static Result locate(@NotNull Path directory,
+                                 @NotNull String fileName,
+                                 boolean contentAddressed,
+                                 long length,
+                                 @NotNull String sha256) throws IOException {
+        String name = contentAddressed ? sha256 + ImageUtils.getFileExtension(fileName) : fileName;
+        Path target = directory.resolve(name);
+        for (int suffix = 1; Files.exists(target); suffix++) {
+            if (sameContent(target, length, sha256)) {
+                log.debug("已存在内容相同的文件，跳过写入: {}", target);
+                return new Result(target, true);
+            }
+            if (suffix > MAX_SUFFIX) {
+                throw new IOException("too many files named like " + name + " in " + directory);
+            }
+            target = directory.resolve(withSuffix(name, suffix));
+        }
+        return new Result(target, false);
+    }
+
+    /**
+     * 判断文件内容是否与给定内容相同
+     * <p>
+     * 先比较大小，大小相同时再比较 SHA-256。
+     *
+     * @param file   已存在的文件
+     * @param length 给定内容的长度
+     * @param sha256 给定内容的 SHA-256
+     * @return 内容相同返回 true
+     * @throws IOException 读取文件失败时抛出
+     */
+    public static boolean sameContent(@NotNull Path file, long length, @NotNull String sha256) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != length) {
+            return false;
+        }
+        return sha256.equals(sha256(file));
+    }
+
+    /**
+     * 在文件名和扩展名之间插入数字后缀
+     *
+     * @param name   文件名
+     * @param suffix 数字后缀
+     * @return 带后缀的文件名，如 {@code a.png} -> {@code a-1.png}
+     */
+    @NotNull
+    static String withSuffix(@NotNull String name, int suffix) {
+        String extension = ImageUtils.getFileExtension(name);
+        return name.substring(0, name.length() - extension.length()) + "-" + suffix + extension;
+    }
+
+    /**
+     * 通过临时文件原子地写入目标文件
+     *
+     * @param bytes     文件内容
+     * @param directory 目标目录，临时文件创建在同一目录下以保证可以原子移动
+     * @param target    目标文件
+     * @throws IOException 写入失败时抛出
+     */
+    private static void write(@NotNull byte[] bytes, @NotNull Path directory, @NotNull Path target) throws IOException {
+        Path temp = Files.createTempFile(directory, ".mik-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            move(temp, target);
+            log.debug("图片已保存到: {}", target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 通过临时文件原子地复制源文件
+     * <p>
+     * 使用 {@link FileChannel#transferTo} 流式复制，不把整个文件读入内存。
+     *
+     * @param source    源文件
+     * @param directory 目标目录
+     * @param target    目标文件
+     * @throws IOException 复制失败时抛出
+     */
+    private static void copy(@NotNull Path source, @NotNull Path directory, @NotNull Path target) throws IOException {
+        Path temp = Files.createTempFile(directory, ".mik-", ".tmp");
+        try {
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long size = in.size();
+                for (long position = 0; position < size; ) {
+                    position += in.transferTo(position, size - position, out);
+                }
+                out.force(true);
+            }
+            move(temp, target);
+            log.debug("图片已复制到: {}", target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 通过写时复制克隆源文件
+     *
+     * @param source    源文件
+     * @param directory 目标目录
+     * @param target    目标文件
+     * @return 克隆成功返回 true，当前系统或文件系统不支持时返回 false
+     */
+    private static boolean clone(@NotNull Path source, @NotNull Path directory, @NotNull Path target) {
+        String osName = System.getProperty("os.name", "").toLowerCase();
+        String option;
+        if (osName.startsWith("mac")) {
+            option = "-c";
+        } else if (osName.startsWith("linux")) {
+            option = "--reflink=always";
+        } else {
+            return false;
+        }
+
+        // clonefile 要求目标不存在，因此只生成临时文件名而不创建文件
+        Path temp = directory.resolve(".mik-" + UUID.randomUUID() + ".tmp");
+        try {
+            Process process = new ProcessBuilder("cp", option, source.toString(), temp.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+            if (!process.waitFor(CLONE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                log.debug("克隆超时，改为复制: {}", source);
+                return false;
+            }
+            if (process.exitValue() != 0) {
+                log.debug("文件系统不支持克隆，改为复制: {}", source);
+                return false;
+            }
+            move(temp, target);
+            log.debug("已克隆: {} -> {}", source, target);
+            return true;
+        } catch (IOException e) {
+            log.debug("克隆失败，改为复制: {}", e.toString());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // 残留的临时文件以 . 开头，不影响使用
+            }
+        }
+    }
+
+    /**
+     * 将临时文件原子地移动为目标文件，文件系统不支持原子移动时退回普通替换
+     *
+     * @param temp   临时文件
+     * @param target 目标文件
+     * @throws IOException 移动失败时抛出
+     */
+    private static void move(@NotNull Path temp, @NotNull Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 保存结果
+     *
+     * @param path         最终的文件路径，文件名可能因内容寻址或同名冲突与期望的不同
+     * @param deduplicated 是否复用了已存在的相同文件（没有写入磁盘）
+     */
+    public record Result(Path path, boolean deduplicated) {
+    }
+}
@@ -16,6 +16,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.datatransfer.*;
@@ -462,6 +463,23 @@ public final class ImageUtils {
         return image != null;
     }
 
+    /**
+     * 只读取文件头判断给定文件是否为图片文件
+     * <p>
+     * 与 {@link #isImageFile(File)} 不同，这里只查找能识别文件头的 ImageReader，不解码像素，适合在动作更新等频繁调用的场景中使用。
+     *
+     * @param file 要判断的文件对象
+     * @return 如果存在能读取该文件的 ImageReader 则返回 true，否则返回 false
+     * @since 2.3.0
+     */
+    public static boolean hasImageReader(File file) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file)) {
+            return in != null && ImageIO.getImageReaders(in).hasNext();
+        } catch (IOException ignored) {
+            return false;
+        }
+    }
+
     /**
      * 从文件中读取图像
      * <p>
@@ -573,6 +591,10 @@ public final class ImageUtils {
      * @param percent 压缩质量，取值范围为 0-100，表示压缩质量百分比
      */
     public static void toWebp(InputStream in, OutputStream out, int percent) {
+        if (!isWebpWritable()) {
+            log.warn("当前环境没有可用的 WebP ImageIO 插件，无法转换为 WebP");
+            return;
+        }
         try {
             Thumbnails.of(in)
                 // 保持原始图片尺寸
@@ -585,6 +607,18 @@ public final class ImageUtils {
         }
     }
 
+    /**
+     * 判断当前环境是否注册了 WebP 的 ImageIO 写入器
+     * <p>
+     * JDK 默认不包含 WebP 编码器，只有安装了相应的 ImageIO 插件后 Thumbnailator 才能输出 WebP。
+     *
+     * @return 存在 WebP 写入器返回 true
+     * @since 2.3.0
+     */
+    public static boolean isWebpWritable() {
+        return ImageIO.getImageWritersByFormatName("webp").hasNext();
+    }
+
     /**
      * 判断OSS服务文件上传时文件的contentType
      * <p>
@@ -829,30 +863,7 @@ public final class ImageUtils {
     public static File watermarkFromText(Image srcImg, String filename, String text) {
         BufferedImage bufImg = null;
         if (srcImg != null) {
-            int srcImgWidth = srcImg.getWidth(null);
-            int srcImgHeight = srcImg.getHeight(null);
-            // 加水印
-            bufImg = ImageUtil.createImage(srcImgWidth,
-                                           srcImgHeight,
-                                           BufferedImage.TYPE_INT_RGB);
-            // 获取 Graphics2D 对象
-            Graphics2D g = bufImg.createGraphics();
-            // 设置绘图区域
-            g.drawImage(srcImg, 0, 0, srcImgWidth, srcImgHeight, null);
-            // 设置字体
-            Font font = new Font("宋体", Font.PLAIN, 16);
-            // 根据图片的背景设置水印颜色
-            g.setColor(JBColor.GREEN);
-            g.setFont(font);
-            // 获取文字长度
-            int len = g.getFontMetrics(
-                g.getFont()).charsWidth(text.toCharArray(),
-                                        0,
-                                        text.length());
-            int x = srcImgWidth - len - 10;
-            int y = srcImgHeight - 20;
-            g.drawString(text, x, y);
-            g.dispose();
+            bufImg = drawWatermark(srcImg, text);
         }
 
         File tempFile = buildTempFile(filename);
@@ -868,6 +879,45 @@ public final class ImageUtils {
         return tempFile;
     }
 
+    /**
+     * 在内存中为图片绘制文字水印
+     * <p>
+     * 水印绘制在图片右下角，返回新的 RGB 图片，不写入任何文件。
+     *
+     * @param srcImg 原始图片对象
+     * @param text   水印文本内容
+     * @return 添加水印后的图片
+     * @since 2.3.0
+     */
+    @NotNull
+    public static BufferedImage drawWatermark(@NotNull Image srcImg, @NotNull String text) {
+        int srcImgWidth = srcImg.getWidth(null);
+        int srcImgHeight = srcImg.getHeight(null);
+        // 加水印
+        BufferedImage bufImg = ImageUtil.createImage(srcImgWidth,
+                                                     srcImgHeight,
+                                                     BufferedImage.TYPE_INT_RGB);
+        // 获取 Graphics2D 对象
+        Graphics2D g = bufImg.createGraphics();
+        // 设置绘图区域
+        g.drawImage(srcImg, 0, 0, srcImgWidth, srcImgHeight, null);
+        // 设置字体
+        Font font = new Font("宋体", Font.PLAIN, 16);
+        // 根据图片的背景设置水印颜色
+        g.setColor(JBColor.GREEN);
+        g.setFont(font);
+        // 获取文字长度
+        int len = g.getFontMetrics(
+            g.getFont()).charsWidth(text.toCharArray(),
+                                    0,
+                                    text.length());
+        int x = srcImgWidth - len - 10;
+        int y = srcImgHeight - 20;
+        g.drawString(text, x, y);
+        g.dispose();
+        return bufImg;
+    }
+
     /**
      * 給图片添加文字水印
      * <p>
@@ -3,18 +3,27 @@ package info.dong4j.idea.plugin.util;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.DataContext;
 import com.intellij.openapi.actionSystem.PlatformDataKeys;
-import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.NonBlockingReadAction;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileTypes.FileTypeManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.roots.ProjectFileIndex;
 import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vcs.changes.ChangeListManager;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
 
 import info.dong4j.idea.plugin.content.ImageContents;
 import info.dong4j.idea.plugin.content.MarkdownContents;
@@ -23,6 +32,9 @@ import info.dong4j.idea.plugin.entity.MarkdownImage;
 import info.dong4j.idea.plugin.enums.ImageLocationEnum;
 import info.dong4j.idea.plugin.enums.ImageMarkEnum;
 
+import org.intellij.plugins.markdown.lang.psi.impl.MarkdownLinkDefinition;
+import org.intellij.plugins.markdown.lang.psi.impl.MarkdownLinkDestination;
+import org.intellij.plugins.markdown.lang.psi.impl.MarkdownLinkLabel;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -31,8 +43,19 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -51,6 +74,9 @@ import lombok.extern.slf4j.Slf4j;
 @SuppressWarnings("D")
 @Slf4j
 public final class MarkdownUtils {
+    /** 并行解析 Markdown 文件的最大线程数 */
+    private static final int MAX_PARSE_THREADS = 8;
+
     /**
      * 判断文件是否为 Markdown 文件且是否可写
      * <p>
@@ -104,14 +130,15 @@ public final class MarkdownUtils {
     }
 
     /**
-     * 解析文件中的每一行数据，仅对有效的图片标记进行解析
+     * 解析文档中的所有图片标签
      * <p>
-     * 遍历文档中的每一行文本，检查是否为有效的图片标记。如果是，则解析并添加到结果列表中。
+     * 以 PSI 中的图片元素为准一次遍历，每个图片元素由 {@link #analysisImageElement} 按其精确位置解析，
+     * 同一行有多个图片时分别解析。跨行的图片标签和找不到链接定义的引用式图片会被跳过。
      *
      * @param project     当前项目对象
      * @param document    当前处理的文档对象
      * @param virtualFile 当前处理的虚拟文件对象
-     * @return 包含解析出的图片标记对象的列表
+     * @return 包含解析出的图片标记对象的列表，按在文档中的位置排列
      * @since 0.0.1
      */
     private static List<MarkdownImage> getImageInfoFromFiles(Project project, Document document, VirtualFile virtualFile) {
@@ -124,19 +151,9 @@ public final class MarkdownUtils {
             }
 
             for (org.intellij.plugins.markdown.lang.psi.impl.MarkdownImage imageElement :
-                com.intellij.psi.util.PsiTreeUtil.findChildrenOfType(psiFile,
-                                                                     org.intellij.plugins.markdown.lang.psi.impl.MarkdownImage.class)) {
-                TextRange imageRange = imageElement.getTextRange();
-                int line = document.getLineNumber(imageRange.getStartOffset());
-                TextRange lineRange = TextRange.create(document.getLineStartOffset(line), document.getLineEndOffset(line));
-                String originalLineText = document.getText(lineRange);
-
-                if (illegalImageMark(project, originalLineText)) {
-                    continue;
-                }
-                log.debug("originalLineText: {}", originalLineText);
-                MarkdownImage markdownImage;
-                if ((markdownImage = analysisImageMark(virtualFile, originalLineText, line)) != null) {
+                PsiTreeUtil.findChildrenOfType(psiFile, org.intellij.plugins.markdown.lang.psi.impl.MarkdownImage.class)) {
+                MarkdownImage markdownImage = analysisImageElement(project, virtualFile, document, imageElement);
+                if (markdownImage != null) {
                     markdownImageList.add(markdownImage);
                 }
             }
@@ -144,11 +161,151 @@ public final class MarkdownUtils {
         return markdownImageList;
     }
 
+    /**
+     * 解析文档中的单个图片元素
+     * <p>
+     * 图片元素的范围就是图片标签在文档中的精确位置，同一行有多个图片时各自只解析自己的标签；
+     * 路径取自其中的链接地址元素，引用式图片（{@code ![alt][id]}）按文档中的链接定义解析地址。
+     * 解析结果中的 markStartOffset/markEndOffset 为图片标签（包括外层的 {@code <a>} 标签）在文档中的偏移量。需要持有读锁。
+     *
+     * @param project      当前项目对象
+     * @param virtualFile  图片元素所在的文件
+     * @param document     图片元素所在的文档
+     * @param imageElement 图片元素
+     * @return 解析后的图片信息，跨行、找不到链接定义、标签不合法或解析失败时返回 null
+     * @since 2.3.0
+     */
+    @Nullable
+    public static MarkdownImage analysisImageElement(@NotNull Project project,
+                                                     @NotNull VirtualFile virtualFile,
+                                                     @NotNull Document document,
+                                                     @NotNull org.intellij.plugins.markdown.lang.psi.impl.MarkdownImage imageElement) {
+        TextRange imageRange = imageElement.getTextRange();
+        int line = document.getLineNumber(imageRange.getStartOffset());
+        if (line != document.getLineNumber(imageRange.getEndOffset())) {
+            return null;
+        }
+        CharSequence text = document.getImmutableCharSequence();
+        int lineStartOffset = document.getLineStartOffset(line);
+        String mark = imageRange.subSequence(text).toString();
+
+        String title;
+        String path;
+        MarkdownLinkDestination destination = PsiTreeUtil.findChildOfType(imageElement, MarkdownLinkDestination.class);
+        if (destination != null) {
+            int destinationStart = destination.getTextRange().getStartOffset() - imageRange.getStartOffset();
+            int middle = mark.lastIndexOf(ImageContents.IMAGE_MARK_MIDDLE, destinationStart);
+            title = middle > ImageContents.IMAGE_MARK_PREFIX.length()
+                    ? mark.substring(ImageContents.IMAGE_MARK_PREFIX.length(), middle).trim()
+                    : "";
+            path = unwrapDestination(destination.getText());
+        } else {
+            // 引用式图片，在链接定义中查找地址
+            List<MarkdownLinkLabel> labels = new ArrayList<>(PsiTreeUtil.findChildrenOfType(imageElement, MarkdownLinkLabel.class));
+            if (labels.isEmpty()) {
+                return null;
+            }
+            path = linkDefinitions(imageElement.getContainingFile()).get(normalizeLinkLabel(labels.get(labels.size() - 1).getText()));
+            if (path == null) {
+                log.debug("未找到引用式图片的链接定义: {}", mark);
+                return null;
+            }
+            int altEnd = mark.indexOf(']');
+            title = altEnd > ImageContents.IMAGE_MARK_PREFIX.length()
+                    ? mark.substring(ImageContents.IMAGE_MARK_PREFIX.length(), altEnd).trim()
+                    : "";
+        }
+
+        if (illegalImageMark(project, ImageContents.IMAGE_MARK_PREFIX + title + ImageContents.IMAGE_MARK_MIDDLE + path
+                                      + ImageContents.IMAGE_MARK_SUFFIX)) {
+            return null;
+        }
+        log.debug("image mark: {}", mark);
+        MarkdownImage markdownImage = analysisImageMark(virtualFile,
+                                                        text.subSequence(lineStartOffset, document.getLineEndOffset(line)).toString(),
+                                                        line,
+                                                        imageRange.getStartOffset() - lineStartOffset,
+                                                        imageRange.getEndOffset() - lineStartOffset,
+                                                        title,
+                                                        path);
+        if (markdownImage != null) {
+            markdownImage.setMarkStartOffset(lineStartOffset + markdownImage.getLineStartOffset());
+            markdownImage.setMarkEndOffset(lineStartOffset + markdownImage.getLineEndOffset());
+        }
+        return markdownImage;
+    }
+
+    /**
+     * 获取文档中的所有链接定义，随 PSI 修改失效
+     *
+     * @param psiFile Markdown 文件
+     * @return 规范化后的标签与链接地址的映射
+     */
+    @NotNull
+    private static Map<String, String> linkDefinitions(@NotNull PsiFile psiFile) {
+        return CachedValuesManager.getCachedValue(psiFile, () -> CachedValueProvider.Result.create(collectLinkDefinitions(psiFile), psiFile));
+    }
+
+    /**
+     * 收集文档中的所有链接定义（{@code [id]: url "title"}）
+     *
+     * @param psiFile Markdown 文件
+     * @return 规范化后的标签与链接地址的映射，同一标签以第一个定义为准
+     */
+    @NotNull
+    private static Map<String, String> collectLinkDefinitions(@NotNull PsiFile psiFile) {
+        Map<String, String> linkDefinitions = new HashMap<>();
+        for (MarkdownLinkDefinition definition : PsiTreeUtil.findChildrenOfType(psiFile, MarkdownLinkDefinition.class)) {
+            MarkdownLinkLabel label = PsiTreeUtil.findChildOfType(definition, MarkdownLinkLabel.class);
+            MarkdownLinkDestination destination = PsiTreeUtil.findChildOfType(definition, MarkdownLinkDestination.class);
+            if (label != null && destination != null) {
+                linkDefinitions.putIfAbsent(normalizeLinkLabel(label.getText()), unwrapDestination(destination.getText()));
+            }
+        }
+        return linkDefinitions;
+    }
+
+    /**
+     * 规范化链接标签
+     * <p>
+     * 去掉两侧的方括号，合并连续空白并转为小写，与 CommonMark 中链接标签的匹配规则一致，例如 {@code [Logo  Image]} 与 {@code [logo image]} 相同。
+     *
+     * @param label 链接标签文本
+     * @return 规范化后的标签
+     * @since 2.3.0
+     */
+    @NotNull
+    public static String normalizeLinkLabel(@NotNull String label) {
+        String value = label.trim();
+        if (value.startsWith("[") && value.endsWith("]") && value.length() >= 2) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 去掉链接地址两侧的空白和尖括号，例如 {@code <./images/a b.png>}
+     *
+     * @param destination 链接地址文本
+     * @return 链接地址
+     */
+    @NotNull
+    private static String unwrapDestination(@NotNull String destination) {
+        String value = destination.trim();
+        if (value.startsWith("<") && value.endsWith(">") && value.length() >= 2) {
+            value = value.substring(1, value.length() - 1).trim();
+        }
+        return value;
+    }
+
     /**
      * 分析Markdown图片标记信息
      * <p>
      * 该方法用于解析Markdown文本中的图片标记，提取文件名、行号、偏移量、标题、路径等信息，并根据路径类型设置图片位置为网络或本地。
      * 若文本中包含HTML标签<a>，则调整偏移量以匹配HTML结构。同时根据图片标记类型设置图片类型为大图、普通图或自定义。
+     * <p>
+     * 只解析行中的第一个图片标签；已知图片标签在行中的位置时使用
+     * {@link #analysisImageMark(VirtualFile, String, int, int, int, String, String)}。
      *
      * @param virtualFile 当前处理的文件
      * @param lineText    当前处理的文本行
@@ -162,24 +319,61 @@ public final class MarkdownUtils {
         if (offset == null) {
             return null;
         }
+
+        String title = lineText.substring(lineText.indexOf(ImageContents.IMAGE_MARK_PREFIX) + ImageContents.IMAGE_MARK_PREFIX.length(),
+                                          lineText.indexOf(ImageContents.IMAGE_MARK_MIDDLE)).trim();
+
+        String path = lineText.substring(lineText.indexOf(ImageContents.IMAGE_MARK_MIDDLE) + ImageContents.IMAGE_MARK_MIDDLE.length(),
+                                         lineText.indexOf(ImageContents.IMAGE_MARK_SUFFIX)).trim();
+
+        return analysisImageMark(virtualFile, lineText, line, offset[0], offset[1], title, path);
+    }
+
+    /**
+     * 按图片标签在行中的精确位置分析Markdown图片标记信息
+     * <p>
+     * 图片标签被 {@code <a ...>} 与 {@code </a>} 包裹时，偏移量扩展到整个 HTML 标签，并根据其中的标识设置图片类型为大图、普通图或自定义；
+     * 同一行的其他图片不影响判断。
+     *
+     * @param virtualFile 当前处理的文件
+     * @param lineText    当前处理的文本行
+     * @param line        文本中的行号
+     * @param markStart   图片标签在行中的起始偏移量
+     * @param markEnd     图片标签在行中的结束偏移量（不包含）
+     * @param title       图片标题
+     * @param path        图片地址
+     * @return 解析后的Markdown图片对象，若解析失败则返回null
+     * @since 2.3.0
+     */
+    @Nullable
+    public static MarkdownImage analysisImageMark(VirtualFile virtualFile,
+                                                  String lineText,
+                                                  int line,
+                                                  int markStart,
+                                                  int markEnd,
+                                                  String title,
+                                                  String path) {
         MarkdownImage markdownImage = new MarkdownImage();
         markdownImage.setFilename(virtualFile.getName());
         markdownImage.setOriginalLineText(lineText);
         markdownImage.setLineNumber(line);
-        markdownImage.setLineStartOffset(offset[0]);
-        markdownImage.setLineEndOffset(offset[1]);
+        markdownImage.setLineStartOffset(markStart);
+        markdownImage.setLineEndOffset(markEnd);
 
 
         // 解析 markdown 图片标签
         try {
-            // 如果以 `<a` 开始, 以 `a>` 结束, 需要修改偏移量
-            if (lineText.contains(ImageContents.HTML_TAG_A_START) && lineText.contains(ImageContents.HTML_TAG_A_END)) {
-                markdownImage.setLineStartOffset(lineText.indexOf(ImageContents.HTML_TAG_A_START));
-                markdownImage.setLineEndOffset(lineText.indexOf(ImageContents.HTML_TAG_A_END) + 2);
+            // 如果被 `<a` 和 `a>` 包裹, 需要修改偏移量
+            int tagStart = lineText.lastIndexOf(ImageContents.HTML_TAG_A_START, markStart);
+            int tagEnd = lineText.indexOf(ImageContents.HTML_TAG_A_END, markEnd);
+            if (tagStart > -1 && tagEnd > -1 && lineText.lastIndexOf(ImageContents.HTML_TAG_A_END, markStart) < tagStart) {
+                markdownImage.setLineStartOffset(tagStart);
+                markdownImage.setLineEndOffset(tagEnd + ImageContents.HTML_TAG_A_END.length());
+                String tagText = lineText.substring(tagStart, markStart);
                 // 解析标签类型
-                if (lineText.contains(ImageContents.LARG_IMAGE_MARK_ID)) {
+                if (tagText.contains(ImageContents.LARG_IMAGE_MARK_ID)) {
                     markdownImage.setImageMarkType(ImageMarkEnum.LARGE_PICTURE);
-                } else if (lineText.contains(ImageContents.COMMON_IMAGE_MARK_ID)) {
+                } else if (tagText.contains(ImageContents.COMMON_IMAGE_MARK_ID)) {
                     markdownImage.setImageMarkType(ImageMarkEnum.COMMON_PICTURE);
                 } else {
                     markdownImage.setImageMarkType(ImageMarkEnum.CUSTOM);
@@ -189,12 +383,7 @@ public final class MarkdownUtils {
             }
             // 截取 markdown image 标签
             markdownImage.setOriginalMark(lineText.substring(markdownImage.getLineStartOffset(), markdownImage.getLineEndOffset()));
-
-            String title = lineText.substring(lineText.indexOf(ImageContents.IMAGE_MARK_PREFIX) + ImageContents.IMAGE_MARK_PREFIX.length(),
-                                              lineText.indexOf(ImageContents.IMAGE_MARK_MIDDLE)).trim();
-
-            String path = lineText.substring(lineText.indexOf(ImageContents.IMAGE_MARK_MIDDLE) + ImageContents.IMAGE_MARK_MIDDLE.length(),
-                                             lineText.indexOf(ImageContents.IMAGE_MARK_SUFFIX)).trim();
+            markdownImage.setDocumentMark(markdownImage.getOriginalMark());
 
             markdownImage.setTitle(title);
 
@@ -241,39 +430,61 @@ public final class MarkdownUtils {
     }
 
     /**
-     * 判断给定的字符串是否为非法的 markdown 图片标签
+     * 只按语法判断给定的字符串是否为非法的 markdown 图片标签
      * <p>
-     * 该方法会检查字符串是否符合 markdown 图片标签的格式，并验证相关路径和文件是否存在。
+     * 只检查标签格式、图片路径和图片名是否为空，不查询索引也不访问磁盘，可以在光标移动等频繁调用的地方使用。
      *
-     * @param project 项目对象，用于文件查找
-     * @param mark    要检查的字符串内容
-     * @return 如果是非法的 markdown 图片标签，返回 true；否则返回 false
-     * @since 0.0.1
+     * @param mark 要检查的字符串内容
+     * @return 如果语法上不是合法的 markdown 图片标签，返回 true；否则返回 false
+     * @since 2.3.0
      */
-    public static boolean illegalImageMark(Project project, String mark) {
+    public static boolean illegalImageMarkSyntax(String mark) {
         // 整行数据是否有 markdown 标签
-        int[] offset = resolveText(mark);
-        if (offset == null) {
+        if (resolveText(mark) == null) {
             return true;
         }
-
         // ![]() path 不能为空
-        String path = getImagePath(mark);
-        if (StringUtils.isBlank(path)) {
+        if (StringUtils.isBlank(getImagePath(mark))) {
             return true;
         }
-
         // 图片名不能为空
-        String imageName = getImageName(mark);
-        if (StringUtils.isBlank(imageName)) {
+        return StringUtils.isBlank(getImageName(mark));
+    }
+
+    /**
+     * 判断 markdown 图片标签是否引用网络图片
+     *
+     * @param mark markdown 图片标签
+     * @return 图片路径以 http 开头时返回 true
+     * @since 2.3.0
+     */
+    public static boolean isNetworkImageMark(String mark) {
+        return getImagePath(mark).startsWith(ImageContents.IMAGE_LOCATION);
+    }
+
+    /**
+     * 判断给定的字符串是否为非法的 markdown 图片标签
+     * <p>
+     * 该方法会检查字符串是否符合 markdown 图片标签的格式，并验证相关路径和文件是否存在。
+     *
+     * @param project 项目对象，用于文件查找
+     * @param mark    要检查的字符串内容
+     * @return 如果是非法的 markdown 图片标签，返回 true；否则返回 false
+     * @since 0.0.1
+     */
+    public static boolean illegalImageMark(Project project, String mark) {
+        if (illegalImageMarkSyntax(mark)) {
             return true;
         }
 
         // 如果是 url, 则不在本地查询文件
-        if (path.startsWith(ImageContents.IMAGE_LOCATION)) {
+        if (isNetworkImageMark(mark)) {
             return false;
         }
 
+        String path = getImagePath(mark);
+        String imageName = getImageName(mark);
+
         // 严格验证图片文件是否存在
         VirtualFile virtualFiles = UploadUtils.searchVirtualFileByName(project, imageName);
         if (virtualFiles == null) {
@@ -441,61 +652,74 @@ public final class MarkdownUtils {
     }
 
     /**
-     * 递归遍历目录，收集所有Markdown文件
+     * 递归遍历目录，每发现一个 Markdown 文件就交给处理方式
      * <p>
-     * 该方法通过递归方式遍历指定目录及其子目录，筛选出所有Markdown文件并添加到结果列表中。
+     * 起点目录本身即使被忽略也会遍历（用户明确选中了它）；遍历过程中检查取消状态，取消时抛出 {@link ProcessCanceledException}。
      *
-     * @param virtualFile 要遍历的虚拟文件对象，代表目录起点
-     * @return 包含所有Markdown文件的列表
-     * @since 0.0.1
+     * @param project   项目对象，为 null 时只跳过 node_modules 和 IDE 忽略的文件类型
+     * @param root      遍历起点目录
+     * @param indicator 进度指示器，可以为 null
+     * @param consumer  Markdown 文件的处理方式
      */
-    private static List<VirtualFile> recursivelyMarkdownFile(VirtualFile virtualFile) {
-        List<VirtualFile> markdownFiles = new ArrayList<>();
-        /*
-         * 递归遍历子文件
-         *
-         * @param root     the root         父文件
-         * @param filter   the filter       过滤器
-         * @param iterator the iterator     处理方式
-         * @return the boolean
-         */
-        VfsUtilCore.iterateChildrenRecursively(virtualFile,
+    private static void visitMarkdownFiles(@Nullable Project project,
+                                           @NotNull VirtualFile root,
+                                           @Nullable ProgressIndicator indicator,
+                                           @NotNull Consumer<VirtualFile> consumer) {
+        VfsUtilCore.iterateChildrenRecursively(root,
                                                file -> {
-                                                   // todo-dong4j : (2019年03月15日 13:02) [从 .gitignore 中获取忽略的文件]
-                                                   boolean allowAccept =
-                                                       file.isDirectory() && !file.getName().equals(MikContents.NODE_MODULES_FILE);
-                                                   if (allowAccept || file.getName().endsWith(MarkdownContents.MARKDOWN_FILE_SUFIX)) {
-                                                       log.debug("accept = {}", file.getPath());
-                                                       return true;
+                                                   if (indicator != null) {
+                                                       indicator.checkCanceled();
+                                                   }
+                                                   if (!file.equals(root) && isIgnored(project, file)) {
+                                                       log.debug("ignore = {}", file.getPath());
+                                                       return false;
                                                    }
-                                                   return false;
+                                                   return file.isDirectory() || file.getName().endsWith(MarkdownContents.MARKDOWN_FILE_SUFIX);
                                                },
                                                fileOrDir -> {
-                                                   // todo-dong4j : (2019年03月15日 13:04) [处理 markdown 逻辑实现]
                                                    if (!fileOrDir.isDirectory()) {
                                                        log.debug("processFile = {}", fileOrDir.getName());
-                                                       markdownFiles.add(fileOrDir);
+                                                       consumer.accept(fileOrDir);
                                                    }
                                                    return true;
                                                });
-        return markdownFiles;
     }
 
     /**
-     * 获取需要处理的 markdown 信息
+     * 判断文件或目录是否应在递归遍历时跳过
+     *
+     * @param project 项目对象，为 null 时不检查项目排除目录和版本控制忽略规则
+     * @param file    文件或目录
+     * @return 需要跳过时返回 true
+     */
+    private static boolean isIgnored(@Nullable Project project, @NotNull VirtualFile file) {
+        if (file.getName().equals(MikContents.NODE_MODULES_FILE) || FileTypeManager.getInstance().isFileIgnored(file)) {
+            return true;
+        }
+        if (project == null || project.isDisposed()) {
+            return false;
+        }
+        return ReadAction.compute(() -> ProjectFileIndex.getInstance(project).isExcluded(file))
+               || ChangeListManager.getInstance(project).isIgnoredFile(file);
+    }
+
+    /**
+     * 获取需要处理的 markdown 信息，支持取消
      * <p>
-     * 根据当前选中的编辑器或文件列表，解析其中的 markdown 文档，并提取其中的图片信息。
-     * 支持从单个编辑器文档或多个选中的文件/目录中获取 markdown 图片信息。
+     * 选中文件或目录时通过 {@link #readMarkdownFiles} 遍历并解析，不会阻塞 UI。
+     * 解析进度输出到进度指示器；取消后停止遍历和解析，返回已经解析完成的部分，调用方需要自行检查取消状态。
      *
-     * @param event   事件对象，用于获取当前选中的编辑器或文件信息
-     * @param project 项目对象，用于获取项目基础路径和相关资源
+     * @param event     事件对象，用于获取当前选中的编辑器或文件信息
+     * @param project   项目对象，用于获取项目基础路径和相关资源
+     * @param indicator 进度指示器，可以为 null
      * @return 包含文档与对应 markdown 图片信息的映射
-     * @since 0.0.1
+     * @since 2.3.0
      */
     public static Map<Document, List<MarkdownImage>> getProcessMarkdownInfo(@NotNull AnActionEvent event,
-                                                                            @NotNull Project project) {
+                                                                            @NotNull Project project,
+                                                                            @Nullable ProgressIndicator indicator) {
 
-        Map<Document, List<MarkdownImage>> waitingProcessMap = new HashMap<>(20);
+        Map<Document, List<MarkdownImage>> waitingProcessMap = new ConcurrentHashMap<>(20);
 
         log.debug("project's base path = {}", project.getBasePath());
         // 如果选中编辑器
@@ -507,36 +731,119 @@ public final class MarkdownUtils {
             Document documentFromEditor = editor.getDocument();
             VirtualFile virtualFile = FileDocumentManager.getInstance().getFile(documentFromEditor);
             waitingProcessMap.put(documentFromEditor, MarkdownUtils.getImageInfoFromFiles(project, documentFromEditor, virtualFile));
-        } else {
-            // 获取被选中的有文件和目录
-            VirtualFile[] files = PlatformDataKeys.VIRTUAL_FILE_ARRAY.getData(dataContext);
-            if (null != files) {
-                for (VirtualFile file : files) {
-                    if (MarkdownUtils.isMardownFile(file)) {
-                        // 解析此文件中所有的图片标签
-                        ApplicationManager.getApplication().runReadAction(() -> {
-                            Document documentFromVirtualFile = FileDocumentManager.getInstance().getDocument(file);
-                            waitingProcessMap.put(documentFromVirtualFile, MarkdownUtils.getImageInfoFromFiles(project,
-                                                                                                               documentFromVirtualFile,
-                                                                                                               file));
-                        });
+            return waitingProcessMap;
+        }
+
+        // 获取被选中的有文件和目录
+        VirtualFile[] files = PlatformDataKeys.VIRTUAL_FILE_ARRAY.getData(dataContext);
+        if (null == files) {
+            return waitingProcessMap;
+        }
+
+        List<Map.Entry<Document, List<MarkdownImage>>> parsed = readMarkdownFiles(project, files, indicator, markdownFile -> {
+            Document document = FileDocumentManager.getInstance().getDocument(markdownFile);
+            return document == null ? null : Map.entry(document, MarkdownUtils.getImageInfoFromFiles(project, document, markdownFile));
+        });
+        for (Map.Entry<Document, List<MarkdownImage>> entry : parsed) {
+            waitingProcessMap.put(entry.getKey(), entry.getValue());
+        }
+        return waitingProcessMap;
+    }
 
+    /**
+     * 遍历选中的文件和目录，在可中断的读操作中读取其中的每个 Markdown 文件
+     * <p>
+     * 遍历目录与读取文件同时进行：每发现一个 Markdown 文件就立即提交给 {@value #MAX_PARSE_THREADS} 个线程，
+     * 在可中断的读操作（{@link ReadAction#nonBlocking}）中执行 reader，写操作到来时读操作会让出并自动重试，不会阻塞 UI 和写操作。
+     * reader 可能被重复执行，只能读取而不能修改状态。进度输出到进度指示器；取消后停止遍历和读取，返回已经读取完成的部分，
+     * 调用方需要自行检查取消状态。
+     *
+     * @param project   项目对象
+     * @param files     选中的文件和目录，目录会递归遍历并跳过被忽略的文件
+     * @param indicator 进度指示器，可以为 null
+     * @param reader    在读操作中读取单个 Markdown 文件，返回 null 表示忽略该文件
+     * @param <T>       读取结果的类型
+     * @return 各文件的读取结果，顺序不确定
+     * @since 2.3.0
+     */
+    @NotNull
+    public static <T> List<T> readMarkdownFiles(@NotNull Project project,
+                                                @NotNull VirtualFile[] files,
+                                                @Nullable ProgressIndicator indicator,
+                                                @NotNull Function<VirtualFile, T> reader) {
+        ConcurrentLinkedQueue<T> results = new ConcurrentLinkedQueue<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(MAX_PARSE_THREADS);
+        Set<VirtualFile> submitted = new HashSet<>();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        AtomicInteger foundCount = new AtomicInteger(0);
+        AtomicInteger readCount = new AtomicInteger(0);
+        // 遍历线程每发现一个文件就提交读取，同一文件只读取一次
+        Consumer<VirtualFile> submit = markdownFile -> {
+            if (submitted.add(markdownFile)) {
+                foundCount.incrementAndGet();
+                futures.add(CompletableFuture.runAsync(() -> {
+                    T result = readMarkdownFile(project, markdownFile, indicator, reader);
+                    if (result != null) {
+                        results.add(result);
                     }
-                    // 如果是目录, 则递归获取所有 markdown 文件
-                    if (file.isDirectory()) {
-                        List<VirtualFile> markdownFiles = MarkdownUtils.recursivelyMarkdownFile(file);
-                        for (VirtualFile virtualFile : markdownFiles) {
-                            ApplicationManager.getApplication().runReadAction(() -> {
-                                Document documentFromVirtualFile = FileDocumentManager.getInstance().getDocument(virtualFile);
-                                waitingProcessMap.put(documentFromVirtualFile, MarkdownUtils.getImageInfoFromFiles(project,
-                                                                                                                   documentFromVirtualFile, virtualFile));
-                            });
-                        }
+                    if (indicator != null) {
+                        indicator.setText2(String.format("解析文件: %s (%d/%d)",
+                                                         markdownFile.getName(), readCount.incrementAndGet(), foundCount.get()));
                     }
+                }, executorService));
+            }
+        };
+        try {
+            for (VirtualFile file : files) {
+                if (file.isDirectory()) {
+                    // 如果是目录, 则递归获取所有 markdown 文件
+                    visitMarkdownFiles(project, file, indicator, submit);
+                } else if (MarkdownUtils.isMardownFile(file)) {
+                    submit.accept(file);
                 }
             }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (ProcessCanceledException e) {
+            log.debug("读取 Markdown 文件已取消，已读取 {} 个文件", results.size());
+        } finally {
+            executorService.shutdownNow();
+        }
+        log.debug("读取 Markdown 文件完成: 发现 {} 个文件，读取 {} 个文件", foundCount.get(), results.size());
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * 在可中断的读操作中读取单个 Markdown 文件
+     *
+     * @param project      项目对象
+     * @param markdownFile Markdown 文件
+     * @param indicator    进度指示器，可以为 null
+     * @param reader       读取方式
+     * @param <T>          读取结果的类型
+     * @return 读取结果，文件无效、已取消或读取失败时返回 null
+     */
+    @Nullable
+    private static <T> T readMarkdownFile(@NotNull Project project,
+                                          @NotNull VirtualFile markdownFile,
+                                          @Nullable ProgressIndicator indicator,
+                                          @NotNull Function<VirtualFile, T> reader) {
+        if (indicator != null && indicator.isCanceled()) {
+            return null;
+        }
+        NonBlockingReadAction<T> readAction = ReadAction.nonBlocking(() -> markdownFile.isValid() ? reader.apply(markdownFile) : null)
+            .expireWith(project);
+        if (indicator != null) {
+            readAction = readAction.wrapProgress(indicator);
+        }
+        try {
+            return readAction.executeSynchronously();
+        } catch (ProcessCanceledException e) {
+            // 任务已取消或项目已关闭，剩余文件不再读取
+            return null;
+        } catch (Exception e) {
+            log.debug("读取 Markdown 文件时发生异常: {}", markdownFile.getPath(), e);
+            return null;
         }
-        return waitingProcessMap;
     }
 
 }
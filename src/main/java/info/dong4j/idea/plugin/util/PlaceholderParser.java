@@ -4,7 +4,6 @@ import info.dong4j.idea.plugin.util.date.DateFormatUtils;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Date;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -112,15 +111,16 @@ public class PlaceholderParser {
     private static String parseDatetime(@NotNull String text) {
         Matcher matcher = DATETIME_PATTERN.matcher(text);
         StringBuilder sb = new StringBuilder();
+        long now = System.currentTimeMillis();
 
         while (matcher.find()) {
             String format = matcher.group(1);
             String dateTime;
             try {
-                dateTime = DateFormatUtils.format(new Date(), format);
+                dateTime = DateFormatUtils.format(now, format);
             } catch (Exception e) {
                 log.debug("日期格式 [{}] 不正确，使用默认格式", format);
-                dateTime = DateFormatUtils.format(new Date(), "yyyyMMdd");
+                dateTime = DateFormatUtils.format(now, "yyyyMMdd");
             }
             matcher.appendReplacement(sb, Matcher.quoteReplacement(dateTime));
         }
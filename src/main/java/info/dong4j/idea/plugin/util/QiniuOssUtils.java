@@ -1,5 +1,8 @@
 package info.dong4j.idea.plugin.util;
 
+import info.dong4j.idea.plugin.util.digest.HmacAlgorithms;
+import info.dong4j.idea.plugin.util.digest.SignUtils;
+
 import java.io.BufferedReader;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -9,15 +12,11 @@ import java.io.OutputStream;
 import java.io.Serial;
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
-import java.security.GeneralSecurityException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,6 +41,10 @@ public class QiniuOssUtils {
     private final static String PREFIX = "--";
     /** 换行符，用于表示行结束符 */
     private final static String LINE_END = "\r\n";
+    /** 上传 token 的有效期（秒） */
+    private final static long UPLOAD_TOKEN_EXPIRES_SECONDS = 3600L;
+    /** 按 bucket 和 key 签发的上传 token 缓存，重复上传同一个文件时在有效期内复用 */
+    private final static SigningKeyCache<String> UPLOAD_TOKEN_CACHE = new SigningKeyCache<>();
 
     /**
      * 向七牛云OSS上传文件
@@ -64,7 +67,7 @@ public class QiniuOssUtils {
                                  String host,
                                  String accessKeyId,
                                  String secretAccessKey) throws Exception {
-        String token = uploadToken(ossBucket, filename, 3600L * 1000 * 24 * 365 * 10, null, accessKeyId, secretAccessKey);
+        String token = cachedUploadToken(ossBucket, filename, accessKeyId, secretAccessKey);
 
         HttpURLConnection connection = OssUtils.connect("http://upload.qiniu.com", "POST");
 
@@ -303,7 +306,7 @@ public class QiniuOssUtils {
     /**
      * 对数据进行签名操作，生成包含访问密钥和签名的字符串
      * <p>
-     * 使用 HMAC-SHA256 算法对数据进行签名，并将访问密钥与签名结果拼接返回
+     * 使用 HMAC-SHA1 算法对数据进行签名，Mac 实例按线程和密钥复用，并将访问密钥与签名结果拼接返回
      *
      * @param data            需要签名的数据
      * @param accessKey       访问密钥
@@ -312,32 +315,29 @@ public class QiniuOssUtils {
      * @since 1.6.1
      */
     public static String sign(byte[] data, String accessKey, String secretAccessKey) {
-        Mac mac = createMac(secretAccessKey);
-        String encodedSign = UrlSafeBase64.encodeToString(mac.doFinal(data));
+        byte[] rawSign = SignUtils.hmac(HmacAlgorithms.HMAC_SHA_1, StringUtils.utf8Bytes(secretAccessKey), data);
+        String encodedSign = SignUtils.base64(rawSign, true);
         return accessKey + ":" + encodedSign;
     }
 
     /**
-     * 根据密钥创建HmacSHA1的MAC对象
+     * 获取缓存的上传 token
      * <p>
-     * 使用指定的密钥初始化一个HmacSHA1算法的MAC对象，用于生成消息认证码
+     * token 的 scope 为 {@code bucket:key}，允许覆盖已存在的同名文件（只包含 bucket 的 scope 只能新增，同名文件已存在时返回 614）；
+     * 有效期为 {@value #UPLOAD_TOKEN_EXPIRES_SECONDS} 秒，过期前自动重新签发。
      *
-     * @param secretAccessKey 密钥，用于初始化MAC对象
-     * @return 创建并初始化后的MAC对象
-     * @throws IllegalArgumentException 如果初始化过程中发生安全异常
-     * @since 1.6.1
+     * @param bucket          存储空间名称
+     * @param key             文件名
+     * @param accessKey       访问密钥
+     * @param secretAccessKey 秘密访问密钥
+     * @return 上传 token
      */
-    private static Mac createMac(String secretAccessKey) {
-        Mac mac;
-        try {
-            mac = javax.crypto.Mac.getInstance("HmacSHA1");
-            byte[] sk = StringUtils.utf8Bytes(secretAccessKey);
-            SecretKeySpec secretKeySpec = new SecretKeySpec(sk, "HmacSHA1");
-            mac.init(secretKeySpec);
-        } catch (GeneralSecurityException e) {
-            throw new IllegalArgumentException(e);
-        }
-        return mac;
+    private static String cachedUploadToken(String bucket, String key, String accessKey, String secretAccessKey) {
+        return UPLOAD_TOKEN_CACHE.get(bucket + "\n" + key + "\n" + accessKey + "\n" + secretAccessKey, now -> {
+            long deadline = now / 1000 + UPLOAD_TOKEN_EXPIRES_SECONDS;
+            String token = uploadTokenWithDeadline(bucket, key, deadline, null, true, accessKey, secretAccessKey);
+            return new SigningKeyCache.Entry<>(token, deadline * 1000);
+        });
     }
 
     /**
@@ -0,0 +1,90 @@
+package info.dong4j.idea.plugin.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * 签名密钥缓存
+ * <p>
+ * 缓存在一个时间窗口内有效的派生签名密钥或上传凭证（如腾讯云的 q-key-time 签名密钥、百度云的 auth-string 前缀、
+ * 七牛云按 bucket 签发的上传 token），同一批图片上传时复用，不再每个对象都重新计算。
+ * 距离过期不足 {@link #REFRESH_MARGIN_MILLIS} 毫秒时重新生成，避免请求发出时凭证恰好过期。
+ * <p>
+ * 缓存键由调用方拼接，应包含密钥本身，修改配置后自然失效；条目数超过 {@value #MAX_ENTRIES} 时按最近最少使用顺序淘汰。
+ *
+ * @param <T> 缓存值类型
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public final class SigningKeyCache<T> {
+    /** 提前刷新的时间（毫秒） */
+    public static final long REFRESH_MARGIN_MILLIS = 5 * 60 * 1000L;
+    /** 最大缓存条目数 */
+    private static final int MAX_ENTRIES = 32;
+
+    /** 当前时间（毫秒） */
+    private final LongSupplier clock;
+    /** 缓存条目，按访问顺序排列 */
+    private final Map<String, Entry<T>> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry<T>> eldest) {
+            return this.size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * 使用系统时间创建缓存
+     */
+    public SigningKeyCache() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * 使用指定时钟创建缓存
+     *
+     * @param clock 当前时间（毫秒）
+     */
+    SigningKeyCache(@NotNull LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * 获取缓存值，不存在或即将过期时重新生成
+     *
+     * @param key    缓存键
+     * @param loader 根据当前时间（毫秒）生成新的缓存条目
+     * @return 缓存值
+     */
+    public synchronized T get(@NotNull String key, @NotNull LongFunction<Entry<T>> loader) {
+        long now = this.clock.getAsLong();
+        Entry<T> entry = this.entries.get(key);
+        if (entry == null || now >= entry.expiresAtMillis() - REFRESH_MARGIN_MILLIS) {
+            entry = loader.apply(now);
+            this.entries.put(key, entry);
+        }
+        return entry.value();
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param value           缓存值
+     * @param expiresAtMillis 过期时间（毫秒）
+     * @param <T>             缓存值类型
+     */
+    public record Entry<T>(T value, long expiresAtMillis) {
+    }
+}
@@ -1,8 +1,10 @@
 package info.dong4j.idea.plugin.util;
 
+import info.dong4j.idea.plugin.util.date.DateFormatUtils;
 import info.dong4j.idea.plugin.util.digest.DigestUtils;
-import info.dong4j.idea.plugin.util.digest.Hex;
+import info.dong4j.idea.plugin.util.digest.HmacAlgorithms;
 import info.dong4j.idea.plugin.util.digest.HmacUtils;
+import info.dong4j.idea.plugin.util.digest.SignUtils;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -12,20 +14,12 @@ import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.text.MessageFormat;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
-import java.util.TimeZone;
 import java.util.TreeMap;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -63,6 +57,10 @@ public class TencentCosUtils {
     public static final String GET = "get";
     /** PUT 请求方法标识 */
     public static final String PUT = "put";
+    /** 签名密钥的有效期（毫秒） */
+    private static final long KEY_TIME_MILLIS = 3600L * 1000 * 24 * 365 * 10;
+    /** q-key-time 及对应签名密钥的缓存，同一组密钥在有效期内复用 */
+    private static final SigningKeyCache<KeyTime> KEY_TIME_CACHE = new SigningKeyCache<>();
 
     /**
      * 获取当前的GMT时间字符串
@@ -73,10 +71,7 @@ public class TencentCosUtils {
      * @since 0.0.1
      */
     public static String getGMTDate() {
-        Calendar cd = Calendar.getInstance();
-        SimpleDateFormat sdf = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
-        sdf.setTimeZone(TimeZone.getTimeZone("GMT"));
-        return sdf.format(cd.getTime());
+        return DateFormatUtils.httpDate();
     }
 
     /**
@@ -117,17 +112,15 @@ public class TencentCosUtils {
                            UriPathname + LINE_SEPARATOR + formatParameters +
                            LINE_SEPARATOR + formatHeaders + LINE_SEPARATOR;
 
-        //增加
-        Date expiredTime = new Date(System.currentTimeMillis() + 3600L * 1000 * 24 * 365 * 10);
+        KeyTime keyTime = keyTime(SecretId, SecretKey);
         String qKeyTimeStr, qSignTimeStr;
-        qKeyTimeStr = qSignTimeStr = buildTimeStr(expiredTime);
+        qKeyTimeStr = qSignTimeStr = keyTime.qKeyTime();
         String hashFormatStr = DigestUtils.sha1Hex(formatStr);
         String stringToSign = Q_SIGN_ALGORITHM_VALUE +
                               LINE_SEPARATOR + qSignTimeStr + LINE_SEPARATOR +
                               hashFormatStr + LINE_SEPARATOR;
 
-        String signKey = HmacUtils.hmacSha1Hex(SecretKey, qKeyTimeStr);
-        String signature = HmacUtils.hmacSha1Hex(signKey, stringToSign);
+        String signature = HmacUtils.hmacSha1Hex(keyTime.signKey(), stringToSign);
 
         return Q_SIGN_ALGORITHM_KEY + "=" +
                Q_SIGN_ALGORITHM_VALUE + "&" + Q_AK + "=" +
@@ -326,24 +319,7 @@ public class TencentCosUtils {
      * @since 0.0.1
      */
     public static String shaEncode(String inStr) {
-        MessageDigest sha;
-        try {
-            sha = MessageDigest.getInstance("SHA");
-        } catch (Exception e) {
-            return "";
-        }
-
-        byte[] byteArray = inStr.getBytes(StandardCharsets.UTF_8);
-        byte[] md5Bytes = sha.digest(byteArray);
-        StringBuilder hexValue = new StringBuilder();
-        for (byte md5Byte : md5Bytes) {
-            int val = ((int) md5Byte) & 0xff;
-            if (val < 16) {
-                hexValue.append("0");
-            }
-            hexValue.append(Integer.toHexString(val));
-        }
-        return hexValue.toString();
+        return SignUtils.digestHex("SHA-1", inStr);
     }
 
     /**
@@ -376,18 +352,9 @@ public class TencentCosUtils {
      * @param key 密钥，用于加密计算
      * @param src 源字符串，需要进行加密处理的数据
      * @return 生成的HMAC哈希字符串
-     * @throws RuntimeException 如果加密过程中发生异常
      */
     public static String genHMAC(String key, String src) {
-        try {
-            SecretKeySpec signingKey = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA1");
-            Mac mac = Mac.getInstance("HmacSHA1");
-            mac.init(signingKey);
-            byte[] rawHmac = mac.doFinal(src.getBytes(StandardCharsets.UTF_8));
-            return Hex.encodeHexString(rawHmac);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return SignUtils.hmacHex(HmacAlgorithms.HMAC_SHA_1, key, src);
     }
 
     /**
@@ -462,16 +429,12 @@ public class TencentCosUtils {
                                    String regionName,
                                    String secretId,
                                    String secretKey) throws Exception {
-        Date dateS = new Date();
-        Date dateE = new Date();
-        dateE.setTime(dateS.getTime() + 3600L * 1000 * 24 * 365 * 10);
-
+        KeyTime keyTime = keyTime(secretId, secretKey);
         String qSignAlgorithm = "sha1";
-        String qSignTime = getSecondTimestamp(dateS) + ";" + getSecondTimestamp(dateE);
-        String qKeyTime = getSecondTimestamp(dateS) + ";" + getSecondTimestamp(dateE);
-
+        String qSignTime = keyTime.qKeyTime();
+        String qKeyTime = keyTime.qKeyTime();
 
-        String signKey = genHMAC(secretKey, qKeyTime);
+        String signKey = keyTime.signKey();
         String httpString = PUT + "\n" + key + "\n\n\n";
         String stringToSign = qSignAlgorithm + "\n" + qSignTime + "\n" + shaEncode(httpString) + "\n";
         String signature = genHMAC(signKey, stringToSign);
@@ -482,4 +445,30 @@ public class TencentCosUtils {
 
         return getUploadInformation(url, content, key, backet, regionName);
     }
+
+    /**
+     * 获取缓存的 q-key-time 及签名密钥
+     * <p>
+     * 签名密钥只取决于 SecretKey 和 q-key-time，有效期内所有对象共用同一个，过期前自动重新生成。
+     *
+     * @param secretId  秘密ID（Access Key ID）
+     * @param secretKey 秘密密钥（Access Key Secret）
+     * @return q-key-time 及签名密钥
+     */
+    private static KeyTime keyTime(String secretId, String secretKey) {
+        return KEY_TIME_CACHE.get(secretId + LINE_SEPARATOR + secretKey, now -> {
+            long end = now + KEY_TIME_MILLIS;
+            String qKeyTime = now / 1000 + ";" + end / 1000;
+            return new SigningKeyCache.Entry<>(new KeyTime(qKeyTime, genHMAC(secretKey, qKeyTime)), end);
+        });
+    }
+
+    /**
+     * q-key-time 及对应的签名密钥
+     *
+     * @param qKeyTime 签名密钥的有效时间段，格式为 "startTime;endTime"
+     * @param signKey  签名密钥
+     */
+    private record KeyTime(String qKeyTime, String signKey) {
+    }
 }
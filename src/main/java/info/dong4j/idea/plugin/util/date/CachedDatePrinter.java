@@ -0,0 +1,66 @@
+package info.dong4j.idea.plugin.util.date;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 按秒缓存的日期格式化
+ * <p>
+ * 包装一个精确到秒的 {@link DatePrinter}，同一秒内的多次调用直接返回上一次的格式化结果，
+ * 适用于请求头 Date、控制台时间戳这类高频且只精确到秒的场景。格式中包含毫秒字段时不应使用。
+ * <p>
+ * 缓存只保存最近一秒的结果，使用 volatile 发布不可变的结果对象，多线程并发调用时最多重复格式化一次。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public final class CachedDatePrinter {
+    /** 实际执行格式化的对象 */
+    private final DatePrinter printer;
+    /** 最近一次格式化的结果 */
+    private volatile Cached cached = new Cached(Long.MIN_VALUE, "");
+
+    /**
+     * 构造函数
+     *
+     * @param printer 精确到秒的日期格式化对象
+     */
+    public CachedDatePrinter(@NotNull DatePrinter printer) {
+        this.printer = printer;
+    }
+
+    /**
+     * 格式化当前时间
+     *
+     * @return 格式化后的字符串
+     */
+    public String now() {
+        return this.format(System.currentTimeMillis());
+    }
+
+    /**
+     * 格式化指定时间，与上一次调用在同一秒内时复用结果
+     *
+     * @param millis 毫秒时间戳
+     * @return 格式化后的字符串
+     */
+    public String format(long millis) {
+        long second = Math.floorDiv(millis, 1000L);
+        Cached current = this.cached;
+        if (current.second() != second) {
+            current = new Cached(second, this.printer.format(millis));
+            this.cached = current;
+        }
+        return current.text();
+    }
+
+    /**
+     * 一秒内的格式化结果
+     *
+     * @param second 秒级时间戳
+     * @param text   格式化后的字符串
+     */
+    private record Cached(long second, String text) {
+    }
+}
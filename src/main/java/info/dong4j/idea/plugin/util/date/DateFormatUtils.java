@@ -14,6 +14,9 @@ import java.util.TimeZone;
  * <p>
  * 提供日期格式化相关工具方法，支持自定义格式、时区和语言环境的日期格式化操作。
  * 包含一个静态常量用于 SMTP 协议中的日期时间格式。
+ * <p>
+ * 插件内所有日期格式化都通过该类完成：自定义格式使用 {@link FastDateFormat}，按（格式、时区、语言环境）缓存且线程安全；
+ * 请求签名用的 RFC 1123 Date 头和 ISO 8601 UTC 时间通过 {@link CachedDatePrinter} 格式化。
  *
  * @author dong4j
  * @version 1.0.0
@@ -23,6 +26,16 @@ import java.util.TimeZone;
 public class DateFormatUtils {
     /** SMTP 日期时间格式化对象，用于格式化邮件相关的日期时间信息 */
     public static final FastDateFormat SMTP_DATETIME_FORMAT;
+    /** RFC 1123 格式的 HTTP Date 头，如 Wed, 06 Apr 2016 06:34:40 GMT */
+    public static final FastDateFormat HTTP_DATE_FORMAT =
+        FastDateFormat.getInstance("EEE, dd MMM yyyy HH:mm:ss 'GMT'", TimeZone.getTimeZone("GMT"), Locale.US);
+    /** ISO 8601 格式的 UTC 时间，如 2015-04-27T08:23:49Z */
+    public static final FastDateFormat ISO8601_UTC_FORMAT =
+        FastDateFormat.getInstance("yyyy-MM-dd'T'HH:mm:ss'Z'", TimeZone.getTimeZone("UTC"), Locale.US);
+    /** 按秒缓存的 HTTP Date 头 */
+    private static final CachedDatePrinter HTTP_DATE = new CachedDatePrinter(HTTP_DATE_FORMAT);
+    /** 按秒缓存的 ISO 8601 UTC 时间 */
+    private static final CachedDatePrinter ISO8601_UTC = new CachedDatePrinter(ISO8601_UTC_FORMAT);
 
     /**
      * 日期格式化工具类的构造函数
@@ -65,6 +78,41 @@ public class DateFormatUtils {
         return df.format(date);
     }
 
+    /**
+     * 按指定格式格式化毫秒时间戳，使用默认时区和语言环境
+     * <p>
+     * 格式语法与 {@link java.text.SimpleDateFormat} 相同，同一格式的格式化对象只创建一次。
+     *
+     * @param millis  毫秒时间戳
+     * @param pattern 日期格式模式，如 "yyyyMMdd"
+     * @return 格式化后的字符串
+     * @throws IllegalArgumentException 格式模式不合法时抛出
+     * @since 2.3.0
+     */
+    public static String format(long millis, String pattern) {
+        return FastDateFormat.getInstance(pattern, null, null).format(millis);
+    }
+
+    /**
+     * 获取当前时间的 RFC 1123 格式 HTTP Date 头
+     *
+     * @return 如 Wed, 06 Apr 2016 06:34:40 GMT
+     * @since 2.3.0
+     */
+    public static String httpDate() {
+        return HTTP_DATE.now();
+    }
+
+    /**
+     * 获取当前时间的 ISO 8601 UTC 格式字符串
+     *
+     * @return 如 2015-04-27T08:23:49Z
+     * @since 2.3.0
+     */
+    public static String iso8601Utc() {
+        return ISO8601_UTC.now();
+    }
+
     static {
         SMTP_DATETIME_FORMAT = FastDateFormat.getInstance("EEE, dd MMM yyyy HH:mm:ss Z", Locale.US);
     }
@@ -162,7 +162,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static byte[] md2(byte[] data) {
-        return getMd2Digest().digest(data);
+        return SignUtils.digest("MD2", data);
     }
 
     /**
@@ -176,7 +176,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static byte[] md2(InputStream data) throws IOException {
-        return digest(getMd2Digest(), data);
+        return digest(SignUtils.digest("MD2"), data);
     }
 
     /**
@@ -201,7 +201,7 @@ public class DigestUtils {
      * @return MD2哈希值的十六进制字符串
      */
     public static String md2Hex(byte[] data) {
-        return Hex.encodeHexString(md2(data));
+        return SignUtils.hex(md2(data));
     }
 
     /**
@@ -215,7 +215,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String md2Hex(InputStream data) throws IOException {
-        return Hex.encodeHexString(md2(data));
+        return SignUtils.hex(md2(data));
     }
 
     /**
@@ -228,7 +228,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String md2Hex(String data) {
-        return Hex.encodeHexString(md2(data));
+        return SignUtils.hex(md2(data));
     }
 
     /**
@@ -241,7 +241,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static byte[] md5(byte[] data) {
-        return getMd5Digest().digest(data);
+        return SignUtils.digest("MD5", data);
     }
 
     /**
@@ -255,7 +255,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static byte[] md5(InputStream data) throws IOException {
-        return digest(getMd5Digest(), data);
+        return digest(SignUtils.digest("MD5"), data);
     }
 
     /**
@@ -281,7 +281,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String md5Hex(byte[] data) {
-        return Hex.encodeHexString(md5(data));
+        return SignUtils.hex(md5(data));
     }
 
     /**
@@ -295,7 +295,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String md5Hex(InputStream data) throws IOException {
-        return Hex.encodeHexString(md5(data));
+        return SignUtils.hex(md5(data));
     }
 
     /**
@@ -308,7 +308,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String md5Hex(String data) {
-        return Hex.encodeHexString(md5(data));
+        return SignUtils.hex(md5(data));
     }
 
     /**
@@ -367,7 +367,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static byte[] sha1(byte[] data) {
-        return getSha1Digest().digest(data);
+        return SignUtils.digest("SHA-1", data);
     }
 
     /**
@@ -381,7 +381,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static byte[] sha1(InputStream data) throws IOException {
-        return digest(getSha1Digest(), data);
+        return digest(SignUtils.digest("SHA-1"), data);
     }
 
     /**
@@ -407,7 +407,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String sha1Hex(byte[] data) {
-        return Hex.encodeHexString(sha1(data));
+        return SignUtils.hex(sha1(data));
     }
 
     /**
@@ -421,7 +421,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String sha1Hex(InputStream data) throws IOException {
-        return Hex.encodeHexString(sha1(data));
+        return SignUtils.hex(sha1(data));
     }
 
     /**
@@ -434,7 +434,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String sha1Hex(String data) {
-        return Hex.encodeHexString(sha1(data));
+        return SignUtils.hex(sha1(data));
     }
 
     /**
@@ -447,7 +447,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static byte[] sha256(byte[] data) {
-        return getSha256Digest().digest(data);
+        return SignUtils.digest("SHA-256", data);
     }
 
     /**
@@ -461,7 +461,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static byte[] sha256(InputStream data) throws IOException {
-        return digest(getSha256Digest(), data);
+        return digest(SignUtils.digest("SHA-256"), data);
     }
 
     /**
@@ -487,7 +487,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String sha256Hex(byte[] data) {
-        return Hex.encodeHexString(sha256(data));
+        return SignUtils.hex(sha256(data));
     }
 
     /**
@@ -501,7 +501,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String sha256Hex(InputStream data) throws IOException {
-        return Hex.encodeHexString(sha256(data));
+        return SignUtils.hex(sha256(data));
     }
 
     /**
@@ -514,7 +514,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String sha256Hex(String data) {
-        return Hex.encodeHexString(sha256(data));
+        return SignUtils.hex(sha256(data));
     }
 
     /**
@@ -527,7 +527,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static byte[] sha384(byte[] data) {
-        return getSha384Digest().digest(data);
+        return SignUtils.digest("SHA-384", data);
     }
 
     /**
@@ -541,7 +541,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static byte[] sha384(InputStream data) throws IOException {
-        return digest(getSha384Digest(), data);
+        return digest(SignUtils.digest("SHA-384"), data);
     }
 
     /**
@@ -567,7 +567,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String sha384Hex(byte[] data) {
-        return Hex.encodeHexString(sha384(data));
+        return SignUtils.hex(sha384(data));
     }
 
     /**
@@ -581,7 +581,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String sha384Hex(InputStream data) throws IOException {
-        return Hex.encodeHexString(sha384(data));
+        return SignUtils.hex(sha384(data));
     }
 
     /**
@@ -594,7 +594,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String sha384Hex(String data) {
-        return Hex.encodeHexString(sha384(data));
+        return SignUtils.hex(sha384(data));
     }
 
     /**
@@ -607,7 +607,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static byte[] sha512(byte[] data) {
-        return getSha512Digest().digest(data);
+        return SignUtils.digest("SHA-512", data);
     }
 
     /**
@@ -621,7 +621,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static byte[] sha512(InputStream data) throws IOException {
-        return digest(getSha512Digest(), data);
+        return digest(SignUtils.digest("SHA-512"), data);
     }
 
     /**
@@ -647,7 +647,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String sha512Hex(byte[] data) {
-        return Hex.encodeHexString(sha512(data));
+        return SignUtils.hex(sha512(data));
     }
 
     /**
@@ -661,7 +661,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String sha512Hex(InputStream data) throws IOException {
-        return Hex.encodeHexString(sha512(data));
+        return SignUtils.hex(sha512(data));
     }
 
     /**
@@ -674,7 +674,7 @@ public class DigestUtils {
      * @since 1.1.0
      */
     public static String sha512Hex(String data) {
-        return Hex.encodeHexString(sha512(data));
+        return SignUtils.hex(sha512(data));
     }
 
     /**
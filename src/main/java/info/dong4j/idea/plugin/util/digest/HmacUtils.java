@@ -155,7 +155,7 @@ public final class HmacUtils {
      */
     public static byte[] hmacMd5(byte[] key, byte[] valueToDigest) {
         try {
-            return getHmacMd5(key).doFinal(valueToDigest);
+            return SignUtils.hmac(HmacAlgorithms.HMAC_MD5, key, valueToDigest);
         } catch (IllegalStateException var3) {
             throw new IllegalArgumentException(var3);
         }
@@ -173,7 +173,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static byte[] hmacMd5(byte[] key, InputStream valueToDigest) throws IOException {
-        return updateHmac(getHmacMd5(key), valueToDigest).doFinal();
+        return updateHmac(SignUtils.mac(HmacAlgorithms.HMAC_MD5, key), valueToDigest).doFinal();
     }
 
     /**
@@ -201,7 +201,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacMd5Hex(byte[] key, byte[] valueToDigest) {
-        return Hex.encodeHexString(hmacMd5(key, valueToDigest));
+        return SignUtils.hex(hmacMd5(key, valueToDigest));
     }
 
     /**
@@ -216,7 +216,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacMd5Hex(byte[] key, InputStream valueToDigest) throws IOException {
-        return Hex.encodeHexString(hmacMd5(key, valueToDigest));
+        return SignUtils.hex(hmacMd5(key, valueToDigest));
     }
 
     /**
@@ -230,7 +230,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacMd5Hex(String key, String valueToDigest) {
-        return Hex.encodeHexString(hmacMd5(key, valueToDigest));
+        return SignUtils.hmacHex(HmacAlgorithms.HMAC_MD5, key, valueToDigest);
     }
 
     /**
@@ -246,7 +246,7 @@ public final class HmacUtils {
      */
     public static byte[] hmacSha1(byte[] key, byte[] valueToDigest) {
         try {
-            return getHmacSha1(key).doFinal(valueToDigest);
+            return SignUtils.hmac(HmacAlgorithms.HMAC_SHA_1, key, valueToDigest);
         } catch (IllegalStateException var3) {
             throw new IllegalArgumentException(var3);
         }
@@ -264,7 +264,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static byte[] hmacSha1(byte[] key, InputStream valueToDigest) throws IOException {
-        return updateHmac(getHmacSha1(key), valueToDigest).doFinal();
+        return updateHmac(SignUtils.mac(HmacAlgorithms.HMAC_SHA_1, key), valueToDigest).doFinal();
     }
 
     /**
@@ -292,7 +292,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacSha1Hex(byte[] key, byte[] valueToDigest) {
-        return Hex.encodeHexString(hmacSha1(key, valueToDigest));
+        return SignUtils.hex(hmacSha1(key, valueToDigest));
     }
 
     /**
@@ -307,7 +307,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacSha1Hex(byte[] key, InputStream valueToDigest) throws IOException {
-        return Hex.encodeHexString(hmacSha1(key, valueToDigest));
+        return SignUtils.hex(hmacSha1(key, valueToDigest));
     }
 
     /**
@@ -321,7 +321,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacSha1Hex(String key, String valueToDigest) {
-        return Hex.encodeHexString(hmacSha1(key, valueToDigest));
+        return SignUtils.hmacHex(HmacAlgorithms.HMAC_SHA_1, key, valueToDigest);
     }
 
     /**
@@ -337,7 +337,7 @@ public final class HmacUtils {
      */
     public static byte[] hmacSha256(byte[] key, byte[] valueToDigest) {
         try {
-            return getHmacSha256(key).doFinal(valueToDigest);
+            return SignUtils.hmac(HmacAlgorithms.HMAC_SHA_256, key, valueToDigest);
         } catch (IllegalStateException var3) {
             throw new IllegalArgumentException(var3);
         }
@@ -355,7 +355,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static byte[] hmacSha256(byte[] key, InputStream valueToDigest) throws IOException {
-        return updateHmac(getHmacSha256(key), valueToDigest).doFinal();
+        return updateHmac(SignUtils.mac(HmacAlgorithms.HMAC_SHA_256, key), valueToDigest).doFinal();
     }
 
     /**
@@ -383,7 +383,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacSha256Hex(byte[] key, byte[] valueToDigest) {
-        return Hex.encodeHexString(hmacSha256(key, valueToDigest));
+        return SignUtils.hex(hmacSha256(key, valueToDigest));
     }
 
     /**
@@ -398,7 +398,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacSha256Hex(byte[] key, InputStream valueToDigest) throws IOException {
-        return Hex.encodeHexString(hmacSha256(key, valueToDigest));
+        return SignUtils.hex(hmacSha256(key, valueToDigest));
     }
 
     /**
@@ -412,7 +412,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacSha256Hex(String key, String valueToDigest) {
-        return Hex.encodeHexString(hmacSha256(key, valueToDigest));
+        return SignUtils.hmacHex(HmacAlgorithms.HMAC_SHA_256, key, valueToDigest);
     }
 
     /**
@@ -428,7 +428,7 @@ public final class HmacUtils {
      */
     public static byte[] hmacSha384(byte[] key, byte[] valueToDigest) {
         try {
-            return getHmacSha384(key).doFinal(valueToDigest);
+            return SignUtils.hmac(HmacAlgorithms.HMAC_SHA_384, key, valueToDigest);
         } catch (IllegalStateException var3) {
             throw new IllegalArgumentException(var3);
         }
@@ -446,7 +446,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static byte[] hmacSha384(byte[] key, InputStream valueToDigest) throws IOException {
-        return updateHmac(getHmacSha384(key), valueToDigest).doFinal();
+        return updateHmac(SignUtils.mac(HmacAlgorithms.HMAC_SHA_384, key), valueToDigest).doFinal();
     }
 
     /**
@@ -472,7 +472,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacSha384Hex(byte[] key, byte[] valueToDigest) {
-        return Hex.encodeHexString(hmacSha384(key, valueToDigest));
+        return SignUtils.hex(hmacSha384(key, valueToDigest));
     }
 
     /**
@@ -487,7 +487,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacSha384Hex(byte[] key, InputStream valueToDigest) throws IOException {
-        return Hex.encodeHexString(hmacSha384(key, valueToDigest));
+        return SignUtils.hex(hmacSha384(key, valueToDigest));
     }
 
     /**
@@ -501,7 +501,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacSha384Hex(String key, String valueToDigest) {
-        return Hex.encodeHexString(hmacSha384(key, valueToDigest));
+        return SignUtils.hmacHex(HmacAlgorithms.HMAC_SHA_384, key, valueToDigest);
     }
 
     /**
@@ -516,7 +516,7 @@ public final class HmacUtils {
      */
     public static byte[] hmacSha512(byte[] key, byte[] valueToDigest) {
         try {
-            return getHmacSha512(key).doFinal(valueToDigest);
+            return SignUtils.hmac(HmacAlgorithms.HMAC_SHA_512, key, valueToDigest);
         } catch (IllegalStateException var3) {
             throw new IllegalArgumentException(var3);
         }
@@ -534,7 +534,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static byte[] hmacSha512(byte[] key, InputStream valueToDigest) throws IOException {
-        return updateHmac(getHmacSha512(key), valueToDigest).doFinal();
+        return updateHmac(SignUtils.mac(HmacAlgorithms.HMAC_SHA_512, key), valueToDigest).doFinal();
     }
 
     /**
@@ -562,7 +562,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacSha512Hex(byte[] key, byte[] valueToDigest) {
-        return Hex.encodeHexString(hmacSha512(key, valueToDigest));
+        return SignUtils.hex(hmacSha512(key, valueToDigest));
     }
 
     /**
@@ -577,7 +577,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacSha512Hex(byte[] key, InputStream valueToDigest) throws IOException {
-        return Hex.encodeHexString(hmacSha512(key, valueToDigest));
+        return SignUtils.hex(hmacSha512(key, valueToDigest));
     }
 
     /**
@@ -591,7 +591,7 @@ public final class HmacUtils {
      * @since 1.1.0
      */
     public static String hmacSha512Hex(String key, String valueToDigest) {
-        return Hex.encodeHexString(hmacSha512(key, valueToDigest));
+        return SignUtils.hmacHex(HmacAlgorithms.HMAC_SHA_512, key, valueToDigest);
     }
 
     /**
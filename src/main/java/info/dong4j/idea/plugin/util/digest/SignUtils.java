@@ -0,0 +1,372 @@
+package info.dong4j.idea.plugin.util.digest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 签名工具类
+ * <p>
+ * 为各图床的请求签名提供统一入口。{@link Mac#getInstance} 和 {@link MessageDigest#getInstance} 每次都要查找安全提供者并创建实例，
+ * 并行上传时签名频繁，因此每个线程按（算法，密钥）缓存已经初始化的 {@link Mac}，按算法缓存 {@link MessageDigest}，
+ * 计算结果写入线程内复用的缓冲区，再直接编码为十六进制或 Base64 字符串，不产生中间数组。
+ * <p>
+ * 每个线程最多缓存 {@value #MAX_CACHED_MACS} 个密钥，按最近使用淘汰，腾讯云等每次请求派生新密钥的签名不会让缓存无限增长。
+ * 上传线程池在任务结束后关闭，缓存随线程一起释放。
+ * <p>
+ * {@link #mac} 和 {@link #digest(String)} 返回的是当前线程缓存的实例，只能在当前线程中立即使用，不能长期持有或传给其他线程。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public final class SignUtils {
+    /** 每个线程缓存的 Mac 实例上限 */
+    private static final int MAX_CACHED_MACS = 8;
+    /** 所有支持的 HMAC 和摘要算法中最长的输出长度（SHA-512） */
+    private static final int MAX_OUTPUT_LENGTH = 64;
+    /** 十六进制小写字符 */
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+    /** 标准 Base64 字符表 */
+    private static final char[] BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    /** URL 安全的 Base64 字符表 */
+    private static final char[] BASE64_URL_SAFE = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    /** 每个线程的缓存 */
+    private static final ThreadLocal<ThreadState> STATE = ThreadLocal.withInitial(ThreadState::new);
+
+    /**
+     * 工具类不允许实例化
+     */
+    private SignUtils() {
+    }
+
+    /**
+     * 获取当前线程缓存的、已用指定密钥初始化的 Mac 实例
+     *
+     * @param algorithm HMAC 算法
+     * @param key       密钥
+     * @return 已重置的 Mac 实例
+     * @throws IllegalArgumentException 密钥为 null、算法不可用或密钥无效时抛出
+     */
+    public static Mac mac(HmacAlgorithms algorithm, byte[] key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null key");
+        }
+        ThreadState state = STATE.get();
+        Mac mac = state.macs.get(state.probe.set(algorithm, key));
+        // 不在线程缓存中保留调用方的数组
+        state.probe.key = null;
+        if (mac == null) {
+            mac = newMac(algorithm, key);
+            state.macs.put(new MacKey().set(algorithm, key.clone()), mac);
+        } else {
+            mac.reset();
+        }
+        return mac;
+    }
+
+    /**
+     * 计算 HMAC
+     *
+     * @param algorithm HMAC 算法
+     * @param key       密钥
+     * @param data      数据
+     * @return HMAC 结果
+     */
+    public static byte[] hmac(HmacAlgorithms algorithm, byte[] key, byte[] data) {
+        return mac(algorithm, key).doFinal(data);
+    }
+
+    /**
+     * 计算 HMAC，密钥和数据按 UTF-8 编码
+     *
+     * @param algorithm HMAC 算法
+     * @param key       密钥
+     * @param data      数据
+     * @return HMAC 结果
+     */
+    public static byte[] hmac(HmacAlgorithms algorithm, String key, String data) {
+        return hmac(algorithm, key.getBytes(StandardCharsets.UTF_8), data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 计算 HMAC 并返回小写十六进制字符串，密钥和数据按 UTF-8 编码
+     *
+     * @param algorithm HMAC 算法
+     * @param key       密钥
+     * @param data      数据
+     * @return 十六进制字符串
+     */
+    public static String hmacHex(HmacAlgorithms algorithm, String key, String data) {
+        ThreadState state = STATE.get();
+        int length = hmacInto(state, algorithm, key.getBytes(StandardCharsets.UTF_8), data.getBytes(StandardCharsets.UTF_8));
+        return hex(state, state.output, length);
+    }
+
+    /**
+     * 计算 HMAC 并返回标准 Base64 字符串，密钥和数据按 UTF-8 编码
+     *
+     * @param algorithm HMAC 算法
+     * @param key       密钥
+     * @param data      数据
+     * @return Base64 字符串
+     */
+    public static String hmacBase64(HmacAlgorithms algorithm, String key, String data) {
+        ThreadState state = STATE.get();
+        int length = hmacInto(state, algorithm, key.getBytes(StandardCharsets.UTF_8), data.getBytes(StandardCharsets.UTF_8));
+        return base64(state, state.output, length, false);
+    }
+
+    /**
+     * 获取当前线程缓存的 MessageDigest 实例
+     *
+     * @param algorithm 摘要算法，如 "SHA-1"、"SHA-256"
+     * @return 已重置的 MessageDigest 实例
+     * @throws IllegalArgumentException 算法不可用时抛出
+     */
+    public static MessageDigest digest(String algorithm) {
+        MessageDigest digest = STATE.get().digests.computeIfAbsent(algorithm, SignUtils::newDigest);
+        digest.reset();
+        return digest;
+    }
+
+    /**
+     * 计算摘要
+     *
+     * @param algorithm 摘要算法
+     * @param data      数据
+     * @return 摘要结果
+     */
+    public static byte[] digest(String algorithm, byte[] data) {
+        return digest(algorithm).digest(data);
+    }
+
+    /**
+     * 计算摘要并返回小写十六进制字符串，数据按 UTF-8 编码
+     *
+     * @param algorithm 摘要算法
+     * @param data      数据
+     * @return 十六进制字符串
+     */
+    public static String digestHex(String algorithm, String data) {
+        ThreadState state = STATE.get();
+        MessageDigest digest = digest(algorithm);
+        digest.update(data.getBytes(StandardCharsets.UTF_8));
+        try {
+            int length = digest.digest(state.output, 0, state.output.length);
+            return hex(state, state.output, length);
+        } catch (DigestException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * 转换为小写十六进制字符串
+     *
+     * @param data 数据
+     * @return 十六进制字符串
+     */
+    public static String hex(byte[] data) {
+        return hex(STATE.get(), data, data.length);
+    }
+
+    /**
+     * 转换为 Base64 字符串
+     *
+     * @param data    数据
+     * @param urlSafe 是否使用 URL 安全的字符表（保留填充）
+     * @return Base64 字符串
+     */
+    public static String base64(byte[] data, boolean urlSafe) {
+        return base64(STATE.get(), data, data.length, urlSafe);
+    }
+
+    /**
+     * 计算 HMAC 并写入线程内的输出缓冲区
+     *
+     * @param state     当前线程的缓存
+     * @param algorithm HMAC 算法
+     * @param key       密钥
+     * @param data      数据
+     * @return 结果长度
+     */
+    private static int hmacInto(ThreadState state, HmacAlgorithms algorithm, byte[] key, byte[] data) {
+        Mac mac = mac(algorithm, key);
+        mac.update(data);
+        try {
+            int length = mac.getMacLength();
+            mac.doFinal(state.output, 0);
+            return length;
+        } catch (ShortBufferException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * 使用线程内的字符缓冲区转换为十六进制字符串
+     *
+     * @param state  当前线程的缓存
+     * @param data   数据
+     * @param length 数据长度
+     * @return 十六进制字符串
+     */
+    private static String hex(ThreadState state, byte[] data, int length) {
+        char[] out = state.chars(length << 1);
+        for (int i = 0, j = 0; i < length; i++) {
+            out[j++] = DIGITS[(0xF0 & data[i]) >>> 4];
+            out[j++] = DIGITS[0x0F & data[i]];
+        }
+        return new String(out, 0, length << 1);
+    }
+
+    /**
+     * 使用线程内的字符缓冲区转换为带填充的 Base64 字符串
+     *
+     * @param state   当前线程的缓存
+     * @param data    数据
+     * @param length  数据长度
+     * @param urlSafe 是否使用 URL 安全的字符表
+     * @return Base64 字符串
+     */
+    private static String base64(ThreadState state, byte[] data, int length, boolean urlSafe) {
+        char[] table = urlSafe ? BASE64_URL_SAFE : BASE64;
+        int outLength = 4 * ((length + 2) / 3);
+        char[] out = state.chars(outLength);
+        int i = 0;
+        int j = 0;
+        for (; i + 2 < length; i += 3) {
+            int bits = (data[i] & 0xFF) << 16 | (data[i + 1] & 0xFF) << 8 | (data[i + 2] & 0xFF);
+            out[j++] = table[bits >>> 18];
+            out[j++] = table[(bits >>> 12) & 0x3F];
+            out[j++] = table[(bits >>> 6) & 0x3F];
+            out[j++] = table[bits & 0x3F];
+        }
+        int remaining = length - i;
+        if (remaining > 0) {
+            int bits = (data[i] & 0xFF) << 16 | (remaining == 2 ? (data[i + 1] & 0xFF) << 8 : 0);
+            out[j++] = table[bits >>> 18];
+            out[j++] = table[(bits >>> 12) & 0x3F];
+            out[j++] = remaining == 2 ? table[(bits >>> 6) & 0x3F] : '=';
+            out[j++] = '=';
+        }
+        return new String(out, 0, outLength);
+    }
+
+    /**
+     * 创建并初始化 Mac 实例
+     *
+     * @param algorithm HMAC 算法
+     * @param key       密钥
+     * @return 初始化后的 Mac 实例
+     */
+    private static Mac newMac(HmacAlgorithms algorithm, byte[] key) {
+        try {
+            Mac mac = Mac.getInstance(algorithm.toString());
+            mac.init(new SecretKeySpec(key, algorithm.toString()));
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * 创建 MessageDigest 实例
+     *
+     * @param algorithm 摘要算法
+     * @return MessageDigest 实例
+     */
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * 单个线程的缓存
+     */
+    private static final class ThreadState {
+        /** 按最近使用排序的 Mac 缓存 */
+        private final Map<MacKey, Mac> macs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MacKey, Mac> eldest) {
+                return this.size() > MAX_CACHED_MACS;
+            }
+        };
+        /** 按算法缓存的 MessageDigest */
+        private final Map<String, MessageDigest> digests = new HashMap<>();
+        /** 查找 Mac 缓存时复用的键 */
+        private final MacKey probe = new MacKey();
+        /** HMAC 和摘要的输出缓冲区 */
+        private final byte[] output = new byte[MAX_OUTPUT_LENGTH];
+        /** 十六进制和 Base64 输出缓冲区 */
+        private char[] chars = new char[MAX_OUTPUT_LENGTH << 1];
+
+        /**
+         * 获取至少指定长度的字符缓冲区
+         *
+         * @param length 需要的长度
+         * @return 字符缓冲区
+         */
+        private char[] chars(int length) {
+            if (this.chars.length < length) {
+                this.chars = new char[length];
+            }
+            return this.chars;
+        }
+    }
+
+    /**
+     * Mac 缓存的键，按算法和密钥内容比较
+     */
+    private static final class MacKey {
+        /** HMAC 算法 */
+        private HmacAlgorithms algorithm;
+        /** 密钥 */
+        private byte[] key;
+        /** 哈希值 */
+        private int hash;
+
+        /**
+         * 设置键的内容
+         *
+         * @param algorithm HMAC 算法
+         * @param key       密钥
+         * @return 当前对象
+         */
+        private MacKey set(HmacAlgorithms algorithm, byte[] key) {
+            this.algorithm = algorithm;
+            this.key = key;
+            this.hash = 31 * algorithm.hashCode() + Arrays.hashCode(key);
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MacKey other)) {
+                return false;
+            }
+            return this.algorithm == other.algorithm && Arrays.equals(this.key, other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package info.dong4j.idea.plugin.chain;
+
+import info.dong4j.idea.plugin.entity.MarkdownImage;
+import info.dong4j.idea.plugin.util.digest.DigestUtils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 图床迁移日志测试类
+ * <p>
+ * 验证 {@link MigrationJournal} 在中断后重新打开时能够恢复下载内容和上传结果，清理不再出现的图片，并在迁移全部完成后删除日志。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class MigrationJournalTest {
+    /** 临时目录 */
+    @TempDir
+    Path directory;
+
+    /**
+     * 测试中断后续传
+     * <p>
+     * 测试场景：第一次运行中一张图片已上传，另一张只下载完成，日志末尾还有一行写入中断的不完整记录；随后重新打开日志
+     * 预期结果：已上传的图片直接恢复 URL，只下载的图片可以取回保存的内容；未写回文档时日志被保留
+     */
+    @Test
+    @DisplayName("重新打开日志后恢复上传结果和下载内容")
+    void resume() throws IOException {
+        Path file = this.directory.resolve("ALIYUN_CLOUD.jsonl");
+        byte[] bytes = "image".getBytes(StandardCharsets.UTF_8);
+
+        MigrationJournal first = new MigrationJournal(file);
+        MarkdownImage uploaded = image("https://sm.ms/a.png");
+        MarkdownImage downloaded = image("https://sm.ms/b.png");
+        assertNull(first.track(uploaded));
+        assertNull(first.track(downloaded));
+        first.recordUploaded(uploaded, "https://oss/a.png");
+        downloaded.setImageName("b1.png");
+        downloaded.setExtension("png");
+        first.recordDownloaded(downloaded, bytes);
+        Files.writeString(file, "{\"state\":\"UPLOA", StandardOpenOption.APPEND);
+        assertFalse(first.close());
+
+        MigrationJournal second = new MigrationJournal(file);
+        MarkdownImage resumed = image("https://sm.ms/a.png");
+        MarkdownImage pending = image("https://sm.ms/b.png");
+        assertEquals("https://oss/a.png", second.track(resumed));
+        assertNull(second.track(pending));
+        assertTrue(second.isResumed(resumed));
+        assertFalse(second.isResumed(pending));
+        assertEquals(1, second.getResumedCount());
+
+        MigrationJournal.Download download = second.downloaded(pending);
+        assertNotNull(download);
+        assertEquals("b1.png", download.name());
+        assertArrayEquals(bytes, download.bytes());
+    }
+
+    /**
+     * 测试迁移完成后删除日志
+     * <p>
+     * 测试场景：图片下载、上传并写回文档后结束运行
+     * 预期结果：日志文件和下载内容目录都被删除
+     */
+    @Test
+    @DisplayName("全部写回文档后删除日志和下载内容")
+    void closeWhenFinished() {
+        Path file = this.directory.resolve("QINIU_CLOUD.jsonl");
+        MigrationJournal journal = new MigrationJournal(file);
+        MarkdownImage markdownImage = image("https://sm.ms/c.png");
+        journal.track(markdownImage);
+        markdownImage.setImageName("c1.png");
+        markdownImage.setExtension("png");
+        journal.recordDownloaded(markdownImage, new byte[] {1, 2, 3});
+        journal.recordUploaded(markdownImage, "https://oss/c.png");
+        journal.recordWritten(markdownImage);
+
+        assertTrue(journal.close());
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(this.directory.resolve("QINIU_CLOUD-blobs")));
+    }
+
+    /**
+     * 测试清理不再出现的图片
+     * <p>
+     * 测试场景：第一次运行中一张图片已上传、另一张已下载，都没有写回文档；之后的运行只扫描到第三张图片
+     * 预期结果：未完成时日志只保留本次扫描到的图片，之前图片的下载内容被删除；本次的图片写回后日志被删除
+     */
+    @Test
+    @DisplayName("只按本次扫描到的图片判断完成并清理过期记录")
+    void dropUntrackedSources() throws IOException {
+        Path file = this.directory.resolve("GITHUB.jsonl");
+        MigrationJournal first = new MigrationJournal(file);
+        MarkdownImage removed = image("https://sm.ms/d.png");
+        MarkdownImage changed = image("https://sm.ms/e.png");
+        first.track(removed);
+        first.track(changed);
+        first.recordUploaded(removed, "https://oss/d.png");
+        first.recordDownloaded(changed, new byte[] {1});
+        assertFalse(first.close());
+
+        MigrationJournal second = new MigrationJournal(file);
+        MarkdownImage current = image("https://sm.ms/f.png");
+        assertNull(second.track(current));
+        assertFalse(second.close());
+        assertFalse(Files.readString(file).contains("sm.ms/d.png"));
+        assertFalse(Files.exists(this.directory.resolve("GITHUB-blobs")
+                                     .resolve(DigestUtils.sha256Hex("https://sm.ms/e.png".getBytes(StandardCharsets.UTF_8)))));
+
+        MigrationJournal third = new MigrationJournal(file);
+        MarkdownImage again = image("https://sm.ms/f.png");
+        third.track(again);
+        third.recordUploaded(again, "https://oss/f.png");
+        third.recordWritten(again);
+        assertTrue(third.close());
+        assertFalse(Files.exists(file));
+    }
+
+    /**
+     * 创建指定地址的图片
+     *
+     * @param path 图片在文档中的地址
+     * @return 图片
+     */
+    private static MarkdownImage image(String path) {
+        MarkdownImage markdownImage = new MarkdownImage();
+        markdownImage.setPath(path);
+        return markdownImage;
+    }
+}
@@ -0,0 +1,101 @@
+package info.dong4j.idea.plugin.chain;
+
+import com.intellij.openapi.editor.Document;
+
+import info.dong4j.idea.plugin.entity.MarkdownImage;
+import info.dong4j.idea.plugin.enums.CloudEnum;
+import info.dong4j.idea.plugin.enums.ImageLocationEnum;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 图床迁移计划测试类
+ * <p>
+ * 验证 {@link MigrationPlan} 的主机分组、重复引用统计和耗时估算，以及 {@link CloudEnum#ofHost(String)} 的图床识别。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class MigrationPlanTest {
+
+    /**
+     * 测试分组与重复统计
+     * <p>
+     * 测试场景：两个文档共引用 sm.ms 的同一张图片两次、阿里云 OSS 的一张图片一次，另有一张本地图片；阿里云图片大小未知
+     * 预期结果：引用数为 4、不同地址为 3、重复 1 处；sm.ms 分组排在最前，大小只统计一次；按 2 个线程估算耗时
+     */
+    @Test
+    @DisplayName("按主机分组并统计重复引用")
+    void groupsAndDuplicates() {
+        Map<Document, List<MarkdownImage>> waitingProcessMap = new LinkedHashMap<>();
+        waitingProcessMap.put(new Document() {}, new ArrayList<>(List.of(network("https://sm.ms/a.png"),
+                                                                         network("https://bucket.oss-cn-hangzhou.aliyuncs.com/b.png"))));
+        waitingProcessMap.put(new Document() {}, new ArrayList<>(List.of(network("https://sm.ms/a.png"),
+                                                                         local("images/c.png"))));
+
+        MigrationPlan plan = MigrationPlan.of(waitingProcessMap,
+                                              image -> image.getPath().contains("aliyuncs") ? -1L : 100L,
+                                              host -> 1000L,
+                                              500L,
+                                              2);
+
+        assertEquals(2, plan.getDocumentCount());
+        assertEquals(4, plan.getReferenceCount());
+        assertEquals(3, plan.getDistinctCount());
+        assertEquals(1, plan.getDuplicateCount());
+        assertEquals(1, plan.getLocalCount());
+        assertEquals(200L, plan.getKnownBytes());
+        assertEquals(1, plan.getUnknownSizeCount());
+        // 3 次下载 * 1000ms + 4 次上传 * 500ms，2 个线程
+        assertEquals(2500L, plan.getEstimatedMillis());
+
+        List<MigrationPlan.HostGroup> groups = plan.getGroups();
+        assertEquals(3, groups.size());
+        assertEquals(new MigrationPlan.HostGroup("sm.ms", CloudEnum.SM_MS_CLOUD, 2, 1, 100L, 0), groups.get(0));
+        assertEquals(CloudEnum.ALIYUN_CLOUD, groups.get(1).cloud());
+        assertEquals(1, groups.get(1).unknown());
+        assertNull(groups.get(2).cloud());
+        assertEquals(MigrationPlan.LOCAL_HOST, groups.get(2).host());
+    }
+
+    /**
+     * 测试图床识别
+     * <p>
+     * 测试场景：传入各图床默认域名、自定义域名和 null
+     * 预期结果：默认域名识别为对应图床，忽略大小写；自定义域名和 null 返回 null
+     */
+    @Test
+    @DisplayName("根据主机名识别图床")
+    void ofHost() {
+        assertEquals(CloudEnum.QINIU_CLOUD, CloudEnum.ofHost("xxx.bkt.clouddn.com"));
+        assertEquals(CloudEnum.TENCENT_CLOUD, CloudEnum.ofHost("bucket-1250000000.cos.ap-shanghai.myqcloud.com"));
+        assertEquals(CloudEnum.GITHUB, CloudEnum.ofHost("RAW.GITHUBUSERCONTENT.COM"));
+        assertNull(CloudEnum.ofHost("img.example.com"));
+        assertNull(CloudEnum.ofHost(null));
+    }
+
+    private static MarkdownImage network(String path) {
+        MarkdownImage markdownImage = new MarkdownImage();
+        markdownImage.setPath(path);
+        markdownImage.setLocation(ImageLocationEnum.NETWORK);
+        return markdownImage;
+    }
+
+    private static MarkdownImage local(String path) {
+        MarkdownImage markdownImage = new MarkdownImage();
+        markdownImage.setPath(path);
+        markdownImage.setLocation(ImageLocationEnum.LOCAL);
+        return markdownImage;
+    }
+}
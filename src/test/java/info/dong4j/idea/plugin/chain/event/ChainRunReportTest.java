@@ -0,0 +1,106 @@
+package info.dong4j.idea.plugin.chain.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 处理链运行报告测试类
+ * <p>
+ * 验证 {@link ChainRunReport} 的百分位计算以及按阶段汇总耗时、失败、节省字节与缓存命中的行为。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class ChainRunReportTest {
+
+    /**
+     * 测试最近秩法百分位
+     * <p>
+     * 测试场景：1 到 20 的有序数据，以及空数据
+     * 预期结果：p50 为 10，p95 为 19，p100 为 20；空数据返回 0
+     */
+    @Test
+    @DisplayName("percentile 使用最近秩法")
+    void percentile() {
+        long[] sorted = new long[20];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i + 1;
+        }
+        assertEquals(10, ChainRunReport.percentile(sorted, 50));
+        assertEquals(19, ChainRunReport.percentile(sorted, 95));
+        assertEquals(20, ChainRunReport.percentile(sorted, 100));
+        assertEquals(0, ChainRunReport.percentile(new long[0], 50));
+    }
+
+    /**
+     * 测试按阶段汇总
+     * <p>
+     * 测试场景：压缩阶段处理 4 张图片（其中 1 张命中缓存），上传阶段 1 张成功 1 张失败，跳过事件不计入
+     * 预期结果：图片数取最大阶段 4 张，失败 1 次，节省字节只统计变小的部分，阶段按出现顺序排列
+     */
+    @Test
+    @DisplayName("按阶段汇总耗时、失败与节省字节")
+    void aggregatesByStage() {
+        List<ChainEvent> events = new ArrayList<>();
+        events.add(ChainEvent.builder().type(ChainEventType.RUN_STARTED).build());
+        events.add(image("压缩", ChainEventType.IMAGE_FINISHED, 10, 1000L, 400L, false));
+        events.add(image("压缩", ChainEventType.IMAGE_FINISHED, 40, 1000L, 1200L, false));
+        events.add(image("压缩", ChainEventType.IMAGE_FINISHED, 20, 500L, 300L, true));
+        events.add(image("压缩", ChainEventType.IMAGE_FINISHED, 30, null, null, false));
+        events.add(image("压缩", ChainEventType.IMAGE_SKIPPED, 0, null, null, false));
+        events.add(ChainEvent.builder().type(ChainEventType.STAGE_FINISHED).stage("压缩").durationMs(120L).build());
+        events.add(image("上传", ChainEventType.IMAGE_FINISHED, 200, 400L, null, false));
+        events.add(image("上传", ChainEventType.IMAGE_FAILED, 500, 300L, null, false));
+        events.add(ChainEvent.builder().type(ChainEventType.STAGE_FINISHED).stage("上传").durationMs(600L).build());
+
+        ChainRunReport report = ChainRunReport.of("run", 2000, events);
+
+        assertEquals(4, report.getImageCount());
+        assertEquals(1, report.getFailureCount());
+        assertEquals(800, report.getBytesSaved());
+        assertEquals(1, report.getCacheHits());
+        assertEquals(2.0, report.getThroughput(), 1e-9);
+
+        assertEquals(2, report.getStages().size());
+        ChainRunReport.StageStats compress = report.getStages().get(0);
+        assertEquals("压缩", compress.stage());
+        assertEquals(4, compress.images());
+        assertEquals(20, compress.p50Ms());
+        assertEquals(40, compress.p95Ms());
+        assertEquals(120, compress.totalMs());
+
+        ChainRunReport.StageStats upload = report.getStages().get(1);
+        assertEquals(1, upload.failures());
+        assertEquals(500, upload.p95Ms());
+    }
+
+    /**
+     * 构建图片级事件
+     *
+     * @param stage      阶段名称
+     * @param type       事件类型
+     * @param durationMs 耗时
+     * @param bytesIn    输入字节数
+     * @param bytesOut   输出字节数
+     * @param cacheHit   是否命中缓存
+     * @return 事件
+     */
+    private static ChainEvent image(String stage, ChainEventType type, long durationMs, Long bytesIn, Long bytesOut, boolean cacheHit) {
+        return ChainEvent.builder()
+            .type(type)
+            .stage(stage)
+            .image("a.png")
+            .durationMs(durationMs)
+            .bytesIn(bytesIn)
+            .bytesOut(bytesOut)
+            .cacheHit(cacheHit)
+            .build();
+    }
+}
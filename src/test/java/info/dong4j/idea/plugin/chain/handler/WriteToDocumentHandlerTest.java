@@ -0,0 +1,146 @@
+package info.dong4j.idea.plugin.chain.handler;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.testFramework.LightPlatformTestCase;
+
+import info.dong4j.idea.plugin.client.OssClient;
+import info.dong4j.idea.plugin.entity.EventData;
+import info.dong4j.idea.plugin.entity.MarkdownImage;
+import info.dong4j.idea.plugin.enums.CloudEnum;
+import info.dong4j.idea.plugin.enums.ImageLocationEnum;
+import info.dong4j.idea.plugin.enums.ImageMarkEnum;
+
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 写入文档处理器测试类
+ * <p>
+ * 依次执行 {@link ImageUploadHandler} 和 {@link WriteToDocumentHandler}，验证上传处理器改写 originalMark 之后，
+ * 写回文档仍然按解析时记录的标签和偏移量精确替换，同一行的其他文本保持不变；从迁移日志恢复的图片同样可以写回。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class WriteToDocumentHandlerTest extends LightPlatformTestCase {
+
+    /**
+     * 测试上传后写回文档
+     * <p>
+     * 测试场景：第一行有两张本地图片，第二行有一张被 {@code <a>} 包裹的本地图片，上传全部成功
+     * 预期结果：三个标签都被替换为上传后的地址，行内的其他文本不变
+     */
+    @DisplayName("上传后写回文档应替换所有图片标签")
+    public void testUploadThenWriteBack() {
+        String wrapped = "<a data-fancybox title='c' href='imgs/c.png' >![c](imgs/c.png)</a>";
+        Document document = EditorFactory.getInstance().createDocument("前 ![a](imgs/a.png) 中 ![b](imgs/b.png) 后\n第二行 " + wrapped + "\n");
+
+        List<MarkdownImage> images = new ArrayList<>();
+        images.add(parsed(document, 0, "![a](imgs/a.png)", "a.png"));
+        images.add(parsed(document, 0, "![b](imgs/b.png)", "b.png"));
+        images.add(parsed(document, 1, wrapped, "c.png"));
+        Map<Document, List<MarkdownImage>> waitingProcessMap = new LinkedHashMap<>();
+        waitingProcessMap.put(document, images);
+
+        EventData data = new EventData()
+            .setProject(getProject())
+            .setIndicator(new EmptyProgressIndicator())
+            .setClient(new FakeOssClient())
+            .setClientName(CloudEnum.CUSTOMIZE.getTitle())
+            .setWaitingProcessMap(waitingProcessMap)
+            .setSize(1)
+            .setIndex(0);
+
+        assertTrue(new ImageUploadHandler().execute(data));
+        assertTrue(new WriteToDocumentHandler().execute(data));
+
+        assertEquals("前 ![](https://cdn.example.com/a.png) 中 ![](https://cdn.example.com/b.png) 后\n"
+                     + "第二行 ![](https://cdn.example.com/c.png)\n",
+                     document.getText());
+    }
+
+    /**
+     * 测试续传的图片写回文档
+     * <p>
+     * 测试场景：图片已在上一次迁移中上传，本次由迁移日志恢复上传后的地址，不再上传
+     * 预期结果：原始标签保持解析时的值，写回文档时替换为恢复的地址
+     */
+    @DisplayName("从迁移日志恢复的图片应能写回文档")
+    public void testResumedImageWriteBack() {
+        Document document = EditorFactory.getInstance().createDocument("见 ![a](https://sm.ms/a.png) 图\n");
+        MarkdownImage markdownImage = parsed(document, 0, "![a](https://sm.ms/a.png)", "a.png");
+        MigrationJournalHandler.restore(markdownImage, "https://cdn.example.com/a.png");
+        assertEquals("![a](https://sm.ms/a.png)", markdownImage.getOriginalMark());
+
+        Map<Document, List<MarkdownImage>> waitingProcessMap = new LinkedHashMap<>();
+        waitingProcessMap.put(document, new ArrayList<>(List.of(markdownImage)));
+        EventData data = new EventData()
+            .setProject(getProject())
+            .setIndicator(new EmptyProgressIndicator())
+            .setWaitingProcessMap(waitingProcessMap)
+            .setSize(1)
+            .setIndex(0);
+
+        assertTrue(new WriteToDocumentHandler().execute(data));
+        assertEquals("见 ![](https://cdn.example.com/a.png) 图\n", document.getText());
+    }
+
+    /**
+     * 按解析器的规则构建文档中的图片
+     *
+     * @param document  文档
+     * @param line      图片所在行
+     * @param mark      图片标签（包括外层的 {@code <a>} 标签）
+     * @param imageName 图片名称
+     * @return 图片信息
+     */
+    private static MarkdownImage parsed(Document document, int line, String mark, String imageName) {
+        int lineStart = document.getLineStartOffset(line);
+        String lineText = document.getText().substring(lineStart, document.getLineEndOffset(line));
+        int start = lineText.indexOf(mark);
+
+        MarkdownImage markdownImage = new MarkdownImage();
+        markdownImage.setFilename("test.md");
+        markdownImage.setImageName(imageName);
+        markdownImage.setExtension(".png");
+        markdownImage.setOriginalLineText(lineText);
+        markdownImage.setOriginalMark(mark);
+        markdownImage.setDocumentMark(mark);
+        markdownImage.setLineNumber(line);
+        markdownImage.setLineStartOffset(start);
+        markdownImage.setLineEndOffset(start + mark.length());
+        markdownImage.setMarkStartOffset(lineStart + start);
+        markdownImage.setMarkEndOffset(lineStart + start + mark.length());
+        markdownImage.setTitle("");
+        markdownImage.setPath("imgs/" + imageName);
+        markdownImage.setLocation(ImageLocationEnum.LOCAL);
+        markdownImage.setImageMarkType(ImageMarkEnum.ORIGINAL);
+        markdownImage.setInputStream(new ByteArrayInputStream(imageName.getBytes()));
+        return markdownImage;
+    }
+
+    /**
+     * 返回固定地址的图床客户端
+     */
+    private static class FakeOssClient implements OssClient {
+        @Override
+        public CloudEnum getCloudType() {
+            return CloudEnum.CUSTOMIZE;
+        }
+
+        @Override
+        public String upload(InputStream inputStream, String filename) {
+            return "https://cdn.example.com/" + filename;
+        }
+    }
+}
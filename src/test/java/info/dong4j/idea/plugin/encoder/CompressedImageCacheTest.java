@@ -0,0 +1,102 @@
+package info.dong4j.idea.plugin.encoder;
+
+import info.dong4j.idea.plugin.enums.ImageEncoderEnum;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 压缩结果磁盘缓存测试类
+ * <p>
+ * 验证 {@link CompressedImageCache} 的缓存键构成、读写、LRU 淘汰以及重启后索引恢复。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class CompressedImageCacheTest {
+
+    /**
+     * 测试缓存键
+     * <p>
+     * 测试场景：以流水线的缓存键为源，分别改变流水线操作、编码操作、参数和编码器
+     * 预期结果：相同输入得到相同的键，任一参数变化都会得到不同的键
+     */
+    @Test
+    @DisplayName("缓存键包含流水线、操作、参数与编码器")
+    void keyDependsOnSettings() {
+        byte[] source = {1, 2, 3};
+        String sourceKey = ImagePipeline.of(source).cacheKey();
+        assertNotNull(sourceKey);
+        String key = CompressedImageCache.key(sourceKey, ImageEncoder.Operation.COMPRESS, "q60", ImageEncoderEnum.THUMBNAILATOR);
+        assertEquals(key, CompressedImageCache.key(ImagePipeline.of(source).cacheKey(), ImageEncoder.Operation.COMPRESS, "q60",
+                                                   ImageEncoderEnum.THUMBNAILATOR));
+        assertNotEquals(key, CompressedImageCache.key(ImagePipeline.of(source).fitWithin(1, 1).cacheKey(), ImageEncoder.Operation.COMPRESS,
+                                                      "q60", ImageEncoderEnum.THUMBNAILATOR));
+        assertNotEquals(key, CompressedImageCache.key(sourceKey, ImageEncoder.Operation.WEBP, "q60", ImageEncoderEnum.THUMBNAILATOR));
+        assertNotEquals(key, CompressedImageCache.key(sourceKey, ImageEncoder.Operation.COMPRESS, "q70", ImageEncoderEnum.THUMBNAILATOR));
+        assertNotEquals(key, CompressedImageCache.key(sourceKey, ImageEncoder.Operation.COMPRESS, "q60", ImageEncoderEnum.PNGQUANT));
+    }
+
+    /**
+     * 测试超过容量时的 LRU 淘汰
+     * <p>
+     * 测试场景：容量 250 字节，依次写入 a、b，访问 a 后再写入 c
+     * 预期结果：最久未访问的 b 被淘汰，a 与 c 仍然命中
+     */
+    @Test
+    @DisplayName("超过容量时淘汰最久未使用的条目")
+    void evictsLeastRecentlyUsed(@TempDir Path dir) {
+        CompressedImageCache cache = new CompressedImageCache(dir, () -> 250);
+        cache.put("a", new byte[100]);
+        cache.put("b", new byte[100]);
+        assertNotNull(cache.get("a"));
+        cache.put("c", new byte[100]);
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(200, cache.size());
+    }
+
+    /**
+     * 测试重启后的索引恢复
+     * <p>
+     * 测试场景：写入后在同一目录创建新的缓存实例
+     * 预期结果：新实例能读取到相同内容，并统计到正确的总大小
+     */
+    @Test
+    @DisplayName("新实例从磁盘恢复缓存索引")
+    void reloadsFromDisk(@TempDir Path dir) {
+        byte[] bytes = {9, 8, 7, 6};
+        new CompressedImageCache(dir, () -> 1024).put("k", bytes);
+
+        CompressedImageCache reloaded = new CompressedImageCache(dir, () -> 1024);
+        assertEquals(bytes.length, reloaded.size());
+        assertArrayEquals(bytes, reloaded.get("k"));
+    }
+
+    /**
+     * 测试禁用缓存
+     * <p>
+     * 测试场景：容量上限为 0
+     * 预期结果：写入不生效，读取始终未命中
+     */
+    @Test
+    @DisplayName("容量为 0 时禁用缓存")
+    void disabledWhenLimitIsZero(@TempDir Path dir) {
+        CompressedImageCache cache = new CompressedImageCache(dir, () -> 0);
+        cache.put("k", new byte[] {1});
+        assertNull(cache.get("k"));
+    }
+}
@@ -0,0 +1,107 @@
+package info.dong4j.idea.plugin.encoder;
+
+import info.dong4j.idea.plugin.enums.ImageEncoderEnum;
+import info.dong4j.idea.plugin.util.ImageUtils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * 图片编码器注册表测试类
+ * <p>
+ * 验证 {@link ImageEncoders} 的扩展名规范化、编码器选择与回退逻辑，以及默认 Thumbnailator 编码器的基本编码能力。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class ImageEncodersTest {
+
+    /**
+     * 测试扩展名规范化
+     * <p>
+     * 测试场景：带点号、大写、空白和 null 的扩展名
+     * 预期结果：统一返回不含点号的小写扩展名，null 返回空字符串
+     */
+    @Test
+    @DisplayName("normalizeExtension 去掉点号并转小写")
+    void normalizeExtension() {
+        assertEquals("png", ImageEncoders.normalizeExtension(".PNG"));
+        assertEquals("jpg", ImageEncoders.normalizeExtension(" jpg "));
+        assertEquals("", ImageEncoders.normalizeExtension(null));
+    }
+
+    /**
+     * 测试压缩时的编码器选择
+     * <p>
+     * 测试场景：选择内置 Thumbnailator，或选择一个不支持当前格式的命令行后端
+     * 预期结果：都应返回内置编码器
+     */
+    @Test
+    @DisplayName("select 不支持的后端回退到 Thumbnailator")
+    void selectFallback() {
+        ImageEncoder thumbnailator = ImageEncoders.get(ImageEncoderEnum.THUMBNAILATOR);
+        assertSame(thumbnailator, ImageEncoders.select(ImageEncoderEnum.THUMBNAILATOR, ImageEncoder.Operation.COMPRESS, "png"));
+        // mozjpeg 只支持 JPEG，PNG 压缩必须回退
+        assertSame(thumbnailator, ImageEncoders.select(ImageEncoderEnum.MOZJPEG, ImageEncoder.Operation.COMPRESS, "png"));
+        assertNotNull(ImageEncoders.select(ImageEncoderEnum.AUTO, ImageEncoder.Operation.COMPRESS, "jpg"));
+    }
+
+    /**
+     * 测试 Thumbnailator 压缩输出
+     * <p>
+     * 测试场景：压缩一张 PNG 图片
+     * 预期结果：输出仍可被 ImageIO 解码，且尺寸不变
+     */
+    @Test
+    @DisplayName("Thumbnailator 压缩后尺寸不变")
+    void thumbnailatorCompress() throws IOException {
+        byte[] source = samplePng();
+        byte[] compressed = new ThumbnailatorImageEncoder().compress(source, "png", 60);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(compressed));
+        assertNotNull(image);
+        assertEquals(32, image.getWidth());
+        assertEquals(16, image.getHeight());
+    }
+
+    /**
+     * 测试没有 WebP 插件时的转换行为
+     * <p>
+     * 测试场景：当前环境未注册 WebP 写入器
+     * 预期结果：Thumbnailator 编码器抛出异常，而不是返回空数据
+     */
+    @Test
+    @DisplayName("缺少 WebP 插件时抛出异常")
+    void webpWithoutPlugin() throws IOException {
+        assumeFalse(ImageUtils.isWebpWritable());
+        byte[] source = samplePng();
+        assertThrows(IOException.class, () -> new ThumbnailatorImageEncoder().toWebp(source, "png", 60));
+    }
+
+    /**
+     * 生成测试用的 PNG 图片
+     *
+     * @return PNG 字节数组
+     * @throws IOException 编码失败时抛出
+     */
+    private static byte[] samplePng() throws IOException {
+        BufferedImage image = new BufferedImage(32, 16, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,160 @@
+package info.dong4j.idea.plugin.encoder;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 图片处理流水线测试类
+ * <p>
+ * 验证 {@link ImagePipeline} 的延迟解码、操作复用以及按格式编码的行为。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class ImagePipelineTest {
+
+    /**
+     * 测试没有操作时直接返回原始字节
+     * <p>
+     * 测试场景：由字节创建流水线且未添加任何操作；或只添加了不改变图片的 fitWithin
+     * 预期结果：toBytes 返回同一个数组，不会重新编码
+     */
+    @Test
+    @DisplayName("无操作或操作未改变图片时 toBytes 返回原始字节")
+    void toBytesWithoutOperations() throws IOException {
+        byte[] source = encode(new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB), "png");
+        assertSame(source, ImagePipeline.of(source).toBytes());
+        assertSame(source, ImagePipeline.of(source).fitWithin(16, 16).toBytes());
+    }
+
+    /**
+     * 测试多次编码只执行一次操作
+     * <p>
+     * 测试场景：添加 fitWithin 缩放后分别编码为 PNG 和 JPEG
+     * 预期结果：两次编码使用同一个操作结果
+     */
+    @Test
+    @DisplayName("多次编码复用同一次解码与操作结果")
+    void operationsRunOnce() throws IOException {
+        ImagePipeline pipeline = ImagePipeline.of(encode(new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB), "png"))
+            .fitWithin(4, 4);
+        pipeline.encode("png", -1);
+        BufferedImage rendered = pipeline.render();
+        pipeline.encode("jpg", 80);
+        assertSame(rendered, pipeline.render());
+        assertEquals(4, rendered.getWidth());
+    }
+
+    /**
+     * 测试等比缩放
+     * <p>
+     * 测试场景：200x100 的图片限制在 50x50 以内
+     * 预期结果：输出为 50x25
+     */
+    @Test
+    @DisplayName("fitWithin 等比缩放")
+    void fitWithin() throws IOException {
+        byte[] source = encode(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), "png");
+        BufferedImage result = decode(ImagePipeline.of(source).fitWithin(50, 50).encode("png", -1));
+        assertEquals(50, result.getWidth());
+        assertEquals(25, result.getHeight());
+    }
+
+    /**
+     * 测试按源格式编码与透明通道处理
+     * <p>
+     * 测试场景：带透明通道的 PNG 分别按源格式和 JPEG 编码
+     * 预期结果：源格式识别为 png；JPEG 输出可以解码且不含透明通道
+     */
+    @Test
+    @DisplayName("编码为 JPEG 时去除透明通道")
+    void jpegDropsAlpha() throws IOException {
+        byte[] source = encode(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB), "png");
+        ImagePipeline pipeline = ImagePipeline.of(source);
+        assertNotNull(decode(pipeline.encodeAsSource(-1)));
+        assertEquals("png", pipeline.getSourceFormat());
+
+        BufferedImage jpeg = decode(pipeline.encode("jpg", 80));
+        assertFalse(jpeg.getColorModel().hasAlpha());
+    }
+
+    /**
+     * 测试按比例缩小的副本
+     * <p>
+     * 测试场景：JPEG 图片创建 0.5 倍的副本
+     * 预期结果：副本尺寸减半并沿用源格式，原流水线不受影响
+     */
+    @Test
+    @DisplayName("scaledCopy 缩小副本并沿用源格式")
+    void scaledCopy() throws IOException {
+        ImagePipeline pipeline = ImagePipeline.of(encode(new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB), "jpg"));
+        ImagePipeline copy = pipeline.scaledCopy(0.5);
+
+        assertEquals("jpeg", copy.getSourceFormat());
+        BufferedImage scaled = decode(copy.encodeAsSource(80));
+        assertEquals(20, scaled.getWidth());
+        assertEquals(10, scaled.getHeight());
+        assertEquals(40, pipeline.render().getWidth());
+    }
+
+    /**
+     * 测试缓存键
+     * <p>
+     * 测试场景：同一源图片分别不加操作、添加不同参数的操作，以及由内存图片创建的流水线
+     * 预期结果：相同输入的键相同且不会解码图片；操作参数不同时键不同；内存图片不可缓存
+     */
+    @Test
+    @DisplayName("缓存键取决于源图片和操作，内存图片不可缓存")
+    void cacheKey() throws IOException {
+        byte[] source = encode(new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB), "png");
+        String plain = ImagePipeline.of(source).cacheKey();
+
+        assertNotNull(plain);
+        assertEquals(plain, ImagePipeline.of(source).cacheKey());
+        assertEquals(ImagePipeline.of(source).fitWithin(4, 4).cacheKey(), ImagePipeline.of(source).fitWithin(4, 4).cacheKey());
+        assertNotEquals(plain, ImagePipeline.of(source).fitWithin(4, 4).cacheKey());
+        assertNotEquals(ImagePipeline.of(source).fitWithin(4, 4).cacheKey(), ImagePipeline.of(source).fitWithin(2, 2).cacheKey());
+        assertNull(ImagePipeline.of(new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB)).cacheKey());
+    }
+
+    /**
+     * 使用 ImageIO 编码图片
+     *
+     * @param image  图片
+     * @param format 格式名称
+     * @return 编码后的字节
+     * @throws IOException 编码失败时抛出
+     */
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 使用 ImageIO 解码图片
+     *
+     * @param bytes 图片字节
+     * @return 图片
+     * @throws IOException 解码失败时抛出
+     */
+    private static BufferedImage decode(byte[] bytes) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(bytes));
+    }
+}
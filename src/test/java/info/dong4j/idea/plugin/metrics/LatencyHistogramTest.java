@@ -0,0 +1,88 @@
+package info.dong4j.idea.plugin.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 延迟直方图测试类
+ * <p>
+ * 验证 {@link LatencyHistogram} 的分桶连续性、百分位精度以及并发记录。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * 测试分桶的连续性
+     * <p>
+     * 测试场景：遍历 0 到 100000 的所有值
+     * 预期结果：桶索引单调不减且相邻值最多跨一个桶，每个值都不小于所在桶的下界、小于下一个桶的下界
+     */
+    @Test
+    @DisplayName("桶索引连续且与下界一致")
+    void bucketsAreContiguous() {
+        int previous = 0;
+        for (long value = 0; value <= 100_000; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(index == previous || index == previous + 1, "value " + value);
+            assertTrue(LatencyHistogram.lowerBoundOf(index) <= value && value < LatencyHistogram.lowerBoundOf(index + 1), "value " + value);
+            previous = index;
+        }
+    }
+
+    /**
+     * 测试百分位精度
+     * <p>
+     * 测试场景：记录 1 到 10000 微秒各一次
+     * 预期结果：p50、p99 与精确值的相对误差不超过 1/16，最大值精确
+     */
+    @Test
+    @DisplayName("百分位的相对误差在子桶精度以内")
+    void percentileAccuracy() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000, histogram.getMax());
+        assertEquals(5000.5, histogram.getMean(), 1e-9);
+        assertEquals(5000, histogram.getPercentile(50), 5000 / 16.0);
+        assertEquals(9900, histogram.getPercentile(99), 9900 / 16.0);
+        assertEquals(10_000, histogram.getPercentile(100), 10_000 / 16.0);
+    }
+
+    /**
+     * 测试并发记录与重置
+     * <p>
+     * 测试场景：8 个线程各记录 10000 次，然后重置
+     * 预期结果：总数为 80000；重置后计数、最大值和百分位都归零
+     */
+    @Test
+    @DisplayName("并发记录不丢失，重置后归零")
+    void concurrentRecordAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        CompletableFuture.allOf(IntStream.range(0, 8)
+                                    .mapToObj(t -> CompletableFuture.runAsync(() -> {
+                                        for (int i = 0; i < 10_000; i++) {
+                                            histogram.record(i);
+                                        }
+                                    }))
+                                    .toArray(CompletableFuture[]::new))
+            .join();
+        assertEquals(80_000, histogram.getCount());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+}
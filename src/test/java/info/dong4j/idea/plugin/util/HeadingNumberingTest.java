@@ -0,0 +1,124 @@
+package info.dong4j.idea.plugin.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 标题编号工具测试类
+ * <p>
+ * 验证 {@link HeadingNumbering} 只对需要修改的标题行和目录区域生成替换，并且结果可以重复执行。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class HeadingNumberingTest {
+
+    /**
+     * 测试首次编号
+     * <p>
+     * 测试场景：文档中没有目录，标题带有各种旧序号
+     * 预期结果：在第一个标题前插入目录，标题按层级重新编号，正文保持不变
+     */
+    @Test
+    @DisplayName("首次编号时插入目录并重新编号")
+    void numberAndInsertToc() {
+        String text = "# Title\n\nintro\n## 一、Intro\ntext\n### (1) Detail\n## 第2章 Usage\n";
+
+        List<HeadingNumbering.TextEdit> edits = HeadingNumbering.computeEdits(text, HeadingNumbering.parseHeadings(text));
+
+        assertEquals("# Title\n\nintro\n"
+                     + "## 目录\n- [1 Intro](#1-Intro)\n- [2 Usage](#2-Usage)\n\n"
+                     + "## 1 Intro\ntext\n### 1.1 Detail\n## 2 Usage\n",
+                     HeadingNumbering.apply(text, edits));
+    }
+
+    /**
+     * 测试重复编号
+     * <p>
+     * 测试场景：对已经编号且带目录的文档再次编号，然后修改其中一个标题
+     * 预期结果：第二次不产生任何替换；修改标题后只替换该标题行和目录区域
+     */
+    @Test
+    @DisplayName("已编号的文档不产生替换，修改标题后只替换变化的部分")
+    void minimalEdits() {
+        String text = "## 目录\n- [1 Intro](#1-Intro)\n- [2 Usage](#2-Usage)\n\n## 1 Intro\ntext\n## 2 Usage\nmore\n";
+        assertTrue(HeadingNumbering.computeEdits(text, HeadingNumbering.parseHeadings(text)).isEmpty());
+
+        String renamed = text.replace("## 2 Usage", "## Setup");
+        List<HeadingNumbering.TextEdit> edits = HeadingNumbering.computeEdits(renamed, HeadingNumbering.parseHeadings(renamed));
+
+        assertEquals(2, edits.size());
+        assertEquals(0, edits.get(0).start());
+        assertEquals("## 2 Setup", edits.get(1).replacement());
+        assertEquals(text.replace("Usage", "Setup"), HeadingNumbering.apply(renamed, edits));
+    }
+
+    /**
+     * 测试增量计算
+     * <p>
+     * 测试场景：在已编号文档的第二节中插入一个新的二级标题；另有一份没有目录的文档被编辑
+     * 预期结果：只替换受影响子树中的标题行和目录，之前的标题保持不变；没有目录的文档不做任何修改
+     */
+    @Test
+    @DisplayName("增量计算只处理受影响的子树，不维护没有目录的文档")
+    void subtreeEdits() {
+        String text = "## 目录\n- [1 Intro](#1-Intro)\n- [2 Usage](#2-Usage)\n\n## 1 Intro\ntext\n## 2 Usage\n## Setup\n### Detail\n";
+        int changedLine = 7;
+
+        List<HeadingNumbering.TextEdit> edits = HeadingNumbering.computeSubtreeEdits(text, HeadingNumbering.parseHeadings(text), changedLine);
+
+        assertEquals(3, edits.size());
+        assertTrue(edits.stream().allMatch(edit -> edit.start() == 0 || edit.start() > text.indexOf("## 2 Usage")));
+        assertEquals("## 目录\n- [1 Intro](#1-Intro)\n- [2 Usage](#2-Usage)\n- [3 Setup](#3-Setup)\n\n"
+                     + "## 1 Intro\ntext\n## 2 Usage\n## 3 Setup\n### 3.1 Detail\n",
+                     HeadingNumbering.apply(text, edits));
+
+        String withoutToc = "## Intro\ntext\n";
+        assertTrue(HeadingNumbering.computeSubtreeEdits(withoutToc, HeadingNumbering.parseHeadings(withoutToc), 0).isEmpty());
+    }
+
+    /**
+     * 测试围栏代码块与子树边界
+     * <p>
+     * 测试场景：代码块中有类似标题的注释行；只修改第一节的正文，后面的标题编号有误
+     * 预期结果：代码块中的行不被当作标题；增量计算到第一个编号正确的二级标题为止，之后的标题不比较
+     */
+    @Test
+    @DisplayName("跳过代码块中的行，增量计算在编号正确的二级标题处停止")
+    void fencedCodeAndSubtreeEnd() {
+        String fenced = "## Intro\n```bash\n## comment\n~~~\n```\n~~~\n## not heading\n~~~\n## Usage\n";
+        List<HeadingNumbering.Heading> headings = HeadingNumbering.parseHeadings(fenced);
+        assertEquals(List.of(0, 8), headings.stream().map(HeadingNumbering.Heading::line).toList());
+
+        String text = "## 目录\n- [1 Intro](#1-Intro)\n- [2 Usage](#2-Usage)\n- [3 Setup](#3-Setup)\n\n"
+                      + "## 1 Intro\ntext\n## 2 Usage\n### Detail\n## 3 Setup\n";
+        List<HeadingNumbering.TextEdit> edits = HeadingNumbering.computeSubtreeEdits(text, HeadingNumbering.parseHeadings(text), 6);
+        assertTrue(edits.isEmpty());
+
+        edits = HeadingNumbering.computeSubtreeEdits(text, HeadingNumbering.parseHeadings(text), 6, 8);
+        assertEquals(1, edits.size());
+        assertEquals("### 2.1 Detail", edits.get(0).replacement());
+    }
+
+    /**
+     * 测试标题文本标准化
+     * <p>
+     * 测试场景：各种常见的序号格式
+     * 预期结果：序号被移除，类似序号的单词保留
+     */
+    @Test
+    @DisplayName("标准化标题文本时移除各种序号格式")
+    void normalizeHeadingText() {
+        assertEquals("Intro", HeadingNumbering.normalizeHeadingText("1.2.3 Intro"));
+        assertEquals("简介", HeadingNumbering.normalizeHeadingText("（一）简介"));
+        assertEquals("Usage", HeadingNumbering.normalizeHeadingText("II. Usage"));
+        assertEquals("IDEA 插件", HeadingNumbering.normalizeHeadingText("IDEA 插件"));
+    }
+}
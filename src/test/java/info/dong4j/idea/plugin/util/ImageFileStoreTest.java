@@ -0,0 +1,135 @@
+package info.dong4j.idea.plugin.util;
+
+import info.dong4j.idea.plugin.enums.LocalImageCopyModeEnum;
+import info.dong4j.idea.plugin.util.digest.DigestUtils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 图片文件存储测试类
+ * <p>
+ * 验证 {@link ImageFileStore} 的去重、同名冲突处理、内容寻址命名、本地文件的链接与复制以及不残留临时文件。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class ImageFileStoreTest {
+    /** 临时目录 */
+    @TempDir
+    Path directory;
+
+    /**
+     * 测试相同内容去重与同名冲突
+     * <p>
+     * 测试场景：先保存 a.png，再以相同内容保存一次，最后以不同内容保存同名文件
+     * 预期结果：第二次复用已有文件不写入；第三次不覆盖原文件而是保存为 a-1.png
+     */
+    @Test
+    @DisplayName("相同内容复用，同名不同内容不覆盖")
+    void deduplicateAndAvoidOverwrite() throws IOException {
+        byte[] first = "first".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "second".getBytes(StandardCharsets.UTF_8);
+
+        ImageFileStore.Result created = ImageFileStore.store(first, this.directory, "a.png", false);
+        assertFalse(created.deduplicated());
+        assertEquals(this.directory.resolve("a.png"), created.path());
+
+        ImageFileStore.Result reused = ImageFileStore.store(first, this.directory, "a.png", false);
+        assertTrue(reused.deduplicated());
+        assertEquals(created.path(), reused.path());
+
+        ImageFileStore.Result renamed = ImageFileStore.store(second, this.directory, "a.png", false);
+        assertFalse(renamed.deduplicated());
+        assertEquals(this.directory.resolve("a-1.png"), renamed.path());
+        assertArrayEquals(first, Files.readAllBytes(created.path()));
+        assertArrayEquals(second, Files.readAllBytes(renamed.path()));
+    }
+
+    /**
+     * 测试内容寻址命名
+     * <p>
+     * 测试场景：以不同的期望文件名两次保存相同内容
+     * 预期结果：文件名为内容的 SHA-256 加原扩展名，第二次直接复用；目录中只有一个文件，没有残留的临时文件
+     */
+    @Test
+    @DisplayName("内容寻址命名只保存一份且不残留临时文件")
+    void contentAddressed() throws IOException {
+        byte[] bytes = "screenshot".getBytes(StandardCharsets.UTF_8);
+
+        ImageFileStore.Result first = ImageFileStore.store(bytes, this.directory, "abc.png", true);
+        ImageFileStore.Result second = ImageFileStore.store(bytes, this.directory, "xyz.png", true);
+
+        assertEquals(DigestUtils.sha256Hex(bytes) + ".png", first.path().getFileName().toString());
+        assertEquals(first.path(), second.path());
+        assertTrue(second.deduplicated());
+        try (Stream<Path> files = Files.list(this.directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    /**
+     * 测试数字后缀的插入位置
+     * <p>
+     * 测试场景：带扩展名和不带扩展名的文件名
+     * 预期结果：后缀插入在扩展名之前
+     */
+    @Test
+    @DisplayName("数字后缀插入在扩展名之前")
+    void withSuffix() {
+        assertEquals("a-2.png", ImageFileStore.withSuffix("a.png", 2));
+        assertEquals("a-1", ImageFileStore.withSuffix("a", 1));
+    }
+
+    /**
+     * 测试以硬链接和克隆方式放入本地图片
+     * <p>
+     * 测试场景：同一文件系统中分别以硬链接、克隆和普通复制方式放入同一张本地图片，再次以硬链接方式放入，以及传入已计算的摘要再次放入
+     * 预期结果：硬链接与源文件是同一个文件；克隆（不支持时退回复制）与复制得到内容相同的独立文件；再次放入时复用已有文件；没有残留的临时文件
+     */
+    @Test
+    @DisplayName("本地图片以硬链接或克隆放入，不支持时退回复制")
+    void link() throws IOException {
+        byte[] bytes = "local image".getBytes(StandardCharsets.UTF_8);
+        Path source = Files.write(this.directory.resolve("source.png"), bytes);
+        Path assets = this.directory.resolve("assets");
+
+        ImageFileStore.Result linked = ImageFileStore.link(source, assets, "a.png", false, LocalImageCopyModeEnum.HARD_LINK);
+        assertFalse(linked.deduplicated());
+        assertTrue(Files.isSameFile(source, linked.path()));
+
+        ImageFileStore.Result cloned = ImageFileStore.link(source, assets, "b.png", false, LocalImageCopyModeEnum.CLONE);
+        ImageFileStore.Result copied = ImageFileStore.link(source, assets, "c.png", false, LocalImageCopyModeEnum.COPY);
+        for (ImageFileStore.Result result : List.of(cloned, copied)) {
+            assertFalse(Files.isSameFile(source, result.path()));
+            assertArrayEquals(bytes, Files.readAllBytes(result.path()));
+        }
+
+        ImageFileStore.Result reused = ImageFileStore.link(source, assets, "a.png", false, LocalImageCopyModeEnum.HARD_LINK);
+        assertTrue(reused.deduplicated());
+        assertEquals(linked.path(), reused.path());
+
+        String sha256 = ImageFileStore.sha256(source);
+        assertTrue(ImageFileStore.sameContent(source, bytes.length, sha256));
+        assertEquals(linked.path(), ImageFileStore.link(source, sha256, assets, "a.png", false, LocalImageCopyModeEnum.HARD_LINK).path());
+        assertEquals(copied.path(), ImageFileStore.store(bytes, sha256, assets, "c.png", false).path());
+        try (Stream<Path> files = Files.list(assets)) {
+            assertEquals(3, files.count());
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -187,5 +188,72 @@ public class MarkdownUtilsTest {
         assertNotNull(imageCustom);
         assertEquals(ImageMarkEnum.CUSTOM, imageCustom.getImageMarkType());
     }
-}
 
+    /**
+     * 测试按位置解析同一行的多个图片
+     * <p>
+     * 测试场景：同一行有一个普通图片和一个被 {@code <a>} 包裹的大图，分别按各自在行中的位置解析
+     * 预期结果：两张图片的原始标签、偏移量和路径互不影响；只有第二张扩展到外层的 HTML 标签并识别为大图
+     */
+    @Test
+    @DisplayName("同一行的多个图片按位置分别解析")
+    void analysisMultipleImagesInLine() {
+        String first = "![a](https://example.com/a.png)";
+        String second = "![b](https://example.com/b.png)";
+        String wrapped = "<a data-fancybox title='b' href='https://example.com/b.png' >" + second + "</a>";
+        String lineText = "前 " + first + " 中 " + wrapped + " 后";
+
+        int firstStart = lineText.indexOf(first);
+        MarkdownImage image1 = MarkdownUtils.analysisImageMark(mdFile(), lineText, 3, firstStart, firstStart + first.length(),
+                                                               "a", "https://example.com/a.png");
+        assertNotNull(image1);
+        assertEquals(first, image1.getOriginalMark());
+        assertEquals(ImageMarkEnum.ORIGINAL, image1.getImageMarkType());
+        assertEquals("a.png", image1.getImageName());
+
+        int secondStart = lineText.indexOf(second);
+        MarkdownImage image2 = MarkdownUtils.analysisImageMark(mdFile(), lineText, 3, secondStart, secondStart + second.length(),
+                                                               "b", "https://example.com/b.png");
+        assertNotNull(image2);
+        assertEquals(wrapped, image2.getOriginalMark());
+        assertEquals(lineText.indexOf(wrapped), image2.getLineStartOffset());
+        assertEquals(ImageMarkEnum.LARGE_PICTURE, image2.getImageMarkType());
+        assertEquals("https://example.com/b.png", image2.getPath());
+        assertEquals(3, image2.getLineNumber());
+    }
+
+    /**
+     * 测试链接标签规范化
+     * <p>
+     * 测试场景：引用式图片的标签带方括号、大小写不同、包含连续空白
+     * 预期结果：规范化后相同，可以匹配到同一个链接定义
+     */
+    @Test
+    @DisplayName("链接标签忽略大小写和连续空白")
+    void normalizeLinkLabel() {
+        assertEquals("logo image", MarkdownUtils.normalizeLinkLabel("[Logo   Image]"));
+        assertEquals("logo image", MarkdownUtils.normalizeLinkLabel(" logo\timage "));
+        assertEquals("", MarkdownUtils.normalizeLinkLabel("[]"));
+    }
+
+    /**
+     * 测试只按语法判断图片标签
+     * <p>
+     * 测试场景：普通文本、路径为空的标签、本地图片和网络图片
+     * 预期结果：前两者为非法标签；本地和网络图片语法合法，且只有网络图片被识别为网络图片，整个过程不访问索引和磁盘
+     */
+    @Test
+    @DisplayName("语法检查不访问磁盘即可区分非法标签、本地图片和网络图片")
+    void illegalImageMarkSyntax() {
+        assertTrue(MarkdownUtils.illegalImageMarkSyntax("plain text"));
+        assertTrue(MarkdownUtils.illegalImageMarkSyntax("![empty]()"));
+
+        String local = "![本地图片](./imgs/not-exists.png)";
+        assertFalse(MarkdownUtils.illegalImageMarkSyntax(local));
+        assertFalse(MarkdownUtils.isNetworkImageMark(local));
+
+        String network = "![网络图片](https://example.com/image.jpg)";
+        assertFalse(MarkdownUtils.illegalImageMarkSyntax(network));
+        assertTrue(MarkdownUtils.isNetworkImageMark(network));
+    }
+}
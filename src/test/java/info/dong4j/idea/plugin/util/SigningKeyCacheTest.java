@@ -0,0 +1,74 @@
+package info.dong4j.idea.plugin.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 签名密钥缓存测试类
+ * <p>
+ * 使用可控的时钟验证 {@link SigningKeyCache} 在有效期内复用、临近过期时提前刷新，以及不同缓存键互不影响。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class SigningKeyCacheTest {
+
+    /**
+     * 测试有效期内复用与提前刷新
+     * <p>
+     * 测试场景：条目有效期 30 分钟，分别在 0、20 分钟、25 分钟（距离过期正好 5 分钟）时获取
+     * 预期结果：前两次复用同一个值，只生成一次；第三次进入刷新窗口，重新生成
+     */
+    @Test
+    @DisplayName("有效期内复用，距离过期不足刷新时间时重新生成")
+    void refreshBeforeExpiry() {
+        AtomicLong now = new AtomicLong(0L);
+        AtomicInteger loads = new AtomicInteger();
+        SigningKeyCache<String> cache = new SigningKeyCache<>(now::get);
+        long ttl = 30 * 60 * 1000L;
+
+        assertEquals("key-0", cache.get("ak", time -> new SigningKeyCache.Entry<>("key-" + loads.getAndIncrement(), time + ttl)));
+        now.set(20 * 60 * 1000L);
+        assertEquals("key-0", cache.get("ak", time -> new SigningKeyCache.Entry<>("key-" + loads.getAndIncrement(), time + ttl)));
+        assertEquals(1, loads.get());
+
+        now.set(ttl - SigningKeyCache.REFRESH_MARGIN_MILLIS);
+        assertEquals("key-1", cache.get("ak", time -> new SigningKeyCache.Entry<>("key-" + loads.getAndIncrement(), time + ttl)));
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * 测试不同缓存键
+     * <p>
+     * 测试场景：两组不同的密钥交替获取，之后清空缓存
+     * 预期结果：各自只生成一次且互不覆盖；清空后重新生成
+     */
+    @Test
+    @DisplayName("不同缓存键互不影响，清空后重新生成")
+    void separateKeys() {
+        AtomicInteger loads = new AtomicInteger();
+        SigningKeyCache<String> cache = new SigningKeyCache<>(() -> 0L);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("a", cache.get("a", time -> neverExpires("a", loads)));
+            assertEquals("b", cache.get("b", time -> neverExpires("b", loads)));
+        }
+        assertEquals(2, loads.get());
+
+        cache.clear();
+        assertEquals("a", cache.get("a", time -> neverExpires("a", loads)));
+        assertEquals(3, loads.get());
+    }
+
+    private static SigningKeyCache.Entry<String> neverExpires(String value, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new SigningKeyCache.Entry<>(value, Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,94 @@
+package info.dong4j.idea.plugin.util.date;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 日期格式工具类测试类
+ * <p>
+ * 验证 {@link DateFormatUtils} 的协议时间格式与 {@link SimpleDateFormat} 的结果一致，以及 {@link CachedDatePrinter} 只在秒数变化时重新格式化。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class DateFormatUtilsTest {
+
+    /**
+     * 测试协议时间格式
+     * <p>
+     * 测试场景：同一个时间戳分别用 HTTP Date、ISO 8601 UTC 和自定义格式格式化
+     * 预期结果：与对应设置的 SimpleDateFormat 结果一致，日期为个位数时补零
+     */
+    @Test
+    @DisplayName("HTTP Date 和 ISO 8601 格式与 SimpleDateFormat 一致")
+    void protocolFormats() {
+        // 2016-04-06T06:34:40.123Z
+        long millis = 1459924480123L;
+
+        SimpleDateFormat http = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+        http.setTimeZone(TimeZone.getTimeZone("GMT"));
+        assertEquals("Wed, 06 Apr 2016 06:34:40 GMT", DateFormatUtils.HTTP_DATE_FORMAT.format(millis));
+        assertEquals(http.format(new Date(millis)), DateFormatUtils.HTTP_DATE_FORMAT.format(millis));
+
+        assertEquals("2016-04-06T06:34:40Z", DateFormatUtils.ISO8601_UTC_FORMAT.format(millis));
+        assertEquals(new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date(millis)),
+                     DateFormatUtils.format(millis, "yyyyMMdd_HHmmss"));
+        assertTrue(DateFormatUtils.httpDate().endsWith(" GMT"));
+    }
+
+    /**
+     * 测试按秒缓存
+     * <p>
+     * 测试场景：同一秒内的两个时间戳、下一秒的时间戳，以及负数时间戳所在的秒
+     * 预期结果：同一秒内只格式化一次并返回同一个字符串，跨秒后重新格式化
+     */
+    @Test
+    @DisplayName("同一秒内复用格式化结果，跨秒后重新格式化")
+    void cachePerSecond() {
+        AtomicInteger calls = new AtomicInteger();
+        FastDateFormat format = FastDateFormat.getInstance("yyyy-MM-dd HH:mm:ss", TimeZone.getTimeZone("UTC"), Locale.US);
+        CachedDatePrinter printer = new CachedDatePrinter(new CountingDateFormat(format, calls));
+
+        String first = printer.format(1_000L);
+        assertSame(first, printer.format(1_999L));
+        assertEquals(1, calls.get());
+
+        assertEquals("1970-01-01 00:00:02", printer.format(2_000L));
+        assertEquals(2, calls.get());
+
+        assertEquals("1969-12-31 23:59:59", printer.format(-1L));
+        assertEquals("1969-12-31 23:59:59", printer.format(-1_000L));
+        assertEquals(3, calls.get());
+    }
+
+    /**
+     * 统计格式化次数的 FastDateFormat
+     */
+    private static final class CountingDateFormat extends FastDateFormat {
+        /** 格式化次数 */
+        private final AtomicInteger calls;
+
+        CountingDateFormat(FastDateFormat format, AtomicInteger calls) {
+            super(format.getPattern(), format.getTimeZone(), format.getLocale());
+            this.calls = calls;
+        }
+
+        @Override
+        public String format(long millis) {
+            this.calls.incrementAndGet();
+            return super.format(millis);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package info.dong4j.idea.plugin.util.digest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 签名工具类测试类
+ * <p>
+ * 验证 {@link SignUtils} 复用线程内的 Mac 和 MessageDigest 实例后，结果与每次新建实例完全一致，
+ * 以及十六进制和 Base64 编码与 JDK 实现一致。
+ *
+ * @author dong4j
+ * @version 1.0.0
+ * @date 2026.10.19
+ * @since 2.3.0
+ */
+public class SignUtilsTest {
+
+    /**
+     * 测试 HMAC 标准向量
+     * <p>
+     * 测试场景：使用 RFC 2202 / RFC 4231 中 key = "Jefe" 的测试向量，与另一个密钥交替重复计算
+     * 预期结果：每次结果都与标准值及新建 Mac 的结果一致，缓存的 Mac 不会串用密钥或残留上次的数据
+     */
+    @Test
+    @DisplayName("HMAC 结果符合标准向量且不同密钥交替计算互不影响")
+    void hmacVectors() throws Exception {
+        String data = "what do ya want for nothing?";
+        for (int i = 0; i < 3; i++) {
+            assertEquals("effcdf6ae5eb2fa2d27416d5f184df9c259a7c79",
+                         SignUtils.hmacHex(HmacAlgorithms.HMAC_SHA_1, "Jefe", data));
+            assertEquals("5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843",
+                         SignUtils.hmacHex(HmacAlgorithms.HMAC_SHA_256, "Jefe", data));
+            assertArrayEquals(fresh("HmacSHA1", "other", data),
+                              SignUtils.hmac(HmacAlgorithms.HMAC_SHA_1, "other", data));
+            assertEquals(Base64.getEncoder().encodeToString(fresh("HmacSHA1", "other", data)),
+                         SignUtils.hmacBase64(HmacAlgorithms.HMAC_SHA_1, "other", data));
+            assertEquals(HmacUtils.hmacSha512Hex("Jefe", data), SignUtils.hex(fresh("HmacSHA512", "Jefe", data)));
+        }
+        assertSame(SignUtils.mac(HmacAlgorithms.HMAC_SHA_1, "Jefe".getBytes(StandardCharsets.UTF_8)),
+                   SignUtils.mac(HmacAlgorithms.HMAC_SHA_1, "Jefe".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 测试摘要计算
+     * <p>
+     * 测试场景：对 "abc" 计算 SHA-1 和 SHA-256，中间穿插一次不完整的 update
+     * 预期结果：结果符合 FIPS 180 标准值，取出的 MessageDigest 已被重置
+     */
+    @Test
+    @DisplayName("摘要结果符合标准值且复用前会被重置")
+    void digestVectors() {
+        SignUtils.digest("SHA-1").update("dirty".getBytes(StandardCharsets.UTF_8));
+        assertEquals("a9993e364706816aba3e25717850c26c9cd0d89d", SignUtils.digestHex("SHA-1", "abc"));
+        assertEquals("a9993e364706816aba3e25717850c26c9cd0d89d", DigestUtils.sha1Hex("abc"));
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", DigestUtils.sha256Hex("abc"));
+        assertSame(SignUtils.digest("SHA-256"), SignUtils.digest("SHA-256"));
+    }
+
+    /**
+     * 测试 Base64 编码
+     * <p>
+     * 测试场景：长度 0 到 5 的字节数组，包含会映射到 '+'、'/' 的高位字节
+     * 预期结果：与 JDK 标准和 URL 安全编码器（带填充）的结果一致
+     */
+    @Test
+    @DisplayName("Base64 编码与 JDK 实现一致")
+    void base64() {
+        byte[] source = {(byte) 0xFB, (byte) 0xFF, (byte) 0xBF, 0x00, 0x7F};
+        for (int length = 0; length <= source.length; length++) {
+            byte[] data = new byte[length];
+            System.arraycopy(source, 0, data, 0, length);
+            assertEquals(Base64.getEncoder().encodeToString(data), SignUtils.base64(data, false));
+            assertEquals(Base64.getUrlEncoder().encodeToString(data), SignUtils.base64(data, true));
+        }
+    }
+
+    /**
+     * 每次新建 Mac 计算 HMAC，作为对照
+     *
+     * @param algorithm 算法名称
+     * @param key       密钥
+     * @param data      数据
+     * @return HMAC 结果
+     */
+    private static byte[] fresh(String algorithm, String key, String data) throws Exception {
+        Mac mac = Mac.getInstance(algorithm);
+        mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), algorithm));
+        return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+}